@@ -98,6 +98,25 @@ public abstract class AbstractNode extends SimEntity implements ComputingNode, O
      */
     protected boolean isCloudOrchestrator = false;
 
+    /**
+     * The store holding the resource counters of this node (RAM, storage, CPU cores, etc.).
+     *
+     * @see #getStateId()
+     */
+    protected final NodeStateStore nodeStates;
+
+    /**
+     * The id of this node in the node state store.
+     */
+    protected final int stateId;
+
+    /**
+     * The index of the containers placed on the computing nodes.
+     *
+     * @see DataCentersManager#getPlacementIndex()
+     */
+    protected final PlacementIndex placementIndex;
+
     /**
      * Constructs a new AbstractNode instance.
      *
@@ -106,6 +125,20 @@ public abstract class AbstractNode extends SimEntity implements ComputingNode, O
     protected AbstractNode(SimulationManager simulationManager) {
         super(simulationManager.getSimulation());
         this.simulationManager = simulationManager;
+        this.nodeStates = simulationManager.getDataCentersManager().getNodeStateStore();
+        this.stateId = nodeStates.register(this);
+        this.placementIndex = simulationManager.getDataCentersManager().getPlacementIndex();
+    }
+
+    /**
+     * Returns the id of this computing node in the node state store, i.e., its
+     * index in the columns of the store.
+     *
+     * @return the id of this node in the store
+     * @see NodeStateStore
+     */
+    public int getStateId() {
+        return stateId;
     }
     /**
      * Defines the logic to be performed by the computing node when the simulation
@@ -113,7 +146,22 @@ public abstract class AbstractNode extends SimEntity implements ComputingNode, O
      */
     @Override
     public void onSimulationStart() {
-        scheduleNow(this, UPDATE_STATUS);
+        boolean needsStatusUpdates = needsStatusUpdates();
+        StatusSweep statusSweep = simulationManager.getDataCentersManager().getStatusSweep();
+        if (!statusSweep.register(this, needsStatusUpdates) && needsStatusUpdates)
+            scheduleNow(this, UPDATE_STATUS);
+    }
+
+    /**
+     * Whether this node needs to update its status every update interval. Nodes
+     * that do not need it never receive an UPDATE_STATUS event.
+     * 
+     * @return true if the status must be updated periodically
+     * @see #updateStatus()
+     * @see StatusSweep
+     */
+    protected boolean needsStatusUpdates() {
+        return true;
     }
 
     /**
@@ -124,7 +172,7 @@ public abstract class AbstractNode extends SimEntity implements ComputingNode, O
     public void processEvent(Event e) {
         if (e.getTag() == UPDATE_STATUS) {
             updateStatus();
-            schedule(this, SimulationParameters.updateInterval, UPDATE_STATUS);
+            schedule(this, simulationManager.getConfig().getUpdateInterval(), UPDATE_STATUS);
         }
     }
 
@@ -27,6 +27,7 @@ import org.w3c.dom.Element;
 
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.*;
 import com.mechalikh.pureedgesim.locationmanager.MobilityModel;
+import com.mechalikh.pureedgesim.locationmanager.SpatialIndex;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters.TYPES;
 import com.mechalikh.pureedgesim.simulationmanager.DefaultSimulationManager;
@@ -168,6 +169,18 @@ public abstract class ComputingNodesGenerator {
 	protected int ONTcount;
 	
 	protected int DeviceCount;
+
+	/**
+	 * The spatial indexes of the ONTs, of the SDNs and of the edge data centers.
+	 * They are built on first use.
+	 * 
+	 * @see #getONTIndex()
+	 * @see #getSDNIndex()
+	 * @see #getEdgeDataCentersIndex()
+	 */
+	protected SpatialIndex<ComputingNode> ontIndex;
+	protected SpatialIndex<ComputingNode> sdnIndex;
+	protected SpatialIndex<DataCenter> edgeDataCentersIndex;
 	
 	/**
 	 * Constructs a new instance of the computing nodes generator.
@@ -355,4 +368,51 @@ public abstract void generateDatacentersAndDevices();
 		return this.HostAndVM_List;
 	}
 
+	/**
+	 * Gets the spatial index of the ONT devices. It must not be modified, a new
+	 * index is needed to remove the ONTs that have been assigned.
+	 * 
+	 * @see SpatialIndex#remove(ComputingNode)
+	 * 
+	 * @return the spatial index of the ONTs
+	 */
+	public SpatialIndex<ComputingNode> getONTIndex() {
+		if (ontIndex == null)
+			ontIndex = new SpatialIndex<>(getONT_List());
+		return ontIndex;
+	}
+
+	/**
+	 * Gets the spatial index of the SDN orchestrators, in the order of the
+	 * orchestrators list.
+	 * 
+	 * @see com.mechalikh.pureedgesim.datacentersmanager.DefaultComputingNodesGenerator#setOrchestrators()
+	 * 
+	 * @return the spatial index of the SDNs
+	 */
+	public SpatialIndex<ComputingNode> getSDNIndex() {
+		if (sdnIndex == null) {
+			List<ComputingNode> sdnList = new ArrayList<>();
+			for (ComputingNode orchestrator : getOrchestratorsList())
+				if (orchestrator.getType() == TYPES.SDN)
+					sdnList.add(orchestrator);
+			sdnIndex = new SpatialIndex<>(sdnList);
+		}
+		return sdnIndex;
+	}
+
+	/**
+	 * Gets the spatial index of the edge data centers, in the order of the edge
+	 * data centers list.
+	 * 
+	 * @see com.mechalikh.pureedgesim.locationmanager.MobilityModel#getDataCenter()
+	 * 
+	 * @return the spatial index of the edge data centers
+	 */
+	public SpatialIndex<DataCenter> getEdgeDataCentersIndex() {
+		if (edgeDataCentersIndex == null)
+			edgeDataCentersIndex = new SpatialIndex<>(getEdgeOnlyList());
+		return edgeDataCentersIndex;
+	}
+
 }
@@ -59,6 +59,27 @@ public class DataCentersManager {
 	 */
 	protected TopologyCreator topologyCreator;
 
+	/**
+	 * Updates the status of the computing nodes that need it.
+	 * 
+	 * @see AbstractNode#needsStatusUpdates()
+	 */
+	protected StatusSweep statusSweep;
+
+	/**
+	 * The resource counters of all the computing nodes.
+	 * 
+	 * @see NodeStateStore
+	 */
+	protected final NodeStateStore nodeStateStore = new NodeStateStore();
+
+	/**
+	 * The containers that are placed on the computing nodes.
+	 * 
+	 * @see PlacementIndex
+	 */
+	protected final PlacementIndex placementIndex = new PlacementIndex();
+
 	/**
 	 * Initializes the DataCentersManager
 	 *
@@ -87,6 +108,9 @@ public class DataCentersManager {
 
 		// Generate topology
 		createTopology(topologyCreatorClass);
+
+		// Created after the computing nodes, so their ids are not changed
+		statusSweep = new StatusSweep(simulationManager);
 	}
 
 	/**
@@ -151,4 +175,31 @@ public class DataCentersManager {
 		return computingNodesGenerator;
 	}
 
+	/**
+	 * Gets the entity that updates the status of the computing nodes.
+	 * 
+	 * @return the status sweep.
+	 */
+	public StatusSweep getStatusSweep() {
+		return statusSweep;
+	}
+
+	/**
+	 * Gets the store that holds the resource counters of the computing nodes.
+	 * 
+	 * @return the node state store.
+	 */
+	public NodeStateStore getNodeStateStore() {
+		return nodeStateStore;
+	}
+
+	/**
+	 * Gets the index of the containers that are placed on the computing nodes.
+	 * 
+	 * @return the placement index.
+	 */
+	public PlacementIndex getPlacementIndex() {
+		return placementIndex;
+	}
+
 }
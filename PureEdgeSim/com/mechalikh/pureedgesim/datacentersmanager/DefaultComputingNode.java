@@ -23,7 +23,6 @@ package com.mechalikh.pureedgesim.datacentersmanager;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.Event;
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 import com.mechalikh.pureedgesim.taskgenerator.Task;
@@ -44,19 +43,12 @@ public class DefaultComputingNode extends LocationAwareNode {
 	protected int applicationType;
 	protected int user;
 	protected boolean isSensor = false;
-	protected double availableStorage = 0; // in Megabytes
-	protected double storage = 0; // in Megabytes
 	protected boolean isIdle = true;
 	protected int tasks = 0;
 	protected int totalTasks = 0;
 	protected double totalMipsCapacity;
-	protected double mipsPerCore;
-	protected int numberOfCPUCores;
-	protected int availableCores;
 	protected List<Task> tasksQueue = new ArrayList<>();
 	protected List<Container> containerList = new ArrayList<>();
-	protected double availableRam; // in Megabytes
-	protected double ram; // in Megabytes
 	protected static final int EXECUTION_FINISHED = 2;
 	private int tasksFailed = 0;
 	private double failureRate = 0;
@@ -68,11 +60,11 @@ public class DefaultComputingNode extends LocationAwareNode {
 		setStorage(storage);
 		setAvailableStorage(storage);
 		setTotalMipsCapacity(mipsPerCore * numberOfCPUCores);
-		this.mipsPerCore = mipsPerCore;
+		nodeStates.set(NodeStateStore.MIPS_PER_CORE, stateId, mipsPerCore);
 		setRam(ram);
 		setAvailableRam(ram);
 		setNumberOfCPUCores(numberOfCPUCores);
-		this.availableCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.AVAILABLE_CORES, stateId, numberOfCPUCores);
 		if (mipsPerCore <= 0 || numberOfCPUCores <= 0 || storage <= 0)
 			this.setAsSensor(true);
 	}
@@ -102,15 +94,15 @@ public class DefaultComputingNode extends LocationAwareNode {
 	}
 
 	public int getAvailableCores(){
-		return availableCores;
+		return (int) nodeStates.get(NodeStateStore.AVAILABLE_CORES, stateId);
 	}
 
 	public double getNumberOfCPUCores() {
-		return numberOfCPUCores;
+		return nodeStates.get(NodeStateStore.CPU_CORES, stateId);
 	}
 
 	public void setNumberOfCPUCores(int numberOfCPUCores) {
-		this.numberOfCPUCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.CPU_CORES, stateId, numberOfCPUCores);
 	}
 
 	public int getApplicationType() {
@@ -130,11 +122,11 @@ public class DefaultComputingNode extends LocationAwareNode {
 	}
 
 	public double getAvailableStorage() {
-		return availableStorage;
+		return nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, stateId);
 	}
 
 	public void setAvailableStorage(double d) {
-		this.availableStorage = d;
+		nodeStates.set(NodeStateStore.AVAILABLE_STORAGE, stateId, d);
 	}
 
 	public double getAvgCpuUtilization() {
@@ -186,11 +178,11 @@ public class DefaultComputingNode extends LocationAwareNode {
 	}
 
 	public double getTotalStorage() {
-		return storage;
+		return nodeStates.get(NodeStateStore.STORAGE, stateId);
 	}
 
 	public void setStorage(double storage) {
-		this.storage = storage;
+		nodeStates.set(NodeStateStore.STORAGE, stateId, storage);
 	}
 
 	public double getTotalMipsCapacity() {
@@ -211,7 +203,7 @@ public class DefaultComputingNode extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getRamCapacity() {
-		return this.ram;
+		return nodeStates.get(NodeStateStore.RAM, stateId);
 	}
 
 	/**
@@ -225,7 +217,7 @@ public class DefaultComputingNode extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getAvailableRam() {
-		return this.availableRam;
+		return nodeStates.get(NodeStateStore.AVAILABLE_RAM, stateId);
 	}
 
 	/**
@@ -238,7 +230,7 @@ public class DefaultComputingNode extends LocationAwareNode {
 	 * @see #getRamCapacity()
 	 */
 	public void setRam(double ram) {
-		this.ram = ram;
+		nodeStates.set(NodeStateStore.RAM, stateId, ram);
 	}
 
 	/**
@@ -252,7 +244,7 @@ public class DefaultComputingNode extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public void setAvailableRam(double ram) {
-		this.availableRam = ram;
+		nodeStates.set(NodeStateStore.AVAILABLE_RAM, stateId, ram);
 	}
 
 	@Override
@@ -268,12 +260,14 @@ public class DefaultComputingNode extends LocationAwareNode {
 		//this.setAvailableStorage(this.availableStorage - getAssociatedContainerSizeInMBytes(task));
 
 		// If a CPU core and enough RAM are available, execute task directly
-		if (availableCores > 0 && this.getAvailableRam() > getAssociatedContainerSizeInMBytes(task)) {
+		if (getAvailableCores() > 0 && this.getAvailableRam() > getAssociatedContainerSizeInMBytes(task)) {
 			startExecution(task);
 		}
 		// Otherwise, add it to the execution queue
-		else
+		else {
 			getTasksQueue().add(task);
+			nodeStates.set(NodeStateStore.QUEUED_TASKS, stateId, getTasksQueue().size());
+		}
 	}
 
 	private boolean isContainerApplicationInList(Container container){
@@ -290,11 +284,12 @@ public class DefaultComputingNode extends LocationAwareNode {
 
 		// Aggiungo il container alla lista
 		containerList.add(container);
+		placementIndex.addToNode(this, container);
 		// update the amount of available storage
-		this.setAvailableStorage(this.availableStorage - container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() - container.getContainerSizeInMBytes());
 
-		if(Orchestrator.printDebug && !container.getSharedContainer()) System.out.println("Richiesta di Placement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " dall'utente "+SimulationParameters.applicationList.get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getApplicationType()).getUsersList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getUser()).getType()+"  generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + this.availableStorage + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
-		if(Orchestrator.printDebug && container.getSharedContainer()) System.out.println("Richiesta di Placement dell'operatore " + container.getAssociatedAppName() +" generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + this.availableStorage + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
+		if(Orchestrator.printDebug && !container.getSharedContainer()) System.out.println("Richiesta di Placement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " dall'utente "+simulationManager.getApplicationList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getApplicationType()).getUsersList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getUser()).getType()+"  generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + getAvailableStorage() + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
+		if(Orchestrator.printDebug && container.getSharedContainer()) System.out.println("Richiesta di Placement dell'operatore " + container.getAssociatedAppName() +" generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + getAvailableStorage() + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
 							 
 		scheduleNow(simulationManager, SimulationManager.TRANSFER_RESULTS_TO_CLOUD_ORCH, container);
 	}
@@ -303,22 +298,19 @@ public class DefaultComputingNode extends LocationAwareNode {
 	public void submitContainerUnPlacement(Container container) {
 		// rimuovo il container dalla lista
 		containerList.remove(container);
+		placementIndex.removeFromNode(this, container);
 		// setto il container come UNPLACED
 		container.setStatus(Container.Status.NOT_PLACED);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage + container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() + container.getContainerSizeInMBytes());
 	
-		if(Orchestrator.printDebug) System.out.println("Richiesta di Unplacement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " generata al tempo " + container.getDuration() + ". AvailableStorage del nodo " + this.getName() + " = " + this.availableStorage + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
+		if(Orchestrator.printDebug) System.out.println("Richiesta di Unplacement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " generata al tempo " + container.getDuration() + ". AvailableStorage del nodo " + this.getName() + " = " + getAvailableStorage() + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
 
 		scheduleNow(simulationManager, SimulationManager.TRANSFER_UNPLACEMENT_RESULTS_TO_CLOUD_ORCH, container);
 	}
 
 	double getAssociatedContainerSizeInMBytes(Task task){
-		for(Container container : containerList)
-			for(ComputingNode computingnode : container.getEdgeDevices())
-				if(task.getEdgeDevice().equals(computingnode))
-					return container.getContainerSizeInMBytes();
-		return 0.0;
+		return placementIndex.getContainerSizeInMBytes(this, task.getEdgeDevice());
 	}
 	
 	@Override
@@ -333,7 +325,7 @@ public class DefaultComputingNode extends LocationAwareNode {
 		// Update the amount of RAM.
 		setAvailableRam(this.getAvailableRam() - getAssociatedContainerSizeInMBytes(task));
 		// Update the number of available cores.
-		availableCores--;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, -1);
 		// Record when the execution has started.
 		task.setExecutionStartTime(getSimulation().clock());
 
@@ -351,28 +343,31 @@ public class DefaultComputingNode extends LocationAwareNode {
 		 * measurement here, when the task is being executed. The problem with this is
 		 * that if we don't receive a task, the static energy consumption will not be
 		 * measured. So the best approach is to measure the dynamic one here, and add
-		 * the static one there.
+		 * the static one there. With the event-driven energy model, both are
+		 * integrated during the execution of the task instead.
 		 */
-		getEnergyModel().updateDynamicEnergyConsumption(task.getLength(), this.getTotalMipsCapacity());
+		getEnergyModel().startTask(task.getLength(), this.getTotalMipsCapacity(), task.getLength() / getMipsPerCore());
 
 		// Schedule when the execution will be finished.
-		schedule(this, (task.getLength() / mipsPerCore), EXECUTION_FINISHED, task);
+		schedule(this, (task.getLength() / getMipsPerCore()), EXECUTION_FINISHED, task);
 	}
 
 	public double getMipsPerCore() {
-		return mipsPerCore;
+		return nodeStates.get(NodeStateStore.MIPS_PER_CORE, stateId);
 	}
 
 	protected void executionFinished(Event e) {
 
 		// The execution of one task has been finished, free one more CPU core.
-		availableCores++;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, 1);
 		// Free the RAM that has been used by the finished task.
 		setAvailableRam(this.getAvailableRam() + getAssociatedContainerSizeInMBytes((Task) e.getData()));
 		// Free the storage that has been used by the finished task.
 		//setAvailableStorage(this.getAvailableStorage() + getAssociatedContainerSizeInMBytes((Task) e.getData()));
 		// Update CPU utilization.
 		removeCpuUtilization((Task) e.getData());
+		getEnergyModel().finishTask(((Task) e.getData()).getLength(), this.getTotalMipsCapacity(),
+				((Task) e.getData()).getLength() / getMipsPerCore());
 
 		// Save the execution end time for later use.
 		((Task) e.getData()).setExecutionFinishTime(this.getSimulation().clock());
@@ -389,6 +384,7 @@ public class DefaultComputingNode extends LocationAwareNode {
 
 			// Remove the task from the queue.
 			getTasksQueue().remove(0);
+			nodeStates.set(NodeStateStore.QUEUED_TASKS, stateId, getTasksQueue().size());
 
 			// Execute the task.
 			startExecution(task);
@@ -25,8 +25,6 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom; 
 import java.util.Random;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -49,9 +47,17 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 
 	protected boolean printDebug = false;
 
+	/**
+	 * Used to generate the random locations of the edge devices.
+	 * 
+	 * @see #createComputingNode(Element, SimulationParameters.TYPES)
+	 */
+	protected Random random;
+
 	public DefaultComputingNodesGenerator(SimulationManager simulationManager,
 			Class<? extends MobilityModel> mobilityModelClass, Class<? extends ComputingNode> computingNodeClass) {
 		super(simulationManager, mobilityModelClass, computingNodeClass);
+		random = simulationManager.getRandomStreams().newStream();
 	}
 	
 	@Override
@@ -238,7 +244,7 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 
 			try {
 				insertEdgeDevice(createComputingNode(type, SimulationParameters.TYPES.EDGE_DEVICE));
-			} catch (NoSuchAlgorithmException | NoSuchMethodException | SecurityException | InstantiationException
+			} catch (NoSuchMethodException | SecurityException | InstantiationException
 					| IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 				e.printStackTrace();
 			}
@@ -302,7 +308,6 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 	 * @param datacenterElement The configuration file.
 	 * @param type              The type, whether an MIST (edge) device, an EDGE
 	 *                          data center, or a CLOUD one.
-	 * @throws NoSuchAlgorithmException
 	 * @throws SecurityException
 	 * @throws NoSuchMethodException
 	 * @throws InvocationTargetException
@@ -311,10 +316,8 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 	 * @throws InstantiationException
 	 */
 	protected ComputingNode createComputingNode(Element deviceElement, SimulationParameters.TYPES type)
-			throws NoSuchAlgorithmException, NoSuchMethodException, SecurityException, InstantiationException,
+			throws NoSuchMethodException, SecurityException, InstantiationException,
 			IllegalAccessException, IllegalArgumentException, InvocationTargetException {
-		// SecureRandom is preferred to generate random values.
-		Random random = SecureRandom.getInstanceStrong();
 		Boolean mobile = false;
 		double speed = 0;
 		double minPauseDuration = 0;
@@ -414,7 +417,6 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 	 * @param datacenterElement The configuration file.
 	 * @param type              The type, whether an MIST (edge) device, an EDGE
 	 *                          data center, or a CLOUD one.
-	 * @throws NoSuchAlgorithmException
 	 * @throws SecurityException
 	 * @throws NoSuchMethodException
 	 * @throws InvocationTargetException
@@ -423,9 +425,8 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 	 * @throws InstantiationException
 	 */
 	protected DataCenter createDatacenterNode(Element datacenterElement, SimulationParameters.TYPES type)
-			throws NoSuchAlgorithmException, NoSuchMethodException, SecurityException, InstantiationException,
+			throws NoSuchMethodException, SecurityException, InstantiationException,
 			IllegalAccessException, IllegalArgumentException, InvocationTargetException {
-		// SecureRandom is preferred to generate random values.
 		Boolean mobile = false;
 		double speed = 0;
 		double minPauseDuration = 0;
@@ -492,7 +493,6 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 	 * @param SDNElement The configuration file.
 	 * @param type              The type, whether an MIST (edge) device, an EDGE
 	 *                          data center, or a CLOUD one.
-	 * @throws NoSuchAlgorithmException
 	 * @throws SecurityException
 	 * @throws NoSuchMethodException
 	 * @throws InvocationTargetException
@@ -501,7 +501,7 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 	 * @throws InstantiationException
 	 */
 	protected SDN createSDNNode(Element SDNElement, SimulationParameters.TYPES type, DataCenter edgeDC)
-	throws NoSuchAlgorithmException, NoSuchMethodException, SecurityException, InstantiationException,
+	throws NoSuchMethodException, SecurityException, InstantiationException,
 	 		IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 		Boolean mobile = false;
 		double speed = 0;
@@ -516,8 +516,7 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 		double maxConsumption = Double
 				.parseDouble(SDNElement.getElementsByTagName("maxConsumption").item(0).getTextContent());
 
-				
-		Random random = SecureRandom.getInstanceStrong();
+
 		xPosition = edgeDC.getMobilityModel().getCurrentLocation().getXPos();
 		yPosition = edgeDC.getMobilityModel().getCurrentLocation().getYPos();
 		Location SDNLocation = new Location(xPosition, yPosition);
@@ -598,20 +597,26 @@ public class DefaultComputingNodesGenerator extends ComputingNodesGenerator {
 
 	//Setto gli orchestratori per tutti i nodi della simulazione
 	protected void setOrchestrators(){
+		//l'orchestratore cloud e' l'ultimo nodo CLOUD della lista degli orchestratori
+		ComputingNode cloudOrchestrator = null;
+		for (ComputingNode node : getOrchestratorsList())
+			if (node.getType() == TYPES.CLOUD)
+				cloudOrchestrator = node;
+
 		//ciclo tra tutti i computing node del sistema (esclusi VM e Host)
-		for(ComputingNode computingNode : simulationManager.getDataCentersManager().getComputingNodesGenerator().getAllNodesList()){
-			//ciclo tra tutti gli orchestratori del sistema
-			for (ComputingNode node : simulationManager.getDataCentersManager().getComputingNodesGenerator().getOrchestratorsList()) {
-				//se il nodo è SDN e la distanza tra questo SDN e il computing node è inferiore rispetto a quella con il suo precedente orchestratore
-				if(node.getType().equals( SimulationParameters.TYPES.SDN) && computingNode.getEdgeOrchestrator().getMobilityModel().distanceTo(computingNode) > computingNode.getMobilityModel().distanceTo(node)){
-					if(printDebug) System.out.println("Sto impostando come orchestratore per il " + computingNode.getName() + " il nodo " + node.getName() + " poiche' la distanza precedente era " + computingNode.getEdgeOrchestrator().getMobilityModel().distanceTo(computingNode) + " e quella attuale e' " + computingNode.getMobilityModel().distanceTo(node));
-					computingNode.setEdgeOrchestrator(node);
-				}
-				else if(node.getType().equals( SimulationParameters.TYPES.CLOUD)){
-					computingNode.setCloudOrchestrator(node);
-				}
-				
+		for (ComputingNode computingNode : getAllNodesList()) {
+			//l'SDN piu' vicino (a parita' di distanza, il primo nella lista degli orchestratori)
+			Location location = computingNode.getMobilityModel().getCurrentLocation();
+			ComputingNode node = location == null ? null
+					: getSDNIndex().nearest(location.getXPos(), location.getYPos());
+			//se la distanza tra questo SDN e il computing node e' inferiore rispetto a quella con il suo precedente orchestratore
+			if (node != null && computingNode.getEdgeOrchestrator().getMobilityModel()
+					.distanceTo(computingNode) > computingNode.getMobilityModel().distanceTo(node)) {
+				if(printDebug) System.out.println("Sto impostando come orchestratore per il " + computingNode.getName() + " il nodo " + node.getName() + " poiche' la distanza precedente era " + computingNode.getEdgeOrchestrator().getMobilityModel().distanceTo(computingNode) + " e quella attuale e' " + computingNode.getMobilityModel().distanceTo(node));
+				computingNode.setEdgeOrchestrator(node);
 			}
+			if (cloudOrchestrator != null)
+				computingNode.setCloudOrchestrator(cloudOrchestrator);
 		}
 	}
 
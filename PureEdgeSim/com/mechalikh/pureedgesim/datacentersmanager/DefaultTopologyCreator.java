@@ -30,6 +30,8 @@ import org.jgrapht.graph.DefaultWeightedEdge;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream; 
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -42,6 +44,8 @@ import org.xml.sax.SAXException;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode.LinkOrientation;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.*;
+import com.mechalikh.pureedgesim.locationmanager.Location;
+import com.mechalikh.pureedgesim.locationmanager.SpatialIndex;
 import com.mechalikh.pureedgesim.network.InfrastructureGraph;
 import com.mechalikh.pureedgesim.network.NetworkLink;
 import com.mechalikh.pureedgesim.network.NetworkLink.NetworkLinkTypes;
@@ -95,19 +99,19 @@ public class DefaultTopologyCreator extends TopologyCreator {
 		
 		
 		//Connect each edge device to the closest ONT using their selected Connectivity method (LAN)
+		//The ONT Devices that are already connected to an edge device are removed from the index
+		List<ComputingNode> freeONTList = new ArrayList<>(computingNodesGenerator.getONT_List().size());
+		for (ComputingNode ONTDevice : computingNodesGenerator.getONT_List())
+			if (!ONTDevice.isConnect())
+				freeONTList.add(ONTDevice);
+		SpatialIndex<ComputingNode> freeONTs = new SpatialIndex<>(freeONTList);
 		for (ComputingNode edgeDevice : computingNodesGenerator.getMistOnlyList()) {
-			ComputingNode closestONT = ComputingNode.NULL;
-			double shortestDistanceToONT = Double.MAX_VALUE;
-			for (ComputingNode ONTDevice : computingNodesGenerator.getONT_List()) {
-				//Check if the ONT Device is already connect to an edge device
-				if (!ONTDevice.isConnect()) {
-					double DistanceToONT = edgeDevice.getMobilityModel().distanceTo(ONTDevice);
-					if (DistanceToONT < shortestDistanceToONT) {  
-						shortestDistanceToONT = DistanceToONT;
-						closestONT = ONTDevice;
-					}
-				}
-			}
+			Location location = edgeDevice.getMobilityModel().getCurrentLocation();
+			ComputingNode closestONT = freeONTs.nearest(location.getXPos(), location.getYPos());
+			if (closestONT == null)
+				closestONT = ComputingNode.NULL;
+			else
+				freeONTs.remove(closestONT);
 			connect(edgeDevice, closestONT, NetworkLinkTypes.LAN);
 			edgeDevice.getCurrentLink(LinkOrientation.UP_LINK).setDst(closestONT);
 			edgeDevice.getCurrentLink(LinkOrientation.DOWN_LINK).setSrc(closestONT);
@@ -179,8 +183,8 @@ public class DefaultTopologyCreator extends TopologyCreator {
 			ONTdown = new NetworkLinkFiber(ONTDevice.getEdgeOrchestrator(), ONTDevice, simulationManager, NetworkLinkTypes.FIBER);
 			infrastructureTopology.addLink(ONTup);
 			infrastructureTopology.addLink(ONTdown);
-			simulationManager.getNetworkModel().getFiberUp().add(ONTup);
-			simulationManager.getNetworkModel().getFiberDown().add(ONTdown);
+			simulationManager.getNetworkModel().addFiberUpLink(ONTup);
+			simulationManager.getNetworkModel().addFiberDownLink(ONTdown);
 		}
 		
 		
@@ -203,6 +207,12 @@ public class DefaultTopologyCreator extends TopologyCreator {
         // }
 		
 		
+		// Compute the routing table entries of the orchestrators and servers, the other
+		// ones are computed when they are first needed.
+		infrastructureTopology.precomputeRoutes(computingNodesGenerator.getOrchestratorsList());
+		infrastructureTopology.precomputeRoutes(computingNodesGenerator.getEdgeAndCloudList());
+		infrastructureTopology.precomputeRoutes(computingNodesGenerator.getHostAndVM_List());
+
 		// Save the shortest paths between all computing nodes
 		//infrastructureTopology.savePathsToMap(computingNodesGenerator.getEdgeAndCloudList());
 		//infrastructureTopology.savePathsToMap(computingNodesGenerator.getONTandServer_List());
@@ -21,22 +21,81 @@
 package com.mechalikh.pureedgesim.datacentersmanager;
 
 import com.mechalikh.pureedgesim.energy.EnergyModelComputingNode; 
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+import com.mechalikh.pureedgesim.simulationengine.Event;
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 
 public abstract class EnergyAwareNode extends NetworkingNode {
+	protected static final int BATTERY_DEATH = 4;
 	protected EnergyModelComputingNode energyModel = EnergyModelComputingNode.NULL;
 	protected boolean isDead = false;
 	protected double deathTime;
 
+	/**
+	 * The pending battery death event, with the event-driven energy model.
+	 */
+	protected Event batteryDeathEvent;
+
 	protected EnergyAwareNode(SimulationManager simulationManager) {
 		super(simulationManager);
 	}
 
 	@Override
-	protected void updateStatus() {
-		// Check if the device is dead
+	public void onSimulationStart() {
+		super.onSimulationStart();
+		getEnergyModel().setSimulation(getSimulation());
+		getEnergyModel().setUpdateInterval(simulationManager.getConfig().getUpdateInterval());
+		if (SimulationParameters.eventDrivenEnergyModel && getEnergyModel().isBatteryPowered()) {
+			getEnergyModel().setConsumptionListener(this::scheduleBatteryDeath);
+			scheduleBatteryDeath();
+		}
+	}
+
+	@Override
+	protected boolean needsStatusUpdates() {
+		// With the event-driven energy model, the energy is not updated periodically.
+		// Otherwise, only the nodes that consume energy while idle or that have a
+		// battery need it.
+		return !SimulationParameters.eventDrivenEnergyModel
+				&& (getEnergyModel().getIdleConsumption() > 0 || getEnergyModel().isBatteryPowered());
+	}
+
+	@Override
+	public void processEvent(Event e) {
+		super.processEvent(e);
+		if (e.getTag() == BATTERY_DEATH) {
+			batteryDeathEvent = null;
+			if (!isDead()) {
+				getEnergyModel().stop();
+				setDeath(true, simulationManager.getSimulation().clock());
+			}
+		}
+	}
+
+	/**
+	 * Schedules the death of the device when its battery will be empty, and moves
+	 * it each time the consumption changes.
+	 * 
+	 * @see EnergyModelComputingNode#getBatteryDepletionTime()
+	 */
+	protected void scheduleBatteryDeath() {
 		if (isDead())
 			return;
+		double time = getEnergyModel().getBatteryDepletionTime();
+		if (batteryDeathEvent != null && batteryDeathEvent.getTime() == time)
+			return;
+		cancel(batteryDeathEvent);
+		batteryDeathEvent = null;
+		if (time >= 0)
+			batteryDeathEvent = schedule(this, time - simulationManager.getSimulation().clock(), BATTERY_DEATH);
+	}
+
+	@Override
+	protected void updateStatus() {
+		// Check if the device is dead, with the event-driven energy model its death is
+		// scheduled
+		if (isDead() || SimulationParameters.eventDrivenEnergyModel)
+			return;
 		// Update the static energy consumption, the dynamic one is measure separately
 		// in DefaultComputingNode.startExecution() for performance and accuracy reasons
 		getEnergyModel().updateStaticEnergyConsumption();
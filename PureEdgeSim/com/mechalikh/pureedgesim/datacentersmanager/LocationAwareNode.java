@@ -22,9 +22,11 @@ package com.mechalikh.pureedgesim.datacentersmanager;
 
 import com.mechalikh.pureedgesim.locationmanager.MobilityModel;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+import com.mechalikh.pureedgesim.simulationengine.Event;
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 
 public abstract class LocationAwareNode extends EnergyAwareNode {
+	protected static final int HANDOVER = 3;
 	protected MobilityModel mobilityModel = MobilityModel.NULL;
 	protected boolean peripheral = false;
 	protected ComputingNode applicationPlacementLocation = ComputingNode.NULL;
@@ -37,13 +39,45 @@ public abstract class LocationAwareNode extends EnergyAwareNode {
 	public void onSimulationStart() {
 		super.onSimulationStart();
 		mobilityModel.generatePath();
+		if (getMobilityModel().isMobile() && !getMobilityModel().needsLocationUpdates()) {
+			connectWith(getMobilityModel().getClosestEdgeDataCenter());
+			scheduleHandover();
+		}
+	}
+
+	@Override
+	protected boolean needsStatusUpdates() {
+		return super.needsStatusUpdates()
+				|| (getMobilityModel().isMobile() && getMobilityModel().needsLocationUpdates());
+	}
+
+	@Override
+	public void processEvent(Event e) {
+		super.processEvent(e);
+		if (e.getTag() == HANDOVER && !isDead) {
+			connectWith(getMobilityModel().handover());
+			scheduleHandover();
+		}
+	}
+
+	/**
+	 * Schedules the next change of the closest edge data center, for mobility
+	 * models that do not need location updates.
+	 * 
+	 * @see MobilityModel#getNextHandoverTime(double)
+	 */
+	protected void scheduleHandover() {
+		double clock = simulationManager.getSimulation().clock();
+		double time = getMobilityModel().getNextHandoverTime(clock);
+		if (time >= 0)
+			schedule(this, time - clock, HANDOVER);
 	}
 
 	@Override
 	protected void updateStatus() {
 		super.updateStatus();
 		// Update location
-		if (getMobilityModel().isMobile() && !isDead) {
+		if (getMobilityModel().isMobile() && getMobilityModel().needsLocationUpdates() && !isDead) {
 			getMobilityModel().updateLocation(simulationManager.getSimulation().clock());
 			connectWith(getMobilityModel().getClosestEdgeDataCenter());
 		}
@@ -0,0 +1,253 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.datacentersmanager;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores the resource counters of the computing nodes (RAM, storage, CPU cores,
+ * MIPS per core, and queued tasks) in columns, i.e., one primitive array per
+ * counter indexed by a dense node id. The computing nodes read and write their
+ * counters through this store, so the orchestrators can scan a counter of all
+ * the nodes without going through the {@link ComputingNode} interface.
+ * <p>
+ * A {@link Group} is an ordered subset of the nodes (e.g., the node list of an
+ * orchestrator) whose sum, mean, minimum, and maximum of each counter are
+ * updated incrementally each time a counter of one of its nodes changes.
+ *
+ * @see AbstractNode#getStateId()
+ * @see DataCentersManager#getNodeStateStore()
+ * @since PureEdgeSim 5.3
+ */
+public class NodeStateStore {
+
+	public static final int RAM = 0;
+	public static final int AVAILABLE_RAM = 1;
+	public static final int STORAGE = 2;
+	public static final int AVAILABLE_STORAGE = 3;
+	public static final int CPU_CORES = 4;
+	public static final int AVAILABLE_CORES = 5;
+	public static final int MIPS_PER_CORE = 6;
+	public static final int QUEUED_TASKS = 7;
+
+	/**
+	 * The number of counters.
+	 */
+	public static final int COLUMNS = 8;
+
+	protected static final Group[] NO_GROUPS = new Group[0];
+
+	protected double[][] columns = new double[COLUMNS][16];
+
+	protected ComputingNode[] nodes = new ComputingNode[16];
+
+	/**
+	 * The groups containing each node.
+	 */
+	protected Group[][] groups = new Group[16][];
+
+	protected int size;
+
+	/**
+	 * Adds a computing node to this store, with all its counters set to 0.
+	 * 
+	 * @param node the computing node.
+	 * @return the id of the node in this store.
+	 */
+	public int register(ComputingNode node) {
+		if (size == nodes.length) {
+			int capacity = size * 2;
+			for (int i = 0; i < COLUMNS; i++)
+				columns[i] = Arrays.copyOf(columns[i], capacity);
+			nodes = Arrays.copyOf(nodes, capacity);
+			groups = Arrays.copyOf(groups, capacity);
+		}
+		nodes[size] = node;
+		groups[size] = NO_GROUPS;
+		return size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public ComputingNode getNode(int id) {
+		return nodes[id];
+	}
+
+	public double get(int column, int id) {
+		return columns[column][id];
+	}
+
+	/**
+	 * Returns the values of the given counter, indexed by node id. Only the first
+	 * {@link #size()} values are used. The returned array must not be modified,
+	 * and it is replaced when new nodes are added.
+	 * 
+	 * @param column the counter.
+	 * @return the values of the counter.
+	 */
+	public double[] getColumn(int column) {
+		return columns[column];
+	}
+
+	public void set(int column, int id, double value) {
+		double oldValue = columns[column][id];
+		if (oldValue == value)
+			return;
+		columns[column][id] = value;
+		for (Group group : groups[id])
+			group.update(column, oldValue, value);
+	}
+
+	public void add(int column, int id, double delta) {
+		set(column, id, columns[column][id] + delta);
+	}
+
+	/**
+	 * Creates a group that keeps the aggregates of the given nodes. The nodes keep
+	 * the order of the list.
+	 * 
+	 * @param nodesList the nodes, that must have been added to this store.
+	 * @return the group.
+	 * @throws IllegalArgumentException if one of the nodes is not in this store.
+	 */
+	public Group createGroup(List<? extends ComputingNode> nodesList) {
+		int[] ids = new int[nodesList.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ComputingNode node = nodesList.get(i);
+			if (!(node instanceof AbstractNode) || ((AbstractNode) node).getStateId() < 0
+					|| nodes[((AbstractNode) node).getStateId()] != node)
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the node "
+						+ node.getName() + " is not in the node state store.");
+			ids[i] = ((AbstractNode) node).getStateId();
+		}
+		Group group = new Group(this, ids);
+		for (int id : ids) {
+			groups[id] = Arrays.copyOf(groups[id], groups[id].length + 1);
+			groups[id][groups[id].length - 1] = group;
+		}
+		return group;
+	}
+
+	/**
+	 * An ordered subset of the nodes of the store with incremental aggregates. The
+	 * minimum and maximum are recomputed lazily, only when the node holding them
+	 * changes to a less extreme value.
+	 */
+	public static class Group {
+		protected final NodeStateStore store;
+		protected final int[] ids;
+		protected final double[] sum = new double[COLUMNS];
+		protected final double[] min = new double[COLUMNS];
+		protected final double[] max = new double[COLUMNS];
+		protected final boolean[] minOutdated = new boolean[COLUMNS];
+		protected final boolean[] maxOutdated = new boolean[COLUMNS];
+
+		protected Group(NodeStateStore store, int[] ids) {
+			this.store = store;
+			this.ids = ids;
+			for (int column = 0; column < COLUMNS; column++) {
+				for (int id : ids)
+					sum[column] += store.columns[column][id];
+				minOutdated[column] = true;
+				maxOutdated[column] = true;
+			}
+		}
+
+		protected void update(int column, double oldValue, double newValue) {
+			sum[column] += newValue - oldValue;
+			if (!minOutdated[column]) {
+				if (newValue <= min[column])
+					min[column] = newValue;
+				else if (oldValue == min[column])
+					minOutdated[column] = true;
+			}
+			if (!maxOutdated[column]) {
+				if (newValue >= max[column])
+					max[column] = newValue;
+				else if (oldValue == max[column])
+					maxOutdated[column] = true;
+			}
+		}
+
+		public int size() {
+			return ids.length;
+		}
+
+		/**
+		 * Gets the store id of the node at the given position of this group.
+		 */
+		public int getId(int index) {
+			return ids[index];
+		}
+
+		/**
+		 * Gets the value of a counter of the node at the given position of this group.
+		 */
+		public double get(int column, int index) {
+			return store.columns[column][ids[index]];
+		}
+
+		public double getSum(int column) {
+			return sum[column];
+		}
+
+		/**
+		 * @return the mean of the counter, or 0 if this group is empty.
+		 */
+		public double getMean(int column) {
+			return ids.length == 0 ? 0 : sum[column] / ids.length;
+		}
+
+		/**
+		 * @return the minimum of the counter, or 0 if this group is empty.
+		 */
+		public double getMin(int column) {
+			if (minOutdated[column]) {
+				double[] values = store.columns[column];
+				double value = ids.length == 0 ? 0 : Double.POSITIVE_INFINITY;
+				for (int id : ids)
+					value = Math.min(value, values[id]);
+				min[column] = value;
+				minOutdated[column] = false;
+			}
+			return min[column];
+		}
+
+		/**
+		 * @return the maximum of the counter, or 0 if this group is empty.
+		 */
+		public double getMax(int column) {
+			if (maxOutdated[column]) {
+				double[] values = store.columns[column];
+				double value = ids.length == 0 ? 0 : Double.NEGATIVE_INFINITY;
+				for (int id : ids)
+					value = Math.max(value, values[id]);
+				max[column] = value;
+				maxOutdated[column] = false;
+			}
+			return max[column];
+		}
+	}
+
+}
@@ -10,6 +10,7 @@ import com.mechalikh.pureedgesim.taskgenerator.Container;
 import com.mechalikh.pureedgesim.taskgenerator.Task;
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.datacentersmanager.LocationAwareNode;
+import com.mechalikh.pureedgesim.datacentersmanager.NodeStateStore;
 import com.mechalikh.pureedgesim.energy.EnergyModelComputingNode;
 import com.mechalikh.pureedgesim.locationmanager.MobilityModel;
 
@@ -22,19 +23,12 @@ public class DataCenter extends LocationAwareNode {
 	protected int applicationType;
 	protected int user;
 	protected boolean isSensor = false;
-	protected double availableStorage = 0; // in Megabytes
-	protected double storage = 0; // in Megabytes
 	protected boolean isIdle = true;
 	protected int tasks = 0;
 	protected int totalTasks = 0;
 	protected double totalMipsCapacity;
-	protected double mipsPerCore;
-	protected int numberOfCPUCores;
-	protected int availableCores;
 	protected List<Task> tasksQueue = new ArrayList<>();
 	protected List<Container> containerList = new ArrayList<>();
-	protected double availableRam; // in Megabytes
-	protected double ram; // in Megabytes
 	protected static final int EXECUTION_FINISHED = 2;
 	private int tasksFailed = 0;
 	private double failureRate = 0;
@@ -130,19 +124,19 @@ public class DataCenter extends LocationAwareNode {
 		double storage = 0, mipsPerCore = 0, ram = 0;
 		int numberOfCPUCores = 0; 
 		for(Host host : HostList){
-			storage += host.storage;
-			mipsPerCore += host.mipsPerCore;
-			numberOfCPUCores += host.numberOfCPUCores;
-			ram += host.ram;
+			storage += host.getTotalStorage();
+			mipsPerCore += host.getMipsPerCore();
+			numberOfCPUCores += host.getNumberOfCPUCores();
+			ram += host.getRamCapacity();
 		}
 		setStorage(storage);
 		setAvailableStorage(storage);
-		this.mipsPerCore = mipsPerCore/HostList.size();
-		setTotalMipsCapacity(this.mipsPerCore * numberOfCPUCores);
+		nodeStates.set(NodeStateStore.MIPS_PER_CORE, stateId, mipsPerCore / HostList.size());
+		setTotalMipsCapacity(getMipsPerCore() * numberOfCPUCores);
 		setRam(ram);
 		setAvailableRam(ram);
 		setNumberOfCPUCores(numberOfCPUCores);
-		this.availableCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.AVAILABLE_CORES, stateId, numberOfCPUCores);
 	}
 
 	public List<Host> getHostList(){
@@ -174,15 +168,15 @@ public class DataCenter extends LocationAwareNode {
 	}
 
 	public int getAvailableCores(){
-		return availableCores;
+		return (int) nodeStates.get(NodeStateStore.AVAILABLE_CORES, stateId);
 	}
 
 	public double getNumberOfCPUCores() {
-		return numberOfCPUCores;
+		return nodeStates.get(NodeStateStore.CPU_CORES, stateId);
 	}
 
 	public void setNumberOfCPUCores(int numberOfCPUCores) {
-		this.numberOfCPUCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.CPU_CORES, stateId, numberOfCPUCores);
 	}
 
 	public int getApplicationType() {
@@ -200,11 +194,11 @@ public class DataCenter extends LocationAwareNode {
 	}
 
 	public double getAvailableStorage() {
-		return availableStorage;
+		return nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, stateId);
 	}
 
 	public void setAvailableStorage(double d) {
-		this.availableStorage = d;
+		nodeStates.set(NodeStateStore.AVAILABLE_STORAGE, stateId, d);
 	}
 
 	public double getAvgCpuUtilization() {
@@ -256,11 +250,11 @@ public class DataCenter extends LocationAwareNode {
 	}
 
 	public double getTotalStorage() {
-		return storage;
+		return nodeStates.get(NodeStateStore.STORAGE, stateId);
 	}
 
 	public void setStorage(double storage) {
-		this.storage = storage;
+		nodeStates.set(NodeStateStore.STORAGE, stateId, storage);
 	}
 
 	public double getTotalMipsCapacity() {
@@ -281,7 +275,7 @@ public class DataCenter extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getRamCapacity() {
-		return this.ram;
+		return nodeStates.get(NodeStateStore.RAM, stateId);
 	}
 
 	/**
@@ -295,7 +289,7 @@ public class DataCenter extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getAvailableRam() {
-		return this.availableRam;
+		return nodeStates.get(NodeStateStore.AVAILABLE_RAM, stateId);
 	}
 
 	/**
@@ -308,7 +302,7 @@ public class DataCenter extends LocationAwareNode {
 	 * @see #getRamCapacity()
 	 */
 	public void setRam(double ram) {
-		this.ram = ram;
+		nodeStates.set(NodeStateStore.RAM, stateId, ram);
 	}
 
 	/**
@@ -322,7 +316,7 @@ public class DataCenter extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public void setAvailableRam(double ram) {
-		this.availableRam = ram;
+		nodeStates.set(NodeStateStore.AVAILABLE_RAM, stateId, ram);
 	}
 
 	@Override
@@ -337,16 +331,18 @@ public class DataCenter extends LocationAwareNode {
 	public void submitContainerPlacement(Container container) {
 		// Aggiungo il container alla lista
 		containerList.add(container);
+		placementIndex.addToNode(this, container);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage - container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() - container.getContainerSizeInMBytes());
 	}
 
 	@Override
 	public void submitContainerUnPlacement(Container container) {
 		// rimuovo il container dalla lista
 		containerList.remove(container);
+		placementIndex.removeFromNode(this, container);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage + container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() + container.getContainerSizeInMBytes());
 	}
 	
 	@Override
@@ -355,11 +351,7 @@ public class DataCenter extends LocationAwareNode {
 	}
 
 	double getAssociatedContainerSizeInMBytes(Task task){
-		for(Container container : containerList)
-			for(ComputingNode computingnode : container.getEdgeDevices())
-				if(task.getEdgeDevice().equals(computingnode))
-					return container.getContainerSizeInMBytes();
-		return 0.0;
+		return placementIndex.getContainerSizeInMBytes(this, task.getEdgeDevice());
 	}
 
 	protected void startExecution(Task task) {
@@ -368,7 +360,7 @@ public class DataCenter extends LocationAwareNode {
 		// Update the amount of RAM.
 		setAvailableRam(this.getAvailableRam() - getAssociatedContainerSizeInMBytes(task));
 		// Update the number of available cores.
-		availableCores--;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, -1);
 
 		/*
 		 * Arguably, the correct way to get energy consumption measurement is to place
@@ -390,13 +382,13 @@ public class DataCenter extends LocationAwareNode {
 	}
 
 	public double getMipsPerCore() {
-		return mipsPerCore;
+		return nodeStates.get(NodeStateStore.MIPS_PER_CORE, stateId);
 	}
 
 	protected void executionFinished(Event e) {
 
 		// The execution of one task has been finished, free one more CPU core.
-		availableCores++;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, 1);
 		// Free the RAM that has been used by the finished task.
 		setAvailableRam(this.getAvailableRam() + getAssociatedContainerSizeInMBytes((Task) e.getData()));
 		// Free the storage that has been used by the finished task.
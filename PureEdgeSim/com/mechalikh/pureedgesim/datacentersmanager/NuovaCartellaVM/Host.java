@@ -14,6 +14,7 @@ import com.mechalikh.pureedgesim.taskgenerator.Container;
 import com.mechalikh.pureedgesim.taskgenerator.Task;
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.datacentersmanager.LocationAwareNode;
+import com.mechalikh.pureedgesim.datacentersmanager.NodeStateStore;
 import com.mechalikh.pureedgesim.energy.EnergyModelComputingNode;
 import com.mechalikh.pureedgesim.locationmanager.MobilityModel;
 
@@ -21,19 +22,12 @@ public class Host extends LocationAwareNode {
 	protected int applicationType;
 	protected int user;
 	protected boolean isSensor = false;
-	protected double availableStorage = 0; // in Megabytes
-	protected double storage = 0; // in Megabytes
 	protected boolean isIdle = true;
 	protected int tasks = 0;
 	protected int totalTasks = 0;
 	protected double totalMipsCapacity;
-	protected double mipsPerCore;
-	protected int numberOfCPUCores;
-	protected int availableCores;
 	protected List<Task> tasksQueue = new ArrayList<>();
 	protected List<Container> containerList = new ArrayList<>();
-	protected double availableRam; // in Megabytes
-	protected double ram; // in Megabytes
 	protected static final int EXECUTION_FINISHED = 2;
 	private int tasksFailed = 0;
 	private double failureRate = 0;
@@ -47,11 +41,11 @@ public class Host extends LocationAwareNode {
 		setStorage(storage);
 		setAvailableStorage(storage);
 		setTotalMipsCapacity(mipsPerCore * numberOfCPUCores);
-		this.mipsPerCore = mipsPerCore;
+		nodeStates.set(NodeStateStore.MIPS_PER_CORE, stateId, mipsPerCore);
 		setRam(ram);
 		setAvailableRam(ram);
 		setNumberOfCPUCores(numberOfCPUCores);
-		this.availableCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.AVAILABLE_CORES, stateId, numberOfCPUCores);
 
 		this.DataCenter = datacenter;
 		this.createVms(simulationManager, this, hostElement);
@@ -168,15 +162,15 @@ public class Host extends LocationAwareNode {
 	}
 
 	public int getAvailableCores(){
-		return availableCores;
+		return (int) nodeStates.get(NodeStateStore.AVAILABLE_CORES, stateId);
 	}
 
 	public double getNumberOfCPUCores() {
-		return numberOfCPUCores;
+		return nodeStates.get(NodeStateStore.CPU_CORES, stateId);
 	}
 
 	public void setNumberOfCPUCores(int numberOfCPUCores) {
-		this.numberOfCPUCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.CPU_CORES, stateId, numberOfCPUCores);
 	}
 	
 	public int getApplicationType() {
@@ -194,11 +188,11 @@ public class Host extends LocationAwareNode {
 	}
 
 	public double getAvailableStorage() {
-		return availableStorage;
+		return nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, stateId);
 	}
 
 	public void setAvailableStorage(double d) {
-		this.availableStorage = d;
+		nodeStates.set(NodeStateStore.AVAILABLE_STORAGE, stateId, d);
 	}
 
 	public double getAvgCpuUtilization() {
@@ -250,11 +244,11 @@ public class Host extends LocationAwareNode {
 	}
 
 	public double getTotalStorage() {
-		return storage;
+		return nodeStates.get(NodeStateStore.STORAGE, stateId);
 	}
 
 	public void setStorage(double storage) {
-		this.storage = storage;
+		nodeStates.set(NodeStateStore.STORAGE, stateId, storage);
 	}
 
 	public double getTotalMipsCapacity() {
@@ -275,7 +269,7 @@ public class Host extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getRamCapacity() {
-		return this.ram;
+		return nodeStates.get(NodeStateStore.RAM, stateId);
 	}
 
 	/**
@@ -289,7 +283,7 @@ public class Host extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getAvailableRam() {
-		return this.availableRam;
+		return nodeStates.get(NodeStateStore.AVAILABLE_RAM, stateId);
 	}
 
 	/**
@@ -302,7 +296,7 @@ public class Host extends LocationAwareNode {
 	 * @see #getRamCapacity()
 	 */
 	public void setRam(double ram) {
-		this.ram = ram;
+		nodeStates.set(NodeStateStore.RAM, stateId, ram);
 	}
 
 	/**
@@ -316,7 +310,7 @@ public class Host extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public void setAvailableRam(double ram) {
-		this.availableRam = ram;
+		nodeStates.set(NodeStateStore.AVAILABLE_RAM, stateId, ram);
 	}
 
 	@Override
@@ -333,8 +327,9 @@ public class Host extends LocationAwareNode {
 	public void submitContainerPlacement(Container container) {
 		// Aggiungo il container alla lista
 		containerList.add(container);
+		placementIndex.addToNode(this, container);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage - container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() - container.getContainerSizeInMBytes());
 
 		this.DataCenter.submitContainerPlacement(container);
 	}
@@ -343,8 +338,9 @@ public class Host extends LocationAwareNode {
 	public void submitContainerUnPlacement(Container container) {
 		// rimuovo il container dalla lista
 		containerList.remove(container);
+		placementIndex.removeFromNode(this, container);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage + container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() + container.getContainerSizeInMBytes());
 
 		this.DataCenter.submitContainerUnPlacement(container);
 	}
@@ -355,11 +351,7 @@ public class Host extends LocationAwareNode {
 	}
 
 	double getAssociatedContainerSizeInMBytes(Task task){
-		for(Container container : containerList)
-			for(ComputingNode computingnode : container.getEdgeDevices())
-				if(task.getEdgeDevice().equals(computingnode))
-					return container.getContainerSizeInMBytes();
-		return 0.0;
+		return placementIndex.getContainerSizeInMBytes(this, task.getEdgeDevice());
 	}
 
 	protected void startExecution(Task task) {
@@ -368,7 +360,7 @@ public class Host extends LocationAwareNode {
 		// Update the amount of RAM.
 		setAvailableRam(this.getAvailableRam() - getAssociatedContainerSizeInMBytes(task));
 		// Update the number of available cores.
-		availableCores--;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, -1);
 
 		this.DataCenter.startExecution(task);
 
@@ -392,13 +384,13 @@ public class Host extends LocationAwareNode {
 	}
 
 	public double getMipsPerCore() {
-		return mipsPerCore;
+		return nodeStates.get(NodeStateStore.MIPS_PER_CORE, stateId);
 	}
 
 	protected void executionFinished(Event e) {
 
 		// The execution of one task has been finished, free one more CPU core.
-		availableCores++;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, 1);
 		// Free the RAM that has been used by the finished task.
 		setAvailableRam(this.getAvailableRam() + getAssociatedContainerSizeInMBytes((Task) e.getData()));
 		// Free the storage that has been used by the finished task.
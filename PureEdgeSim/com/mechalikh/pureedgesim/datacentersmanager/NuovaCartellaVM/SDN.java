@@ -8,24 +8,18 @@ import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 import com.mechalikh.pureedgesim.taskgenerator.Container;
 import com.mechalikh.pureedgesim.taskgenerator.Task;
 import com.mechalikh.pureedgesim.datacentersmanager.LocationAwareNode;
+import com.mechalikh.pureedgesim.datacentersmanager.NodeStateStore;
 
 
 public class SDN extends LocationAwareNode {
 	protected int applicationType;
 	protected int user;
 	protected boolean isSensor = false;
-	protected double availableStorage = 0; // in Megabytes
-	protected double storage = 0; // in Megabytes
 	protected boolean isIdle = true;
 	protected int tasks = 0;
 	protected int totalTasks = 0;
 	protected double totalMipsCapacity;
-	protected double mipsPerCore;
-	protected int numberOfCPUCores;
-	protected int availableCores;
 	protected List<Task> tasksQueue = new ArrayList<>();
-	protected double availableRam; // in Megabytes
-	protected double ram; // in Megabytes
 	protected static final int EXECUTION_FINISHED = 2;
 	private int tasksFailed = 0;
 	private double failureRate = 0;
@@ -37,11 +31,11 @@ public class SDN extends LocationAwareNode {
 		setStorage(storage);
 		setAvailableStorage(storage);
 		setTotalMipsCapacity(mipsPerCore * numberOfCPUCores);
-		this.mipsPerCore = mipsPerCore;
+		nodeStates.set(NodeStateStore.MIPS_PER_CORE, stateId, mipsPerCore);
 		setRam(ram);
 		setAvailableRam(ram);
 		setNumberOfCPUCores(numberOfCPUCores);
-		this.availableCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.AVAILABLE_CORES, stateId, numberOfCPUCores);
 	}
 
 	@Override
@@ -69,15 +63,15 @@ public class SDN extends LocationAwareNode {
 	}
 
 	public int getAvailableCores(){
-		return availableCores;
+		return (int) nodeStates.get(NodeStateStore.AVAILABLE_CORES, stateId);
 	}
 
 	public double getNumberOfCPUCores() {
-		return numberOfCPUCores;
+		return nodeStates.get(NodeStateStore.CPU_CORES, stateId);
 	}
 
 	public void setNumberOfCPUCores(int numberOfCPUCores) {
-		this.numberOfCPUCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.CPU_CORES, stateId, numberOfCPUCores);
 	}
 	
 	public int getApplicationType() {
@@ -95,11 +89,11 @@ public class SDN extends LocationAwareNode {
 	}
 
 	public double getAvailableStorage() {
-		return availableStorage;
+		return nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, stateId);
 	}
 
 	public void setAvailableStorage(double d) {
-		this.availableStorage = d;
+		nodeStates.set(NodeStateStore.AVAILABLE_STORAGE, stateId, d);
 	}
 
 	public double getAvgCpuUtilization() {
@@ -151,11 +145,11 @@ public class SDN extends LocationAwareNode {
 	}
 
 	public double getTotalStorage() {
-		return storage;
+		return nodeStates.get(NodeStateStore.STORAGE, stateId);
 	}
 
 	public void setStorage(double storage) {
-		this.storage = storage;
+		nodeStates.set(NodeStateStore.STORAGE, stateId, storage);
 	}
 
 	public double getTotalMipsCapacity() {
@@ -176,7 +170,7 @@ public class SDN extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getRamCapacity() {
-		return this.ram;
+		return nodeStates.get(NodeStateStore.RAM, stateId);
 	}
 
 	/**
@@ -190,7 +184,7 @@ public class SDN extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getAvailableRam() {
-		return this.availableRam;
+		return nodeStates.get(NodeStateStore.AVAILABLE_RAM, stateId);
 	}
 
 	/**
@@ -203,7 +197,7 @@ public class SDN extends LocationAwareNode {
 	 * @see #getRamCapacity()
 	 */
 	public void setRam(double ram) {
-		this.ram = ram;
+		nodeStates.set(NodeStateStore.RAM, stateId, ram);
 	}
 
 	/**
@@ -217,7 +211,7 @@ public class SDN extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public void setAvailableRam(double ram) {
-		this.availableRam = ram;
+		nodeStates.set(NodeStateStore.AVAILABLE_RAM, stateId, ram);
 	}
 
 	@Override
@@ -246,7 +240,7 @@ public class SDN extends LocationAwareNode {
 	}
 
 	public double getMipsPerCore() {
-		return mipsPerCore;
+		return nodeStates.get(NodeStateStore.MIPS_PER_CORE, stateId);
 	}
 
 	protected void executionFinished(Event e) {
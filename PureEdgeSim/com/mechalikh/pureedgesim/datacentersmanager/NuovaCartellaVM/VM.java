@@ -11,25 +11,18 @@ import com.mechalikh.pureedgesim.taskgenerator.Task;
 import com.mechalikh.pureedgesim.taskorchestrator.Orchestrator;
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.datacentersmanager.LocationAwareNode;
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+import com.mechalikh.pureedgesim.datacentersmanager.NodeStateStore;
 
 public class VM extends LocationAwareNode {
 	protected int applicationType;
 	protected int user;
 	protected boolean isSensor = false;
-	protected double availableStorage = 0; // in Megabytes
-	protected double storage = 0; // in Megabytes
 	protected boolean isIdle = true;
 	protected int tasks = 0;
 	protected int totalTasks = 0;
 	protected double totalMipsCapacity;
-	protected double mipsPerCore;
-	protected int numberOfCPUCores;
-	protected int availableCores;
 	protected List<Task> tasksQueue = new ArrayList<>();
 	protected List<Container> containerList = new ArrayList<>();
-	protected double availableRam; // in Megabytes
-	protected double ram; // in Megabytes
 	protected static final int EXECUTION_FINISHED = 2;
 	private int tasksFailed = 0;
 	private double failureRate = 0;
@@ -43,11 +36,11 @@ public class VM extends LocationAwareNode {
 		setStorage(storage);
 		setAvailableStorage(storage);
 		setTotalMipsCapacity(mipsPerCore * numberOfCPUCores);
-		this.mipsPerCore = mipsPerCore;
+		nodeStates.set(NodeStateStore.MIPS_PER_CORE, stateId, mipsPerCore);
 		setRam(ram);
 		setAvailableRam(ram);
 		setNumberOfCPUCores(numberOfCPUCores);
-		this.availableCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.AVAILABLE_CORES, stateId, numberOfCPUCores);
 		this.Host = host;
 
 		if(sharedQueue) tasksQueue = this.getHost().getDataCenter().getTasksQueue();
@@ -84,15 +77,15 @@ public class VM extends LocationAwareNode {
 	}
 
 	public int getAvailableCores(){
-		return availableCores;
+		return (int) nodeStates.get(NodeStateStore.AVAILABLE_CORES, stateId);
 	}
 
 	public double getNumberOfCPUCores() {
-		return numberOfCPUCores;
+		return nodeStates.get(NodeStateStore.CPU_CORES, stateId);
 	}
 
 	public void setNumberOfCPUCores(int numberOfCPUCores) {
-		this.numberOfCPUCores = numberOfCPUCores;
+		nodeStates.set(NodeStateStore.CPU_CORES, stateId, numberOfCPUCores);
 	}
 
 	public int getApplicationType() {
@@ -110,11 +103,11 @@ public class VM extends LocationAwareNode {
 	}
 
 	public double getAvailableStorage() {
-		return availableStorage;
+		return nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, stateId);
 	}
 
 	public void setAvailableStorage(double d) {
-		this.availableStorage = d;
+		nodeStates.set(NodeStateStore.AVAILABLE_STORAGE, stateId, d);
 	}
 
 	public double getAvgCpuUtilization() {
@@ -166,11 +159,11 @@ public class VM extends LocationAwareNode {
 	}
 
 	public double getTotalStorage() {
-		return storage;
+		return nodeStates.get(NodeStateStore.STORAGE, stateId);
 	}
 
 	public void setStorage(double storage) {
-		this.storage = storage;
+		nodeStates.set(NodeStateStore.STORAGE, stateId, storage);
 	}
 
 	public double getTotalMipsCapacity() {
@@ -191,7 +184,7 @@ public class VM extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getRamCapacity() {
-		return this.ram;
+		return nodeStates.get(NodeStateStore.RAM, stateId);
 	}
 
 	/**
@@ -205,7 +198,7 @@ public class VM extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public double getAvailableRam() {
-		return this.availableRam;
+		return nodeStates.get(NodeStateStore.AVAILABLE_RAM, stateId);
 	}
 
 	/**
@@ -218,7 +211,7 @@ public class VM extends LocationAwareNode {
 	 * @see #getRamCapacity()
 	 */
 	public void setRam(double ram) {
-		this.ram = ram;
+		nodeStates.set(NodeStateStore.RAM, stateId, ram);
 	}
 
 	/**
@@ -232,7 +225,7 @@ public class VM extends LocationAwareNode {
 	 * @see #setRam(long)
 	 */
 	public void setAvailableRam(double ram) {
-		this.availableRam = ram;
+		nodeStates.set(NodeStateStore.AVAILABLE_RAM, stateId, ram);
 	}
 
 	@Override
@@ -254,12 +247,14 @@ public class VM extends LocationAwareNode {
 		}
 
 		// If a CPU core and enough RAM are available, execute task directly
-		if (availableCores > 0 && this.getAvailableRam() >= getAssociatedContainerSizeInMBytes(task)) {
+		if (getAvailableCores() > 0 && this.getAvailableRam() >= getAssociatedContainerSizeInMBytes(task)) {
 			startExecution(task);
 		}
 		// Otherwise, add it to the execution queue
-		else
+		else {
 			getTasksQueue().add(task);
+			nodeStates.set(NodeStateStore.QUEUED_TASKS, stateId, getTasksQueue().size());
+		}
 	}
 
 	@Override
@@ -269,12 +264,13 @@ public class VM extends LocationAwareNode {
 
 		// Aggiungo il container alla lista
 		containerList.add(container);
+		placementIndex.addToNode(this, container);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage - container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() - container.getContainerSizeInMBytes());
 		this.Host.submitContainerPlacement(container);
 							 
-		if(Orchestrator.printDebug && !container.getSharedContainer()) System.out.println("Richiesta di Placement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " dall'utente "+SimulationParameters.applicationList.get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getApplicationType()).getUsersList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getUser()).getType()+"  generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + this.availableStorage + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
-		if(Orchestrator.printDebug && container.getSharedContainer()) System.out.println("Richiesta di Placement dell'operatore " + container.getAssociatedAppName() +" generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + this.availableStorage + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
+		if(Orchestrator.printDebug && !container.getSharedContainer()) System.out.println("Richiesta di Placement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " dall'utente "+simulationManager.getApplicationList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getApplicationType()).getUsersList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getUser()).getType()+"  generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + getAvailableStorage() + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
+		if(Orchestrator.printDebug && container.getSharedContainer()) System.out.println("Richiesta di Placement dell'operatore " + container.getAssociatedAppName() +" generata al tempo " + container.getTime() + ". AvailableStorage del nodo " + this.getName() + " = " + getAvailableStorage() + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
 
 		scheduleNow(simulationManager, SimulationManager.TRANSFER_RESULTS_TO_CLOUD_ORCH, container);
 	}
@@ -283,14 +279,15 @@ public class VM extends LocationAwareNode {
 	public void submitContainerUnPlacement(Container container) {
 		// rimuovo il container dalla lista
 		containerList.remove(container);
+		placementIndex.removeFromNode(this, container);
 		// setto il container come UNPLACED
 		container.setStatus(Container.Status.NOT_PLACED);
 		// Update the amount of available storage
-		this.setAvailableStorage(this.availableStorage + container.getContainerSizeInMBytes());
+		this.setAvailableStorage(getAvailableStorage() + container.getContainerSizeInMBytes());
 
 		this.Host.submitContainerUnPlacement(container);
 	
-		if(Orchestrator.printDebug) System.out.println("Richiesta di Unplacement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " dall'utente "+SimulationParameters.applicationList.get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getApplicationType()).getUsersList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getUser()).getType()+" generata al tempo " + container.getDuration() + ". AvailableStorage del nodo " + this.getName() + " = " + this.availableStorage + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
+		if(Orchestrator.printDebug) System.out.println("Richiesta di Unplacement del " + container.getEdgeDevice(container.getEdgeDevices().size()-1).getName() + " dall'utente "+simulationManager.getApplicationList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getApplicationType()).getUsersList().get(container.getEdgeDevice(container.getEdgeDevices().size()-1).getUser()).getType()+" generata al tempo " + container.getDuration() + ". AvailableStorage del nodo " + this.getName() + " = " + getAvailableStorage() + ". ContainerID = " + container.getId() + ". ContainerList.size() = " + containerList.size());
 
 		scheduleNow(simulationManager, SimulationManager.TRANSFER_UNPLACEMENT_RESULTS_TO_CLOUD_ORCH, container);
 	}
@@ -308,7 +305,7 @@ public class VM extends LocationAwareNode {
 		//setAvailableRam(this.getAvailableRam() - task.getContainerSizeInMBytes());
 		setAvailableRam(this.getAvailableRam() - getAssociatedContainerSizeInMBytes(task));
 		// Update the number of available cores.
-		availableCores--;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, -1);
 
 		this.Host.startExecution(task);
 
@@ -334,29 +331,21 @@ public class VM extends LocationAwareNode {
 		getEnergyModel().updateDynamicEnergyConsumption(task.getLength(), this.getTotalMipsCapacity());
 
 		// Schedule when the execution will be finished.
-		schedule(this, (task.getLength() / mipsPerCore), EXECUTION_FINISHED, task);
+		schedule(this, (task.getLength() / getMipsPerCore()), EXECUTION_FINISHED, task);
 	}
 
 	public double getMipsPerCore() {
-		return mipsPerCore;
+		return nodeStates.get(NodeStateStore.MIPS_PER_CORE, stateId);
 	}
 
 	double getAssociatedContainerSizeInMBytes(Task task){
-		//per ogni container nella lista
-		for(Container container : containerList)
-			//controlla tra i suoi edgeDevice
-			for(ComputingNode computingnode : container.getEdgeDevices())
-				//se vi è uno che corrisponde al generatore del task
-				if(task.getEdgeDevice().equals(computingnode))
-					return container.getContainerSizeInMBytes();
-
-		return 0.0;
+		return placementIndex.getContainerSizeInMBytes(this, task.getEdgeDevice());
 	}
 
 	protected void executionFinished(Event e) {
 
 		// The execution of one task has been finished, free one more CPU core.
-		availableCores++;
+		nodeStates.add(NodeStateStore.AVAILABLE_CORES, stateId, 1);
 		// Free the RAM that has been used by the finished task.
 		//setAvailableRam(this.getAvailableRam() + ((Task) e.getData()).getContainerSizeInMBytes());
 		setAvailableRam(this.getAvailableRam() + getAssociatedContainerSizeInMBytes((Task) e.getData()));
@@ -382,6 +371,7 @@ public class VM extends LocationAwareNode {
 
 			// Remove the task from the queue.
 			getTasksQueue().remove(0);
+			nodeStates.set(NodeStateStore.QUEUED_TASKS, stateId, getTasksQueue().size());
 
 			// Execute the task.
 			startExecution(task);
@@ -0,0 +1,197 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.datacentersmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mechalikh.pureedgesim.taskgenerator.Container;
+
+/**
+ * Indexes the placed containers, so that the orchestrators and the computing
+ * nodes do not have to scan the container lists:
+ * <ul>
+ * <li>(application, edge device) to containers, used to find the container of
+ * a task.</li>
+ * <li>container to placement node, used to find where a container has to be
+ * unplaced from.</li>
+ * <li>(computing node, edge device) to containers, used by the computing nodes
+ * to find the container a task is executed in.</li>
+ * </ul>
+ * The containers of each key are kept in the order in which they have been
+ * added, which is the order in which the container lists used to be scanned.
+ * A shared container is indexed once for each of its edge devices.
+ *
+ * @see DataCentersManager#getPlacementIndex()
+ * @since PureEdgeSim 5.3
+ */
+public class PlacementIndex {
+
+	protected final Set<Container> containers = new HashSet<>();
+
+	/**
+	 * The containers of each application, by edge device.
+	 */
+	protected final Map<String, Map<ComputingNode, List<Container>>> applicationContainers = new HashMap<>();
+
+	/**
+	 * The placement node of each container, by container id.
+	 */
+	protected final Map<Integer, ComputingNode> placementNodes = new HashMap<>();
+
+	/**
+	 * The containers placed on each computing node, by edge device.
+	 */
+	protected final Map<ComputingNode, Map<ComputingNode, List<Container>>> nodeContainers = new HashMap<>();
+
+	/**
+	 * Adds the container to the (application, edge device) index.
+	 * 
+	 * @param container the container.
+	 * @return false if the container was already indexed.
+	 */
+	public boolean add(Container container) {
+		if (!containers.add(container))
+			return false;
+		addByDevice(applicationContainers.computeIfAbsent(container.getAssociatedAppName(), k -> new HashMap<>()),
+				container);
+		return true;
+	}
+
+	/**
+	 * Removes the container from the (application, edge device) index.
+	 * 
+	 * @param container the container.
+	 * @return false if the container was not indexed.
+	 */
+	public boolean remove(Container container) {
+		if (!containers.remove(container))
+			return false;
+		removeByDevice(applicationContainers.get(container.getAssociatedAppName()), container);
+		return true;
+	}
+
+	public boolean contains(Container container) {
+		return containers.contains(container);
+	}
+
+	/**
+	 * Returns the containers of the given application that are associated with
+	 * the given edge device, in the order in which they have been added.
+	 * 
+	 * @param application the name of the application.
+	 * @param edgeDevice  the edge device.
+	 * @return the containers, or an empty list. It must not be modified.
+	 */
+	public List<Container> getContainers(String application, ComputingNode edgeDevice) {
+		return find(applicationContainers.get(application), edgeDevice);
+	}
+
+	/**
+	 * Adds the container to the index and records its placement destination.
+	 * 
+	 * @param container the container that has been placed.
+	 */
+	public void place(Container container) {
+		add(container);
+		placementNodes.put(container.getId(), container.getPlacementDestination());
+	}
+
+	/**
+	 * Removes the container and its placement destination from the index.
+	 * 
+	 * @param container the container that has been unplaced.
+	 */
+	public void unplace(Container container) {
+		remove(container);
+		placementNodes.remove(container.getId());
+	}
+
+	/**
+	 * Returns the node on which the container with the same id as the given one
+	 * is placed.
+	 * 
+	 * @param container the container.
+	 * @return the placement node, or null if the container is not placed.
+	 */
+	public ComputingNode getPlacementNode(Container container) {
+		return placementNodes.get(container.getId());
+	}
+
+	/**
+	 * Adds the container to the containers of the given node. A container placed
+	 * on a virtual machine is also added to its host and to its data center.
+	 * 
+	 * @param node      the computing node.
+	 * @param container the container.
+	 */
+	public void addToNode(ComputingNode node, Container container) {
+		addByDevice(nodeContainers.computeIfAbsent(node, k -> new HashMap<>()), container);
+	}
+
+	public void removeFromNode(ComputingNode node, Container container) {
+		removeByDevice(nodeContainers.get(node), container);
+	}
+
+	/**
+	 * Returns the size of the first container of the given node that is
+	 * associated with the given edge device.
+	 * 
+	 * @param node       the computing node.
+	 * @param edgeDevice the edge device.
+	 * @return the size of the container in megabytes, or 0 if there is none.
+	 */
+	public double getContainerSizeInMBytes(ComputingNode node, ComputingNode edgeDevice) {
+		List<Container> list = find(nodeContainers.get(node), edgeDevice);
+		return list.isEmpty() ? 0.0 : list.get(0).getContainerSizeInMBytes();
+	}
+
+	protected void addByDevice(Map<ComputingNode, List<Container>> byDevice, Container container) {
+		for (ComputingNode edgeDevice : container.getEdgeDevices()) {
+			List<Container> list = byDevice.computeIfAbsent(edgeDevice, k -> new ArrayList<>(1));
+			// Do not add it twice if the edge device is listed twice.
+			if (list.isEmpty() || list.get(list.size() - 1) != container)
+				list.add(container);
+		}
+	}
+
+	protected void removeByDevice(Map<ComputingNode, List<Container>> byDevice, Container container) {
+		if (byDevice == null)
+			return;
+		for (ComputingNode edgeDevice : container.getEdgeDevices()) {
+			List<Container> list = byDevice.get(edgeDevice);
+			if (list != null && list.remove(container) && list.isEmpty())
+				byDevice.remove(edgeDevice);
+		}
+	}
+
+	protected List<Container> find(Map<ComputingNode, List<Container>> byDevice, ComputingNode edgeDevice) {
+		if (byDevice == null)
+			return Collections.emptyList();
+		return byDevice.getOrDefault(edgeDevice, Collections.emptyList());
+	}
+
+}
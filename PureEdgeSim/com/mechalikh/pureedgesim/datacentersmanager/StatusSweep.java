@@ -0,0 +1,138 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.datacentersmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+import com.mechalikh.pureedgesim.simulationengine.Event;
+import com.mechalikh.pureedgesim.simulationengine.OnSimulationStartListener;
+import com.mechalikh.pureedgesim.simulationengine.SimEntity;
+import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
+
+/**
+ * Updates the status of the computing nodes that need it (e.g., mobile or
+ * battery powered devices) using a single periodic event, instead of one
+ * UPDATE_STATUS event per node and per update interval. The nodes that do not
+ * need periodic updates are not updated at all.
+ * 
+ * @see AbstractNode#needsStatusUpdates()
+ * @see SimulationParameters#aggregateStatusUpdates
+ * @since PureEdgeSim 5.3
+ */
+public class StatusSweep extends SimEntity implements OnSimulationStartListener {
+
+	protected static final int SWEEP = 1;
+
+	/**
+	 * The nodes that are updated at every sweep.
+	 */
+	protected final List<AbstractNode> nodes = new ArrayList<>();
+
+	/**
+	 * The number of nodes that schedule their own UPDATE_STATUS events.
+	 */
+	protected int selfUpdatedNodes;
+
+	/**
+	 * The number of nodes that do not need periodic updates.
+	 */
+	protected int skippedNodes;
+
+	protected long sweeps;
+
+	/**
+	 * The update interval of this simulation run.
+	 */
+	protected final double updateInterval;
+
+	public StatusSweep(SimulationManager simulationManager) {
+		super(simulationManager.getSimulation());
+		updateInterval = simulationManager.getConfig().getUpdateInterval();
+	}
+
+	/**
+	 * Called by each computing node when the simulation starts.
+	 * 
+	 * @param node           the computing node.
+	 * @param needsUpdates   whether the node needs periodic status updates.
+	 * @return true if the node is updated by this sweep, false if it must
+	 *         schedule its own UPDATE_STATUS events.
+	 */
+	boolean register(AbstractNode node, boolean needsUpdates) {
+		if (!needsUpdates) {
+			skippedNodes++;
+			return false;
+		}
+		if (!SimulationParameters.aggregateStatusUpdates) {
+			selfUpdatedNodes++;
+			return false;
+		}
+		nodes.add(node);
+		return true;
+	}
+
+	@Override
+	public void onSimulationStart() {
+		// The nodes have been created (and thus registered) before this sweep.
+		if (!nodes.isEmpty())
+			scheduleNow(this, SWEEP);
+	}
+
+	@Override
+	public void processEvent(Event e) {
+		if (e.getTag() == SWEEP) {
+			for (int i = 0; i < nodes.size(); i++)
+				nodes.get(i).updateStatus();
+			sweeps++;
+			schedule(this, updateInterval, SWEEP);
+		}
+	}
+
+	/**
+	 * Gets the number of nodes that are updated periodically, either by this sweep
+	 * or by their own events.
+	 */
+	public int getUpdatedNodesCount() {
+		return nodes.size() + selfUpdatedNodes;
+	}
+
+	public int getSkippedNodesCount() {
+		return skippedNodes;
+	}
+
+	/**
+	 * Gets the number of UPDATE_STATUS events that would have been scheduled if
+	 * all the nodes scheduled their own updates, minus the ones that have actually
+	 * been scheduled, at the current simulation time.
+	 * 
+	 * @return the number of avoided periodic events.
+	 */
+	public long getAvoidedEventsCount() {
+		long ticks = (long) Math.floor(simulation.clock() / updateInterval) + 1;
+		long avoided = skippedNodes * ticks;
+		if (!nodes.isEmpty())
+			avoided += (nodes.size() - 1) * sweeps;
+		return avoided;
+	}
+
+}
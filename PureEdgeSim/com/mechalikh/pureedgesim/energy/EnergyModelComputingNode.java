@@ -21,13 +21,22 @@
 package com.mechalikh.pureedgesim.energy;
 
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+import com.mechalikh.pureedgesim.simulationengine.PureEdgeSim;
 
 /**
  * The linear power model for computing nodes. It implements the Null Object
  * Design Pattern in order to start avoiding {@link NullPointerException} when
  * using the NULL object instead of attributing null to EnergyModelNetworkLink
  * variables.
+ * <p>
+ * When the event-driven energy model is enabled, the idle and the dynamic power
+ * are integrated from the time of the last update each time the consumption
+ * changes (when a task starts or finishes, or a transfer ends) and each time
+ * the energy is read, instead of adding the idle energy at every update
+ * interval. The time at which the battery will be empty is then known in
+ * advance.
  * 
+ * @see SimulationParameters#eventDrivenEnergyModel
  * @author Charafeddine Mechalikh
  * @since PureEdgeSim 5.0
  */
@@ -52,20 +61,127 @@ public class EnergyModelComputingNode {
 	protected double transmissionEnergyPerBits;
 	protected double receptionEnergyPerBits;
 
+	/**
+	 * Used by the event-driven energy model to get the current time.
+	 * 
+	 * @see #setSimulation(PureEdgeSim)
+	 */
+	protected PureEdgeSim simulation;
+	protected double lastUpdateTime;
+
+	/**
+	 * The interval at which the idle energy consumption is updated, when the
+	 * event-driven energy model is disabled.
+	 * 
+	 * @see #setUpdateInterval(double)
+	 */
+	protected double updateInterval = SimulationParameters.updateInterval;
+
+	/**
+	 * The dynamic power (in Watt) of the tasks being executed.
+	 */
+	protected double dynamicPower;
+	protected int runningTasks;
+	protected boolean stopped = false;
+
+	/**
+	 * Notified each time the consumption changes.
+	 * 
+	 * @see #setConsumptionListener(Runnable)
+	 */
+	protected Runnable consumptionListener;
+
 	public EnergyModelComputingNode(double maxActiveConsumption, double idleConsumption) {
 		this.setMaxActiveConsumption(maxActiveConsumption);
 		this.setIdleConsumption(idleConsumption);
 	}
 
 	public void updateStaticEnergyConsumption() {
-		cpuEnergyConsumption += getIdleConsumption() / 3600 * SimulationParameters.updateInterval;
+		if (isEventDriven())
+			updateEnergyConsumption();
+		else
+			cpuEnergyConsumption += getIdleConsumption() / 3600 * updateInterval;
+	}
+
+	/**
+	 * Sets the simulation whose clock is used by the event-driven energy model.
+	 * 
+	 * @param simulation the simulation
+	 */
+	public void setSimulation(PureEdgeSim simulation) {
+		this.simulation = simulation;
+		this.lastUpdateTime = simulation.clock();
+	}
+
+	/**
+	 * Sets the update interval of the simulation run this energy model belongs to.
+	 * 
+	 * @param updateInterval the update interval, in seconds
+	 */
+	public void setUpdateInterval(double updateInterval) {
+		this.updateInterval = updateInterval;
+	}
+
+	protected boolean isEventDriven() {
+		return SimulationParameters.eventDrivenEnergyModel && simulation != null;
+	}
+
+	/**
+	 * Adds the energy consumed since the last update, with the event-driven energy
+	 * model.
+	 */
+	public void updateEnergyConsumption() {
+		if (!isEventDriven())
+			return;
+		double time = simulation.clock();
+		if (!stopped && time > lastUpdateTime)
+			cpuEnergyConsumption += (getIdleConsumption() + dynamicPower) / 3600 * (time - lastUpdateTime);
+		lastUpdateTime = time;
+	}
+
+	/**
+	 * Stops the consumption, e.g., when the battery is empty.
+	 */
+	public void stop() {
+		updateEnergyConsumption();
+		stopped = true;
+	}
+
+	public void setConsumptionListener(Runnable consumptionListener) {
+		this.consumptionListener = consumptionListener;
+	}
+
+	protected void consumptionChanged() {
+		if (consumptionListener != null)
+			consumptionListener.run();
+	}
+
+	/**
+	 * Gets the time at which the battery will be empty if the consumption does not
+	 * change, with the event-driven energy model.
+	 * 
+	 * @return the time, or -1 if it is not known (e.g., the device is not battery
+	 *         powered or it does not consume energy).
+	 */
+	public double getBatteryDepletionTime() {
+		if (!isEventDriven() || !isBatteryPowered() || stopped)
+			return -1;
+		double remainingEnergy = getBatteryLevelWattHour();
+		if (remainingEnergy <= 0)
+			return simulation.clock();
+		double power = getIdleConsumption() + dynamicPower;
+		if (power <= 0)
+			return -1;
+		return simulation.clock() + remainingEnergy * 3600 / power;
 	}
 
 	public double getCpuEnergyConsumption() {
+		updateEnergyConsumption();
 		return cpuEnergyConsumption;
 	}
 
 	public double getTotalEnergyConsumption() {
+		updateEnergyConsumption();
 		return cpuEnergyConsumption + networkEnergyConsumption;
 	}
 
@@ -141,10 +257,61 @@ public class EnergyModelComputingNode {
 			networkEnergyConsumption += sizeInBits * transmissionEnergyPerBits;
 		else
 			networkEnergyConsumption += sizeInBits * receptionEnergyPerBits;
+		consumptionChanged();
 	}
 
 	public void updateDynamicEnergyConsumption(double length, double mipsCapacity) {
+		updateEnergyConsumption();
 		cpuEnergyConsumption += ((getMaxActiveConsumption() - getIdleConsumption()) / 3600 * length / mipsCapacity);
+		consumptionChanged();
+	}
+
+	/**
+	 * Called when the execution of a task starts. With the event-driven energy
+	 * model, its dynamic energy is consumed during its execution. Otherwise, it is
+	 * added at once.
+	 * 
+	 * @param length       the length of the task (in MI).
+	 * @param mipsCapacity the total capacity of the node (in MIPS).
+	 * @param duration     the execution time of the task (in seconds).
+	 * @see #finishTask(double, double, double)
+	 */
+	public void startTask(double length, double mipsCapacity, double duration) {
+		if (!isEventDriven() || !(duration > 0 && duration < Double.POSITIVE_INFINITY)) {
+			updateDynamicEnergyConsumption(length, mipsCapacity);
+			return;
+		}
+		updateEnergyConsumption();
+		dynamicPower += getDynamicPower(length, mipsCapacity, duration);
+		runningTasks++;
+		consumptionChanged();
+	}
+
+	/**
+	 * Called when the execution of a task finishes, with the same parameters as
+	 * {@link #startTask(double, double, double)}.
+	 */
+	public void finishTask(double length, double mipsCapacity, double duration) {
+		if (!isEventDriven() || !(duration > 0 && duration < Double.POSITIVE_INFINITY))
+			return;
+		updateEnergyConsumption();
+		// Avoid accumulating rounding errors.
+		if (--runningTasks <= 0) {
+			runningTasks = 0;
+			dynamicPower = 0;
+		} else {
+			dynamicPower -= getDynamicPower(length, mipsCapacity, duration);
+		}
+		consumptionChanged();
+	}
+
+	/**
+	 * Gets the power (in Watt) that consumes the same dynamic energy as
+	 * {@link #updateDynamicEnergyConsumption(double, double)} during the given
+	 * duration.
+	 */
+	protected double getDynamicPower(double length, double mipsCapacity, double duration) {
+		return (getMaxActiveConsumption() - getIdleConsumption()) * length / mipsCapacity / duration;
 	}
 
 }
@@ -20,6 +20,7 @@
  **/
 package com.mechalikh.pureedgesim.energy;
 
+import com.mechalikh.pureedgesim.simulationengine.PureEdgeSim;
 
 /**
  * A class that implements the Null Object Design Pattern for the
@@ -59,6 +60,11 @@ public class EnergyModelComputingNodeNull extends EnergyModelComputingNode {
 		return 0;
 	}
 
+	@Override
+	public void setSimulation(PureEdgeSim simulation) {
+		// Do nothing, this instance is shared.
+	}
+
 	@Override
 	public double getMaxActiveConsumption() {
 		return 0;
@@ -0,0 +1,90 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.locationmanager;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Trajectory} that stores the coordinates and the closest data center
+ * of every step in primitive arrays, i.e., 20 bytes per step. The locations are
+ * returned exactly as they have been generated.
+ * 
+ * @see SegmentTrajectory
+ * @since PureEdgeSim 5.3
+ */
+public class ArrayTrajectory extends Trajectory {
+
+	protected double[] xPositions;
+	protected double[] yPositions;
+	protected int[] dataCenterIndexes;
+
+	/**
+	 * Creates an empty trajectory.
+	 * 
+	 * @param interval the update interval, in milliseconds.
+	 * @param steps    the expected number of steps.
+	 */
+	public ArrayTrajectory(int interval, int steps) {
+		super(interval);
+		int capacity = Math.max(steps, 1);
+		xPositions = new double[capacity];
+		yPositions = new double[capacity];
+		dataCenterIndexes = new int[capacity];
+	}
+
+	@Override
+	protected void add(double x, double y, int dataCenter) {
+		int index = size - firstStep;
+		if (index == xPositions.length) {
+			xPositions = Arrays.copyOf(xPositions, index * 2);
+			yPositions = Arrays.copyOf(yPositions, index * 2);
+			dataCenterIndexes = Arrays.copyOf(dataCenterIndexes, index * 2);
+		}
+		xPositions[index] = x;
+		yPositions[index] = y;
+		dataCenterIndexes[index] = dataCenter;
+	}
+
+	@Override
+	protected double getXAt(int step) {
+		return xPositions[step - firstStep];
+	}
+
+	@Override
+	protected double getYAt(int step) {
+		return yPositions[step - firstStep];
+	}
+
+	@Override
+	protected int getDataCenterAt(int step) {
+		return dataCenterIndexes[step - firstStep];
+	}
+
+	@Override
+	protected void discard(int step) {
+		int discarded = step - firstStep;
+		int remaining = size - step;
+		System.arraycopy(xPositions, discarded, xPositions, 0, remaining);
+		System.arraycopy(yPositions, discarded, yPositions, 0, remaining);
+		System.arraycopy(dataCenterIndexes, discarded, dataCenterIndexes, 0, remaining);
+	}
+
+}
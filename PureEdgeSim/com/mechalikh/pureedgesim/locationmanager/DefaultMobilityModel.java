@@ -20,8 +20,6 @@
  **/
 package com.mechalikh.pureedgesim.locationmanager;
 
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Random;
 
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
@@ -42,11 +40,7 @@ public class DefaultMobilityModel extends MobilityModel {
 
 	public DefaultMobilityModel(SimulationManager simulationManager, Location currentLocation) {
 		super(simulationManager, currentLocation);
-		try {
-			random = SecureRandom.getInstanceStrong();
-		} catch (NoSuchAlgorithmException e) {
-			e.printStackTrace();
-		}
+		random = getSimulationManager().getRandomStreams().newStream();
 		orientationAngle = random.nextInt(359);
 	}
 
@@ -57,7 +51,7 @@ public class DefaultMobilityModel extends MobilityModel {
 
 		if (pause && pauseDuration > 0) {
 			// The device mobility is paused until that random delay finishes
-			pauseDuration -= SimulationParameters.updateInterval;
+			pauseDuration -= getSimulationManager().getConfig().getUpdateInterval();
 			return newLocation;
 		}
 
@@ -78,7 +72,7 @@ public class DefaultMobilityModel extends MobilityModel {
 	}
 
 	protected Location updateLocation(double xPosition, double yPosition) {
-		double distance = getSpeed() * SimulationParameters.updateInterval;
+		double distance = getSpeed() * getSimulationManager().getConfig().getUpdateInterval();
 		double X_distance = Math.cos(Math.toRadians(orientationAngle)) * distance;
 		double Y_distance = Math.sin(Math.toRadians(orientationAngle)) * distance;
 		// Update the xPosition
@@ -92,7 +86,7 @@ public class DefaultMobilityModel extends MobilityModel {
 		pause = false;
 		// Increment time and then calculate the next coordinates in the next iteration
 		// (the device is moving)
-		mobilityDuration -= SimulationParameters.updateInterval;
+		mobilityDuration -= getSimulationManager().getConfig().getUpdateInterval();
 	}
 
 	protected void pause() {
@@ -21,10 +21,6 @@
  **/
 package com.mechalikh.pureedgesim.locationmanager;
 
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.DataCenter;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
@@ -51,10 +47,26 @@ public abstract class MobilityModel {
 	protected double speed;
 	protected SimulationManager simulationManager;
 	protected ComputingNode closestEdgeDataCenter = ComputingNode.NULL;
-	Map<Integer, Location> path = new LinkedHashMap<>(
-			(int) (SimulationParameters.simulationDuration / SimulationParameters.updateInterval));
-	Map<Integer, ComputingNode> datacentersMap = new LinkedHashMap<>(
-			(int) (SimulationParameters.simulationDuration / SimulationParameters.updateInterval));
+
+	/**
+	 * The mobility path of the device, generated when the simulation starts.
+	 * 
+	 * @see #generatePath()
+	 */
+	protected Trajectory trajectory;
+
+	/**
+	 * The location and the time (in milliseconds) of the next step of the path to
+	 * generate, when it is generated on demand.
+	 * 
+	 * @see SimulationParameters#mobilityLookaheadWindow
+	 */
+	protected Location nextLocation;
+	protected int nextStepTime;
+
+	// Working around the double imprecision
+	protected int interval;
+	protected int simulationTime;
 
 	/**
 	 * An attribute that implements the Null Object Design Pattern to avoid
@@ -74,8 +86,8 @@ public abstract class MobilityModel {
 	protected abstract Location getNextLocation(Location location);
 
 	public Location updateLocation(double time) {
-		if (time <= SimulationParameters.simulationDuration)
-			currentLocation = path.get((int) time * 1000);
+		if (trajectory != null && time <= getSimulationManager().getConfig().getSimulationDuration())
+			currentLocation = trajectory.getLocation(ensureGenerated((int) time * 1000, time));
 		return currentLocation;
 	}
 
@@ -158,38 +170,130 @@ public abstract class MobilityModel {
 
 		if (!isMobile())
 			return;
-		Location newLocation = getCurrentLocation();
+		nextLocation = getCurrentLocation();
+		nextStepTime = 0;
 
 		// Working around the double imprecision
-		int interval = (int) (SimulationParameters.updateInterval * 1000);
-		int simulationTime = (int) (SimulationParameters.simulationDuration * 1000);
+		interval = (int) (getSimulationManager().getConfig().getUpdateInterval() * 1000);
+		simulationTime = (int) (getSimulationManager().getConfig().getSimulationDuration() * 1000);
+
+		if (SimulationParameters.mobilityLookaheadWindow == 0) {
+			trajectory = Trajectory.create(interval, simulationTime / interval + 1);
+			generateSteps(simulationTime);
+		} else {
+			int window = (int) (SimulationParameters.mobilityLookaheadWindow * 1000);
+			trajectory = Trajectory.create(interval, 2 * (window / interval + 1));
+			generateSteps(window);
+		}
+	}
 
-		for (int i = 0; i <= simulationTime; i = i + interval) {
-			path.put(i, newLocation);
-			newLocation = getNextLocation(newLocation);
-			datacentersMap.put(i, getDataCenter());
+	/**
+	 * Generates the steps of the path until the given time (included). As each
+	 * mobility model uses its own random generator, the path is the same whether
+	 * it is generated at once or in chunks.
+	 * 
+	 * @param time the time, in milliseconds.
+	 */
+	protected void generateSteps(int time) {
+		for (; nextStepTime <= Math.min(time, simulationTime); nextStepTime += interval) {
+			trajectory.add(nextLocation, getDataCenter(nextLocation));
+			nextLocation = getNextLocation(nextLocation);
 		}
+	}
 
+	/**
+	 * Makes sure that the path has been generated until the given time, by
+	 * generating the next window of steps when needed. The steps before the
+	 * current second, that will not be used anymore, are discarded first.
+	 * 
+	 * @param time  the time of the step that is needed, in milliseconds.
+	 * @param clock the current simulation time, in seconds.
+	 * @return the time of the step
+	 */
+	protected int ensureGenerated(int time, double clock) {
+		if (time >= nextStepTime && nextStepTime <= simulationTime) {
+			trajectory.discardBefore((int) clock * 1000 / interval);
+			generateSteps(time + (int) (SimulationParameters.mobilityLookaheadWindow * 1000));
+		}
+		return time;
 	}
 
+	/**
+	 * Gets the closest peripheral edge data center that is in range, using the
+	 * spatial index of the edge data centers.
+	 * 
+	 * @see com.mechalikh.pureedgesim.datacentersmanager.ComputingNodesGenerator#getEdgeDataCentersIndex()
+	 * 
+	 * @return the closest edge data center, or null if none is in range
+	 */
 	protected DataCenter getDataCenter() {
-		List<DataCenter> list = getSimulationManager().getDataCentersManager().getComputingNodesGenerator()
-				.getEdgeOnlyList();
-		double range = SimulationParameters.edgeDataCentersRange;
-		DataCenter closestDC = null;
-		for (int i = 0; i < list.size(); i++) {
-			if (list.get(i).isPeripheral() && distanceTo(list.get(i)) <= range) {
-				range = distanceTo(list.get(i));
-				closestDC = list.get(i);
-			}
-		}
-		return closestDC;
+		return getDataCenter(getCurrentLocation());
+	}
+
+	/**
+	 * Gets the closest peripheral edge data center that is in range of the given
+	 * location.
+	 * 
+	 * @param location the location
+	 * @return the closest edge data center, or null if none is in range
+	 */
+	protected DataCenter getDataCenter(Location location) {
+		return getSimulationManager().getDataCentersManager().getComputingNodesGenerator().getEdgeDataCentersIndex()
+				.nearest(location.getXPos(), location.getYPos(), SimulationParameters.edgeDataCentersRange,
+						DataCenter::isPeripheral);
 	}
 
 	public ComputingNode getClosestEdgeDataCenter() {
-		return (isMobile && getSimulationManager().getSimulation().clock() <= SimulationParameters.simulationDuration)
-				? datacentersMap.get((int) (getSimulationManager().getSimulation().clock() * 1000))
+		if (!isMobile || trajectory == null)
+			return closestEdgeDataCenter;
+		double clock = getSimulationManager().getSimulation().clock();
+		return clock <= getSimulationManager().getConfig().getSimulationDuration()
+				? trajectory.getDataCenter(ensureGenerated((int) (clock * 1000), clock))
 				: closestEdgeDataCenter;
 	}
 
+	/**
+	 * Whether the location of the device must be updated at each update interval
+	 * (i.e., by calling {@link #updateLocation(double)}). Models that compute the
+	 * location on demand and find the exact handover times return false.
+	 * 
+	 * @see #getNextHandoverTime(double)
+	 */
+	public boolean needsLocationUpdates() {
+		return true;
+	}
+
+	/**
+	 * Gets the time of the next change of the closest edge data center after the
+	 * given time, for models that do not need location updates.
+	 * 
+	 * @param time the current time, in seconds.
+	 * @return the time of the next handover, or -1 if there is none before the end
+	 *         of the simulation.
+	 * @see #handover()
+	 */
+	public double getNextHandoverTime(double time) {
+		return -1;
+	}
+
+	/**
+	 * Changes the closest edge data center to the one found by the last call of
+	 * {@link #getNextHandoverTime(double)}.
+	 * 
+	 * @return the new closest edge data center
+	 */
+	public ComputingNode handover() {
+		return closestEdgeDataCenter;
+	}
+
+	/**
+	 * Gets the mobility path of the device.
+	 * 
+	 * @return the path, or null if the device is not mobile or the simulation has
+	 *         not started yet.
+	 */
+	public Trajectory getTrajectory() {
+		return trajectory;
+	}
+
 }
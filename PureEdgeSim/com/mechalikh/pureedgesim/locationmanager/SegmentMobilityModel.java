@@ -0,0 +1,443 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.locationmanager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.DataCenter;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
+
+/**
+ * A mobility model that moves the devices like the {@link DefaultMobilityModel}
+ * (straight moves at a constant speed, separated by random pauses, and a new
+ * random direction when the border of the map is reached), but in continuous
+ * time. Only the segments of the path are stored (start time, start point and
+ * velocity), and the location is computed when {@link #getCurrentLocation()}
+ * is called. The segments are generated as the simulation time advances, and
+ * the consumed ones are discarded.
+ * <p>
+ * Along a segment, the difference between the squared distances to two data
+ * centers is linear in time, and the squared distance to a data center is
+ * quadratic. The exact times at which the closest edge data center changes are
+ * therefore computed, and the device schedules a handover event at each of them
+ * instead of updating its location at every update interval. The handovers are
+ * searched up to {@link #getHandoverSearchWindow()} ahead, so that the path of
+ * a device that stays under the same data center is not generated (and kept)
+ * until the end of the simulation. To use it:
+ * 
+ * <pre>
+ * simulation.setCustomMobilityModel(SegmentMobilityModel.class);
+ * </pre>
+ *
+ * @see com.mechalikh.pureedgesim.datacentersmanager.LocationAwareNode#scheduleHandover()
+ * @since PureEdgeSim 5.3
+ */
+public class SegmentMobilityModel extends DefaultMobilityModel {
+
+	/**
+	 * The minimum delay (in seconds) between two handovers, to avoid handing over
+	 * twice because of rounding errors.
+	 */
+	protected static final double MIN_HANDOVER_DELAY = 1e-9;
+
+	/**
+	 * The distance (in meters) under which a device is considered to be on the
+	 * border of the map.
+	 */
+	protected static final double BORDER_TOLERANCE = 1e-9;
+
+	/**
+	 * How far ahead (in seconds) the next handover is searched when no
+	 * "mobility_lookahead_window" is set.
+	 */
+	protected static final double DEFAULT_HANDOVER_SEARCH_WINDOW = 300;
+
+	protected double[] startTimes = new double[8];
+	protected double[] xPositions = new double[8];
+	protected double[] yPositions = new double[8];
+	protected double[] xVelocities = new double[8];
+	protected double[] yVelocities = new double[8];
+	protected int segmentsCount;
+
+	/**
+	 * The segment of the last location lookup.
+	 */
+	protected int cursor;
+
+	/**
+	 * The end time of the last segment.
+	 */
+	protected double nextSegmentTime;
+
+	/**
+	 * The remaining duration of the current move.
+	 */
+	protected double remainingMobility;
+
+	protected double lastLocationTime = Double.NaN;
+	protected ComputingNode nextDataCenter;
+
+	public SegmentMobilityModel(SimulationManager simulationManager, Location currentLocation) {
+		super(simulationManager, currentLocation);
+	}
+
+	@Override
+	public void generatePath() {
+		closestEdgeDataCenter = getDataCenter();
+		if (!isMobile())
+			return;
+
+		// Like the default model, start with a pause.
+		pause();
+		addSegment(0, currentLocation.getXPos(), currentLocation.getYPos(), 0, 0);
+		nextSegmentTime = pauseDuration;
+		remainingMobility = mobilityDuration;
+	}
+
+	@Override
+	public boolean needsLocationUpdates() {
+		return false;
+	}
+
+	@Override
+	public Location getCurrentLocation() {
+		if (segmentsCount == 0)
+			return currentLocation;
+		double time = Math.min(getSimulationManager().getSimulation().clock(),
+				getSimulationManager().getConfig().getSimulationDuration());
+		if (time != lastLocationTime) {
+			lastLocationTime = time;
+			currentLocation = getLocation(time);
+		}
+		return currentLocation;
+	}
+
+	@Override
+	public Location updateLocation(double time) {
+		if (segmentsCount > 0 && time <= getSimulationManager().getConfig().getSimulationDuration()) {
+			lastLocationTime = time;
+			currentLocation = getLocation(time);
+		}
+		return currentLocation;
+	}
+
+	/**
+	 * Gets the location of the device at the given time, which is expected to be
+	 * the current time or later.
+	 * 
+	 * @param time the time, in seconds.
+	 * @return the location
+	 */
+	protected Location getLocation(double time) {
+		int segment = seek(time);
+		double elapsed = time - startTimes[segment];
+		double x = xPositions[segment] + xVelocities[segment] * elapsed;
+		double y = yPositions[segment] + yVelocities[segment] * elapsed;
+		// Keep the same instance while the device does not move, e.g., during its pauses.
+		if (currentLocation.getXPos() == x && currentLocation.getYPos() == y)
+			return currentLocation;
+		return new Location(x, y);
+	}
+
+	/**
+	 * Finds the segment at the given time, which is expected to be the current
+	 * time or later, and discards the segments before it.
+	 * 
+	 * @param time the time, in seconds.
+	 * @return the index of the segment
+	 */
+	protected int seek(double time) {
+		cursor = findSegment(time, cursor);
+		// The segments before the current one will not be used anymore.
+		if (cursor > 8 && cursor > segmentsCount / 2)
+			discardSegments();
+		return cursor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * When there is no handover within {@link #getHandoverSearchWindow()}, the end
+	 * of the window is returned, and the "handover" keeps the same data center.
+	 * The search then continues from there, so the segments are generated (and
+	 * discarded) as the simulation advances.
+	 */
+	@Override
+	public double getNextHandoverTime(double time) {
+		nextDataCenter = closestEdgeDataCenter;
+		if (segmentsCount == 0)
+			return -1;
+		ComputingNode current = closestEdgeDataCenter == ComputingNode.NULL ? null : closestEdgeDataCenter;
+		double simulationDuration = getSimulationManager().getConfig().getSimulationDuration();
+		double horizon = Math.min(time + getHandoverSearchWindow(), simulationDuration);
+		int segment = seek(time);
+		double start = time;
+		while (start < horizon) {
+			if (segment + 1 == segmentsCount)
+				addNextSegment();
+			double end = Math.min(startTimes[segment + 1], horizon);
+			if (xVelocities[segment] != 0 || yVelocities[segment] != 0) {
+				double handoverTime = findHandover(segment, start, end, current);
+				if (handoverTime >= 0)
+					return handoverTime;
+			}
+			start = end;
+			segment++;
+		}
+		// Check again at the end of the window.
+		return horizon < simulationDuration ? horizon : -1;
+	}
+
+	/**
+	 * Gets how far ahead the next handover is searched: the
+	 * "mobility_lookahead_window" when it is set.
+	 * 
+	 * @return the duration, in seconds.
+	 * @see SimulationParameters#mobilityLookaheadWindow
+	 */
+	protected double getHandoverSearchWindow() {
+		return SimulationParameters.mobilityLookaheadWindow > 0 ? SimulationParameters.mobilityLookaheadWindow
+				: DEFAULT_HANDOVER_SEARCH_WINDOW;
+	}
+
+	@Override
+	public ComputingNode handover() {
+		closestEdgeDataCenter = nextDataCenter;
+		return closestEdgeDataCenter;
+	}
+
+	/**
+	 * Finds the first time in ]from, to] at which the closest edge data center
+	 * changes, on the given segment.
+	 * 
+	 * @return the time, or -1 if it does not change
+	 */
+	protected double findHandover(int segment, double from, double to, ComputingNode current) {
+		double vx = xVelocities[segment];
+		double vy = yVelocities[segment];
+		double squaredSpeed = vx * vx + vy * vy;
+		double squaredRange = (double) SimulationParameters.edgeDataCentersRange
+				* SimulationParameters.edgeDataCentersRange;
+		// Times relative to the start of the segment.
+		double min = from - startTimes[segment] + MIN_HANDOVER_DELAY;
+		double max = to - startTimes[segment];
+
+		double best = Double.POSITIVE_INFINITY;
+		ComputingNode bestDataCenter = null;
+		boolean outOfRange = false;
+		List<DataCenter> dataCenters = getEdgeDataCenters();
+		if (current != null) {
+			// The distance to the current data center: squaredSpeed * t^2 + 2 * b * t + c.
+			Location location = current.getMobilityModel().getCurrentLocation();
+			double dx = xPositions[segment] - location.getXPos();
+			double dy = yPositions[segment] - location.getYPos();
+			double b = vx * dx + vy * dy;
+			double c = dx * dx + dy * dy;
+			double discriminant = b * b - squaredSpeed * (c - squaredRange);
+			if (discriminant >= 0) {
+				double exit = (-b + Math.sqrt(discriminant)) / squaredSpeed;
+				if (exit > min && exit <= max) {
+					best = exit;
+					outOfRange = true;
+				}
+			}
+			for (DataCenter dataCenter : dataCenters) {
+				if (!dataCenter.isPeripheral() || dataCenter == current)
+					continue;
+				Location other = dataCenter.getMobilityModel().getCurrentLocation();
+				double ox = xPositions[segment] - other.getXPos();
+				double oy = yPositions[segment] - other.getYPos();
+				// The difference between the squared distances is linear.
+				double slope = 2 * (vx * (ox - dx) + vy * (oy - dy));
+				if (slope < 0) {
+					double crossing = -(ox * ox + oy * oy - c) / slope;
+					if (crossing > min && crossing <= max && crossing < best) {
+						best = crossing;
+						bestDataCenter = dataCenter;
+						outOfRange = false;
+					}
+				}
+			}
+		} else {
+			for (DataCenter dataCenter : dataCenters) {
+				if (!dataCenter.isPeripheral())
+					continue;
+				Location other = dataCenter.getMobilityModel().getCurrentLocation();
+				double ox = xPositions[segment] - other.getXPos();
+				double oy = yPositions[segment] - other.getYPos();
+				double b = vx * ox + vy * oy;
+				double discriminant = b * b - squaredSpeed * (ox * ox + oy * oy - squaredRange);
+				if (discriminant >= 0) {
+					double entry = (-b - Math.sqrt(discriminant)) / squaredSpeed;
+					if (entry > min && entry <= max && entry < best) {
+						best = entry;
+						bestDataCenter = dataCenter;
+					}
+				}
+			}
+		}
+
+		if (best == Double.POSITIVE_INFINITY)
+			return -1;
+		if (outOfRange) {
+			// Hand over to the closest other data center in range, if any.
+			bestDataCenter = getOtherDataCenter(xPositions[segment] + vx * best, yPositions[segment] + vy * best,
+					current);
+		}
+		nextDataCenter = bestDataCenter;
+		return startTimes[segment] + best;
+	}
+
+	protected List<DataCenter> getEdgeDataCenters() {
+		return getSimulationManager().getDataCentersManager().getComputingNodesGenerator().getEdgeOnlyList();
+	}
+
+	/**
+	 * Gets the closest peripheral edge data center in range of the given location,
+	 * other than the given one.
+	 */
+	protected DataCenter getOtherDataCenter(double x, double y, ComputingNode excluded) {
+		return getSimulationManager().getDataCentersManager().getComputingNodesGenerator().getEdgeDataCentersIndex()
+				.nearest(x, y, SimulationParameters.edgeDataCentersRange,
+						dataCenter -> dataCenter.isPeripheral() && dataCenter != excluded);
+	}
+
+	/**
+	 * Finds the segment at the given time, starting from the given one.
+	 */
+	protected int findSegment(double time, int from) {
+		while (nextSegmentTime <= time && nextSegmentTime < getSimulationManager().getConfig().getSimulationDuration())
+			addNextSegment();
+		int segment = from;
+		if (startTimes[segment] > time) {
+			segment = Arrays.binarySearch(startTimes, 0, segmentsCount, time);
+			return segment >= 0 ? segment : Math.max(0, -segment - 2);
+		}
+		while (segment + 1 < segmentsCount && startTimes[segment + 1] <= time)
+			segment++;
+		return segment;
+	}
+
+	/**
+	 * Generates the segment that starts at the end of the last one.
+	 */
+	protected void addNextSegment() {
+		int last = segmentsCount - 1;
+		double time = nextSegmentTime;
+		double elapsed = time - startTimes[last];
+		double x = xPositions[last] + xVelocities[last] * elapsed;
+		double y = yPositions[last] + yVelocities[last] * elapsed;
+
+		if (pause) {
+			// Move in the direction chosen when pausing.
+			pause = false;
+			addMove(time, x, y);
+		} else if (remainingMobility > 0) {
+			// The border of the map has been reached.
+			x = snapToBorder(x, SimulationParameters.simulationMapLength);
+			y = snapToBorder(y, SimulationParameters.simulationMapWidth);
+			reoriontate(x, y);
+			addMove(time, x, y);
+		} else {
+			pause();
+			addSegment(time, x, y, 0, 0);
+			nextSegmentTime = time + pauseDuration;
+			remainingMobility = mobilityDuration;
+		}
+	}
+
+	protected void addMove(double time, double x, double y) {
+		double vx = Math.cos(Math.toRadians(orientationAngle)) * getSpeed();
+		double vy = Math.sin(Math.toRadians(orientationAngle)) * getSpeed();
+		// Never leave the map (e.g., in the corners).
+		if ((x >= SimulationParameters.simulationMapLength && vx > 0) || (x <= 0 && vx < 0))
+			vx = -vx;
+		if ((y >= SimulationParameters.simulationMapWidth && vy > 0) || (y <= 0 && vy < 0))
+			vy = -vy;
+
+		double duration = Math.min(remainingMobility,
+				Math.min(timeToBorder(x, vx, SimulationParameters.simulationMapLength),
+						timeToBorder(y, vy, SimulationParameters.simulationMapWidth)));
+		addSegment(time, x, y, vx, vy);
+		remainingMobility -= duration;
+		nextSegmentTime = time + duration;
+	}
+
+	/**
+	 * Moves the coordinate on the border when it is within rounding errors of it.
+	 */
+	protected double snapToBorder(double position, double border) {
+		if (position < BORDER_TOLERANCE)
+			return 0;
+		if (position > border - BORDER_TOLERANCE)
+			return border;
+		return position;
+	}
+
+	protected double timeToBorder(double position, double velocity, double border) {
+		if (velocity > 0)
+			return Math.max(0, (border - position) / velocity);
+		if (velocity < 0)
+			return Math.max(0, -position / velocity);
+		return Double.POSITIVE_INFINITY;
+	}
+
+	protected void addSegment(double time, double x, double y, double vx, double vy) {
+		if (segmentsCount == startTimes.length) {
+			int capacity = segmentsCount * 2;
+			startTimes = Arrays.copyOf(startTimes, capacity);
+			xPositions = Arrays.copyOf(xPositions, capacity);
+			yPositions = Arrays.copyOf(yPositions, capacity);
+			xVelocities = Arrays.copyOf(xVelocities, capacity);
+			yVelocities = Arrays.copyOf(yVelocities, capacity);
+		}
+		startTimes[segmentsCount] = time;
+		xPositions[segmentsCount] = x;
+		yPositions[segmentsCount] = y;
+		xVelocities[segmentsCount] = vx;
+		yVelocities[segmentsCount] = vy;
+		segmentsCount++;
+	}
+
+	/**
+	 * Discards the segments before the current one.
+	 */
+	protected void discardSegments() {
+		segmentsCount -= cursor;
+		System.arraycopy(startTimes, cursor, startTimes, 0, segmentsCount);
+		System.arraycopy(xPositions, cursor, xPositions, 0, segmentsCount);
+		System.arraycopy(yPositions, cursor, yPositions, 0, segmentsCount);
+		System.arraycopy(xVelocities, cursor, xVelocities, 0, segmentsCount);
+		System.arraycopy(yVelocities, cursor, yVelocities, 0, segmentsCount);
+		cursor = 0;
+	}
+
+	/**
+	 * Gets the number of segments that are currently stored.
+	 */
+	public int getSegmentsCount() {
+		return segmentsCount;
+	}
+
+}
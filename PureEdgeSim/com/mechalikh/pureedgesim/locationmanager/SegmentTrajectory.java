@@ -0,0 +1,171 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.locationmanager;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Trajectory} that stores the path as straight segments travelled at
+ * constant velocity (pauses being segments with a null velocity), as generated
+ * by the {@link DefaultMobilityModel}. Its size depends on the number of moves
+ * instead of the number of steps.
+ * <p>
+ * A step is appended to the last segment when its location is within
+ * {@link #TOLERANCE} of the one predicted by the segment, otherwise a new
+ * segment starts at this step. The closest data centers are run-length
+ * encoded. Since the time only moves forward, the segment of the previous
+ * lookup is checked first, which makes lookups O(1) amortized.
+ * 
+ * @see ArrayTrajectory
+ * @since PureEdgeSim 5.3
+ */
+public class SegmentTrajectory extends Trajectory {
+
+	/**
+	 * The maximum distance (in meters) between a stored location and the one
+	 * returned for the same step.
+	 */
+	public static final double TOLERANCE = 1e-6;
+
+	protected int[] segmentStarts = new int[4];
+	protected double[] xPositions = new double[4];
+	protected double[] yPositions = new double[4];
+	protected double[] xVelocities = new double[4];
+	protected double[] yVelocities = new double[4];
+	protected int segmentsCount;
+	protected int segmentCursor;
+
+	protected int[] dataCenterStarts = new int[4];
+	protected int[] dataCenterIndexes = new int[4];
+	protected int dataCenterChanges;
+	protected int dataCenterCursor;
+
+	/**
+	 * Creates an empty trajectory.
+	 * 
+	 * @param interval the update interval, in milliseconds.
+	 */
+	public SegmentTrajectory(int interval) {
+		super(interval);
+	}
+
+	@Override
+	protected void add(double x, double y, int dataCenter) {
+		addLocation(x, y);
+		if (dataCenterChanges == 0 || dataCenterIndexes[dataCenterChanges - 1] != dataCenter) {
+			if (dataCenterChanges == dataCenterStarts.length) {
+				dataCenterStarts = Arrays.copyOf(dataCenterStarts, dataCenterChanges * 2);
+				dataCenterIndexes = Arrays.copyOf(dataCenterIndexes, dataCenterChanges * 2);
+			}
+			dataCenterStarts[dataCenterChanges] = size;
+			dataCenterIndexes[dataCenterChanges++] = dataCenter;
+		}
+	}
+
+	protected void addLocation(double x, double y) {
+		int last = segmentsCount - 1;
+		if (last >= 0) {
+			int steps = size - segmentStarts[last];
+			if (steps == 1) {
+				// The second step gives the velocity of the segment.
+				xVelocities[last] = x - xPositions[last];
+				yVelocities[last] = y - yPositions[last];
+			}
+			if (Math.abs(xPositions[last] + steps * xVelocities[last] - x) <= TOLERANCE
+					&& Math.abs(yPositions[last] + steps * yVelocities[last] - y) <= TOLERANCE)
+				return;
+		}
+
+		if (segmentsCount == segmentStarts.length) {
+			int capacity = segmentsCount * 2;
+			segmentStarts = Arrays.copyOf(segmentStarts, capacity);
+			xPositions = Arrays.copyOf(xPositions, capacity);
+			yPositions = Arrays.copyOf(yPositions, capacity);
+			xVelocities = Arrays.copyOf(xVelocities, capacity);
+			yVelocities = Arrays.copyOf(yVelocities, capacity);
+		}
+		segmentStarts[segmentsCount] = size;
+		xPositions[segmentsCount] = x;
+		yPositions[segmentsCount] = y;
+		xVelocities[segmentsCount] = 0;
+		yVelocities[segmentsCount] = 0;
+		segmentsCount++;
+	}
+
+	@Override
+	protected double getXAt(int step) {
+		int segment = segmentCursor = find(segmentStarts, segmentsCount, step, segmentCursor);
+		return xPositions[segment] + (step - segmentStarts[segment]) * xVelocities[segment];
+	}
+
+	@Override
+	protected double getYAt(int step) {
+		int segment = segmentCursor = find(segmentStarts, segmentsCount, step, segmentCursor);
+		return yPositions[segment] + (step - segmentStarts[segment]) * yVelocities[segment];
+	}
+
+	@Override
+	protected int getDataCenterAt(int step) {
+		dataCenterCursor = find(dataCenterStarts, dataCenterChanges, step, dataCenterCursor);
+		return dataCenterIndexes[dataCenterCursor];
+	}
+
+	@Override
+	protected void discard(int step) {
+		int segment = find(segmentStarts, segmentsCount, step, segmentCursor);
+		segmentsCount -= segment;
+		System.arraycopy(segmentStarts, segment, segmentStarts, 0, segmentsCount);
+		System.arraycopy(xPositions, segment, xPositions, 0, segmentsCount);
+		System.arraycopy(yPositions, segment, yPositions, 0, segmentsCount);
+		System.arraycopy(xVelocities, segment, xVelocities, 0, segmentsCount);
+		System.arraycopy(yVelocities, segment, yVelocities, 0, segmentsCount);
+		segmentCursor = 0;
+
+		int run = find(dataCenterStarts, dataCenterChanges, step, dataCenterCursor);
+		dataCenterChanges -= run;
+		System.arraycopy(dataCenterStarts, run, dataCenterStarts, 0, dataCenterChanges);
+		System.arraycopy(dataCenterIndexes, run, dataCenterIndexes, 0, dataCenterChanges);
+		dataCenterCursor = 0;
+	}
+
+	/**
+	 * Finds the last run starting at or before the given step, starting from the
+	 * run that has been found last time.
+	 */
+	protected static int find(int[] starts, int count, int step, int cursor) {
+		if (starts[cursor] <= step) {
+			if (cursor + 1 == count || starts[cursor + 1] > step)
+				return cursor;
+			if (cursor + 2 == count || starts[cursor + 2] > step)
+				return cursor + 1;
+		}
+		int index = Arrays.binarySearch(starts, 0, count, step);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Gets the number of segments.
+	 */
+	public int getSegmentsCount() {
+		return segmentsCount;
+	}
+
+}
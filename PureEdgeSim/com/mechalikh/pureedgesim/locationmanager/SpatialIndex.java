@@ -0,0 +1,311 @@
+/**
+ * 
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments 
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *     
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.locationmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+
+/**
+ * A uniform grid over the locations of a set of static computing nodes (e.g.,
+ * the ONTs, the SDNs, or the edge data centers), used to answer nearest,
+ * k-nearest and within-range queries without scanning all the nodes.
+ * <p>
+ * The grid has about one cell for every two nodes. The nearest neighbor search
+ * visits the cells ring by ring around the query location, and stops as soon as
+ * the remaining rings cannot contain a closer node. Nodes at the same distance
+ * are returned in the order of the list the index was built from, as the linear
+ * scans it replaces do. Nodes can be removed, e.g., to find the nearest node that
+ * has not been assigned yet.
+ * <p>
+ * The locations are read when the index is built, so it must not be used for
+ * mobile nodes.
+ *
+ * @see com.mechalikh.pureedgesim.datacentersmanager.ComputingNodesGenerator#getONTIndex()
+ * @since PureEdgeSim 5.3
+ */
+public class SpatialIndex<T extends ComputingNode> {
+
+	protected final Object[] nodes;
+	protected final double[] xPositions;
+	protected final double[] yPositions;
+	protected final boolean[] removed;
+	protected final Map<T, Integer> indexes = new IdentityHashMap<>();
+
+	protected double minX;
+	protected double minY;
+	protected double cellSize;
+	protected int columns;
+	protected int rows;
+
+	/**
+	 * The nodes of each cell (in no particular order), and the cell and the
+	 * position in it of each node.
+	 */
+	protected int[][] cells;
+	protected int[] cellsSize;
+	protected int[] nodeCell;
+	protected int[] nodePosition;
+
+	protected int size;
+
+	/**
+	 * Creates an index over the given nodes, using their current location.
+	 * 
+	 * @param nodeList the nodes, ties are broken using their order in this list.
+	 */
+	public SpatialIndex(List<? extends T> nodeList) {
+		int count = nodeList.size();
+		nodes = new Object[count];
+		xPositions = new double[count];
+		yPositions = new double[count];
+		removed = new boolean[count];
+		nodeCell = new int[count];
+		nodePosition = new int[count];
+
+		minX = Double.MAX_VALUE;
+		minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			T node = nodeList.get(i);
+			Location location = node.getMobilityModel().getCurrentLocation();
+			nodes[i] = node;
+			xPositions[i] = location.getXPos();
+			yPositions[i] = location.getYPos();
+			indexes.put(node, i);
+			minX = Math.min(minX, xPositions[i]);
+			minY = Math.min(minY, yPositions[i]);
+			maxX = Math.max(maxX, xPositions[i]);
+			maxY = Math.max(maxY, yPositions[i]);
+		}
+		size = count;
+
+		// Square cells, about two nodes per cell.
+		double side = Math.max(maxX - minX, maxY - minY);
+		int cellsPerSide = (int) Math.max(1, Math.ceil(Math.sqrt(count / 2.0)));
+		cellSize = count == 0 || side <= 0 ? 1 : side / cellsPerSide;
+		columns = count == 0 ? 1 : Math.min(cellsPerSide, (int) ((maxX - minX) / cellSize)) + 1;
+		rows = count == 0 ? 1 : Math.min(cellsPerSide, (int) ((maxY - minY) / cellSize)) + 1;
+
+		cells = new int[columns * rows][];
+		cellsSize = new int[columns * rows];
+		for (int i = 0; i < count; i++) {
+			int cell = clamp(cellOf(yPositions[i], minY), rows) * columns + clamp(cellOf(xPositions[i], minX), columns);
+			if (cells[cell] == null)
+				cells[cell] = new int[2];
+			else if (cellsSize[cell] == cells[cell].length)
+				cells[cell] = Arrays.copyOf(cells[cell], cellsSize[cell] * 2);
+			nodeCell[i] = cell;
+			nodePosition[i] = cellsSize[cell];
+			cells[cell][cellsSize[cell]++] = i;
+		}
+	}
+
+	/**
+	 * Gets the node closest to a location.
+	 * 
+	 * @return the closest node, or null if the index is empty.
+	 */
+	public T nearest(double x, double y) {
+		return nearest(x, y, Double.POSITIVE_INFINITY, null);
+	}
+
+	/**
+	 * Gets the node closest to a location among those that are within the given
+	 * distance and that match the given filter.
+	 * 
+	 * @param maxDistance the maximum distance (included).
+	 * @param filter      the filter, or null to accept all the nodes.
+	 * @return the closest node, or null if there is none.
+	 */
+	public T nearest(double x, double y, double maxDistance, Predicate<? super T> filter) {
+		List<T> result = nearest(x, y, 1, maxDistance, filter);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	/**
+	 * Gets the k nodes closest to a location.
+	 * 
+	 * @return the nodes, from the closest to the farthest.
+	 */
+	public List<T> nearest(double x, double y, int k) {
+		return nearest(x, y, k, Double.POSITIVE_INFINITY, null);
+	}
+
+	/**
+	 * Gets the k nodes closest to a location among those that are within the
+	 * given distance and that match the given filter.
+	 * 
+	 * @param k           the maximum number of nodes.
+	 * @param maxDistance the maximum distance (included).
+	 * @param filter      the filter, or null to accept all the nodes.
+	 * @return the nodes, from the closest to the farthest.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> nearest(double x, double y, int k, double maxDistance, Predicate<? super T> filter) {
+		if (size == 0 || k <= 0 || !Double.isFinite(x) || !Double.isFinite(y))
+			return new ArrayList<>(0);
+
+		// The k best nodes so far, sorted by distance then by order.
+		int[] best = new int[k];
+		double[] bestDistances = new double[k];
+		int found = 0;
+
+		long column = cellOf(x, minX);
+		long row = cellOf(y, minY);
+		// The first ring that intersects the grid, and the last one.
+		long firstRing = Math.max(0, Math.max(Math.max(-column, column - (columns - 1)), Math.max(-row, row - (rows - 1))));
+		long lastRing = Math.max(Math.max(column, columns - 1 - column), Math.max(row, rows - 1 - row));
+
+		for (long ring = firstRing; ring <= lastRing; ring++) {
+			// The nodes of this ring (and of the next ones) are at least this far.
+			double outside = (ring - 1) * cellSize;
+			if (found == k && bestDistances[k - 1] < outside || outside > maxDistance)
+				break;
+
+			for (long r = Math.max(0, row - ring); r <= Math.min(rows - 1, row + ring); r++) {
+				boolean edgeRow = r == row - ring || r == row + ring;
+				for (long c = Math.max(0, column - ring); c <= Math.min(columns - 1, column + ring); c++) {
+					if (!edgeRow && c != column - ring && c != column + ring) {
+						// Jump to the right side of the ring.
+						c = Math.max(c, column + ring - 1);
+						continue;
+					}
+					int cell = (int) (r * columns + c);
+					for (int i = 0; i < cellsSize[cell]; i++) {
+						int node = cells[cell][i];
+						double distance = distance(x, y, node);
+						if (distance > maxDistance || (found == k && !isBefore(node, distance, best[k - 1], bestDistances[k - 1])))
+							continue;
+						if (filter != null && !filter.test((T) nodes[node]))
+							continue;
+						// Insert it at its position.
+						int position = Math.min(found, k - 1);
+						while (position > 0 && isBefore(node, distance, best[position - 1], bestDistances[position - 1])) {
+							best[position] = best[position - 1];
+							bestDistances[position] = bestDistances[position - 1];
+							position--;
+						}
+						best[position] = node;
+						bestDistances[position] = distance;
+						found = Math.min(found + 1, k);
+					}
+				}
+			}
+		}
+
+		List<T> result = new ArrayList<>(found);
+		for (int i = 0; i < found; i++)
+			result.add((T) nodes[best[i]]);
+		return result;
+	}
+
+	/**
+	 * Gets the nodes that are within a given distance from a location.
+	 * 
+	 * @param range the distance (included).
+	 * @return the nodes, in the order of the list the index was built from.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> withinRange(double x, double y, double range) {
+		List<T> result = new ArrayList<>();
+		if (size == 0 || !(range >= 0) || Double.isNaN(x) || Double.isNaN(y))
+			return result;
+
+		int fromColumn = clamp(cellOf(x - range, minX), columns);
+		int toColumn = clamp(cellOf(x + range, minX), columns);
+		int fromRow = clamp(cellOf(y - range, minY), rows);
+		int toRow = clamp(cellOf(y + range, minY), rows);
+		int[] inRange = new int[size];
+		int count = 0;
+		for (int r = fromRow; r <= toRow; r++)
+			for (int c = fromColumn; c <= toColumn; c++) {
+				int cell = r * columns + c;
+				for (int i = 0; i < cellsSize[cell]; i++)
+					if (distance(x, y, cells[cell][i]) <= range)
+						inRange[count++] = cells[cell][i];
+			}
+
+		Arrays.sort(inRange, 0, count);
+		for (int i = 0; i < count; i++)
+			result.add((T) nodes[inRange[i]]);
+		return result;
+	}
+
+	/**
+	 * Removes a node from the index.
+	 * 
+	 * @return true if the node was in the index.
+	 */
+	public boolean remove(T node) {
+		Integer index = indexes.get(node);
+		if (index == null || removed[index])
+			return false;
+		removed[index] = true;
+		int cell = nodeCell[index];
+		int last = cells[cell][--cellsSize[cell]];
+		cells[cell][nodePosition[index]] = last;
+		nodePosition[last] = nodePosition[index];
+		size--;
+		return true;
+	}
+
+	public boolean contains(T node) {
+		Integer index = indexes.get(node);
+		return index != null && !removed[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	protected double distance(double x, double y, int node) {
+		double dx = xPositions[node] - x;
+		double dy = yPositions[node] - y;
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	protected boolean isBefore(int node, double distance, int other, double otherDistance) {
+		return distance < otherDistance || (distance == otherDistance && node < other);
+	}
+
+	protected long cellOf(double position, double min) {
+		double cell = Math.floor((position - min) / cellSize);
+		// Far away positions are clamped, they are outside of the grid anyway.
+		return (long) Math.max(-Integer.MAX_VALUE, Math.min(Integer.MAX_VALUE, cell));
+	}
+
+	protected int clamp(long cell, int count) {
+		return (int) Math.max(0, Math.min(count - 1, cell));
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.locationmanager;
+
+import java.util.Arrays;
+
+import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+
+/**
+ * The mobility path of a device, i.e., its location and its closest edge data
+ * center at each update interval of the simulation. It replaces the maps of
+ * boxed steps to {@link Location} objects, that used about a hundred bytes per
+ * step.
+ * <p>
+ * The closest data centers are stored as indexes in a small table that
+ * contains the distinct data centers of the path, as a device is usually
+ * covered by a few of them.
+ * <p>
+ * When the path is generated on demand, the steps that have been consumed can
+ * be discarded.
+ * 
+ * @see ArrayTrajectory
+ * @see SegmentTrajectory
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#mobilityPathEncoding
+ * @since PureEdgeSim 5.3
+ */
+public abstract class Trajectory {
+
+	/**
+	 * The update interval, in milliseconds.
+	 */
+	protected final int interval;
+
+	/**
+	 * The number of steps.
+	 */
+	protected int size;
+
+	/**
+	 * The first step that is still stored.
+	 * 
+	 * @see #discardBefore(int)
+	 */
+	protected int firstStep;
+
+	protected ComputingNode[] dataCenters = new ComputingNode[2];
+	protected int dataCentersCount;
+	protected int lastDataCenter = -1;
+
+	/**
+	 * The step of the last lookup and its location, returned again while the step
+	 * (or the location) does not change.
+	 * 
+	 * @see #getLocation(int)
+	 */
+	protected int lastStep = -1;
+	protected Location lastLocation;
+
+	protected Trajectory(int interval) {
+		this.interval = interval;
+	}
+
+	/**
+	 * Creates an empty trajectory using the encoding selected in the simulation
+	 * parameters file.
+	 * 
+	 * @param interval the update interval, in milliseconds.
+	 * @param steps    the expected number of steps.
+	 * @return the trajectory
+	 */
+	public static Trajectory create(int interval, int steps) {
+		if ("SEGMENTS".equals(SimulationParameters.mobilityPathEncoding))
+			return new SegmentTrajectory(interval);
+		return new ArrayTrajectory(interval, steps);
+	}
+
+	/**
+	 * Appends the next step of the path.
+	 * 
+	 * @param location   the location of the device.
+	 * @param dataCenter its closest edge data center, can be null.
+	 */
+	public void add(Location location, ComputingNode dataCenter) {
+		add(location.getXPos(), location.getYPos(), indexOf(dataCenter));
+		size++;
+	}
+
+	protected abstract void add(double x, double y, int dataCenter);
+
+	/**
+	 * Gets the location of the device at the given time.
+	 * 
+	 * @param time the time, in milliseconds.
+	 * @return the location at the last step before this time.
+	 */
+	public Location getLocation(int time) {
+		int step = stepOf(time);
+		if (step != lastStep) {
+			double x = getXAt(step);
+			double y = getYAt(step);
+			// Keep the same instance while the device does not move, e.g., during its pauses.
+			if (lastLocation == null || lastLocation.getXPos() != x || lastLocation.getYPos() != y)
+				lastLocation = new Location(x, y);
+			lastStep = step;
+		}
+		return lastLocation;
+	}
+
+	protected abstract double getXAt(int step);
+
+	protected abstract double getYAt(int step);
+
+	/**
+	 * Gets the closest edge data center of the device at the given time.
+	 * 
+	 * @param time the time, in milliseconds.
+	 * @return the closest data center at the last step before this time.
+	 */
+	public ComputingNode getDataCenter(int time) {
+		int index = getDataCenterAt(stepOf(time));
+		return index == -1 ? null : dataCenters[index];
+	}
+
+	protected abstract int getDataCenterAt(int step);
+
+	protected int stepOf(int time) {
+		if (size == 0)
+			throw new IllegalStateException(getClass().getSimpleName() + " - Error, the path is empty.");
+		return Math.max(firstStep, Math.min(time / interval, size - 1));
+	}
+
+	/**
+	 * Discards the steps before the given one (the last step is always kept).
+	 * Later lookups of these steps return the first remaining step.
+	 * 
+	 * @param step the first step to keep.
+	 */
+	public void discardBefore(int step) {
+		step = Math.min(step, size - 1);
+		if (step <= firstStep)
+			return;
+		discard(step);
+		firstStep = step;
+	}
+
+	protected abstract void discard(int step);
+
+	protected int indexOf(ComputingNode dataCenter) {
+		if (dataCenter == null)
+			return -1;
+		if (lastDataCenter != -1 && dataCenters[lastDataCenter] == dataCenter)
+			return lastDataCenter;
+		for (int i = 0; i < dataCentersCount; i++)
+			if (dataCenters[i] == dataCenter)
+				return lastDataCenter = i;
+		if (dataCentersCount == dataCenters.length)
+			dataCenters = Arrays.copyOf(dataCenters, dataCentersCount * 2);
+		dataCenters[dataCentersCount] = dataCenter;
+		return lastDataCenter = dataCentersCount++;
+	}
+
+	/**
+	 * Gets the number of steps that have been added, including the discarded
+	 * ones.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the first step that is still stored.
+	 */
+	public int getFirstStep() {
+		return firstStep;
+	}
+
+	/**
+	 * Gets the update interval, in milliseconds.
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments 
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *     
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.network;
+
+/**
+ * The bandwidth used by each application over a group of network links (e.g.,
+ * all the fiber up links), indexed by the application name id. It is updated
+ * incrementally by the links each time they share their bandwidth, so reading
+ * it does not need to go through the links.
+ *
+ * @see NetworkModel#getFiberUpUtilization()
+ * @see com.mechalikh.pureedgesim.taskgenerator.Application#getNameId()
+ * @since PureEdgeSim 5.3
+ */
+public class AppBandwidthUsage {
+
+	protected final double[] usedBandwidth;
+
+	/**
+	 * Whether each application has used one of the links at least once.
+	 */
+	protected final boolean[] used;
+
+	public AppBandwidthUsage(int applicationsCount) {
+		usedBandwidth = new double[applicationsCount];
+		used = new boolean[applicationsCount];
+	}
+
+	/**
+	 * Adds a (possibly negative) amount of bandwidth to an application.
+	 * 
+	 * @param appId the application name id.
+	 * @param delta the bandwidth in bits per second.
+	 */
+	public void add(int appId, double delta) {
+		usedBandwidth[appId] += delta;
+		used[appId] = true;
+	}
+
+	/**
+	 * @param appId the application name id.
+	 * @return the bandwidth used by the application, in bits per second.
+	 */
+	public double get(int appId) {
+		// Ignore the rounding errors of the incremental updates.
+		return Math.max(0, usedBandwidth[appId]);
+	}
+
+	public boolean isUsed(int appId) {
+		return used[appId];
+	}
+
+	public int size() {
+		return usedBandwidth.length;
+	}
+
+}
@@ -120,34 +120,13 @@ public class DefaultNetworkModel extends NetworkModel {
 		List<ComputingNode> vertexList = new ArrayList<>(5);
 		List<NetworkLink> edgeList = new ArrayList<>(5);
 
-		GraphPath<ComputingNode, NetworkLink> path;
-		long id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getId(), to.getId());
-
-		if (simulationManager.getDataCentersManager().getTopology().getPathsMap().containsKey(id)) {
-			path = simulationManager.getDataCentersManager().getTopology().getPathsMap().get(id);
-
-			//it happened that the path had length 0 so it caused an error. In this case we establish a new path
-			if(path.getLength() == 0){
-				path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-				simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-			}
-			if(printDebug){
-				System.out.println("from: " + from.getName() + ", to: " + to.getName());
-				System.out.print("[");
-				for(ComputingNode cn : path.getVertexList()) System.out.print(cn.getName() + ", ");
-				System.out.print("]");
-				System.out.println("");
-			}
-		} else {
-			path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-			simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-			if(printDebug){
-				System.out.println("from: " + from.getName() + ", to: " + to.getName());
-				System.out.print("[");
-				for(ComputingNode cn : path.getVertexList()) System.out.print(cn.getName() + ", ");
-				System.out.print("]");
-				System.out.println("");
-			}
+		GraphPath<ComputingNode, NetworkLink> path = simulationManager.getDataCentersManager().getTopology().getCachedPath(from, to);
+		if(printDebug){
+			System.out.println("from: " + from.getName() + ", to: " + to.getName());
+			System.out.print("[");
+			for(ComputingNode cn : path.getVertexList()) System.out.print(cn.getName() + ", ");
+			System.out.print("]");
+			System.out.println("");
 		}
 		vertexList.addAll(path.getVertexList());
 		edgeList.addAll(path.getEdgeList());
@@ -158,37 +137,15 @@ public class DefaultNetworkModel extends NetworkModel {
 	//invia la richiesta di placement del container verso il cloud
 	public void sendContainer(ComputingNode from, ComputingNode to, Container container, double fileSize, ContainerTransferProgress.Type type){
 		List<ComputingNode> vertexList = new ArrayList<>(5);
-		List<NetworkLink> edgeList = new ArrayList<>(5);GraphPath<ComputingNode, NetworkLink> path;
-		
-		//long id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getName() + from.getId(), to.getName() + to.getId());
-		long id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getId(), to.getId());
-
-		if (simulationManager.getDataCentersManager().getTopology().getPathsMap().containsKey(id)) {
-			path = simulationManager.getDataCentersManager().getTopology().getPathsMap().get(id);
-
-			//it happened that the path had length 0 so it caused an error. In this case we establish a new path
-			if(path.getLength() == 0){
-				path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-				simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-			}
-			if(printDebug){
-				System.out.println("from: " + from.getName() + ", to: " + to.getName());
-				System.out.print("[");
-				for(ComputingNode cn : path.getVertexList()) System.out.print(cn.getName() + ", ");
-				System.out.print("]");
-				System.out.println("");
-			}
+		List<NetworkLink> edgeList = new ArrayList<>(5);
 
-		} else {
-			path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-			simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-			if(printDebug){
-				System.out.println("from: " + from.getName() + ", to: " + to.getName());
-				System.out.print("[");
-				for(ComputingNode cn : path.getVertexList()) System.out.print(cn.getName() + ", ");
-				System.out.print("]");
-				System.out.println("");
-			}
+		GraphPath<ComputingNode, NetworkLink> path = simulationManager.getDataCentersManager().getTopology().getCachedPath(from, to);
+		if(printDebug){
+			System.out.println("from: " + from.getName() + ", to: " + to.getName());
+			System.out.print("[");
+			for(ComputingNode cn : path.getVertexList()) System.out.print(cn.getName() + ", ");
+			System.out.print("]");
+			System.out.println("");
 		}
 		vertexList.addAll(path.getVertexList());
 		edgeList.addAll(path.getEdgeList());
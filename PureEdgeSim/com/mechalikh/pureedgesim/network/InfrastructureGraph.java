@@ -24,19 +24,18 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.zip.CRC32;
 
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
-import org.jgrapht.alg.shortestpath.FloydWarshallShortestPaths;
 import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.jgrapht.graph.GraphWalk;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.network.NetworkLink.NetworkLinkTypes;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 
 /**
  * Infrastructure topology connecting compute nodes with network links in a
@@ -52,7 +51,9 @@ public class InfrastructureGraph {
 
 	protected DirectedWeightedMultigraph<ComputingNode, NetworkLink> graph;
 
-	protected Map<Long, GraphPath<ComputingNode, NetworkLink>> pathsMap = new LinkedHashMap<>();
+	protected PathCache pathCache = new PathCache(SimulationParameters.pathCacheSize);
+
+	protected RoutingTable routingTable = new RoutingTable();
 
 	public InfrastructureGraph() {
 		graph = new DirectedWeightedMultigraph<>(NetworkLink.class);
@@ -64,32 +65,105 @@ public class InfrastructureGraph {
 		graph.addEdge(networkLink.getSrc(), networkLink.getDst(), networkLink);
 		graph.setEdgeWeight(networkLink, networkLink.getLatency()); // in jgrapht all access to the weight of an edge
 																	// must go through the graph interface
+		routingTable.addLink(networkLink);
+		clearPathCache();
 	}
 
+	/**
+	 * Gets the weight (i.e., latency) of the shortest path between two nodes, in
+	 * O(1) once the shortest paths from the first node have been computed.
+	 * 
+	 * @return the delay, or Double.POSITIVE_INFINITY if no path exists.
+	 * @see RoutingTable
+	 */
 	public double getDelay(final ComputingNode computingNode, final ComputingNode computingNode2) {
-		// The Network interfaces in CloudSimPlus are not very good, the try catch
-		// should not be necessary
-		FloydWarshallShortestPaths<ComputingNode, NetworkLink> algorithm = new FloydWarshallShortestPaths<>(graph);
-		try {
-			return algorithm.getPathWeight(computingNode, computingNode2); // Returns Double.POSITIVE_INFINITY if no
-																			// path exists
-		} catch (IllegalArgumentException e) {
-			return Double.POSITIVE_INFINITY;
-		}
+		return routingTable.getDelay(computingNode, computingNode2);
 	}
 
 	public void removeLink(ComputingNode src, ComputingNode dest) {
-		graph.removeEdge(src, dest);
+		NetworkLink link = graph.removeEdge(src, dest);
+		if (link != null) {
+			routingTable.removeLink(link);
+			clearPathCache();
+		}
 	}
 
 	public void removeLink(NetworkLink link) {
-		graph.removeEdge(link);
+		if (graph.removeEdge(link)) {
+			routingTable.removeLink(link);
+			clearPathCache();
+		}
+	}
+
+	protected void clearPathCache() {
+		if (pathCache.size() > 0)
+			pathCache.clear();
+	}
+
+	/**
+	 * Gets the shortest path between two nodes from the paths cache, or from the
+	 * routing table (in which case it is added to the cache).
+	 * 
+	 * @see PathCache
+	 * @see #getPath(ComputingNode, ComputingNode)
+	 */
+	public GraphPath<ComputingNode, NetworkLink> getCachedPath(final ComputingNode from, final ComputingNode to) {
+		GraphPath<ComputingNode, NetworkLink> path = pathCache.get(from, to);
+		if (path == null) {
+			path = getPath(from, to);
+			pathCache.put(from, to, path);
+		}
+		return path;
+	}
+
+	/**
+	 * Gets the metrics of the shortest path between two nodes. They are cached
+	 * with the path, and computed again only when a node of the path moves.
+	 * 
+	 * @see PathMetrics
+	 * @see #getCachedPath(ComputingNode, ComputingNode)
+	 */
+	public PathMetrics getPathMetrics(final ComputingNode from, final ComputingNode to) {
+		PathMetrics metrics = pathCache.getMetrics(from, to);
+		if (metrics == null || metrics.isOutdated()) {
+			metrics = new PathMetrics(getCachedPath(from, to));
+			pathCache.putMetrics(from, to, metrics);
+		}
+		return metrics;
+	}
+
+	public PathCache getPathCache() {
+		return pathCache;
 	}
 
+	/**
+	 * Computes the shortest paths from the given nodes in advance, e.g., once the
+	 * topology has been generated.
+	 * 
+	 * @param sources the source nodes.
+	 * @see RoutingTable#precompute(List)
+	 */
+	public void precomputeRoutes(List<? extends ComputingNode> sources) {
+		routingTable.precompute(sources);
+	}
+
+	public RoutingTable getRoutingTable() {
+		return routingTable;
+	}
+
+	/**
+	 * Gets the shortest path between two nodes from the routing table, in O(path
+	 * length) once the shortest paths from the first node have been computed. The
+	 * returned path has its own vertex and edge lists.
+	 * 
+	 * @see RoutingTable
+	 */
 	public GraphPath<ComputingNode, NetworkLink> getPath(final ComputingNode computingNode, final ComputingNode node) {
-		DijkstraShortestPath<ComputingNode, NetworkLink> algorithm = new DijkstraShortestPath<>(graph);
+		List<ComputingNode> vertices = new ArrayList<>(6);
+		List<NetworkLink> edges = new ArrayList<>(5);
+		double weight = routingTable.getPath(computingNode, node, vertices, edges);
 		try {
-			return assertNotNull(algorithm.getPath(computingNode, node));
+			return new GraphWalk<>(graph, computingNode, node, vertices, edges, assertReachable(weight));
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException("Cannot get a path from node " + computingNode.getId() + " (Class: "
 					+ computingNode.getClass().getSimpleName() + " type: " + computingNode.getType() + ") to "
@@ -104,6 +178,12 @@ public class InfrastructureGraph {
 		return path;
 	}
 
+	protected double assertReachable(double weight) {
+		if (weight == Double.POSITIVE_INFINITY)
+			throw new IllegalArgumentException();
+		return weight;
+	}
+
 	public DirectedWeightedMultigraph<ComputingNode, NetworkLink> getGraph() {
 		return graph;
 	}
@@ -152,25 +232,20 @@ public class InfrastructureGraph {
 		return getGraph().edgeSet().stream().filter(n -> n.getType().equals(type)).collect(Collectors.toList());
 	}
 
-	public Map<Long, GraphPath<ComputingNode, NetworkLink>> getPathsMap() {
-		return pathsMap;
-	}
-
 	public void savePathsToMap(List<ComputingNode> list) {
-		// Save shortest paths in map to use them later
+		// Save shortest paths in the cache to use them later
 		for (int i = 0; i < list.size(); i++) {
 			ComputingNode from = list.get(i);
 			for (int j = 0; j < list.size(); j++) { 
 				ComputingNode to = list.get(j);
-				pathsMap.put(getUniqueId(from.getId(), to.getId()), this.getPath(from, to));
-				//pathsMap.put(getUniqueId(from.getName() + from.getId(), to.getName() + to.getId()), this.getPath(from, to));
+				pathCache.put(from, to, this.getPath(from, to));
 			}
 		}
 	}
 
-	// Get a unique id using Cantor pairing function
+	// Get a unique id of an ordered pair of nodes (exact, unlike the Cantor pairing in floating point)
 	public long getUniqueId(int a, int b) {
-		return (long) ((1 / 2.0) * (a + b) * (a + b + 1)) + b;
+		return PathCache.key(a, b);
 	}
 
 	//questa versione tiene conto del caso nel quale non modifichiamo il SimEntity
@@ -21,10 +21,12 @@
 package com.mechalikh.pureedgesim.network;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.energy.EnergyModelNetworkLink;
+import com.mechalikh.pureedgesim.locationmanager.Location;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.Event;
 import com.mechalikh.pureedgesim.simulationengine.SimEntity;
@@ -45,10 +47,50 @@ public class NetworkLink extends SimEntity {
 	protected ComputingNode dst = ComputingNode.NULL;
 	protected SimulationManager simulationManager;
 	protected double usedBandwidth = 0;
-	protected List<Bandwidth> UsedBandwidthList = new ArrayList<>();
+
+	/**
+	 * The bandwidth used by each application, indexed by the application name id,
+	 * and the group of links (if any) whose usage is updated with this one.
+	 * 
+	 * @see #updateAppBandwidth(int, double)
+	 */
+	protected double[] usedBandwidthPerApp = new double[0];
+	protected AppBandwidthUsage appBandwidthUsage;
 	protected double totalTrasferredData = 0;
 	protected EnergyModelNetworkLink energyModel = EnergyModelNetworkLink.NULL;
-	protected boolean scheduled = false;
+
+	/**
+	 * The pending UPDATE_PROGRESS event, or null when there is no transfer.
+	 */
+	protected Event updateProgressEvent;
+
+	/**
+	 * The last time the transfers progress has been updated, used by the event
+	 * driven model.
+	 * 
+	 * @see #isEventDriven()
+	 */
+	protected double lastUpdateTime = 0;
+
+	/**
+	 * The propagation delay between the two ends of this link (-1 if not computed
+	 * yet), and the locations of the ends it has been computed from. It is
+	 * computed again only when a mobile end has moved.
+	 * 
+	 * @see #getPropagationDelay()
+	 */
+	protected double propagationDelay = -1;
+	protected Location srcLocation;
+	protected Location dstLocation;
+
+	/**
+	 * Statistics: the time during which at least one transfer was using this link,
+	 * the start of the current busy period (-1 if the link is idle), and the
+	 * highest number of concurrent transfers.
+	 */
+	protected double busyTime = 0;
+	protected double busySince = -1;
+	protected int peakConcurrentTransfers = 0;
 
 	public enum NetworkLinkTypes {
 		WAN, FIBER, MAN, LAN, IGNORE, HYPER
@@ -102,22 +144,210 @@ public class NetworkLink extends SimEntity {
 
 	@Override
 	public void processEvent(Event evt) {
-		if (evt.getTag() == UPDATE_PROGRESS) {
+		if (evt.getTag() == UPDATE_PROGRESS && isEventDriven()) {
+			// A transfer has been completed.
+			updateProgressEvent = null;
+			advanceTransfers();
+			finishCompletedTransfers();
+			allocateBandwidth();
+			scheduleNextCompletion();
+		} else if (evt.getTag() == UPDATE_PROGRESS) {
 			// Update the progress of the current transfers and their allocated bandwidth
 			updateTransfersProgress();
 			if (this.transferProgressList.size() != 0 || this.containerRequestTransferProgressList.size() != 0)
-				schedule(this, SimulationParameters.networkUpdateInterval, UPDATE_PROGRESS);
+				updateProgressEvent = schedule(this, SimulationParameters.networkUpdateInterval, UPDATE_PROGRESS);
 			else
-				scheduled = false;
+				updateProgressEvent = null;
 		}
 
 	}
 
-	protected void updateTransfersProgress() {
+	/**
+	 * Whether this link uses the event driven network model, where only the
+	 * completion of the next transfer is scheduled, instead of updating the
+	 * transfers every {@link SimulationParameters#networkUpdateInterval}.
+	 * 
+	 * @return true if the event driven model is used.
+	 * @see SimulationParameters#eventDrivenNetworkModel
+	 */
+	protected boolean isEventDriven() {
+		return SimulationParameters.eventDrivenNetworkModel && SimulationParameters.realisticNetworkModel;
+	}
+
+	/**
+	 * Event driven model: updates the remaining size of the current transfers
+	 * according to the bandwidth they have been allocated since the last update.
+	 */
+	protected void advanceTransfers() {
+		double elapsed = simulation.clock() - lastUpdateTime;
+		lastUpdateTime = simulation.clock();
+		if (elapsed <= 0)
+			return;
+
+		for (TransferProgress transfer : transferProgressList) {
+			transfer.setRemainingFileSize(
+					Math.max(0, transfer.getRemainingFileSize() - elapsed * transfer.getCurrentBandwidth()));
+			transfer.getTask().addActualNetworkTime(elapsed);
+			addNetworkUsage(transfer, elapsed);
+		}
+
+		for (ContainerTransferProgress transfer : containerRequestTransferProgressList) {
+			transfer.setRemainingFileSize(
+					Math.max(0, transfer.getRemainingFileSize() - elapsed * transfer.getCurrentBandwidth()));
+			addNetworkUsage(transfer, elapsed);
+		}
+	}
+
+	protected void addNetworkUsage(TransferProgress transfer, double delay) {
+		if (type == NetworkLinkTypes.LAN)
+			transfer.setLanNetworkUsage(transfer.getLanNetworkUsage() + delay);
+		else if (type == NetworkLinkTypes.FIBER)
+			transfer.setFiberNetworkUsage(transfer.getFiberNetworkUsage() + delay);
+		else if (type == NetworkLinkTypes.MAN)
+			transfer.setManNetworkUsage(transfer.getManNetworkUsage() + delay);
+		else if (type == NetworkLinkTypes.WAN)
+			transfer.setWanNetworkUsage(transfer.getWanNetworkUsage() + delay);
+	}
+
+	protected void addNetworkUsage(ContainerTransferProgress transfer, double delay) {
+		if (type == NetworkLinkTypes.LAN)
+			transfer.setLanNetworkUsage(transfer.getLanNetworkUsage() + delay);
+		else if (type == NetworkLinkTypes.FIBER)
+			transfer.setFiberNetworkUsage(transfer.getFiberNetworkUsage() + delay);
+		else if (type == NetworkLinkTypes.MAN)
+			transfer.setManNetworkUsage(transfer.getManNetworkUsage() + delay);
+		else if (type == NetworkLinkTypes.WAN)
+			transfer.setWanNetworkUsage(transfer.getWanNetworkUsage() + delay);
+	}
+
+	/**
+	 * Event driven model: sends the completed transfers to their next hop. The
+	 * link and propagation latencies are added once per hop.
+	 */
+	protected void finishCompletedTransfers() {
+		// Collect them first, as finishing a transfer may add another one to this link.
+		List<TransferProgress> completed = new ArrayList<>();
+		for (TransferProgress transfer : transferProgressList)
+			if (isCompleted(transfer.getRemainingFileSize(), transfer.getFileSize(), transfer.getCurrentBandwidth()))
+				completed.add(transfer);
+
+		List<ContainerTransferProgress> completedContainers = new ArrayList<>();
+		for (ContainerTransferProgress transfer : containerRequestTransferProgressList)
+			if (isCompleted(transfer.getRemainingFileSize(), transfer.getFileSize(), transfer.getCurrentBandwidth()))
+				completedContainers.add(transfer);
+
+		for (TransferProgress transfer : completed) {
+			transfer.setRemainingFileSize(0);
+			transfer.getTask().addActualNetworkTime(getPropagationDelay(transfer) + latency);
+			transferFinished(transfer);
+		}
+		for (ContainerTransferProgress transfer : completedContainers) {
+			transfer.setRemainingFileSize(0);
+			containerTransferFinished(transfer);
+		}
+	}
+
+	protected boolean isCompleted(double remainingFileSize, double fileSize, double bandwidth) {
+		// Tolerate the rounding errors of the completion time. When the time left is
+		// too small to move the clock, the completion event would be scheduled at
+		// the current time again and again, so the transfer is completed now.
+		return remainingFileSize <= fileSize * 1e-9
+				|| (bandwidth > 0 && simulation.clock() + remainingFileSize / bandwidth <= simulation.clock());
+	}
+
+	/**
+	 * Gets the propagation delay between the first two vertices of the remaining
+	 * path of the transfer, i.e. the two ends of this hop.
+	 */
+	protected double getPropagationDelay(TransferProgress transfer) {
+		ComputingNode from = transfer.getVertexList().get(0);
+		ComputingNode to = transfer.getVertexList().get(1);
+		if (from == src && to == dst)
+			return getPropagationDelay();
+		return getPropagationDelay(from.getMobilityModel().getCurrentLocation(),
+				to.getMobilityModel().getCurrentLocation());
+	}
+
+	/**
+	 * Gets the propagation delay between the two ends of this link. It is cached,
+	 * as most links connect static nodes, and computed again only when one of the
+	 * ends is mobile and has moved.
+	 * 
+	 * @return the propagation delay in seconds.
+	 */
+	public double getPropagationDelay() {
+		if (propagationDelay < 0 || hasMoved(src, srcLocation) || hasMoved(dst, dstLocation)) {
+			srcLocation = src.getMobilityModel().getCurrentLocation();
+			dstLocation = dst.getMobilityModel().getCurrentLocation();
+			propagationDelay = getPropagationDelay(srcLocation, dstLocation);
+		}
+		return propagationDelay;
+	}
+
+	protected boolean hasMoved(ComputingNode node, Location location) {
+		if (!node.getMobilityModel().isMobile())
+			return false;
+		Location current = node.getMobilityModel().getCurrentLocation();
+		// The location can be replaced by an equal one, e.g., while the node is paused.
+		return current != location
+				&& (current.getXPos() != location.getXPos() || current.getYPos() != location.getYPos());
+	}
+
+	protected double getPropagationDelay(Location from, Location to) {
+		double dx = to.getXPos() - from.getXPos();
+		double dy = to.getYPos() - from.getYPos();
+		double distance = Math.sqrt(dx * dx + dy * dy);
+		// Propagation speed of light in optical fiber (200,000 km/s)
+		return distance / 1000 / 200000;
+	}
+
+	/**
+	 * Event driven model: shares the bandwidth between the current transfers, the
+	 * same way {@link #updateTransfersProgress()} does.
+	 */
+	protected void allocateBandwidth() {
 		usedBandwidth = 0;
-		for (Bandwidth bandwidth : UsedBandwidthList) {
-			bandwidth.usedBandwidth = 0;
+		resetAppBandwidth();
+
+		for (TransferProgress transfer : transferProgressList) {
+			usedBandwidth += transfer.getRemainingFileSize();
+			if (this.getType() == NetworkLinkTypes.FIBER)
+				UpdateBandwidth(transfer);
+			transfer.setCurrentBandwidth(SimulationParameters.BandwidthAllocationOnApplicationType
+					? getBandwidthOnType(transfer)
+					: getBandwidth(transferProgressList.size()));
+		}
+
+		for (ContainerTransferProgress transfer : containerRequestTransferProgressList) {
+			usedBandwidth += transfer.getRemainingFileSize();
+			if (this.getType() == NetworkLinkTypes.FIBER)
+				UpdateContainerRequestBandwidth(transfer);
+			transfer.setCurrentBandwidth(SimulationParameters.BandwidthAllocationOnApplicationType
+					? getBandwidthOnContainerRequestType(transfer)
+					: getBandwidth(containerRequestTransferProgressList.size()));
 		}
+	}
+
+	/**
+	 * Event driven model: schedules the completion of the transfer that will end
+	 * first, replacing the previously scheduled one.
+	 */
+	protected void scheduleNextCompletion() {
+		double next = Double.MAX_VALUE;
+		for (TransferProgress transfer : transferProgressList)
+			if (transfer.getCurrentBandwidth() > 0)
+				next = Math.min(next, transfer.getRemainingFileSize() / transfer.getCurrentBandwidth());
+		for (ContainerTransferProgress transfer : containerRequestTransferProgressList)
+			if (transfer.getCurrentBandwidth() > 0)
+				next = Math.min(next, transfer.getRemainingFileSize() / transfer.getCurrentBandwidth());
+
+		cancel(updateProgressEvent);
+		updateProgressEvent = next == Double.MAX_VALUE ? null : schedule(this, next, UPDATE_PROGRESS);
+	}
+
+	protected void updateTransfersProgress() {
+		usedBandwidth = 0;
+		resetAppBandwidth();
 
 		double allocatedBandwidth = 0;
 
@@ -160,39 +390,50 @@ public class NetworkLink extends SimEntity {
 	}
 
 	protected void UpdateBandwidth(TransferProgress T) {
-		boolean found = false;
-		for (Bandwidth bandwidth : UsedBandwidthList) {
-			if (bandwidth.ApplicationName.equals(T.getTask().getAssociatedAppName())) {
-				bandwidth.usedBandwidth += T.getRemainingFileSize();
-				found = true;
-				break;
-			}
-		}
-		if (!found) {
-			UsedBandwidthList
-					.add(new Bandwidth(T.getTask().getAssociatedAppName(), bandwidth, T.getRemainingFileSize()));
-			// System.out.println("Nuovo oggetto bandwidth relativo all'app" +
-			// T.getTask().getAssociatedAppName() + "aggiunto al link: " + this.getId());
-		}
+		updateAppBandwidth(T.getTask().getApplicationID(), T.getRemainingFileSize());
 	}
 
 	protected void UpdateContainerRequestBandwidth(ContainerTransferProgress T) {
-		boolean found = false;
-		for (Bandwidth bandwidth : UsedBandwidthList) {
-			if (bandwidth.ApplicationName.equals(T.getContainer().getAssociatedAppName())) {
-				bandwidth.usedBandwidth += T.getRemainingFileSize();
-				found = true;
-				break;
-			}
-		}
-		if (!found) {
-			UsedBandwidthList
-					.add(new Bandwidth(T.getContainer().getAssociatedAppName(), bandwidth, T.getRemainingFileSize()));
-			// System.out.println("Nuovo oggetto bandwidth relativo all'app" +
-			// T.getTask().getAssociatedAppName() + "aggiunto al link: " + this.getId());
+		updateAppBandwidth(T.getContainer().getApplicationID(), T.getRemainingFileSize());
+	}
+
+	/**
+	 * Adds the remaining size of a transfer to the bandwidth used by its
+	 * application.
+	 * 
+	 * @param applicationID the index of the application in the applications list.
+	 * @param size          the remaining size of the transfer in bits.
+	 */
+	protected void updateAppBandwidth(int applicationID, double size) {
+		int appId = simulationManager.getApplicationList().get(applicationID).getNameId();
+		if (usedBandwidthPerApp.length <= appId)
+			usedBandwidthPerApp = Arrays.copyOf(usedBandwidthPerApp,
+					Math.max(appId + 1, SimulationParameters.applicationNames.size()));
+		// Keep the usage of the group of links up to date.
+		if (appBandwidthUsage != null)
+			appBandwidthUsage.add(appId, getAppBandwidth(usedBandwidthPerApp[appId] + size)
+					- getAppBandwidth(usedBandwidthPerApp[appId]));
+		usedBandwidthPerApp[appId] += size;
+	}
+
+	/**
+	 * Resets the bandwidth used by each application before sharing the bandwidth
+	 * again, and removes it from the usage of the group of links.
+	 */
+	protected void resetAppBandwidth() {
+		for (int appId = 0; appId < usedBandwidthPerApp.length; appId++) {
+			if (usedBandwidthPerApp[appId] == 0)
+				continue;
+			if (appBandwidthUsage != null)
+				appBandwidthUsage.add(appId, -getAppBandwidth(usedBandwidthPerApp[appId]));
+			usedBandwidthPerApp[appId] = 0;
 		}
 	}
 
+	protected double getAppBandwidth(double appUsedBandwidth) {
+		return Math.min(bandwidth, appUsedBandwidth);
+	}
+
 	protected double getBandwidth(double remainingTasksCount) {
 		return (bandwidth / (remainingTasksCount > 0 ? remainingTasksCount : 1));
 	}
@@ -257,20 +498,8 @@ public class NetworkLink extends SimEntity {
 
 		double transferDelay = (oldRemainingSize - transfer.getRemainingFileSize()) / transfer.getCurrentBandwidth();
 
-		//calcolo la latency associata alla distanza:
-		double x1 = transfer.getVertexList().get(0).getMobilityModel().getCurrentLocation().getXPos();
-		double y1 = transfer.getVertexList().get(0).getMobilityModel().getCurrentLocation().getYPos();									//questi sono i due datacenter interessati, io devo tenere conto dei due vertici comunicanti
-		double x2 = transfer.getVertexList().get(1).getMobilityModel().getCurrentLocation().getXPos();
-		double y2 = transfer.getVertexList().get(1).getMobilityModel().getCurrentLocation().getYPos();
-		double distance = Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
-		// Velocità di propagazione della luce in fibra ottica (200,000 km/s)
-		double propagationSpeed = 200000; // in km/s
-		double distanceInKm = distance / 1000; // Conversione distanza in km
-		// Latenza basata sulla distanza
-		double distanceLatency = distanceInKm / propagationSpeed; // in secondi
-		// System.out.print("Latenza su distanza" + distanceLatency + "\n");
-		double latency_const = latency;
-		transferDelay += (distanceLatency + latency_const);
+		// Add the link latency and the propagation delay of this hop.
+		transferDelay += (getPropagationDelay(transfer) + latency);
 
 		// boolean bool = false;
 		// for(ComputingNode cn : transfer.getVertexList())
@@ -368,6 +597,7 @@ public class NetworkLink extends SimEntity {
 	protected void transferFinished(TransferProgress transfer) {
 
 		this.transferProgressList.remove(transfer);
+		transferRemoved();
 
 		// Add the network link latency to the task network delay
 		transfer.getTask().addActualNetworkTime(0); //originariamente settato su latency, ora settato su 0 poichè la latency la sommo nella funzione updateTransfer
@@ -392,6 +622,7 @@ public class NetworkLink extends SimEntity {
 	protected void containerTransferFinished(ContainerTransferProgress transfer) {
 
 		this.containerRequestTransferProgressList.remove(transfer);
+		transferRemoved();
 
 		// Remove the previous hop (data has been transferred one hop)
 		transfer.getVertexList().remove(0);
@@ -427,26 +658,76 @@ public class NetworkLink extends SimEntity {
 		// Used by the energy model to get the total energy consumed by this network
 		// link
 		totalTrasferredData += transfer.getFileSize();
-		transferProgressList.add(transfer);
 
-		if (!scheduled) {
-			scheduleNow(this, UPDATE_PROGRESS);
-			scheduled = true;
+		if (isEventDriven()) {
+			// The shares change only when a transfer joins or leaves the link.
+			advanceTransfers();
+			transferProgressList.add(transfer);
+			transferAdded();
+			allocateBandwidth();
+			scheduleNextCompletion();
+			return;
 		}
+
+		transferProgressList.add(transfer);
+		transferAdded();
+
+		if (updateProgressEvent == null)
+			updateProgressEvent = scheduleNow(this, UPDATE_PROGRESS);
 	}
 
 	public void addContainerRequestTransfer(ContainerTransferProgress transfer) {
 		// Used by the energy model to get the total energy consumed by this network
 		// link
 		totalTrasferredData += transfer.getFileSize();
+
+		if (isEventDriven()) {
+			advanceTransfers();
+			containerRequestTransferProgressList.add(transfer);
+			transferAdded();
+			allocateBandwidth();
+			scheduleNextCompletion();
+			return;
+		}
+
 		containerRequestTransferProgressList.add(transfer);
+		transferAdded();
 
-		if (!scheduled) {
-			scheduleNow(this, UPDATE_PROGRESS);
-			scheduled = true;
+		if (updateProgressEvent == null)
+			updateProgressEvent = scheduleNow(this, UPDATE_PROGRESS);
+	}
+
+	protected void transferAdded() {
+		int transfers = transferProgressList.size() + containerRequestTransferProgressList.size();
+		if (transfers == 1)
+			busySince = simulation.clock();
+		peakConcurrentTransfers = Math.max(peakConcurrentTransfers, transfers);
+	}
+
+	protected void transferRemoved() {
+		if (busySince >= 0 && transferProgressList.isEmpty() && containerRequestTransferProgressList.isEmpty()) {
+			busyTime += simulation.clock() - busySince;
+			busySince = -1;
 		}
 	}
 
+	/**
+	 * Gets the time during which at least one transfer was using this link.
+	 * 
+	 * @return the busy time in seconds, including the current busy period.
+	 */
+	public double getBusyTime() {
+		return busyTime + (busySince >= 0 ? simulation.clock() - busySince : 0);
+	}
+
+	/**
+	 * @return the highest number of transfers that have used this link at the same
+	 *         time.
+	 */
+	public int getPeakConcurrentTransfers() {
+		return peakConcurrentTransfers;
+	}
+
 	public EnergyModelNetworkLink getEnergyModel() {
 		return energyModel;
 	}
@@ -455,12 +736,34 @@ public class NetworkLink extends SimEntity {
 		this.energyModel = energyModel;
 	}
 
+	/**
+	 * Gets the amount of data carried by this link, counted when the transfers
+	 * start.
+	 * 
+	 * @return the data size in bits.
+	 */
 	public double getTotalTransferredData() {
 		return totalTrasferredData;
 	}
 
-	public List<Bandwidth> getUsedBandwidthList() {
-		return this.UsedBandwidthList;
+	/**
+	 * Gets the bandwidth used by each application on this link.
+	 * 
+	 * @return the bandwidth in bits per second, indexed by the application name
+	 *         id. The array may be shorter than the number of applications.
+	 * @see com.mechalikh.pureedgesim.taskgenerator.Application#getNameId()
+	 */
+	public double[] getUsedBandwidthPerApp() {
+		return usedBandwidthPerApp;
+	}
+
+	/**
+	 * Sets the group of links whose per-application usage includes this link.
+	 * 
+	 * @see NetworkModel#addFiberUpLink(NetworkLink)
+	 */
+	public void setAppBandwidthUsage(AppBandwidthUsage appBandwidthUsage) {
+		this.appBandwidthUsage = appBandwidthUsage;
 	}
 
 }
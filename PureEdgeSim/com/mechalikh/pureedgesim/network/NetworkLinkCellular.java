@@ -21,7 +21,6 @@
 package com.mechalikh.pureedgesim.network;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters; 
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 
 /**
@@ -31,8 +30,8 @@ public abstract class NetworkLinkCellular extends NetworkLink {
 
 	protected NetworkLinkCellular(ComputingNode src, ComputingNode dst, SimulationManager simulationManager, NetworkLinkTypes type) {
 		super(src, dst, simulationManager, type);
-		setBandwidth(SimulationParameters.cellularBandwidthBitsPerSecond);
-		setLatency(SimulationParameters.cellularLatency); 
+		setBandwidth(simulationManager.getConfig().getCellularBandwidthBitsPerSecond());
+		setLatency(simulationManager.getConfig().getCellularLatency()); 
 	}
 
 }
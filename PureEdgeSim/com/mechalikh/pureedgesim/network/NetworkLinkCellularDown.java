@@ -37,8 +37,8 @@ public class NetworkLinkCellularDown extends NetworkLinkCellular {
 				+ SimulationParameters.cellularBaseStationWattHourPerBitDownLink;
 		if (type == NetworkLinkTypes.WAN) {
 			energyConsumption += SimulationParameters.wanWattHourPerBit;
-			setLatency(SimulationParameters.wanLatency);
-			setBandwidth(Math.min(SimulationParameters.wanBandwidthBitsPerSecond, SimulationParameters.cellularBandwidthBitsPerSecond));
+			setLatency(simulationManager.getConfig().getWanLatency());
+			setBandwidth(Math.min(simulationManager.getConfig().getWanBandwidthBitsPerSecond(), simulationManager.getConfig().getCellularBandwidthBitsPerSecond()));
 		}
 		setEnergyModel(new EnergyModelNetworkLink(energyConsumption, this));
 	}
@@ -32,14 +32,14 @@ public class NetworkLinkEthernet extends NetworkLink {
 
 	public NetworkLinkEthernet(ComputingNode src, ComputingNode dst, SimulationManager simulationManager, NetworkLinkTypes type) {
 		super(src, dst, simulationManager, type);
-		setBandwidth(SimulationParameters.ethernetBandwidthBitsPerSecond);
-		setLatency(SimulationParameters.ethernetLatency);
+		setBandwidth(simulationManager.getConfig().getEthernetBandwidthBitsPerSecond());
+		setLatency(simulationManager.getConfig().getEthernetLatency());
 		double energyConsumption = SimulationParameters.ethernetWattHourPerBit;
 	
 		if (type == NetworkLinkTypes.WAN) {
 			energyConsumption += SimulationParameters.wanWattHourPerBit;
-			setLatency(SimulationParameters.wanLatency);
-			setBandwidth(Math.min(SimulationParameters.wanBandwidthBitsPerSecond, SimulationParameters.ethernetBandwidthBitsPerSecond));
+			setLatency(simulationManager.getConfig().getWanLatency());
+			setBandwidth(Math.min(simulationManager.getConfig().getWanBandwidthBitsPerSecond(), simulationManager.getConfig().getEthernetBandwidthBitsPerSecond()));
 		}
 
 		setEnergyModel(new EnergyModelNetworkLink(energyConsumption, this));
@@ -32,8 +32,8 @@ public class NetworkLinkFiber extends NetworkLink {
 
 	public NetworkLinkFiber(ComputingNode src, ComputingNode dst, SimulationManager simulationManager, NetworkLinkTypes type) {
 		super(src, dst, simulationManager, type);
-		setBandwidth(SimulationParameters.FiberBandwidthBitsPerSecond);
-		setLatency(SimulationParameters.FiberLatency); 
+		setBandwidth(simulationManager.getConfig().getFiberBandwidthBitsPerSecond());
+		setLatency(simulationManager.getConfig().getFiberLatency()); 
 		setEnergyModel(new EnergyModelNetworkLink(SimulationParameters.FiberWattHourPerBit, this));
 	}
 
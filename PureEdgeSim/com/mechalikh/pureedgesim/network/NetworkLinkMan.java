@@ -32,8 +32,8 @@ public class NetworkLinkMan extends NetworkLink {
 
 	public NetworkLinkMan(ComputingNode src, ComputingNode dst, SimulationManager simulationManager, NetworkLinkTypes type) {
 		super(src, dst, simulationManager, type);
-		setBandwidth(SimulationParameters.manBandwidthBitsPerSecond);
-		setLatency(SimulationParameters.manLatency); 
+		setBandwidth(simulationManager.getConfig().getManBandwidthBitsPerSecond());
+		setLatency(simulationManager.getConfig().getManLatency()); 
 		setEnergyModel(new EnergyModelNetworkLink(SimulationParameters.manWattHourPerBit, this));
 	}
 
@@ -32,4 +32,12 @@ public class NetworkLinkNull extends NetworkLink {
 	public double getTotalTransferredData() {
 		return 0;
 	}
+
+	public double getBusyTime() {
+		return 0;
+	}
+
+	public int getPeakConcurrentTransfers() {
+		return 0;
+	}
 }
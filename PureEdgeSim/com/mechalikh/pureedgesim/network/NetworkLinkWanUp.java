@@ -32,8 +32,8 @@ public class NetworkLinkWanUp extends NetworkLink {
 
 	public NetworkLinkWanUp(ComputingNode src, ComputingNode dst, SimulationManager simulationManager, NetworkLinkTypes type) {
 		super(src, dst, simulationManager, type);
-		setBandwidth(SimulationParameters.wanBandwidthBitsPerSecond);
-		setLatency(SimulationParameters.wanLatency);
+		setBandwidth(simulationManager.getConfig().getWanBandwidthBitsPerSecond());
+		setLatency(simulationManager.getConfig().getWanLatency());
 		setEnergyModel(new EnergyModelNetworkLink(SimulationParameters.wanWattHourPerBit, this));
 	}
 
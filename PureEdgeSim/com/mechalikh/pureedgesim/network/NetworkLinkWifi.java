@@ -21,7 +21,6 @@
 package com.mechalikh.pureedgesim.network;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters; 
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
  
 
@@ -32,8 +31,8 @@ public abstract class NetworkLinkWifi extends NetworkLink {
  
 	protected NetworkLinkWifi(ComputingNode src, ComputingNode dst, SimulationManager simulationManager, NetworkLinkTypes type) {
         super(src, dst, simulationManager, type);
-        setBandwidth(SimulationParameters.wifiBandwidthBitsPerSecond);
-        setLatency(SimulationParameters.wifiLatency); 
+        setBandwidth(simulationManager.getConfig().getWifiBandwidthBitsPerSecond());
+        setLatency(simulationManager.getConfig().getWifiLatency()); 
     }
 
 }
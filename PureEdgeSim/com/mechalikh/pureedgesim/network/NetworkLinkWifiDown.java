@@ -37,8 +37,8 @@ public class NetworkLinkWifiDown extends NetworkLinkWifi {
 				+ SimulationParameters.wifiDeviceReceptionWattHourPerBit;
 		if (type == NetworkLinkTypes.WAN) {
 			energyConsumption += SimulationParameters.wanWattHourPerBit;
-			setLatency(SimulationParameters.wanLatency);	
-			setBandwidth(Math.min(SimulationParameters.wanBandwidthBitsPerSecond, SimulationParameters.wifiBandwidthBitsPerSecond));
+			setLatency(simulationManager.getConfig().getWanLatency());	
+			setBandwidth(Math.min(simulationManager.getConfig().getWanBandwidthBitsPerSecond(), simulationManager.getConfig().getWifiBandwidthBitsPerSecond()));
 		}
 		setEnergyModel(new EnergyModelNetworkLink(energyConsumption, this));
 	}
@@ -64,6 +64,9 @@ public abstract class NetworkModel extends SimEntity {
 	protected List<NetworkLink> FiberDownList = new ArrayList<>();
 	protected Map<String,Double> appBandwidthUpMap = new HashMap<>();
 	protected Map<String,Double> appBandwidthDownMap = new HashMap<>();
+	// per-application usage of the fiber links, updated by the links themselves
+	protected AppBandwidthUsage fiberUpUsage = new AppBandwidthUsage(SimulationParameters.applicationNames.size());
+	protected AppBandwidthUsage fiberDownUsage = new AppBandwidthUsage(SimulationParameters.applicationNames.size());
 
 	protected NetworkModel(SimulationManager simulationManager) {
 		super(simulationManager.getSimulation());
@@ -87,41 +90,53 @@ public abstract class NetworkModel extends SimEntity {
 	
 	public Map<String,Double>/* Double*/ getFiberUpUtilization() {
 		//double totalUsedBandwidth = FiberUpList.stream().mapToDouble(NetworkLink::getUsedBandwidth).sum();
-		
-		for (Map.Entry<String, Double> entry : appBandwidthUpMap.entrySet()) {
-            entry.setValue(0.0);
-        }
-		    
-		for (NetworkLink link : FiberUpList) {
-			for(Bandwidth bandwidth : link.getUsedBandwidthList()) {
-				appBandwidthUpMap.put(bandwidth.ApplicationName, appBandwidthUpMap.getOrDefault(bandwidth.ApplicationName, 0.0) + bandwidth.getCustomUsedBandwidth());
-			}
-		}
-		/*
-		for (Map.Entry<String, Double> entry : appBandwidthUpMap.entrySet()) {
-            System.out.println("Chiave: " + entry.getKey() + ", Valore: " + entry.getValue());
-        }
-		*/
-		return appBandwidthUpMap;
+		return toMap(fiberUpUsage, appBandwidthUpMap);
 		 //return totalUsedBandwidth;
 	}
 	
 	public Map<String,Double>/* Double*/ getFiberDownUtilization() {
 		//double totalUsedBandwidth = FiberDownList.stream().mapToDouble(NetworkLink::getUsedBandwidth).sum();
-		
-		for (Map.Entry<String, Double> entry : appBandwidthDownMap.entrySet()) {
-            entry.setValue(0.0);
-        }
-		
-		for (NetworkLink link : FiberDownList) {
-			for(Bandwidth bandwidth : link.UsedBandwidthList) {
-				appBandwidthDownMap.put(bandwidth.ApplicationName, appBandwidthDownMap.getOrDefault(bandwidth.ApplicationName, 0.0) + bandwidth.getCustomUsedBandwidth());
-			}
-		}
-		return appBandwidthDownMap;
+		return toMap(fiberDownUsage, appBandwidthDownMap);
 		//return totalUsedBandwidth;
 	}
 
+	// O(applications): the usage is kept up to date by the links
+	protected Map<String,Double> toMap(AppBandwidthUsage usage, Map<String,Double> map) {
+		for (int appId = 0; appId < usage.size(); appId++) {
+			if (usage.isUsed(appId))
+				map.put(SimulationParameters.applicationNames.get(appId), usage.get(appId));
+		}
+		return map;
+	}
+
+	public AppBandwidthUsage getFiberUpUsage() {
+		return fiberUpUsage;
+	}
+
+	public AppBandwidthUsage getFiberDownUsage() {
+		return fiberDownUsage;
+	}
+
+	/**
+	 * Adds a fiber link to the ones whose utilization is monitored.
+	 * 
+	 * @see #getFiberUpUtilization()
+	 */
+	public void addFiberUpLink(NetworkLink link) {
+		FiberUpList.add(link);
+		link.setAppBandwidthUsage(fiberUpUsage);
+	}
+
+	/**
+	 * Adds a fiber link to the ones whose utilization is monitored.
+	 * 
+	 * @see #getFiberDownUtilization()
+	 */
+	public void addFiberDownLink(NetworkLink link) {
+		FiberDownList.add(link);
+		link.setAppBandwidthUsage(fiberDownUsage);
+	}
+
 	public double getWanUpUtilization() {
 		if (!SimulationParameters.useOneSharedWanLink)
 			throw new IllegalArgumentException(getClass().getSimpleName()
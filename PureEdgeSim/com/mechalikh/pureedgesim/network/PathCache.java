@@ -0,0 +1,362 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments 
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *     
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.network;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jgrapht.GraphPath;
+
+import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+
+/**
+ * A cache of the paths between pairs of computing nodes, keyed by the ids of
+ * the two nodes.
+ * <p>
+ * It is an open addressing hash map of primitive long keys (the two ids are
+ * packed into one long, so there are no collisions between pairs) with linear
+ * probing. The entries are stored in parallel arrays and linked in least
+ * recently used order, so when a maximum size is set, adding a path to a full
+ * cache evicts the least recently used one.
+ * <p>
+ * The cache is thread safe. Each simulation run has its own cache, as the
+ * cached paths hold the nodes and the links of the topology of that run.
+ *
+ * @see InfrastructureGraph#getCachedPath(ComputingNode, ComputingNode)
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#pathCacheSize
+ * @since PureEdgeSim 5.3
+ */
+public class PathCache {
+
+	protected static final int NONE = -1;
+
+	/**
+	 * The maximum number of paths, 0 if unbounded.
+	 */
+	protected final int maxSize;
+
+	/**
+	 * The hash table: the index of the entry stored in each slot, or NONE.
+	 */
+	protected int[] table;
+
+	protected int mask;
+
+	/**
+	 * The entries: key, path, metrics of the path, and previous and next entries
+	 * in the usage order.
+	 */
+	protected long[] keys;
+	protected Object[] paths;
+	protected PathMetrics[] metrics;
+	protected int[] previous;
+	protected int[] next;
+
+	protected int size;
+
+	/**
+	 * The least and the most recently used entries.
+	 */
+	protected int eldest = NONE;
+	protected int youngest = NONE;
+
+	/**
+	 * The free entries (after a removal), linked using the next array.
+	 */
+	protected int freeEntries = NONE;
+
+	protected int usedEntries;
+
+	protected final LongAdder hits = new LongAdder();
+	protected final LongAdder misses = new LongAdder();
+	protected long evictions;
+
+	/**
+	 * Creates an unbounded cache.
+	 */
+	public PathCache() {
+		this(0);
+	}
+
+	/**
+	 * Creates a cache.
+	 * 
+	 * @param maxSize the maximum number of paths, 0 if unbounded.
+	 */
+	public PathCache(int maxSize) {
+		if (maxSize < 0)
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the maximum size must be >= 0");
+		this.maxSize = maxSize;
+		int capacity = maxSize == 0 ? 64 : Math.min(maxSize, 1 << 16);
+		keys = new long[capacity];
+		paths = new Object[capacity];
+		metrics = new PathMetrics[capacity];
+		previous = new int[capacity];
+		next = new int[capacity];
+		table = newTable(capacity);
+	}
+
+	/**
+	 * Packs the ids of the two nodes into one key.
+	 * 
+	 * @param from the id of the source node.
+	 * @param to   the id of the destination node.
+	 * @return the key.
+	 */
+	public static long key(int from, int to) {
+		return ((long) from << 32) | (to & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the cached path between two nodes.
+	 * 
+	 * @param from the source node.
+	 * @param to   the destination node.
+	 * @return the path, or null if it is not in the cache.
+	 */
+	public GraphPath<ComputingNode, NetworkLink> get(ComputingNode from, ComputingNode to) {
+		long key = key(from.getId(), to.getId());
+		synchronized (this) {
+			int entry = find(key);
+			if (entry != NONE && entry != youngest) {
+				unlink(entry);
+				linkLast(entry);
+			}
+			return count(entry);
+		}
+	}
+
+	/**
+	 * Adds a path to the cache. If the cache is full, the least recently used
+	 * path is evicted.
+	 * 
+	 * @param from the source node.
+	 * @param to   the destination node.
+	 * @param path the path between them.
+	 */
+	public synchronized void put(ComputingNode from, ComputingNode to, GraphPath<ComputingNode, NetworkLink> path) {
+		long key = key(from.getId(), to.getId());
+		int entry = find(key);
+		if (entry != NONE) {
+			paths[entry] = path;
+			metrics[entry] = null;
+			unlink(entry);
+			linkLast(entry);
+			return;
+		}
+
+		if (maxSize > 0 && size == maxSize) {
+			remove(eldest);
+			evictions++;
+		}
+
+		entry = newEntry();
+		keys[entry] = key;
+		paths[entry] = path;
+		linkLast(entry);
+		size++;
+		if (size * 2 > table.length)
+			rehash(size);
+		else
+			insert(entry);
+	}
+
+	/**
+	 * Gets the metrics of a cached path. Unlike {@link #get(ComputingNode,
+	 * ComputingNode)}, the lookup is not counted in the hits and misses.
+	 * 
+	 * @param from the source node.
+	 * @param to   the destination node.
+	 * @return the metrics, or null if they (or the path) are not in the cache.
+	 */
+	public synchronized PathMetrics getMetrics(ComputingNode from, ComputingNode to) {
+		int entry = find(key(from.getId(), to.getId()));
+		return entry == NONE ? null : metrics[entry];
+	}
+
+	/**
+	 * Attaches metrics to a cached path, unless the path is not in the cache.
+	 * 
+	 * @param from    the source node.
+	 * @param to      the destination node.
+	 * @param metrics the metrics of the path.
+	 */
+	public synchronized void putMetrics(ComputingNode from, ComputingNode to, PathMetrics metrics) {
+		int entry = find(key(from.getId(), to.getId()));
+		if (entry != NONE)
+			this.metrics[entry] = metrics;
+	}
+
+	/**
+	 * Removes all the paths, e.g., when the topology changes.
+	 */
+	public synchronized void clear() {
+		Arrays.fill(table, NONE);
+		Arrays.fill(paths, 0, usedEntries, null);
+		Arrays.fill(metrics, 0, usedEntries, null);
+		size = 0;
+		usedEntries = 0;
+		freeEntries = NONE;
+		eldest = youngest = NONE;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Gets the ratio of the lookups that found a path.
+	 * 
+	 * @return the hit ratio, between 0 and 1.
+	 */
+	public double getHitRatio() {
+		long hitsCount = getHits();
+		long total = hitsCount + getMisses();
+		return total == 0 ? 0 : (double) hitsCount / total;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected GraphPath<ComputingNode, NetworkLink> count(int entry) {
+		if (entry == NONE) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return (GraphPath<ComputingNode, NetworkLink>) paths[entry];
+	}
+
+	protected static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	protected int find(long key) {
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			int entry = table[slot];
+			if (entry == NONE)
+				return NONE;
+			if (keys[entry] == key)
+				return entry;
+		}
+	}
+
+	protected void insert(int entry) {
+		int slot = hash(keys[entry]) & mask;
+		while (table[slot] != NONE)
+			slot = (slot + 1) & mask;
+		table[slot] = entry;
+	}
+
+	/**
+	 * Removes an entry, using backward shift deletion to keep the probe sequences
+	 * valid without tombstones.
+	 */
+	protected void remove(int entry) {
+		int slot = hash(keys[entry]) & mask;
+		while (table[slot] != entry)
+			slot = (slot + 1) & mask;
+
+		int hole = slot;
+		for (slot = (slot + 1) & mask; table[slot] != NONE; slot = (slot + 1) & mask) {
+			int home = hash(keys[table[slot]]) & mask;
+			// Move the entry to the hole if the hole is between its home and its slot.
+			if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+				table[hole] = table[slot];
+				hole = slot;
+			}
+		}
+		table[hole] = NONE;
+
+		unlink(entry);
+		paths[entry] = null;
+		metrics[entry] = null;
+		next[entry] = freeEntries;
+		freeEntries = entry;
+		size--;
+	}
+
+	protected int newEntry() {
+		if (freeEntries != NONE) {
+			int entry = freeEntries;
+			freeEntries = next[entry];
+			return entry;
+		}
+		if (usedEntries == keys.length) {
+			int capacity = keys.length * 2;
+			if (maxSize > 0)
+				capacity = Math.min(capacity, maxSize);
+			keys = Arrays.copyOf(keys, capacity);
+			paths = Arrays.copyOf(paths, capacity);
+			metrics = Arrays.copyOf(metrics, capacity);
+			previous = Arrays.copyOf(previous, capacity);
+			next = Arrays.copyOf(next, capacity);
+		}
+		return usedEntries++;
+	}
+
+	protected void rehash(int entriesCapacity) {
+		table = newTable(entriesCapacity);
+		for (int entry = eldest; entry != NONE; entry = next[entry])
+			insert(entry);
+	}
+
+	protected int[] newTable(int entriesCapacity) {
+		int capacity = Integer.highestOneBit(Math.max(entriesCapacity, 8) * 2 - 1) * 2;
+		int[] newTable = new int[capacity];
+		Arrays.fill(newTable, NONE);
+		mask = capacity - 1;
+		return newTable;
+	}
+
+	protected void unlink(int entry) {
+		if (previous[entry] == NONE)
+			eldest = next[entry];
+		else
+			next[previous[entry]] = next[entry];
+		if (next[entry] == NONE)
+			youngest = previous[entry];
+		else
+			previous[next[entry]] = previous[entry];
+	}
+
+	protected void linkLast(int entry) {
+		previous[entry] = youngest;
+		next[entry] = NONE;
+		if (youngest == NONE)
+			eldest = entry;
+		else
+			next[youngest] = entry;
+		youngest = entry;
+	}
+
+}
@@ -0,0 +1,161 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments 
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *     
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.network;
+
+import java.util.List;
+
+import org.jgrapht.GraphPath;
+
+import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+import com.mechalikh.pureedgesim.locationmanager.Location;
+
+/**
+ * Aggregate metrics of a path, computed once and cached with the path: its
+ * weight (i.e., the sum of the links latencies), its geometric length, and the
+ * mean and bottleneck of the nominal bandwidths of its links.
+ * <p>
+ * The geometric length depends on the location of the nodes, so the locations
+ * used to compute it are kept, and the metrics become outdated as soon as one
+ * of the nodes of the path moves.
+ *
+ * @see InfrastructureGraph#getPathMetrics(ComputingNode, ComputingNode)
+ * @see PathCache#getMetrics(ComputingNode, ComputingNode)
+ * @since PureEdgeSim 5.3
+ */
+public class PathMetrics {
+
+	protected final ComputingNode[] vertices;
+
+	/**
+	 * The locations of the vertices when the metrics were computed.
+	 */
+	protected final double[] xPositions;
+	protected final double[] yPositions;
+
+	protected final double weight;
+	protected final double distance;
+	protected final double meanBandwidth;
+	protected final double bottleneckBandwidth;
+
+	public PathMetrics(GraphPath<ComputingNode, NetworkLink> path) {
+		List<ComputingNode> vertexList = path.getVertexList();
+		List<NetworkLink> edgeList = path.getEdgeList();
+
+		vertices = vertexList.toArray(new ComputingNode[0]);
+		xPositions = new double[vertices.length];
+		yPositions = new double[vertices.length];
+		double length = 0;
+		for (int i = 0; i < vertices.length; i++) {
+			Location location = vertices[i].getMobilityModel().getCurrentLocation();
+			xPositions[i] = location.getXPos();
+			yPositions[i] = location.getYPos();
+			if (i > 0) {
+				double dx = xPositions[i] - xPositions[i - 1];
+				double dy = yPositions[i] - yPositions[i - 1];
+				length += Math.sqrt(dx * dx + dy * dy);
+			}
+		}
+
+		double sum = 0;
+		double min = Double.MAX_VALUE;
+		for (int i = 0; i < edgeList.size(); i++) {
+			// The i-th link starts from the i-th vertex.
+			double bandwidth = getNominalBandwidth(edgeList.get(i), vertices[i]);
+			sum += bandwidth;
+			min = Math.min(min, bandwidth);
+		}
+
+		weight = path.getWeight();
+		distance = length;
+		meanBandwidth = sum / edgeList.size();
+		bottleneckBandwidth = edgeList.isEmpty() ? 0 : min;
+	}
+
+	/**
+	 * Gets the nominal bandwidth of a link from the simulation parameters. The
+	 * bandwidth of a LAN link depends on the connectivity of its source node.
+	 * 
+	 * @return the bandwidth in bits per second, 0 if unknown.
+	 */
+	protected static double getNominalBandwidth(NetworkLink link, ComputingNode source) {
+		switch (link.getType()) {
+		case FIBER:
+			return link.simulationManager.getConfig().getFiberBandwidthBitsPerSecond();
+		case WAN:
+			return link.simulationManager.getConfig().getWanBandwidthBitsPerSecond();
+		case LAN:
+			String connectivity = source.getEnergyModel().getConnectivityType();
+			if ("cellular".equals(connectivity))
+				return link.simulationManager.getConfig().getCellularBandwidthBitsPerSecond();
+			else if ("wifi".equals(connectivity))
+				return link.simulationManager.getConfig().getWifiBandwidthBitsPerSecond();
+			else if ("ethernet".equals(connectivity))
+				return link.simulationManager.getConfig().getEthernetBandwidthBitsPerSecond();
+			return 0;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Checks whether a node of the path has moved since the metrics were computed.
+	 * 
+	 * @return true if the metrics must be computed again.
+	 */
+	public boolean isOutdated() {
+		for (int i = 0; i < vertices.length; i++) {
+			Location location = vertices[i].getMobilityModel().getCurrentLocation();
+			if (location.getXPos() != xPositions[i] || location.getYPos() != yPositions[i])
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the sum of the latencies of the links, in seconds.
+	 */
+	public double getWeight() {
+		return weight;
+	}
+
+	/**
+	 * @return the geometric length of the path, in meters.
+	 */
+	public double getDistance() {
+		return distance;
+	}
+
+	/**
+	 * @return the mean of the nominal bandwidths of the links, in bits per second
+	 *         (NaN if the path has no links).
+	 */
+	public double getMeanBandwidth() {
+		return meanBandwidth;
+	}
+
+	/**
+	 * @return the lowest nominal bandwidth of the links, in bits per second.
+	 */
+	public double getBottleneckBandwidth() {
+		return bottleneckBandwidth;
+	}
+
+}
@@ -0,0 +1,491 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments 
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *     
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+
+/**
+ * The routing table of the {@link InfrastructureGraph}. It uses integer indices
+ * for the nodes and the links, and flat arrays for the adjacency lists and the
+ * shortest paths.
+ * <p>
+ * Two kinds of shortest paths trees are computed using Dijkstra's algorithm:
+ * <ul>
+ * <li>The tree <b>from</b> a source node: the distance to each node, and the
+ * last link of the shortest path to each node.</li>
+ * <li>The tree <b>to</b> a destination node: the distance from each node, and
+ * the first link of the shortest path from each node.</li>
+ * </ul>
+ * Both trees are computed in advance for the nodes given to
+ * {@link #precompute(List)} (e.g., the orchestrators and the servers), so that
+ * the paths between them and all the other nodes are served without computing
+ * anything else. For any other pair of nodes, the tree from the source node is
+ * computed the first time it is needed. After that, getting the delay between
+ * two nodes is O(1) and getting the path is O(path length). A node that has
+ * only one outgoing link (e.g., an edge device connected to its ONT) does not
+ * have its own tree, it uses the one of its neighbor.
+ * <p>
+ * When a link is added, only the trees in which it shortens a path are
+ * discarded, and when a link is removed, only the trees that use it. They are
+ * computed again on the next request.
+ * 
+ * @see InfrastructureGraph#getPath(ComputingNode, ComputingNode)
+ * @see InfrastructureGraph#getDelay(ComputingNode, ComputingNode)
+ * @since PureEdgeSim 5.3
+ */
+public class RoutingTable {
+
+	protected static final int NONE = -1;
+
+	/**
+	 * The nodes by index, and the index of each node by id.
+	 */
+	protected final List<ComputingNode> nodes = new ArrayList<>();
+	protected int[] indexById = new int[64];
+
+	/**
+	 * The links by index (a removed link is replaced with null), with their source
+	 * node index, destination node index, and weight (i.e., latency).
+	 */
+	protected final List<NetworkLink> links = new ArrayList<>();
+	protected final Map<NetworkLink, Integer> indexByLink = new IdentityHashMap<>();
+	protected int[] linkSrc = new int[64];
+	protected int[] linkDst = new int[64];
+	protected double[] linkWeight = new double[64];
+
+	/**
+	 * The outgoing links of node i are outLinks[outStart[i]] ...
+	 * outLinks[outStart[i + 1] - 1], and the same for the incoming links. Rebuilt
+	 * lazily when the topology changes.
+	 */
+	protected int[] outStart;
+	protected int[] outLinks;
+	protected int[] inStart;
+	protected int[] inLinks;
+	protected boolean adjacencyChanged = true;
+
+	/**
+	 * The trees from each source node: the distance to each node, and the index
+	 * of the last link of the shortest path to each node. Null if it has not been
+	 * computed. These arrays may be shorter than the number of nodes if nodes have
+	 * been added since, in which case the missing nodes are unreachable.
+	 */
+	protected double[][] distancesFrom = new double[64][];
+	protected int[][] lastLinks = new int[64][];
+
+	/**
+	 * The trees to each destination node: the distance from each node, and the
+	 * index of the first link of the shortest path from each node.
+	 */
+	protected double[][] distancesTo = new double[64][];
+	protected int[][] firstLinks = new int[64][];
+
+	protected int computedTrees;
+
+	protected int liveTrees;
+
+	public RoutingTable() {
+		Arrays.fill(indexById, NONE);
+	}
+
+	/**
+	 * Adds a link, and the nodes it connects if they are new.
+	 * 
+	 * @param link the link to add.
+	 */
+	public void addLink(NetworkLink link) {
+		int src = addNode(link.getSrc());
+		int dst = addNode(link.getDst());
+		int index = links.size();
+		links.add(link);
+		indexByLink.put(link, index);
+		if (index == linkSrc.length) {
+			linkSrc = Arrays.copyOf(linkSrc, index * 2);
+			linkDst = Arrays.copyOf(linkDst, index * 2);
+			linkWeight = Arrays.copyOf(linkWeight, index * 2);
+		}
+		linkSrc[index] = src;
+		linkDst[index] = dst;
+		linkWeight[index] = link.getLatency();
+		adjacencyChanged = true;
+
+		// Discard the trees in which the new link gives a shorter path.
+		double weight = linkWeight[index];
+		for (int node = 0; liveTrees > 0 && node < nodes.size(); node++) {
+			if (distancesFrom[node] != null && get(distancesFrom[node], src) + weight < get(distancesFrom[node], dst))
+				discardTreeFrom(node);
+			if (distancesTo[node] != null && weight + get(distancesTo[node], dst) < get(distancesTo[node], src))
+				discardTreeTo(node);
+		}
+	}
+
+	/**
+	 * Removes a link.
+	 * 
+	 * @param link the link to remove.
+	 */
+	public void removeLink(NetworkLink link) {
+		Integer removed = indexByLink.remove(link);
+		if (removed == null)
+			return;
+		int index = removed;
+		links.set(index, null);
+		adjacencyChanged = true;
+
+		// Discard the trees that use this link.
+		int src = linkSrc[index];
+		int dst = linkDst[index];
+		for (int node = 0; liveTrees > 0 && node < nodes.size(); node++) {
+			if (lastLinks[node] != null && dst < lastLinks[node].length && lastLinks[node][dst] == index)
+				discardTreeFrom(node);
+			if (firstLinks[node] != null && src < firstLinks[node].length && firstLinks[node][src] == index)
+				discardTreeTo(node);
+		}
+	}
+
+	/**
+	 * Computes the trees from and to the given nodes in advance.
+	 * 
+	 * @param sources the nodes.
+	 */
+	public void precompute(List<? extends ComputingNode> sources) {
+		for (ComputingNode node : sources) {
+			int index = indexOf(node);
+			if (index == NONE)
+				continue;
+			if (distancesFrom[index] == null)
+				computeTreeFrom(index);
+			if (distancesTo[index] == null)
+				computeTreeTo(index);
+		}
+	}
+
+	/**
+	 * Gets the weight (i.e., latency) of the shortest path between two nodes.
+	 * 
+	 * @param from the source node.
+	 * @param to   the destination node.
+	 * @return the weight of the shortest path, Double.POSITIVE_INFINITY if there is
+	 *         no path.
+	 */
+	public double getDelay(ComputingNode from, ComputingNode to) {
+		int src = indexOf(from);
+		int dst = indexOf(to);
+		if (src == NONE || dst == NONE)
+			return Double.POSITIVE_INFINITY;
+		if (src == dst)
+			return 0;
+
+		int via = getFirstHop(src, dst);
+		int start = via == NONE ? src : linkDst[via];
+		double delay = via == NONE ? 0 : linkWeight[via];
+		if (start == dst)
+			return delay;
+		if (useTreeTo(start, dst))
+			return delay + get(distancesTo[dst], start);
+		return delay + get(getTreeFrom(start), dst);
+	}
+
+	/**
+	 * Gets the shortest path between two nodes.
+	 * 
+	 * @param from     the source node.
+	 * @param to       the destination node.
+	 * @param vertices the list to which the nodes of the path are added, from the
+	 *                 source to the destination.
+	 * @param edges    the list to which the links of the path are added.
+	 * @return the weight of the path, Double.POSITIVE_INFINITY if there is no
+	 *         path (the lists are left unchanged).
+	 */
+	public double getPath(ComputingNode from, ComputingNode to, List<ComputingNode> vertices,
+			List<NetworkLink> edges) {
+		double delay = getDelay(from, to);
+		if (delay == Double.POSITIVE_INFINITY)
+			return delay;
+
+		int src = indexOf(from);
+		int dst = indexOf(to);
+		vertices.add(from);
+		if (src == dst)
+			return delay;
+
+		int via = getFirstHop(src, dst);
+		int start = src;
+		if (via != NONE) {
+			start = linkDst[via];
+			edges.add(links.get(via));
+			vertices.add(nodes.get(start));
+		}
+		if (start == dst)
+			return delay;
+
+		if (useTreeTo(start, dst)) {
+			// Follow the first links from the start to the destination.
+			int[] first = firstLinks[dst];
+			for (int node = start; node != dst; node = linkDst[first[node]]) {
+				edges.add(links.get(first[node]));
+				vertices.add(nodes.get(linkDst[first[node]]));
+			}
+		} else {
+			// Walk the tree back from the destination.
+			int[] last = lastLinks[start];
+			int firstVertex = vertices.size();
+			int firstEdge = edges.size();
+			for (int node = dst; node != start; node = linkSrc[last[node]]) {
+				vertices.add(nodes.get(node));
+				edges.add(links.get(last[node]));
+			}
+			reverse(vertices, firstVertex);
+			reverse(edges, firstEdge);
+		}
+		return delay;
+	}
+
+	/**
+	 * Gets the number of shortest paths trees that have been computed, for
+	 * statistics.
+	 * 
+	 * @return the number of computed trees.
+	 */
+	public int getComputedTreesCount() {
+		return computedTrees;
+	}
+
+	protected int addNode(ComputingNode node) {
+		int index = indexOf(node);
+		if (index != NONE)
+			return index;
+
+		index = nodes.size();
+		nodes.add(node);
+		if (node.getId() >= indexById.length) {
+			int oldLength = indexById.length;
+			indexById = Arrays.copyOf(indexById, Math.max(oldLength * 2, node.getId() + 1));
+			Arrays.fill(indexById, oldLength, indexById.length, NONE);
+		}
+		indexById[node.getId()] = index;
+		if (index == distancesFrom.length) {
+			distancesFrom = Arrays.copyOf(distancesFrom, index * 2);
+			lastLinks = Arrays.copyOf(lastLinks, index * 2);
+			distancesTo = Arrays.copyOf(distancesTo, index * 2);
+			firstLinks = Arrays.copyOf(firstLinks, index * 2);
+		}
+		return index;
+	}
+
+	protected int indexOf(ComputingNode node) {
+		int id = node.getId();
+		if (id < 0 || id >= indexById.length || indexById[id] == NONE)
+			return NONE;
+		int index = indexById[id];
+		// Make sure it is the same node (e.g., not ComputingNode.NULL).
+		return nodes.get(index) == node ? index : NONE;
+	}
+
+	/**
+	 * Returns the only outgoing link of the source node when its neighbor can
+	 * route on its behalf (i.e., when no tree can be used directly), or NONE.
+	 */
+	protected int getFirstHop(int src, int dst) {
+		if (distancesFrom[src] != null || distancesTo[dst] != null)
+			return NONE;
+		updateAdjacency();
+		if (outStart[src + 1] - outStart[src] != 1)
+			return NONE;
+		int link = outLinks[outStart[src]];
+		int next = linkDst[link];
+		// Only one level, to avoid loops between nodes with a single link.
+		if (next == src || outStart[next + 1] - outStart[next] == 1)
+			return NONE;
+		return link;
+	}
+
+	protected boolean useTreeTo(int src, int dst) {
+		return distancesFrom[src] == null && distancesTo[dst] != null;
+	}
+
+	protected static double get(double[] distances, int node) {
+		return node >= distances.length ? Double.POSITIVE_INFINITY : distances[node];
+	}
+
+	protected void discardTreeFrom(int source) {
+		liveTrees--;
+		distancesFrom[source] = null;
+		lastLinks[source] = null;
+	}
+
+	protected void discardTreeTo(int destination) {
+		liveTrees--;
+		distancesTo[destination] = null;
+		firstLinks[destination] = null;
+	}
+
+	protected double[] getTreeFrom(int source) {
+		if (distancesFrom[source] == null)
+			computeTreeFrom(source);
+		return distancesFrom[source];
+	}
+
+	protected void computeTreeFrom(int source) {
+		updateAdjacency();
+		int n = nodes.size();
+		distancesFrom[source] = new double[n];
+		lastLinks[source] = new int[n];
+		dijkstra(source, outStart, outLinks, linkDst, distancesFrom[source], lastLinks[source]);
+	}
+
+	protected void computeTreeTo(int destination) {
+		updateAdjacency();
+		int n = nodes.size();
+		distancesTo[destination] = new double[n];
+		firstLinks[destination] = new int[n];
+		dijkstra(destination, inStart, inLinks, linkSrc, distancesTo[destination], firstLinks[destination]);
+	}
+
+	/**
+	 * Dijkstra's algorithm, using an indexed binary heap of node indices. The
+	 * links of node i are links[start[i]] ... links[start[i + 1] - 1], and
+	 * reach[link] is the node a link leads to (i.e., the destination of the
+	 * link for the trees from a source, and its source for the trees to a
+	 * destination).
+	 */
+	protected void dijkstra(int root, int[] start, int[] adjacency, int[] reach, double[] dist, int[] via) {
+		int n = dist.length;
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		Arrays.fill(via, NONE);
+
+		int[] heap = new int[n];
+		int[] position = new int[n];
+		Arrays.fill(position, NONE);
+		int heapSize = 0;
+
+		dist[root] = 0;
+		heap[heapSize] = root;
+		position[root] = heapSize++;
+
+		while (heapSize > 0) {
+			int node = heap[0];
+			position[node] = NONE;
+			heapSize--;
+			if (heapSize > 0) {
+				heap[0] = heap[heapSize];
+				position[heap[0]] = 0;
+				siftDown(heap, position, dist, heapSize, 0);
+			}
+
+			for (int i = start[node]; i < start[node + 1]; i++) {
+				int link = adjacency[i];
+				int next = reach[link];
+				double candidate = dist[node] + linkWeight[link];
+				if (candidate < dist[next]) {
+					dist[next] = candidate;
+					via[next] = link;
+					if (position[next] == NONE) {
+						heap[heapSize] = next;
+						position[next] = heapSize++;
+					}
+					siftUp(heap, position, dist, position[next]);
+				}
+			}
+		}
+		computedTrees++;
+		liveTrees++;
+	}
+
+	private static void siftUp(int[] heap, int[] position, double[] key, int i) {
+		int node = heap[i];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (key[heap[parent]] <= key[node])
+				break;
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = node;
+		position[node] = i;
+	}
+
+	private static void siftDown(int[] heap, int[] position, double[] key, int size, int i) {
+		int node = heap[i];
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && key[heap[child + 1]] < key[heap[child]])
+				child++;
+			if (key[node] <= key[heap[child]])
+				break;
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = node;
+		position[node] = i;
+	}
+
+	/**
+	 * Rebuilds the adjacency arrays, if links have been added or removed.
+	 */
+	protected void updateAdjacency() {
+		if (!adjacencyChanged)
+			return;
+		outStart = new int[nodes.size() + 1];
+		outLinks = buildAdjacency(linkSrc, outStart);
+		inStart = new int[nodes.size() + 1];
+		inLinks = buildAdjacency(linkDst, inStart);
+		adjacencyChanged = false;
+	}
+
+	/**
+	 * Counting sort of the links by the given end node.
+	 */
+	protected int[] buildAdjacency(int[] end, int[] start) {
+		int n = start.length - 1;
+		for (int link = 0; link < links.size(); link++)
+			if (links.get(link) != null)
+				start[end[link] + 1]++;
+		for (int i = 0; i < n; i++)
+			start[i + 1] += start[i];
+
+		int[] adjacency = new int[start[n]];
+		int[] next = Arrays.copyOf(start, n);
+		for (int link = 0; link < links.size(); link++)
+			if (links.get(link) != null)
+				adjacency[next[end[link]]++] = link;
+		return adjacency;
+	}
+
+	private static <T> void reverse(List<T> list, int from) {
+		for (int i = from, j = list.size() - 1; i < j; i++, j--) {
+			T tmp = list.get(i);
+			list.set(i, list.get(j));
+			list.set(j, tmp);
+		}
+	}
+
+}
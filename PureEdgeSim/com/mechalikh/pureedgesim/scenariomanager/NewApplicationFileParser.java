@@ -3,7 +3,9 @@ package com.mechalikh.pureedgesim.scenariomanager;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -33,6 +35,8 @@ public class NewApplicationFileParser extends XmlFileParser {
 		String application = "\" application in \"";
 		SimLog.println("%s - Checking applications file.",this.getClass().getSimpleName());
 		SimulationParameters.applicationList = new ArrayList<>();
+		SimulationParameters.applicationNames = new ArrayList<>();
+		Map<String, Integer> nameIds = new HashMap<>();
 		Document doc;
 		try (InputStream applicationFile = new FileInputStream(file)) {
 			DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
@@ -109,8 +113,17 @@ public class NewApplicationFileParser extends XmlFileParser {
 				String name = appElement.getAttribute("name");
 
 				// Save applications parameters.
-				SimulationParameters.applicationList.add(new Application(name, type, latency,
-						containerSize, containerRequestSize, sharedContainer, copies, minRequestSize, maxRequestSize, resultsSize, taskLength));
+				Application app = new Application(name, type, latency,
+						containerSize, containerRequestSize, sharedContainer, copies, minRequestSize, maxRequestSize, resultsSize, taskLength);
+				// Intern the name to a dense id, used to index the per-application arrays.
+				Integer nameId = nameIds.get(name);
+				if (nameId == null) {
+					nameId = SimulationParameters.applicationNames.size();
+					nameIds.put(name, nameId);
+					SimulationParameters.applicationNames.add(name);
+				}
+				app.setNameId(nameId);
+				SimulationParameters.applicationList.add(app);
 
 				//creates the users for this application
 				String usersType = appElement.getElementsByTagName("users_type").item(0).getTextContent();
@@ -0,0 +1,143 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.scenariomanager;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Cartesian product of the swept parameters, of the container
+ * orchestration algorithms and of the orchestration architectures, seen as a
+ * list of scenarios.
+ * <p>
+ * The grid is never expanded: each scenario is created from its index when it
+ * is requested, so a sweep of thousands of runs does not keep thousands of
+ * scenarios (and configurations) in memory. The last dimensions change the
+ * fastest, so without swept parameters the scenarios are in the same order as
+ * when the algorithms and architectures are combined directly.
+ *
+ * @see SweepParser
+ * @see com.mechalikh.pureedgesim.simulationmanager.Simulation#loadScenarios()
+ * @since PureEdgeSim 5.3
+ */
+public class ParameterSweep extends AbstractList<Scenario> {
+
+	/**
+	 * The name of the parameter used to sweep the number of edge devices.
+	 */
+	public static final String EDGE_DEVICES = "edge_devices";
+
+	protected final SimulationConfig baseConfig;
+
+	protected final int defaultDevicesCount;
+
+	protected final List<String> parameters;
+
+	protected final List<String[]> values = new ArrayList<>();
+
+	protected final int algorithms;
+
+	protected final int architectures;
+
+	protected final int size;
+
+	/**
+	 * Creates the sweep.
+	 *
+	 * @param baseConfig          the configuration to which the swept values are
+	 *                            applied.
+	 * @param defaultDevicesCount the number of edge devices, when it is not swept.
+	 * @param parameters          the values of each swept parameter.
+	 */
+	public ParameterSweep(SimulationConfig baseConfig, int defaultDevicesCount, Map<String, List<String>> parameters) {
+		this.baseConfig = baseConfig;
+		this.defaultDevicesCount = defaultDevicesCount;
+		this.parameters = new ArrayList<>(parameters.keySet());
+		this.algorithms = SimulationParameters.containerOrchestrationAlgorithms.length;
+		this.architectures = SimulationParameters.orchestrationArchitectures.length;
+
+		long count = (long) algorithms * architectures;
+		for (String parameter : this.parameters) {
+			List<String> parameterValues = parameters.get(parameter);
+			if (parameter.equals(EDGE_DEVICES))
+				for (String value : parameterValues)
+					if (Integer.parseInt(value) < defaultDevicesCount)
+						throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the number of edge devices ("
+								+ value + ") must be >= the number of users (" + defaultDevicesCount + ").");
+			values.add(parameterValues.toArray(new String[0]));
+			count *= parameterValues.size();
+			if (count > Integer.MAX_VALUE)
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the sweep has too many runs.");
+		}
+		this.size = (int) count;
+	}
+
+	@Override
+	public Scenario get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+		int architecture = index % architectures;
+		index /= architectures;
+		int algorithm = index % algorithms;
+		index /= algorithms;
+
+		String[] point = new String[parameters.size()];
+		for (int i = parameters.size() - 1; i >= 0; i--) {
+			String[] parameterValues = values.get(i);
+			point[i] = parameterValues[index % parameterValues.length];
+			index /= parameterValues.length;
+		}
+
+		int devicesCount = defaultDevicesCount;
+		SimulationConfig config = baseConfig;
+		Map<String, String> sweepPoint = new LinkedHashMap<>();
+		for (int i = 0; i < point.length; i++) {
+			String parameter = parameters.get(i);
+			if (parameter.equals(EDGE_DEVICES))
+				devicesCount = Integer.parseInt(point[i]);
+			else
+				config = config.with(parameter, point[i]);
+			sweepPoint.put(parameter, point[i]);
+		}
+
+		Scenario scenario = new Scenario(devicesCount, algorithm, architecture);
+		scenario.setConfig(config);
+		scenario.setSweepPoint(sweepPoint);
+		return scenario;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the names of the swept parameters.
+	 */
+	public List<String> getParameters() {
+		return parameters;
+	}
+
+}
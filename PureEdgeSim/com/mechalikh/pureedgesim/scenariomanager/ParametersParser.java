@@ -3,7 +3,9 @@ package com.mechalikh.pureedgesim.scenariomanager;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Properties;
+import java.util.SplittableRandom;
 import java.util.function.Predicate;
 
 import com.mechalikh.pureedgesim.simulationmanager.SimLog;
@@ -33,12 +35,74 @@ public class ParametersParser extends FileParserAbstract {
 					* assertDouble(prop, "simulation_time", value -> (value > 0), "> 0");
 			
 			SimulationParameters.batchSize = (int) assertDouble(prop, "batch_size", value -> (value > 0), "> 0");
+
+			SimulationParameters.eventQueue = prop.getProperty("event_queue", "TREE_SET").trim();
+			if (!Arrays.asList("TREE_SET", "CALENDAR_QUEUE", "LADDER_QUEUE").contains(SimulationParameters.eventQueue)) {
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"event_queue\" must be TREE_SET, CALENDAR_QUEUE or LADDER_QUEUE. Check the simulation_parameters.xml file!.");
+			}
+
+			SimulationParameters.batchEventsDispatch = Boolean
+					.parseBoolean(prop.getProperty("batch_events_dispatch", "true").trim());
+			SimulationParameters.pooledEvents = Boolean.parseBoolean(prop.getProperty("pooled_events", "false").trim());
 			
 			SimulationParameters.parallelism_enabled = Boolean.parseBoolean(prop.getProperty("parallel_simulation").trim());
+			SimulationParameters.parallelWorkers = Integer.parseInt(prop.getProperty("parallel_workers", "0").trim());
+			if (SimulationParameters.parallelWorkers < 0)
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"parallel_workers\" must be >= 0. Check the simulation_parameters.properties file!.");
+
+			String seed = prop.getProperty("seed", "").trim();
+			if (seed.isEmpty()) {
+				SimulationParameters.seed = new SplittableRandom().nextLong();
+				SimLog.println("%s - No seed set, using seed %d", getClass().getSimpleName(), SimulationParameters.seed);
+			} else {
+				try {
+					SimulationParameters.seed = Long.parseLong(seed);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(getClass().getSimpleName()
+							+ " - Error, the value of \"seed\" must be an integer. Check the simulation_parameters.properties file!.");
+				}
+			}
+			SimulationParameters.randomGenerator = prop.getProperty("random_generator", "SPLITTABLE").trim();
+			if (!Arrays.asList("SPLITTABLE", "XOROSHIRO", "JDK_RANDOM").contains(SimulationParameters.randomGenerator))
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"random_generator\" must be SPLITTABLE, XOROSHIRO or JDK_RANDOM. Check the simulation_parameters.properties file!.");
+			SimulationParameters.replications = Integer.parseInt(prop.getProperty("replications", "1").trim());
+			if (SimulationParameters.replications < 1)
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"replications\" must be >= 1. Check the simulation_parameters.properties file!.");
+			SimulationParameters.minReplications = Integer.parseInt(prop.getProperty("min_replications", "3").trim());
+			if (SimulationParameters.minReplications < 2)
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"min_replications\" must be >= 2. Check the simulation_parameters.properties file!.");
+			SimulationParameters.replicationPrecision = Double
+					.parseDouble(prop.getProperty("replication_precision", "0").trim());
+			if (SimulationParameters.replicationPrecision < 0)
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"replication_precision\" must be >= 0. Check the simulation_parameters.properties file!.");
+			SimulationParameters.replicationMetric = prop.getProperty("replication_metric", "Tasks Success Rate").trim();
+			if (!Arrays.asList(SimLog.RESULTS_HEADER.split("\\s*;\\s*")).contains(SimulationParameters.replicationMetric))
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the value of \"replication_metric\" must be one of the results columns: "
+						+ SimLog.RESULTS_HEADER + ". Check the simulation_parameters.properties file!.");
 
 			// In seconds
 			SimulationParameters.updateInterval = assertDouble(prop, "update_interval", value -> (value >= 0.01),
 					">= 0.01");
+			SimulationParameters.mobilityPathEncoding = prop.getProperty("mobility_path_encoding", "ARRAY").trim();
+			if (!Arrays.asList("ARRAY", "SEGMENTS").contains(SimulationParameters.mobilityPathEncoding)) {
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"mobility_path_encoding\" must be ARRAY or SEGMENTS. Check the simulation_parameters.properties file!.");
+			}
+			SimulationParameters.mobilityLookaheadWindow = Double
+					.parseDouble(prop.getProperty("mobility_lookahead_window", "0").trim());
+			if (SimulationParameters.mobilityLookaheadWindow < 0)
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"mobility_lookahead_window\" must be >= 0. Check the simulation_parameters.properties file!.");
+			SimulationParameters.eventDrivenEnergyModel = Boolean
+					.parseBoolean(prop.getProperty("event_driven_energy_model", "false").trim());
+			SimulationParameters.aggregateStatusUpdates = Boolean
+					.parseBoolean(prop.getProperty("aggregate_status_updates", "false").trim());
 			
 			// In seconds
 			SimulationParameters.pauseLength = (int) assertDouble(prop, "pause_length", value -> (value >= 0), ">= 0");
@@ -89,6 +153,12 @@ public class ParametersParser extends FileParserAbstract {
 
 			SimulationParameters.realisticNetworkModel = Boolean
 					.parseBoolean(prop.getProperty("realistic_network_model").trim());
+			SimulationParameters.eventDrivenNetworkModel = Boolean
+					.parseBoolean(prop.getProperty("event_driven_network_model", "false").trim());
+			SimulationParameters.pathCacheSize = Integer.parseInt(prop.getProperty("path_cache_size", "0").trim());
+			if (SimulationParameters.pathCacheSize < 0)
+				throw new IllegalArgumentException(getClass().getSimpleName()
+						+ " - Error, the value of \"path_cache_size\" must be >= 0. Check the simulation_parameters.properties file!.");
 			// Seconds
 			SimulationParameters.networkUpdateInterval = assertDouble(prop, "network_update_interval",
 					value -> (value >= 0.001), ">= 0.001");
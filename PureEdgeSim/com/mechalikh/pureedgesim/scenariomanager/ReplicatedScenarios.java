@@ -0,0 +1,93 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.scenariomanager;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The replications of a list of scenarios, seen as a list of scenarios. Each
+ * scenario is repeated with different seeds: the replication r uses the seed
+ * of the scenario + r, so the first replication is the same run as without
+ * replications. The replications of a scenario are next to each other, which
+ * lets the first ones finish (and possibly stop the others) early.
+ * <p>
+ * Like {@link ParameterSweep}, the replications are created when requested.
+ *
+ * @see SimulationParameters#replications
+ * @see com.mechalikh.pureedgesim.simulationmanager.ReplicationStatistics
+ * @since PureEdgeSim 5.3
+ */
+public class ReplicatedScenarios extends AbstractList<Scenario> {
+
+	protected final List<Scenario> scenarios;
+
+	protected final int replications;
+
+	/**
+	 * Creates the replications.
+	 *
+	 * @param scenarios    the scenarios to replicate.
+	 * @param replications the number of runs of each scenario.
+	 */
+	public ReplicatedScenarios(List<Scenario> scenarios, int replications) {
+		if ((long) scenarios.size() * replications > Integer.MAX_VALUE)
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, there are too many runs.");
+		this.scenarios = scenarios;
+		this.replications = replications;
+	}
+
+	@Override
+	public Scenario get(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+		// Work on a copy, the replicated scenarios are shared by all their replications.
+		Scenario base = scenarios.get(index / replications);
+		int replication = index % replications;
+		Scenario scenario = new Scenario(base.getDevicesCount(), base.getOrchAlgorithm(), base.getOrchArchitecture());
+		SimulationConfig config = base.getConfig();
+		scenario.setConfig(config.with("seed", String.valueOf(config.getSeed() + replication)));
+		scenario.setSweepPoint(base.getSweepPoint());
+		scenario.setReplication(replication);
+		return scenario;
+	}
+
+	@Override
+	public int size() {
+		return scenarios.size() * replications;
+	}
+
+	/**
+	 * @return the number of runs of each scenario.
+	 */
+	public int getReplications() {
+		return replications;
+	}
+
+	/**
+	 * @return the replicated scenarios.
+	 */
+	public List<Scenario> getScenarios() {
+		return scenarios;
+	}
+
+}
@@ -20,10 +20,16 @@
  **/
 package com.mechalikh.pureedgesim.scenariomanager;
 
+import java.util.Collections;
+import java.util.Map;
+
 public class Scenario {
 	protected int devicesCount; // The number of edge devices in this scenario
 	protected int orchArchitecture; // The used architecture/ computing paradigms
 	protected int orchAlgorithm; // The containers orchestration algorithm that will be used in this scenario
+	protected SimulationConfig config; // The parameters of this scenario, null to use the default ones
+	protected Map<String, String> sweepPoint = Collections.emptyMap(); // The values of the swept parameters
+	protected int replication; // The index of the run of this scenario, each run has its own seed
 
 	public Scenario(int devicesCount, int orchAlgorithm, int orchArchitecture) {
 		this.setOrchAlgorithm(orchAlgorithm);
@@ -55,6 +61,78 @@ public class Scenario {
 		this.devicesCount = devicesCount;
 	}
 
+	/**
+	 * Returns the parameters used to run this scenario. When none have been set,
+	 * the current values of the {@link SimulationParameters} are used.
+	 * 
+	 * @return the configuration of this scenario.
+	 */
+	public SimulationConfig getConfig() {
+		return config == null ? SimulationConfig.fromDefaults() : config;
+	}
+
+	public void setConfig(SimulationConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Returns the values of the swept parameters used by this scenario, in the
+	 * order of the sweep.
+	 * 
+	 * @see ParameterSweep
+	 * 
+	 * @return the values of the parameters, empty if this scenario is not part of
+	 *         a parameter sweep.
+	 */
+	public Map<String, String> getSweepPoint() {
+		return sweepPoint;
+	}
+
+	public void setSweepPoint(Map<String, String> sweepPoint) {
+		this.sweepPoint = Collections.unmodifiableMap(sweepPoint);
+	}
+
+	/**
+	 * Returns the index of this run among the replications of the scenario.
+	 * 
+	 * @see ReplicatedScenarios
+	 * 
+	 * @return the index of the replication, 0 for the first (or only) run.
+	 */
+	public int getReplication() {
+		return replication;
+	}
+
+	public void setReplication(int replication) {
+		this.replication = replication;
+	}
+
+	/**
+	 * Returns a key that identifies this scenario, made of the algorithm, the
+	 * architecture, the number of devices, the swept parameters and the
+	 * replication index (except for the first one).
+	 * 
+	 * @return the key of this scenario.
+	 */
+	public String getKey() {
+		return replication == 0 ? getBaseKey() : getBaseKey() + "_replication=" + replication;
+	}
+
+	/**
+	 * Returns the key shared by all the replications of this scenario.
+	 * 
+	 * @see #getKey()
+	 * 
+	 * @return the key of this scenario, without the replication index.
+	 */
+	public String getBaseKey() {
+		StringBuilder key = new StringBuilder(getStringOrchAlgorithm()).append('_').append(getStringOrchArchitecture())
+				.append('_').append(getDevicesCount());
+		for (Map.Entry<String, String> entry : sweepPoint.entrySet())
+			key.append('_').append(entry.getKey()).append('=').append(entry.getValue());
+		return key.toString();
+	}
+
 	public String getStringOrchArchitecture() { 
 		return SimulationParameters.orchestrationArchitectures[orchArchitecture].trim();
 	}
@@ -66,6 +144,7 @@ public class Scenario {
 	public String toString() {
 		return "Orchestration algorithm= " + getStringOrchAlgorithm()
 				+ " -  Architecture= " + getStringOrchArchitecture() + " -  number of edge devices= "
-				+ getDevicesCount();
+				+ getDevicesCount() + (sweepPoint.isEmpty() ? "" : " -  " + sweepPoint)
+				+ (replication == 0 ? "" : " -  replication= " + replication);
 	}
 }
@@ -0,0 +1,363 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.scenariomanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.mechalikh.pureedgesim.taskgenerator.Application;
+
+/**
+ * An immutable snapshot of the parameters of one simulation run. Unlike the
+ * static fields of {@link SimulationParameters}, which are shared by all the
+ * runs, each {@link Scenario} can have its own configuration, which allows
+ * parallel runs to use different durations, update intervals, batch sizes or
+ * network characteristics.
+ * <p>
+ * {@link #fromDefaults()} takes the values loaded from the
+ * simulation_parameters.properties file, and {@link #with(String, String)}
+ * returns a copy where one parameter is changed, using the same name and unit
+ * as in this file.
+ * <p>
+ * The applications of the configuration are templates that are never modified:
+ * each run works on its own copy, see {@link #copyApplications()}.
+ *
+ * @see Scenario#getConfig()
+ * @see com.mechalikh.pureedgesim.simulationmanager.SimulationManager#getConfig()
+ * @since PureEdgeSim 5.3
+ */
+public final class SimulationConfig {
+
+	/**
+	 * The names of the parameters that can be changed using
+	 * {@link #with(String, String)}.
+	 */
+	public static final List<String> PARAMETERS = Collections.unmodifiableList(Arrays.asList("simulation_time",
+			"update_interval", "batch_size", "wan_bandwidth", "wan_latency", "man_bandwidth", "man_latency",
+			"Fiber_bandwidth", "Fiber_latency", "wifi_bandwidth", "wifi_latency", "ethernet_bandwidth",
+			"ethernet_latency", "cellular_bandwidth", "cellular_latency", "seed"));
+
+	private double simulationDuration;
+	private double updateInterval;
+	private int batchSize;
+	private double wanBandwidthBitsPerSecond;
+	private double wanLatency;
+	private double manBandwidthBitsPerSecond;
+	private double manLatency;
+	private double fiberBandwidthBitsPerSecond;
+	private double fiberLatency;
+	private double wifiBandwidthBitsPerSecond;
+	private double wifiLatency;
+	private double ethernetBandwidthBitsPerSecond;
+	private double ethernetLatency;
+	private double cellularBandwidthBitsPerSecond;
+	private double cellularLatency;
+	private long seed;
+	private List<Application> applications;
+
+	private SimulationConfig() {
+	}
+
+	/**
+	 * Returns a configuration holding the current values of the
+	 * {@link SimulationParameters}.
+	 *
+	 * @return the default configuration.
+	 */
+	public static SimulationConfig fromDefaults() {
+		SimulationConfig config = new SimulationConfig();
+		config.simulationDuration = SimulationParameters.simulationDuration;
+		config.updateInterval = SimulationParameters.updateInterval;
+		config.batchSize = SimulationParameters.batchSize;
+		config.wanBandwidthBitsPerSecond = SimulationParameters.wanBandwidthBitsPerSecond;
+		config.wanLatency = SimulationParameters.wanLatency;
+		config.manBandwidthBitsPerSecond = SimulationParameters.manBandwidthBitsPerSecond;
+		config.manLatency = SimulationParameters.manLatency;
+		config.fiberBandwidthBitsPerSecond = SimulationParameters.FiberBandwidthBitsPerSecond;
+		config.fiberLatency = SimulationParameters.FiberLatency;
+		config.wifiBandwidthBitsPerSecond = SimulationParameters.wifiBandwidthBitsPerSecond;
+		config.wifiLatency = SimulationParameters.wifiLatency;
+		config.ethernetBandwidthBitsPerSecond = SimulationParameters.ethernetBandwidthBitsPerSecond;
+		config.ethernetLatency = SimulationParameters.ethernetLatency;
+		config.cellularBandwidthBitsPerSecond = SimulationParameters.cellularBandwidthBitsPerSecond;
+		config.cellularLatency = SimulationParameters.cellularLatency;
+		config.seed = SimulationParameters.seed;
+		config.applications = SimulationParameters.applicationList == null ? Collections.emptyList()
+				: Collections.unmodifiableList(new ArrayList<>(SimulationParameters.applicationList));
+		return config;
+	}
+
+	/**
+	 * Returns a copy of this configuration where the given parameter is changed.
+	 * The value is given in the same unit as in the
+	 * simulation_parameters.properties file (e.g., minutes for "simulation_time"
+	 * and Mbps for the bandwidths).
+	 *
+	 * @param parameter the name of the parameter, one of {@link #PARAMETERS}.
+	 * @param value     the new value.
+	 * @return the new configuration.
+	 */
+	public SimulationConfig with(String parameter, String value) {
+		SimulationConfig config = copy();
+		double number = Double.parseDouble(value.trim());
+		switch (parameter) {
+		case "simulation_time":
+			config.simulationDuration = 60 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "update_interval":
+			config.updateInterval = assertValue(parameter, number, number >= 0.01, ">= 0.01");
+			break;
+		case "batch_size":
+			config.batchSize = (int) assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "wan_bandwidth":
+			config.wanBandwidthBitsPerSecond = 1000000 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "wan_latency":
+			config.wanLatency = assertValue(parameter, number, number >= 0, ">= 0");
+			break;
+		case "man_bandwidth":
+			config.manBandwidthBitsPerSecond = 1000000 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "man_latency":
+			config.manLatency = assertValue(parameter, number, number >= 0, ">= 0");
+			break;
+		case "Fiber_bandwidth":
+			config.fiberBandwidthBitsPerSecond = 1000000 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "Fiber_latency":
+			config.fiberLatency = assertValue(parameter, number, number >= 0, ">= 0");
+			break;
+		case "wifi_bandwidth":
+			config.wifiBandwidthBitsPerSecond = 1000000 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "wifi_latency":
+			config.wifiLatency = assertValue(parameter, number, number >= 0, ">= 0");
+			break;
+		case "ethernet_bandwidth":
+			config.ethernetBandwidthBitsPerSecond = 1000000 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "ethernet_latency":
+			config.ethernetLatency = assertValue(parameter, number, number >= 0, ">= 0");
+			break;
+		case "cellular_bandwidth":
+			config.cellularBandwidthBitsPerSecond = 1000000 * assertValue(parameter, number, number > 0, "> 0");
+			break;
+		case "cellular_latency":
+			config.cellularLatency = assertValue(parameter, number, number >= 0, ">= 0");
+			break;
+		case "seed":
+			try {
+				config.seed = Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the value of \"" + parameter
+						+ "\" must be an integer.");
+			}
+			break;
+		default:
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, unknown parameter \""
+					+ parameter + "\". It must be one of " + PARAMETERS + ".");
+		}
+		return config;
+	}
+
+	/**
+	 * Returns a deep copy of the applications and of their users, to be modified
+	 * by a single simulation run.
+	 *
+	 * @return the copy of the applications list.
+	 */
+	public List<Application> copyApplications() {
+		List<Application> copy = new ArrayList<>(applications.size());
+		for (Application application : applications)
+			copy.add(new Application(application));
+		return copy;
+	}
+
+	private SimulationConfig copy() {
+		SimulationConfig config = new SimulationConfig();
+		config.simulationDuration = simulationDuration;
+		config.updateInterval = updateInterval;
+		config.batchSize = batchSize;
+		config.wanBandwidthBitsPerSecond = wanBandwidthBitsPerSecond;
+		config.wanLatency = wanLatency;
+		config.manBandwidthBitsPerSecond = manBandwidthBitsPerSecond;
+		config.manLatency = manLatency;
+		config.fiberBandwidthBitsPerSecond = fiberBandwidthBitsPerSecond;
+		config.fiberLatency = fiberLatency;
+		config.wifiBandwidthBitsPerSecond = wifiBandwidthBitsPerSecond;
+		config.wifiLatency = wifiLatency;
+		config.ethernetBandwidthBitsPerSecond = ethernetBandwidthBitsPerSecond;
+		config.ethernetLatency = ethernetLatency;
+		config.cellularBandwidthBitsPerSecond = cellularBandwidthBitsPerSecond;
+		config.cellularLatency = cellularLatency;
+		config.seed = seed;
+		config.applications = applications;
+		return config;
+	}
+
+	private double assertValue(String parameter, double value, boolean valid, String message) {
+		if (!valid)
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the value of \"" + parameter
+					+ "\" must be " + message + ".");
+		return value;
+	}
+
+	/**
+	 * @return the simulation duration, in seconds.
+	 * @see SimulationParameters#simulationDuration
+	 */
+	public double getSimulationDuration() {
+		return simulationDuration;
+	}
+
+	/**
+	 * @return the update interval, in seconds.
+	 * @see SimulationParameters#updateInterval
+	 */
+	public double getUpdateInterval() {
+		return updateInterval;
+	}
+
+	/**
+	 * @return the number of tasks scheduled at once.
+	 * @see SimulationParameters#batchSize
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @return the WAN bandwidth, in bits per second.
+	 * @see SimulationParameters#wanBandwidthBitsPerSecond
+	 */
+	public double getWanBandwidthBitsPerSecond() {
+		return wanBandwidthBitsPerSecond;
+	}
+
+	/**
+	 * @return the WAN latency, in seconds.
+	 * @see SimulationParameters#wanLatency
+	 */
+	public double getWanLatency() {
+		return wanLatency;
+	}
+
+	/**
+	 * @return the MAN bandwidth, in bits per second.
+	 * @see SimulationParameters#manBandwidthBitsPerSecond
+	 */
+	public double getManBandwidthBitsPerSecond() {
+		return manBandwidthBitsPerSecond;
+	}
+
+	/**
+	 * @return the MAN latency, in seconds.
+	 * @see SimulationParameters#manLatency
+	 */
+	public double getManLatency() {
+		return manLatency;
+	}
+
+	/**
+	 * @return the fiber bandwidth, in bits per second.
+	 * @see SimulationParameters#FiberBandwidthBitsPerSecond
+	 */
+	public double getFiberBandwidthBitsPerSecond() {
+		return fiberBandwidthBitsPerSecond;
+	}
+
+	/**
+	 * @return the fiber latency, in seconds.
+	 * @see SimulationParameters#FiberLatency
+	 */
+	public double getFiberLatency() {
+		return fiberLatency;
+	}
+
+	/**
+	 * @return the WiFi bandwidth, in bits per second.
+	 * @see SimulationParameters#wifiBandwidthBitsPerSecond
+	 */
+	public double getWifiBandwidthBitsPerSecond() {
+		return wifiBandwidthBitsPerSecond;
+	}
+
+	/**
+	 * @return the WiFi latency, in seconds.
+	 * @see SimulationParameters#wifiLatency
+	 */
+	public double getWifiLatency() {
+		return wifiLatency;
+	}
+
+	/**
+	 * @return the Ethernet bandwidth, in bits per second.
+	 * @see SimulationParameters#ethernetBandwidthBitsPerSecond
+	 */
+	public double getEthernetBandwidthBitsPerSecond() {
+		return ethernetBandwidthBitsPerSecond;
+	}
+
+	/**
+	 * @return the Ethernet latency, in seconds.
+	 * @see SimulationParameters#ethernetLatency
+	 */
+	public double getEthernetLatency() {
+		return ethernetLatency;
+	}
+
+	/**
+	 * @return the cellular bandwidth, in bits per second.
+	 * @see SimulationParameters#cellularBandwidthBitsPerSecond
+	 */
+	public double getCellularBandwidthBitsPerSecond() {
+		return cellularBandwidthBitsPerSecond;
+	}
+
+	/**
+	 * @return the cellular latency, in seconds.
+	 * @see SimulationParameters#cellularLatency
+	 */
+	public double getCellularLatency() {
+		return cellularLatency;
+	}
+
+	/**
+	 * @return the seed of the random streams of the run.
+	 * @see SimulationParameters#seed
+	 * @see com.mechalikh.pureedgesim.simulationmanager.RandomStreams
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return the (unmodifiable) list of the applications templates.
+	 * @see #copyApplications()
+	 */
+	public List<Application> getApplications() {
+		return applications;
+	}
+
+}
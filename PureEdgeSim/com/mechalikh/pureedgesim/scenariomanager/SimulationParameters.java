@@ -20,7 +20,10 @@
  **/
 package com.mechalikh.pureedgesim.scenariomanager;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.mechalikh.pureedgesim.network.TransferProgress;
 import com.mechalikh.pureedgesim.simulationmanager.SimLog;
@@ -95,6 +98,16 @@ public class SimulationParameters {
 	 */
 	public static String SdnFile = "PureEdgeSim/settings/SDN.xml";
 
+	/**
+	 * The path to the (optional) parameter sweep file. When it does not exist, only
+	 * the orchestration algorithms and architectures are combined.
+	 * 
+	 * @see com.mechalikh.pureedgesim.scenariomanager.SweepParser
+	 * @see com.mechalikh.pureedgesim.simulationmanager.SimulationAbstract#setCustomFilePath(String,
+	 *      Files)
+	 */
+	public static String sweepFile = "PureEdgeSim/settings/sweep.properties";
+
 	/**
 	 * The path to the current used setting
 	 * 
@@ -125,6 +138,79 @@ public class SimulationParameters {
 	 */
 	public static boolean parallelism_enabled = false;
 
+	/**
+	 * The number of worker threads used to run the scenarios in parallel, 0 to use
+	 * one per CPU core.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.ScenarioExecutor
+	 */
+	public static int parallelWorkers = 0;
+
+	/**
+	 * The values of each swept parameter, in the order of the grid dimensions.
+	 * Empty when there is no parameter sweep.
+	 * 
+	 * @see com.mechalikh.pureedgesim.scenariomanager.SweepParser
+	 * @see com.mechalikh.pureedgesim.scenariomanager.ParameterSweep
+	 */
+	public static Map<String, List<String>> sweepParameters = new LinkedHashMap<>();
+
+	/**
+	 * If true, the runs of a parameter sweep that are already in the sweep results
+	 * file are not run again.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.SweepResults
+	 */
+	public static boolean skipCompletedRuns = true;
+
+	/**
+	 * The seed of the random streams of the simulation runs. Drawn at random (and
+	 * logged) when it is not set in the simulation_parameters.properties file.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.RandomStreams
+	 * @see SimulationConfig#getSeed()
+	 */
+	public static long seed;
+
+	/**
+	 * The algorithm of the random streams. Options: SPLITTABLE (default),
+	 * XOROSHIRO, or JDK_RANDOM.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.RandomStreams
+	 */
+	public static String randomGenerator = "SPLITTABLE";
+
+	/**
+	 * The maximum number of runs, each with its own seed, of each scenario. 1 to
+	 * run each scenario once.
+	 * 
+	 * @see ReplicatedScenarios
+	 */
+	public static int replications = 1;
+
+	/**
+	 * The number of runs of a scenario before its confidence interval is checked.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.ReplicationStatistics
+	 */
+	public static int minReplications = 3;
+
+	/**
+	 * The replications of a scenario stop once the half-width of the 95%
+	 * confidence interval of {@link #replicationMetric} is below this fraction of
+	 * its mean. 0 to always run all the replications.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.ReplicationStatistics
+	 */
+	public static double replicationPrecision = 0;
+
+	/**
+	 * The name of the results column used to stop the replications.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationmanager.SimLog#RESULTS_HEADER
+	 */
+	public static String replicationMetric = "Tasks Success Rate";
+
 	/**
 	 * Simualtion time in seconds.
 	 * 
@@ -146,6 +232,47 @@ public class SimulationParameters {
 	 */
 	public static double updateInterval;
 
+	/**
+	 * How the mobility path of each device is stored. Options: ARRAY (default),
+	 * that keeps every step, or SEGMENTS, that only keeps the straight segments
+	 * of the path and uses much less memory for long simulations.
+	 * 
+	 * @see com.mechalikh.pureedgesim.locationmanager.Trajectory#create(int, int)
+	 */
+	public static String mobilityPathEncoding = "ARRAY";
+
+	/**
+	 * The mobility paths are generated on demand, this number of seconds ahead of
+	 * the simulation time, and the consumed steps are discarded. 0 (default)
+	 * means that the whole path of each device is generated when the simulation
+	 * starts.
+	 * 
+	 * @see com.mechalikh.pureedgesim.locationmanager.MobilityModel#ensureGenerated(int,
+	 *      double)
+	 */
+	public static double mobilityLookaheadWindow = 0;
+
+	/**
+	 * When enabled, the energy consumption of the computing nodes is integrated
+	 * each time it changes or is read, and the death of battery powered devices is
+	 * scheduled when their battery will be empty. Otherwise, the idle energy is
+	 * added at every update interval. With this model, the nodes that are not
+	 * mobile do not need the periodic status update.
+	 * 
+	 * @see com.mechalikh.pureedgesim.energy.EnergyModelComputingNode#updateEnergyConsumption()
+	 * @see com.mechalikh.pureedgesim.datacentersmanager.EnergyAwareNode#scheduleBatteryDeath()
+	 */
+	public static boolean eventDrivenEnergyModel = false;
+
+	/**
+	 * When enabled, the computing nodes that need periodic status updates are all
+	 * updated by a single event every update interval, instead of scheduling one
+	 * event each.
+	 * 
+	 * @see com.mechalikh.pureedgesim.datacentersmanager.StatusSweep
+	 */
+	public static boolean aggregateStatusUpdates = false;
+
 	/**
 	 * If true, real-time charts will be displayed
 	 * 
@@ -560,6 +687,34 @@ public class SimulationParameters {
 	 */
 	public static boolean realisticNetworkModel;
 
+	/**
+	 * If true (and if the realistic network model is enabled), the network links
+	 * schedule only the completion of their next transfer, computed from the
+	 * bandwidth share of each transfer, and the shares are updated only when a
+	 * transfer joins or leaves the link. Otherwise the transfers are updated every
+	 * {@link #networkUpdateInterval}.
+	 * <p>
+	 * Compared to the interval based model, each hop ends up to one
+	 * networkUpdateInterval earlier, as that model only detects a completed
+	 * transfer at the next update. Moreover, the link latency and the propagation
+	 * delay are added once per hop, instead of once per update.
+	 * 
+	 * @see com.mechalikh.pureedgesim.network.NetworkLink#scheduleNextCompletion()
+	 */
+	public static boolean eventDrivenNetworkModel = false;
+
+	/**
+	 * The maximum number of paths kept in the cache of the infrastructure graph.
+	 * When the cache is full, the least recently used path is evicted. 0 means
+	 * that the cache is unbounded, which is fine as long as the number of
+	 * (source, destination) pairs remains reasonable.
+	 * 
+	 * @see com.mechalikh.pureedgesim.network.PathCache
+	 * @see com.mechalikh.pureedgesim.network.InfrastructureGraph#getCachedPath(com.mechalikh.pureedgesim.datacentersmanager.ComputingNode,
+	 *      com.mechalikh.pureedgesim.datacentersmanager.ComputingNode)
+	 */
+	public static int pathCacheSize = 0;
+
 	/**
 	 * If true, the tasks will be sent for another computing node (i.e. the
 	 * orchestrator) in order to make offlaoding decision, before being sent to the
@@ -631,6 +786,15 @@ public class SimulationParameters {
 	 */
 	public static List<Application> applicationList;
 
+	/**
+	 * The distinct names of the applications, in loading order. The index of a
+	 * name is the name id of the applications having this name.
+	 * 
+	 * @see com.mechalikh.pureedgesim.taskgenerator.Application#getNameId()
+	 * @see com.mechalikh.pureedgesim.network.NetworkLink#getUsedBandwidthPerApp()
+	 */
+	public static List<String> applicationNames = new ArrayList<>();
+
 	/**
 	 * The list of Users.
 	 * 
@@ -660,6 +824,35 @@ public class SimulationParameters {
 	 */
 	public static int batchSize;
 
+	/**
+	 * The events queue used by the simulation engine. Options: TREE_SET (default),
+	 * CALENDAR_QUEUE, or LADDER_QUEUE. The last two have O(1) amortized insertion
+	 * and removal, which speeds up simulations with a large number of pending
+	 * events.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationengine.PureEdgeSim#createEventsQueue(String)
+	 */
+	public static String eventQueue = "TREE_SET";
+
+	/**
+	 * If true, the engine pops all the events happening at the same time as a
+	 * batch before processing them, instead of looking up and removing each event
+	 * separately. The order of the events is the same in both modes.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationengine.PureEdgeSim#processEventsBatch(double)
+	 */
+	public static boolean batchEventsDispatch = true;
+
+	/**
+	 * If true, the processed events are recycled and reused by the next scheduled
+	 * ones, which reduces the garbage collection overhead of long simulations. In
+	 * this mode, the simulation entities must not keep a reference to an event
+	 * after it has been processed.
+	 * 
+	 * @see com.mechalikh.pureedgesim.simulationengine.EventPool
+	 */
+	public static boolean pooledEvents = false;
+
 	/**
 	 * The speed at which the neural network learns.
 	 */
@@ -0,0 +1,177 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.scenariomanager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import com.mechalikh.pureedgesim.simulationmanager.SimLog;
+
+/**
+ * Loads the (optional) parameter sweep file. Each line declares the values of
+ * one parameter, either as a list or as an inclusive range:
+ *
+ * <pre>
+ * wan_bandwidth = 50,100,200
+ * update_interval = 0.1:1:0.1
+ * edge_devices = 100:400:100
+ * </pre>
+ *
+ * The parameters are the ones of {@link SimulationConfig#PARAMETERS}, with the
+ * same units as in the simulation_parameters.properties file, and
+ * "edge_devices". When "edge_devices" has no value, the
+ * "min_number_of_edge_devices", "max_number_of_edge_devices" and
+ * "edge_device_counter_size" parameters are used. The "skip_completed_runs"
+ * entry tells whether the runs that are already in the results are skipped
+ * (true by default).
+ *
+ * @see ParameterSweep
+ * @see SimulationParameters#sweepParameters
+ * @since PureEdgeSim 5.3
+ */
+public class SweepParser extends FileParserAbstract {
+
+	/**
+	 * The maximum number of values of a single parameter.
+	 */
+	protected static final int MAX_VALUES = 100_000;
+
+	public SweepParser(String file) {
+		super(file);
+	}
+
+	@Override
+	public boolean parse() {
+		SimulationParameters.sweepParameters.clear();
+		if (!new File(file).exists())
+			return true;
+
+		SimLog.println("%s - Checking parameter sweep file...", getClass().getSimpleName());
+		try (InputStream input = new FileInputStream(file)) {
+			Properties prop = new Properties();
+			prop.load(input);
+
+			SimulationParameters.skipCompletedRuns = Boolean
+					.parseBoolean(prop.getProperty("skip_completed_runs", "true").trim());
+
+			for (String name : prop.stringPropertyNames())
+				if (!name.equals("skip_completed_runs") && !name.equals(ParameterSweep.EDGE_DEVICES)
+						&& !SimulationConfig.PARAMETERS.contains(name))
+					throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, unknown parameter \""
+							+ name + "\". Check the sweep.properties file!.");
+
+			// Use a fixed order, the one of the properties is not kept.
+			String devices = prop.getProperty(ParameterSweep.EDGE_DEVICES);
+			if (devices != null)
+				SimulationParameters.sweepParameters.put(ParameterSweep.EDGE_DEVICES, parseEdgeDevices(devices));
+			SimulationConfig defaults = SimulationConfig.fromDefaults();
+			for (String name : SimulationConfig.PARAMETERS) {
+				String declaration = prop.getProperty(name);
+				if (declaration == null)
+					continue;
+				List<String> values = parseValues(name, declaration);
+				// Check the values now rather than in the middle of the sweep.
+				for (String value : values)
+					defaults.with(name, value);
+				SimulationParameters.sweepParameters.put(name, values);
+			}
+
+			SimLog.println("%s - Parameter sweep file successfully loaded!", getClass().getSimpleName());
+			return true;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	protected List<String> parseEdgeDevices(String declaration) {
+		List<String> values = declaration.trim().isEmpty()
+				? expandRange(ParameterSweep.EDGE_DEVICES,
+						new BigDecimal(SimulationParameters.minNumberOfEdgeDevices),
+						new BigDecimal(SimulationParameters.maxNumberOfEdgeDevices),
+						new BigDecimal(SimulationParameters.edgeDevicesIncrementationStepSize))
+				: parseValues(ParameterSweep.EDGE_DEVICES, declaration);
+		for (String value : values) {
+			try {
+				if (Integer.parseInt(value) <= 0)
+					throw new NumberFormatException();
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the values of \""
+						+ ParameterSweep.EDGE_DEVICES + "\" must be integers > 0. Check the sweep.properties file!.");
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Parses the values of a parameter: either a comma separated list, or a
+	 * "min:max:step" range.
+	 *
+	 * @param name        the name of the parameter.
+	 * @param declaration the declared values.
+	 * @return the list of values.
+	 */
+	protected List<String> parseValues(String name, String declaration) {
+		String[] range = declaration.split(":");
+		if (range.length == 1) {
+			List<String> values = new ArrayList<>();
+			for (String value : declaration.split(","))
+				if (!value.trim().isEmpty())
+					values.add(value.trim());
+			if (values.isEmpty())
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, no value for \"" + name
+						+ "\". Check the sweep.properties file!.");
+			return values;
+		}
+		if (range.length != 3)
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the range of \"" + name
+					+ "\" must be \"min:max:step\". Check the sweep.properties file!.");
+		try {
+			return expandRange(name, new BigDecimal(range[0].trim()), new BigDecimal(range[1].trim()),
+					new BigDecimal(range[2].trim()));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the range of \"" + name
+					+ "\" must contain numbers. Check the sweep.properties file!.");
+		}
+	}
+
+	protected List<String> expandRange(String name, BigDecimal min, BigDecimal max, BigDecimal step) {
+		if (step.signum() <= 0 || min.compareTo(max) > 0)
+			throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the range of \"" + name
+					+ "\" must have min <= max and step > 0. Check the sweep.properties file!.");
+		List<String> values = new ArrayList<>();
+		// BigDecimal avoids the rounding errors of repeated double additions.
+		for (BigDecimal value = min; value.compareTo(max) <= 0; value = value.add(step)) {
+			if (values.size() == MAX_VALUES)
+				throw new IllegalArgumentException(getClass().getSimpleName() + " - Error, the range of \"" + name
+						+ "\" has more than " + MAX_VALUES + " values. Check the sweep.properties file!.");
+			values.add(value.stripTrailingZeros().toPlainString());
+		}
+		return values;
+	}
+
+}
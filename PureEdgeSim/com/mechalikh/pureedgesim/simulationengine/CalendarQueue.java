@@ -0,0 +1,281 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationengine;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * A calendar queue (R. Brown, 1988). Elements are hashed by their time into an
+ * array of "days" (buckets) that cover one "year". Each bucket is kept sorted
+ * using the (time, serial) order of the elements, so elements happening at the
+ * same time are always in the same bucket and keep the same order as in the
+ * {@link FutureQueue}, including those added using {@link #addFirst(QueueElement)}.
+ * <p>
+ * The number of buckets and their width are adapted to the queue size and to
+ * the distribution of the elements times, which gives O(1) amortized insertion
+ * and removal of the first element.
+ * <p>
+ * The {@link #iterator()} and {@link #stream()} methods return the elements in
+ * no particular order.
+ *
+ * @see FutureQueue
+ * @see LadderQueue
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#eventQueue
+ * @since PureEdgeSim 5.3
+ */
+public class CalendarQueue<T extends QueueElement & Comparable<T>> implements Queue<T> {
+
+	/**
+	 * The minimum number of buckets.
+	 */
+	protected static final int MIN_BUCKETS = 16;
+
+	/**
+	 * The number of elements that are sampled to estimate the buckets width.
+	 */
+	protected static final int WIDTH_SAMPLE_SIZE = 25;
+
+	protected QueueBucket<T>[] buckets;
+
+	protected int mask;
+
+	protected double bucketWidth = 1;
+
+	/**
+	 * The "day" (i.e., floor(time / bucketWidth)) from which the search for the
+	 * first element starts.
+	 */
+	protected long currentDay;
+
+	/**
+	 * The bucket containing the first element, or -1 when it must be searched.
+	 */
+	protected int firstBucket = -1;
+
+	protected int size;
+
+	protected long serial;
+
+	protected long lowestSerial;
+
+	public CalendarQueue() {
+		buckets = createBuckets(MIN_BUCKETS);
+		mask = MIN_BUCKETS - 1;
+	}
+
+	@Override
+	public void add(final T item) {
+		item.setSerial(serial++);
+		insert(item);
+	}
+
+	@Override
+	public void addFirst(final T item) {
+		item.setSerial(--lowestSerial);
+		insert(item);
+	}
+
+	protected void insert(T item) {
+		long day = dayOf(item.getTime());
+		buckets[(int) (day & mask)].insertSorted(item);
+		size++;
+
+		// The new element happens before the position of the search, or before the
+		// cached first element.
+		if (day < currentDay)
+			currentDay = day;
+		if (firstBucket != -1 && item.compareTo(buckets[firstBucket].peekFirst()) < 0)
+			firstBucket = -1;
+
+		if (size > 2 * buckets.length)
+			resize(buckets.length * 2);
+	}
+
+	@Override
+	public T first() throws NoSuchElementException {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return buckets[locateFirst()].peekFirst();
+	}
+
+	@Override
+	public T pollFirst() {
+		if (size == 0)
+			return null;
+		T item = buckets[locateFirst()].pollFirst();
+		size--;
+		firstBucket = -1;
+		if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS)
+			resize(buckets.length / 2);
+		return item;
+	}
+
+	@Override
+	public boolean remove(final T item) {
+		if (size == 0)
+			return false;
+
+		// Fast path: the engine always removes the element it has just processed.
+		if (firstBucket != -1 && buckets[firstBucket].peekFirst() == item) {
+			pollFirst();
+			return true;
+		}
+
+		if (!buckets[(int) (dayOf(item.getTime()) & mask)].remove(item))
+			return false;
+		size--;
+		firstBucket = -1;
+		if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS)
+			resize(buckets.length / 2);
+		return true;
+	}
+
+	/**
+	 * Finds the bucket holding the first element. The buckets are scanned day by
+	 * day starting from the current one. If a whole year is scanned without
+	 * finding an element, the first element is searched directly.
+	 */
+	protected int locateFirst() {
+		if (firstBucket != -1)
+			return firstBucket;
+
+		long day = currentDay;
+		for (int i = 0; i < buckets.length; i++, day++) {
+			T head = buckets[(int) (day & mask)].peekFirst();
+			if (head != null && dayOf(head.getTime()) <= day) {
+				currentDay = day;
+				firstBucket = (int) (day & mask);
+				return firstBucket;
+			}
+		}
+
+		// Sparse queue, direct search.
+		T min = null;
+		for (int i = 0; i < buckets.length; i++) {
+			T head = buckets[i].peekFirst();
+			if (head != null && (min == null || head.compareTo(min) < 0)) {
+				min = head;
+				firstBucket = i;
+			}
+		}
+		currentDay = dayOf(min.getTime());
+		return firstBucket;
+	}
+
+	/**
+	 * Changes the number of buckets and re-estimates their width from the
+	 * average separation of the earliest elements.
+	 */
+	protected void resize(int newBucketsCount) {
+		List<T> all = toList();
+
+		double width = estimateWidth(all);
+		if (width > 0)
+			bucketWidth = width;
+
+		buckets = createBuckets(newBucketsCount);
+		mask = newBucketsCount - 1;
+		firstBucket = -1;
+
+		T min = null;
+		for (T item : all) {
+			buckets[(int) (dayOf(item.getTime()) & mask)].insertSorted(item);
+			if (min == null || item.compareTo(min) < 0)
+				min = item;
+		}
+		currentDay = min == null ? 0 : dayOf(min.getTime());
+	}
+
+	protected double estimateWidth(List<T> all) {
+		if (all.size() < 2)
+			return -1;
+
+		// Keep the earliest times using a max heap of bounded size.
+		PriorityQueue<Double> earliest = new PriorityQueue<>(WIDTH_SAMPLE_SIZE + 1, (a, b) -> Double.compare(b, a));
+		for (T item : all) {
+			earliest.add(item.getTime());
+			if (earliest.size() > WIDTH_SAMPLE_SIZE)
+				earliest.poll();
+		}
+		double[] sample = new double[earliest.size()];
+		for (int i = sample.length - 1; i >= 0; i--)
+			sample[i] = earliest.poll();
+
+		double average = (sample[sample.length - 1] - sample[0]) / (sample.length - 1);
+
+		// Ignore large separations, which may result from far away events.
+		double sum = 0;
+		int count = 0;
+		for (int i = 1; i < sample.length; i++) {
+			double separation = sample[i] - sample[i - 1];
+			if (separation <= 2 * average) {
+				sum += separation;
+				count++;
+			}
+		}
+		return count == 0 ? -1 : 3 * sum / count;
+	}
+
+	protected long dayOf(double time) {
+		return (long) Math.floor(time / bucketWidth);
+	}
+
+	@SuppressWarnings("unchecked")
+	private QueueBucket<T>[] createBuckets(int count) {
+		QueueBucket<T>[] newBuckets = (QueueBucket<T>[]) new QueueBucket<?>[count];
+		for (int i = 0; i < count; i++)
+			newBuckets[i] = new QueueBucket<>();
+		return newBuckets;
+	}
+
+	protected List<T> toList() {
+		List<T> all = new ArrayList<>(size);
+		for (QueueBucket<T> bucket : buckets)
+			bucket.addAllTo(all);
+		return all;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return toList().iterator();
+	}
+
+	@Override
+	public Stream<T> stream() {
+		return toList().stream();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+}
@@ -9,19 +9,58 @@ public class Event implements Comparable<Event>, QueueElement {
 	protected Object data;
 	protected long serial;
 
-	public Event(SimEntity simEntity, Double time, int tag) {
+	/**
+	 * True from the moment the event is inserted in the queue until it is either
+	 * processed or cancelled.
+	 */
+	boolean pending;
+
+	/**
+	 * Cancelled events stay in the queue and are skipped when they are polled.
+	 * 
+	 * @see PureEdgeSim#cancel(Event)
+	 */
+	boolean cancelled;
+
+	public Event(SimEntity simEntity, double time, int tag) {
 		this.simEntity = simEntity;
 		this.time = time;
 		this.tag = tag;
 	}
 
-	public Event(SimEntity simEntity, Double time, int tag, Object data) {
+	public Event(SimEntity simEntity, double time, int tag, Object data) {
 		this.simEntity = simEntity;
 		this.time = time;
 		this.tag = tag;
 		this.data = data;
 	}
 
+	/**
+	 * Reinitializes a recycled event.
+	 * 
+	 * @see EventPool#acquire(SimEntity, double, int, Object)
+	 */
+	void init(SimEntity simEntity, double time, int tag, Object data) {
+		this.simEntity = simEntity;
+		this.time = time;
+		this.tag = tag;
+		this.data = data;
+		this.serial = 0;
+		this.pending = false;
+		this.cancelled = false;
+	}
+
+	/**
+	 * Drops the references held by a processed event before it is recycled, so
+	 * they can be garbage collected.
+	 * 
+	 * @see EventPool#release(Event)
+	 */
+	void clear() {
+		this.simEntity = null;
+		this.data = null;
+	}
+
 	public int getTag() {
 		return tag;
 	}
@@ -38,6 +77,26 @@ public class Event implements Comparable<Event>, QueueElement {
 		return data;
 	}
 
+	/**
+	 * Returns whether this event has been scheduled and is still waiting to be
+	 * processed.
+	 * 
+	 * @return true if the event is pending.
+	 */
+	public boolean isPending() {
+		return pending;
+	}
+
+	/**
+	 * Returns whether this event has been cancelled before being processed.
+	 * 
+	 * @return true if the event has been cancelled.
+	 * @see PureEdgeSim#cancel(Event)
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
 	public void setSerial(long l) {
 		this.serial = l;
 	}
@@ -0,0 +1,105 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationengine;
+
+import java.util.Arrays;
+
+/**
+ * A pool of {@link Event} instances. When the pooled events mode is enabled, the
+ * engine takes the events scheduled by the simulation entities from this pool
+ * and gives them back once they have been processed, which removes most of the
+ * short-lived allocations of long simulations.
+ * <p>
+ * A recycled event is reused by a later call to one of the
+ * {@link SimEntity#schedule(SimEntity, double, int) schedule()} methods. So,
+ * the simulation entities must not keep a reference to an event (or to the
+ * event returned by these methods) after it has been processed.
+ * <p>
+ * Each simulation has its own engine and pool, so this class is not thread
+ * safe.
+ *
+ * @see PureEdgeSim#newEvent(SimEntity, double, int, Object)
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#pooledEvents
+ * @since PureEdgeSim 5.3
+ */
+public class EventPool {
+
+	protected Event[] free = new Event[1024];
+
+	protected int freeCount;
+
+	protected long createdEvents;
+
+	protected long reusedEvents;
+
+	/**
+	 * Returns a recycled event if there is one, or a new event otherwise.
+	 * 
+	 * @param simEntity the entity that will process the event.
+	 * @param time      the time of the event.
+	 * @param tag       the tag of the event.
+	 * @param data      the data of the event, can be null.
+	 * @return the initialized event.
+	 */
+	public Event acquire(SimEntity simEntity, double time, int tag, Object data) {
+		if (freeCount == 0) {
+			createdEvents++;
+			return new Event(simEntity, time, tag, data);
+		}
+		reusedEvents++;
+		Event event = free[--freeCount];
+		free[freeCount] = null;
+		event.init(simEntity, time, tag, data);
+		return event;
+	}
+
+	/**
+	 * Gives a processed event back to the pool. The event must not be in the
+	 * events queue anymore.
+	 * 
+	 * @param event the processed event.
+	 */
+	public void release(Event event) {
+		event.clear();
+		if (freeCount == free.length)
+			free = Arrays.copyOf(free, freeCount * 2);
+		free[freeCount++] = event;
+	}
+
+	/**
+	 * Gets the number of events that have been allocated by this pool.
+	 * 
+	 * @return the number of allocated events.
+	 */
+	public long getCreatedEventsCount() {
+		return createdEvents;
+	}
+
+	/**
+	 * Gets the number of times a recycled event has been reused.
+	 * 
+	 * @return the number of reused events.
+	 */
+	public long getReusedEventsCount() {
+		return reusedEvents;
+	}
+
+}
@@ -0,0 +1,323 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationengine;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * A ladder queue (W. T. Tang, R. S. M. Goh and I. L.-J. Thng, 2005). It is made
+ * of three tiers:
+ * <ul>
+ * <li><b>Top</b>: an unsorted list that receives the far future elements in
+ * O(1).</li>
+ * <li><b>Ladder</b>: rungs of unsorted buckets. When the bottom is empty, the
+ * top is spread over a first rung. The first non-empty bucket of the lowest
+ * rung is either spread over a new (finer) rung if it is too large, or sorted
+ * and moved to the bottom.</li>
+ * <li><b>Bottom</b>: a small sorted list from which the elements are
+ * removed.</li>
+ * </ul>
+ * Each time value maps to a single tier (and a single bucket), and the bottom is
+ * sorted using the (time, serial) order of the elements, so the elements keep
+ * the same order as in the {@link FutureQueue}, including those added using
+ * {@link #addFirst(QueueElement)}. Insertion and removal of the first element
+ * are O(1) amortized, without any parameter tuning.
+ * <p>
+ * The {@link #iterator()} and {@link #stream()} methods return the elements in
+ * no particular order.
+ *
+ * @see FutureQueue
+ * @see CalendarQueue
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#eventQueue
+ * @since PureEdgeSim 5.3
+ */
+public class LadderQueue<T extends QueueElement & Comparable<T>> implements Queue<T> {
+
+	/**
+	 * The size above which a bucket is spread over a new rung instead of being
+	 * sorted into the bottom.
+	 */
+	protected static final int THRESHOLD = 50;
+
+	/**
+	 * The maximum number of rungs.
+	 */
+	protected static final int MAX_RUNGS = 8;
+
+	protected final QueueBucket<T> top = new QueueBucket<>(THRESHOLD);
+
+	protected double topMin = Double.MAX_VALUE;
+
+	protected double topMax = -Double.MAX_VALUE;
+
+	/**
+	 * Elements happening after this time go to the top.
+	 */
+	protected double topStart = Double.NEGATIVE_INFINITY;
+
+	@SuppressWarnings("unchecked")
+	protected final Rung<T>[] rungs = (Rung<T>[]) new Rung<?>[MAX_RUNGS];
+
+	protected int rungsCount;
+
+	protected QueueBucket<T> bottom = new QueueBucket<>(THRESHOLD);
+
+	protected int size;
+
+	protected long serial;
+
+	protected long lowestSerial;
+
+	@Override
+	public void add(final T item) {
+		item.setSerial(serial++);
+		insert(item);
+	}
+
+	@Override
+	public void addFirst(final T item) {
+		item.setSerial(--lowestSerial);
+		insert(item);
+	}
+
+	protected void insert(T item) {
+		size++;
+		double time = item.getTime();
+		if (time > topStart) {
+			top.append(item);
+			topMin = Math.min(topMin, time);
+			topMax = Math.max(topMax, time);
+			return;
+		}
+
+		for (int i = 0; i < rungsCount; i++) {
+			int index = rungs[i].indexOf(time);
+			if (index >= rungs[i].current) {
+				rungs[i].buckets[index].append(item);
+				return;
+			}
+		}
+
+		bottom.insertSorted(item);
+	}
+
+	@Override
+	public T first() throws NoSuchElementException {
+		fillBottom();
+		if (bottom.isEmpty())
+			throw new NoSuchElementException();
+		return bottom.peekFirst();
+	}
+
+	@Override
+	public T pollFirst() {
+		fillBottom();
+		if (bottom.isEmpty())
+			return null;
+		size--;
+		return bottom.pollFirst();
+	}
+
+	@Override
+	public boolean remove(final T item) {
+		// Fast path: the engine always removes the element it has just processed.
+		if (bottom.peekFirst() == item) {
+			pollFirst();
+			return true;
+		}
+
+		double time = item.getTime();
+		boolean removed;
+		if (time > topStart) {
+			removed = top.remove(item);
+		} else {
+			removed = bottom.remove(item);
+			for (int i = 0; i < rungsCount && !removed; i++) {
+				int index = rungs[i].indexOf(time);
+				if (index >= rungs[i].current)
+					removed = rungs[i].buckets[index].remove(item);
+			}
+		}
+		if (removed)
+			size--;
+		return removed;
+	}
+
+	/**
+	 * Makes sure the bottom contains the first elements of the queue (unless the
+	 * queue is empty).
+	 */
+	protected void fillBottom() {
+		while (bottom.isEmpty() && size > 0) {
+			if (rungsCount == 0) {
+				transferTop();
+				continue;
+			}
+
+			Rung<T> rung = rungs[rungsCount - 1];
+			while (rung.current < rung.bucketsCount && rung.buckets[rung.current].isEmpty())
+				rung.current++;
+
+			if (rung.current == rung.bucketsCount) {
+				// All the buckets of this rung have been consumed.
+				rungsCount--;
+				continue;
+			}
+
+			QueueBucket<T> bucket = rung.buckets[rung.current++];
+			if (bucket.size() > THRESHOLD && rungsCount < MAX_RUNGS && spawnRung(bucket))
+				continue;
+
+			// Swap the bucket with the (empty) bottom and sort it.
+			rung.buckets[rung.current - 1] = bottom;
+			bottom = bucket;
+			bottom.sort();
+		}
+	}
+
+	/**
+	 * Moves the top elements to the ladder, or directly to the bottom when there
+	 * are only a few of them.
+	 */
+	protected void transferTop() {
+		topStart = topMax;
+		if (top.size() <= THRESHOLD || topMin == topMax) {
+			for (int i = 0; i < top.size(); i++)
+				bottom.append(top.get(i));
+			bottom.sort();
+		} else {
+			spread(top, topMin, topMax);
+		}
+		top.clear();
+		topMin = Double.MAX_VALUE;
+		topMax = -Double.MAX_VALUE;
+	}
+
+	/**
+	 * Spreads the given bucket over a new rung, unless all its elements have the
+	 * same time.
+	 *
+	 * @return true if a new rung has been created.
+	 */
+	protected boolean spawnRung(QueueBucket<T> bucket) {
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		for (int i = 0; i < bucket.size(); i++) {
+			double time = bucket.get(i).getTime();
+			min = Math.min(min, time);
+			max = Math.max(max, time);
+		}
+		if (min == max)
+			return false;
+		spread(bucket, min, max);
+		bucket.clear();
+		return true;
+	}
+
+	protected void spread(QueueBucket<T> elements, double min, double max) {
+		if (rungs[rungsCount] == null)
+			rungs[rungsCount] = new Rung<>();
+		Rung<T> rung = rungs[rungsCount++];
+		rung.reset(min, (max - min) / elements.size(), elements.size());
+		for (int i = 0; i < elements.size(); i++) {
+			T item = elements.get(i);
+			rung.buckets[rung.indexOf(item.getTime())].append(item);
+		}
+	}
+
+	protected List<T> toList() {
+		List<T> all = new ArrayList<>(size);
+		bottom.addAllTo(all);
+		for (int i = 0; i < rungsCount; i++)
+			for (int j = rungs[i].current; j < rungs[i].bucketsCount; j++)
+				rungs[i].buckets[j].addAllTo(all);
+		top.addAllTo(all);
+		return all;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return toList().iterator();
+	}
+
+	@Override
+	public Stream<T> stream() {
+		return toList().stream();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * A rung of the ladder, i.e., an array of buckets of the same width starting
+	 * from a given time.
+	 */
+	protected static class Rung<T extends Comparable<T>> {
+		protected double start;
+		protected double bucketWidth;
+		protected int bucketsCount;
+
+		/**
+		 * The index of the first bucket that has not been consumed yet.
+		 */
+		protected int current;
+		protected QueueBucket<T>[] buckets;
+
+		@SuppressWarnings("unchecked")
+		protected void reset(double start, double bucketWidth, int bucketsCount) {
+			this.start = start;
+			this.bucketWidth = bucketWidth;
+			this.bucketsCount = bucketsCount;
+			this.current = 0;
+			// The buckets of a consumed rung are all empty, so they can be reused.
+			if (buckets == null || buckets.length < bucketsCount) {
+				QueueBucket<T>[] newBuckets = (QueueBucket<T>[]) new QueueBucket<?>[bucketsCount];
+				int reused = 0;
+				if (buckets != null) {
+					System.arraycopy(buckets, 0, newBuckets, 0, buckets.length);
+					reused = buckets.length;
+				}
+				for (int i = reused; i < bucketsCount; i++)
+					newBuckets[i] = new QueueBucket<>();
+				buckets = newBuckets;
+			}
+		}
+
+		protected int indexOf(double time) {
+			int index = (int) ((time - start) / bucketWidth);
+			if (index < 0)
+				return 0;
+			return Math.min(index, bucketsCount - 1);
+		}
+	}
+
+}
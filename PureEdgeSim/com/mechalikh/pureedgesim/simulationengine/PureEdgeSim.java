@@ -20,9 +20,14 @@
  **/
 package com.mechalikh.pureedgesim.simulationengine;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationmanager.DefaultSimulationManager;
 
 /**
@@ -56,7 +61,53 @@ public class PureEdgeSim {
 	List<SimEntity> entitiesList = new ArrayList<>();
 	protected double time;
 	protected boolean isRunning = true;
-	protected FutureQueue<Event> events;
+	protected Queue<Event> events;
+
+	/**
+	 * Whether the events happening at the same time are popped from the queue as
+	 * a batch before being processed.
+	 * 
+	 * @see SimulationParameters#batchEventsDispatch
+	 */
+	protected boolean batchDispatch;
+
+	/**
+	 * The reusable buffer holding the events of the current batch.
+	 * 
+	 * @see #processEventsBatch(double)
+	 */
+	protected Event[] batch = new Event[64];
+	protected int batchSize;
+	protected int batchPosition;
+
+	/**
+	 * Set when an event is scheduled "now" while a batch is being processed, as it
+	 * must be processed before the remaining events of the batch.
+	 * 
+	 * @see #insertFirst(Event)
+	 */
+	protected boolean insertedFirstDuringBatch;
+
+	/**
+	 * Per-run statistics.
+	 */
+	protected long processedEvents;
+	protected int peakQueueSize;
+	protected long startNanoTime;
+	protected long endNanoTime;
+	protected long createdEvents;
+	protected long cancelledEvents;
+	protected long allocatedBytes = -1;
+	protected long gcCount;
+	protected long gcTime;
+
+	/**
+	 * The pool from which the events are taken, or null if the pooled events mode
+	 * is disabled.
+	 * 
+	 * @see SimulationParameters#pooledEvents
+	 */
+	protected EventPool eventPool;
 
 	/**
 	 * Gets the current simulation time in seconds.
@@ -77,7 +128,61 @@ public class PureEdgeSim {
 	 * @see #start()
 	 */
 	public PureEdgeSim() {
-		events = new FutureQueue<>();
+		events = createEventsQueue(SimulationParameters.eventQueue);
+		batchDispatch = SimulationParameters.batchEventsDispatch;
+		if (SimulationParameters.pooledEvents)
+			eventPool = new EventPool();
+	}
+
+	/**
+	 * Creates a new event, or reuses a processed one when the pooled events mode
+	 * is enabled.
+	 * 
+	 * @param simEntity the entity that will process the event.
+	 * @param time      the time of the event.
+	 * @param tag       the tag of the event.
+	 * @param data      the data of the event, can be null.
+	 * @return the event.
+	 * 
+	 * @see SimEntity#schedule(SimEntity, double, int, Object)
+	 * @see EventPool
+	 */
+	public Event newEvent(SimEntity simEntity, double time, int tag, Object data) {
+		if (eventPool != null)
+			return eventPool.acquire(simEntity, time, tag, data);
+		createdEvents++;
+		return new Event(simEntity, time, tag, data);
+	}
+
+	/**
+	 * Gives a processed event back to the pool, if the pooled events mode is
+	 * enabled. The event must have been removed from the queue.
+	 * 
+	 * @param event the processed event.
+	 */
+	protected void recycle(Event event) {
+		if (eventPool != null)
+			eventPool.release(event);
+	}
+
+	/**
+	 * Creates the events queue used by the engine.
+	 * 
+	 * @param type the type of the queue: "TREE_SET" (default), "CALENDAR_QUEUE" or
+	 *             "LADDER_QUEUE".
+	 * @return the events queue.
+	 * 
+	 * @see FutureQueue
+	 * @see CalendarQueue
+	 * @see LadderQueue
+	 * @see SimulationParameters#eventQueue
+	 */
+	protected Queue<Event> createEventsQueue(String type) {
+		if ("CALENDAR_QUEUE".equals(type))
+			return new CalendarQueue<>();
+		if ("LADDER_QUEUE".equals(type))
+			return new LadderQueue<>();
+		return new FutureQueue<>();
 	}
 
 	/**
@@ -106,11 +211,30 @@ public class PureEdgeSim {
 		    }
 		});
 
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		long startAllocatedBytes = getAllocatedBytes(threadBean);
+		long startGcCount = 0;
+		long startGcTime = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			startGcCount += gc.getCollectionCount();
+			startGcTime += gc.getCollectionTime();
+		}
+		startNanoTime = System.nanoTime();
 
 		while (runClockTickAndProcessFutureEvents(Double.MAX_VALUE) && isRunning) {
 			// All the processing happens inside the method called above
 		}
 
+		endNanoTime = System.nanoTime();
+		if (startAllocatedBytes != -1)
+			allocatedBytes = getAllocatedBytes(threadBean) - startAllocatedBytes;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			gcCount += gc.getCollectionCount();
+			gcTime += gc.getCollectionTime();
+		}
+		gcCount -= startGcCount;
+		gcTime -= startGcTime;
+
 		// Iteration finished, notify all entities and clear their list
 		entitiesList.forEach(entity -> {
 		    if (entity instanceof OnSimulationEndListener) {
@@ -120,6 +244,21 @@ public class PureEdgeSim {
 		entitiesList.clear();
 	}
  
+	/**
+	 * Gets the number of bytes allocated by the current thread, if the JVM
+	 * supports it.
+	 * 
+	 * @return the allocated bytes, or -1 if not supported.
+	 */
+	protected long getAllocatedBytes(ThreadMXBean threadBean) {
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+			if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled())
+				return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
 	/**
 	 * Processes future events as long as the simulation end time has not reached.
 	 * 
@@ -129,6 +268,7 @@ public class PureEdgeSim {
 	 * 
 	 * @see #start()
 	 * @see #processFutureEventsHappeningAtSameTimeOfTheFirstOne(Event)
+	 * @see #processEventsBatch(double)
 	 */
 	protected boolean runClockTickAndProcessFutureEvents(final double until) {
 
@@ -138,13 +278,66 @@ public class PureEdgeSim {
 
 		final Event first = events.first();
 		if (first.getTime() <= until) {
-			processFutureEventsHappeningAtSameTimeOfTheFirstOne(first);
+			if (batchDispatch)
+				processEventsBatch(first.getTime());
+			else
+				processFutureEventsHappeningAtSameTimeOfTheFirstOne(first);
 			return true;
 		}
 
 		return false;
 	}
 
+	/**
+	 * Pops all the events happening at the given time into a reusable buffer, and
+	 * then processes them. Unlike
+	 * {@link #processFutureEventsHappeningAtSameTimeOfTheFirstOne(Event)}, each
+	 * event is removed from the queue using a single {@link Queue#pollFirst()
+	 * pollFirst()} call.
+	 * <p>
+	 * The order of the events is the same as in the other mode: the events that
+	 * are scheduled "now" by the processed events (i.e., using
+	 * {@link #insertFirst(Event)}) are processed before the remaining events of
+	 * the batch, and those scheduled at the same time using
+	 * {@link #insert(Event)} are processed after them.
+	 * 
+	 * @param eventsTime the time of the first event in the queue.
+	 * @see #start()
+	 * @see #runClockTickAndProcessFutureEvents(double)
+	 * @see #processEvent(Event)
+	 */
+	protected void processEventsBatch(final double eventsTime) {
+		while (!events.isEmpty() && events.first().getTime() == eventsTime) {
+			// Drain the events happening at this time.
+			batchSize = 0;
+			do {
+				if (batchSize == batch.length)
+					batch = Arrays.copyOf(batch, batchSize * 2);
+				batch[batchSize++] = events.pollFirst();
+			} while (!events.isEmpty() && events.first().getTime() == eventsTime);
+
+			insertedFirstDuringBatch = false;
+			for (batchPosition = 0; batchPosition < batchSize; batchPosition++) {
+				final Event evt = batch[batchPosition];
+				batch[batchPosition] = null;
+
+				// Process the events that have been scheduled "now" by the previous ones.
+				if (insertedFirstDuringBatch) {
+					insertedFirstDuringBatch = false;
+					while (!events.isEmpty() && events.first().compareTo(evt) < 0) {
+						final Event now = events.pollFirst();
+						processEvent(now);
+						recycle(now);
+					}
+				}
+				processEvent(evt);
+				recycle(evt);
+			}
+			batchSize = 0;
+			batchPosition = 0;
+		}
+	}
+
 	/**
 	 * Processes events happening at the same time as the first event in the queue,
 	 * and updates the simulation time.
@@ -156,15 +349,19 @@ public class PureEdgeSim {
 	 * @see #processEvent(Event)
 	 */
 	protected void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final Event firstEvent) {
+		// The first event goes back to the pool below, and can be reused by the next ones.
+		final double eventsTime = firstEvent.getTime();
 		processEvent(firstEvent);
 		getEventsQueue().remove(firstEvent);
+		recycle(firstEvent);
 
 		while (!getEventsQueue().isEmpty()) {
 			final Event evt = getEventsQueue().first();
-			if (evt.getTime() != firstEvent.getTime())
+			if (evt.getTime() != eventsTime)
 				break;
 			processEvent(evt);
 			events.remove(evt);
+			recycle(evt);
 		}
 	}
 
@@ -177,12 +374,18 @@ public class PureEdgeSim {
 	 * @see #processFutureEventsHappeningAtSameTimeOfTheFirstOne(Event)
 	 */
 	protected void processEvent(final Event event) {
+		// Cancelled events are purged lazily, when they are polled.
+		if (event.cancelled)
+			return;
+
 		if (event.getTime() < time) {
 			final String msg = "Past event detected. Event time: %.2f Simulation clock: %.2f";
 			throw new IllegalArgumentException(String.format(msg, event.getTime(), time));
 		}
 
 		time = event.getTime();
+		event.pending = false;
+		processedEvents++;
 		event.getSimEntity().processEvent(event);
 
 	}
@@ -191,32 +394,90 @@ public class PureEdgeSim {
 	 * Adds an event to the queue
 	 * 
 	 * @param event the new event.
-	 * @see SimEntity#schedule(SimEntity, Double, int)
-	 * @see SimEntity#schedule(SimEntity, Double, int, Object)
+	 * @see SimEntity#schedule(SimEntity, double, int)
+	 * @see SimEntity#schedule(SimEntity, double, int, Object)
 	 * @see OnSimulationStartListener#onSimulationStart()
-	 * @see FutureQueue
+	 * @see Queue
 	 * @see #start()
 	 * @see #runClockTickAndProcessFutureEvents(double)
 	 * @see #processFutureEventsHappeningAtSameTimeOfTheFirstOne(Event)
 	 */
 	void insert(Event event) {
+		event.pending = true;
 		events.add(event);
+		updatePeakQueueSize();
 	}
 
 	/**
 	 * Adds an event to the head of the queue
 	 * 
 	 * @param event the new event.
-	 * @see SimEntity#schedule(SimEntity, Double, int)
-	 * @see SimEntity#schedule(SimEntity, Double, int, Object)
+	 * @see SimEntity#schedule(SimEntity, double, int)
+	 * @see SimEntity#schedule(SimEntity, double, int, Object)
 	 * @see OnSimulationStartListener#onSimulationStart()
-	 * @see FutureQueue
+	 * @see Queue
 	 * @see #start()
 	 * @see #runClockTickAndProcessFutureEvents(double)
 	 * @see #processFutureEventsHappeningAtSameTimeOfTheFirstOne(Event)
 	 */
 	public void insertFirst(Event event) {
+		event.pending = true;
 		getEventsQueue().addFirst(event);
+		insertedFirstDuringBatch = true;
+		updatePeakQueueSize();
+	}
+
+	/**
+	 * Cancels a pending event in O(1). The event is not removed from the queue
+	 * right away: it is skipped (and recycled, if the pooled events mode is
+	 * enabled) once it reaches the head of the queue.
+	 * <p>
+	 * When the pooled events mode is enabled, the entity that keeps a reference
+	 * to an event must drop it once the event is processed, as the same object
+	 * may then be reused by another entity.
+	 * 
+	 * @param event the event to cancel.
+	 * @return true if the event was pending, false if it has already been
+	 *         processed or cancelled.
+	 * @see SimEntity#cancel(Event)
+	 * @see #reschedule(Event, double)
+	 */
+	public boolean cancel(Event event) {
+		if (event == null || !event.pending)
+			return false;
+		event.pending = false;
+		event.cancelled = true;
+		cancelledEvents++;
+		return true;
+	}
+
+	/**
+	 * Moves a pending event to a new time. The old event is cancelled and a new
+	 * one, with the same entity, tag and data, is inserted.
+	 * 
+	 * @param event   the event to move.
+	 * @param newTime the new (absolute) time of the event, which cannot be in the
+	 *                past.
+	 * @return the new event, or null if the given event was not pending.
+	 * @see SimEntity#reschedule(Event, double)
+	 */
+	public Event reschedule(Event event, double newTime) {
+		if (newTime < time) {
+			final String msg = "Cannot reschedule an event in the past. New time: %.2f Simulation clock: %.2f";
+			throw new IllegalArgumentException(String.format(msg, newTime, time));
+		}
+		if (!cancel(event))
+			return null;
+		Event moved = newEvent(event.getSimEntity(), newTime, event.getTag(), event.getData());
+		insert(moved);
+		return moved;
+	}
+
+	protected void updatePeakQueueSize() {
+		// The events of the current batch are still pending.
+		int queueSize = events.size() + batchSize - batchPosition;
+		if (queueSize > peakQueueSize)
+			peakQueueSize = queueSize;
 	}
 
 	/**
@@ -263,8 +524,114 @@ public class PureEdgeSim {
 	 * 
 	 * @return events queue
 	 */
-	public FutureQueue<Event> getEventsQueue() {
+	public Queue<Event> getEventsQueue() {
 		return events;
 	}
 
+	/**
+	 * Gets the number of events processed since the beginning of the simulation.
+	 * 
+	 * @return the number of processed events.
+	 */
+	public long getProcessedEventsCount() {
+		return processedEvents;
+	}
+
+	/**
+	 * Gets the highest number of pending events reached during the simulation.
+	 * 
+	 * @return the peak size of the events queue.
+	 */
+	public int getPeakQueueSize() {
+		return peakQueueSize;
+	}
+
+	/**
+	 * Gets the number of processed events per second of wall-clock time.
+	 * 
+	 * @return the events processing rate.
+	 * 
+	 * @see #getProcessedEventsCount()
+	 */
+	public double getEventsPerSecond() {
+		long end = endNanoTime == 0 ? System.nanoTime() : endNanoTime;
+		if (startNanoTime == 0 || end == startNanoTime)
+			return 0;
+		return processedEvents / ((end - startNanoTime) / 1e9);
+	}
+
+	/**
+	 * Gets the number of event objects that have been allocated during the
+	 * simulation.
+	 * 
+	 * @return the number of allocated events.
+	 * @see #getReusedEventsCount()
+	 */
+	public long getCreatedEventsCount() {
+		return eventPool == null ? createdEvents : eventPool.getCreatedEventsCount();
+	}
+
+	/**
+	 * Gets the number of scheduled events that reused a processed event object.
+	 * 
+	 * @return the number of reused events, 0 if the pooled events mode is
+	 *         disabled.
+	 * @see SimulationParameters#pooledEvents
+	 */
+	public long getReusedEventsCount() {
+		return eventPool == null ? 0 : eventPool.getReusedEventsCount();
+	}
+
+	/**
+	 * Gets the number of bytes allocated by the simulation thread while the
+	 * events were processed.
+	 * 
+	 * @return the allocated bytes, or -1 if the JVM does not support it.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * Gets the allocation rate while the events were processed.
+	 * 
+	 * @return the allocation rate in MB/s, or -1 if the JVM does not support it.
+	 */
+	public double getAllocationRate() {
+		if (allocatedBytes == -1 || endNanoTime == startNanoTime)
+			return -1;
+		return allocatedBytes / 1e6 / ((endNanoTime - startNanoTime) / 1e9);
+	}
+
+	/**
+	 * Gets the number of garbage collections during the simulation. As the
+	 * garbage collector is shared, it includes those caused by the simulations
+	 * that run in parallel.
+	 * 
+	 * @return the number of garbage collections.
+	 */
+	public long getGcCount() {
+		return gcCount;
+	}
+
+	/**
+	 * Gets the time spent in garbage collections during the simulation.
+	 * 
+	 * @return the garbage collection time in milliseconds.
+	 * @see #getGcCount()
+	 */
+	public long getGcTime() {
+		return gcTime;
+	}
+
+	/**
+	 * Gets the number of events that have been cancelled before being processed.
+	 * 
+	 * @return the number of cancelled events.
+	 * @see #cancel(Event)
+	 */
+	public long getCancelledEventsCount() {
+		return cancelledEvents;
+	}
+
 }
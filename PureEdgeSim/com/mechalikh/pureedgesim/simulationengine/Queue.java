@@ -27,6 +27,22 @@ public interface Queue<T> {
      */
     void add(T queueElement);
 
+    /**
+     * Adds a new queue element to the head of the queue, i.e. before all the
+     * elements that have the same time.
+     *
+     * @param queueElement The queueElement to be put in the queue.
+     */
+    void addFirst(T queueElement);
+
+    /**
+     * Removes an element from the queue.
+     *
+     * @param queueElement the element to remove
+     * @return true if successful; false if the element was not found
+     */
+    boolean remove(T queueElement);
+
     /**
      * Returns an iterator to the elements into the queue.
      *
@@ -62,4 +78,11 @@ public interface Queue<T> {
      * @throws NoSuchElementException when the queue is empty
      */
     T first() throws NoSuchElementException;
+
+    /**
+     * Removes and returns the first element of the queue.
+     *
+     * @return the first element, or null when the queue is empty
+     */
+    T pollFirst();
 }
@@ -0,0 +1,162 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationengine;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A growable array of queue elements with a movable head, used as the bucket
+ * of the {@link CalendarQueue} and of the {@link LadderQueue}. Elements can
+ * either be appended in O(1) (unsorted buckets) or inserted in their
+ * (time, serial) position (sorted buckets). Removing the head is O(1).
+ *
+ * @see CalendarQueue
+ * @see LadderQueue
+ * @since PureEdgeSim 5.3
+ */
+final class QueueBucket<T extends Comparable<T>> {
+
+	private Object[] elements;
+
+	private int head;
+
+	private int tail;
+
+	QueueBucket() {
+		this(4);
+	}
+
+	QueueBucket(int capacity) {
+		elements = new Object[Math.max(capacity, 1)];
+	}
+
+	int size() {
+		return tail - head;
+	}
+
+	boolean isEmpty() {
+		return head == tail;
+	}
+
+	@SuppressWarnings("unchecked")
+	T get(int index) {
+		return (T) elements[head + index];
+	}
+
+	@SuppressWarnings("unchecked")
+	T peekFirst() {
+		return head == tail ? null : (T) elements[head];
+	}
+
+	@SuppressWarnings("unchecked")
+	T pollFirst() {
+		if (head == tail)
+			return null;
+		T element = (T) elements[head];
+		elements[head++] = null;
+		if (head == tail)
+			head = tail = 0;
+		return element;
+	}
+
+	/**
+	 * Appends the element at the end of the bucket, without preserving the order.
+	 */
+	void append(T element) {
+		ensureRoomAtTail();
+		elements[tail++] = element;
+	}
+
+	/**
+	 * Inserts the element at its position. As most new events happen after the
+	 * ones already in the bucket, the position is searched from the tail. Elements
+	 * that go before the head (e.g., events scheduled "now") reuse the room left by
+	 * the removed ones when possible.
+	 */
+	@SuppressWarnings("unchecked")
+	void insertSorted(T element) {
+		if (head > 0 && (head == tail || ((T) elements[head]).compareTo(element) > 0)) {
+			elements[--head] = element;
+			return;
+		}
+		ensureRoomAtTail();
+		int i = tail - 1;
+		while (i >= head && ((T) elements[i]).compareTo(element) > 0) {
+			elements[i + 1] = elements[i];
+			i--;
+		}
+		elements[i + 1] = element;
+		tail++;
+	}
+
+	/**
+	 * Removes the given element from the bucket.
+	 *
+	 * @return true if the element has been found.
+	 */
+	boolean remove(T element) {
+		for (int i = head; i < tail; i++) {
+			if (elements[i] == element || element.equals(elements[i])) {
+				System.arraycopy(elements, i + 1, elements, i, tail - i - 1);
+				elements[--tail] = null;
+				if (head == tail)
+					head = tail = 0;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sorts the elements of the bucket according to their (time, serial) order.
+	 */
+	void sort() {
+		Arrays.sort(elements, head, tail);
+	}
+
+	@SuppressWarnings("unchecked")
+	void addAllTo(Collection<T> collection) {
+		for (int i = head; i < tail; i++)
+			collection.add((T) elements[i]);
+	}
+
+	void clear() {
+		Arrays.fill(elements, head, tail, null);
+		head = tail = 0;
+	}
+
+	private void ensureRoomAtTail() {
+		if (tail < elements.length)
+			return;
+		int size = tail - head;
+		if (head > 0 && size < elements.length / 2) {
+			// Reuse the room left by the removed head elements.
+			System.arraycopy(elements, head, elements, 0, size);
+			Arrays.fill(elements, size, tail, null);
+		} else {
+			elements = Arrays.copyOfRange(elements, head, head + elements.length * 2);
+		}
+		head = 0;
+		tail = size;
+	}
+
+}
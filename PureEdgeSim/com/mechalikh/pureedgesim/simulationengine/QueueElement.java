@@ -5,4 +5,6 @@ public interface QueueElement {
 	long getSerial();
 
 	void setSerial(long l);
+
+	double getTime();
 }
@@ -34,36 +34,67 @@ public abstract class SimEntity {
 		this.simulation = simulator;
 	}
 
-	protected Event schedule(SimEntity simEntity, Double time, int tag) {
-		Event e = new Event(simEntity, simulation.clock() + time, tag);
+	protected Event schedule(SimEntity simEntity, double time, int tag) {
+		Event e = simulation.newEvent(simEntity, simulation.clock() + time, tag, null);
 		simulation.insert(e);
 		return e;
 	}
 
+	protected Event schedule(SimEntity simEntity, Double time, int tag) {
+		return schedule(simEntity, time.doubleValue(), tag);
+	}
+
 	protected Event schedule(SimEntity simEntity, int time, int tag) {
-		Event e = new Event(simEntity, simulation.clock() + time, tag);
+		return schedule(simEntity, (double) time, tag);
+	}
+
+	protected Event schedule(SimEntity simEntity, double time, int tag, Object data) {
+		Event e = simulation.newEvent(simEntity, simulation.clock() + time, tag, data);
 		simulation.insert(e);
 		return e;
 	}
 
 	protected Event schedule(SimEntity simEntity, Double time, int tag, Object data) {
-		Event e = new Event(simEntity, simulation.clock() + time, tag, data);
-		simulation.insert(e); 
-		return e;
+		return schedule(simEntity, time.doubleValue(), tag, data);
 	}
 
 	protected Event scheduleNow(SimEntity simEntity, int tag) {
-		Event e = new Event(simEntity, simulation.clock(), tag);
+		Event e = simulation.newEvent(simEntity, simulation.clock(), tag, null);
 		simulation.insertFirst(e);
 		return e;
 	}
 
 	protected Event scheduleNow(SimEntity simEntity, int tag, Object data) {
-		Event e = new Event(simEntity, simulation.clock(), tag, data);
+		Event e = simulation.newEvent(simEntity, simulation.clock(), tag, data);
 		simulation.insertFirst(e);
 		return e;
 	}
 
+	/**
+	 * Cancels an event scheduled by this entity, if it has not been processed
+	 * yet.
+	 * 
+	 * @param e the event to cancel (can be null).
+	 * @return true if the event has been cancelled.
+	 * @see PureEdgeSim#cancel(Event)
+	 */
+	protected boolean cancel(Event e) {
+		return simulation.cancel(e);
+	}
+
+	/**
+	 * Moves an event that has not been processed yet to a new time.
+	 * 
+	 * @param e       the event to move.
+	 * @param newTime the new (absolute) simulation time of the event.
+	 * @return the event that replaces it, or null if the event has already been
+	 *         processed or cancelled.
+	 * @see PureEdgeSim#reschedule(Event, double)
+	 */
+	protected Event reschedule(Event e, double newTime) {
+		return simulation.reschedule(e, newTime);
+	}
+
 	protected abstract void processEvent(Event e);
 
 }
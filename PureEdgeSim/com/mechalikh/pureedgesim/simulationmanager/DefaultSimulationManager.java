@@ -25,8 +25,10 @@ import java.io.IOException;
 import org.jgrapht.GraphPath;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+import com.mechalikh.pureedgesim.datacentersmanager.StatusSweep;
 import com.mechalikh.pureedgesim.network.NetworkLink;
 import com.mechalikh.pureedgesim.network.NetworkModel;
+import com.mechalikh.pureedgesim.network.PathCache;
 import com.mechalikh.pureedgesim.scenariomanager.Scenario;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters.TYPES;
@@ -87,6 +89,25 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 	 **/
 	protected int sentTasks = 0;
 
+	/**
+	 * The pending SHOW_PROGRESS event, cancelled at the end of the simulation.
+	 **/
+	protected Event showProgressEvent;
+
+	/**
+	 * The pending UPDATE_REAL_TIME_CHARTS event, cancelled at the end of the
+	 * simulation.
+	 **/
+	protected Event updateChartsEvent;
+
+	/**
+	 * Whether the simulation time is over and the simulation is waiting for the
+	 * remaining tasks to end.
+	 * 
+	 * @see #checkAllTasksFinished()
+	 **/
+	protected boolean waitingForTasks = false;
+
 	/**
 	 * Initializes the simulation manager.
 	 * 
@@ -118,6 +139,31 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 
 		simLog.print("%s -  %s", getClass().getSimpleName(), scenario.toString());
 		simulation.start();
+		simLog.print("%s - Events processed: %d (%.0f events/s), cancelled: %d, peak events queue size: %d",
+				getClass().getSimpleName(), simulation.getProcessedEventsCount(), simulation.getEventsPerSecond(),
+				simulation.getCancelledEventsCount(), simulation.getPeakQueueSize());
+		simLog.print("%s - Events allocated: %d, reused: %d, heap allocation: %.1f MB (%.1f MB/s), GC: %d collections (%d ms)",
+				getClass().getSimpleName(), simulation.getCreatedEventsCount(), simulation.getReusedEventsCount(),
+				simulation.getAllocatedBytes() / 1e6, simulation.getAllocationRate(), simulation.getGcCount(),
+				simulation.getGcTime());
+		StatusSweep statusSweep = getDataCentersManager().getStatusSweep();
+		simLog.print("%s - Status updates: %d nodes updated periodically, %d skipped, periodic events avoided: %d",
+				getClass().getSimpleName(), statusSweep.getUpdatedNodesCount(), statusSweep.getSkippedNodesCount(),
+				statusSweep.getAvoidedEventsCount());
+		PathCache pathCache = getDataCentersManager().getTopology().getPathCache();
+		simLog.print("%s - Path cache: %d paths, hits: %d, misses: %d (hit ratio: %.1f %%), evictions: %d",
+				getClass().getSimpleName(), pathCache.size(), pathCache.getHits(), pathCache.getMisses(),
+				pathCache.getHitRatio() * 100, pathCache.getEvictions());
+		NetworkLink busiestLink = NetworkLink.NULL;
+		int peakTransfers = 0;
+		for (NetworkLink link : getDataCentersManager().getTopology().getGraph().edgeSet()) {
+			if (link.getBusyTime() > busiestLink.getBusyTime())
+				busiestLink = link;
+			peakTransfers = Math.max(peakTransfers, link.getPeakConcurrentTransfers());
+		}
+		simLog.print("%s - Network links: busiest link %s (busy %.1f s, %.0f bits carried), peak concurrent transfers: %d",
+				getClass().getSimpleName(), busiestLink == NetworkLink.NULL ? "none" : busiestLink.getType(), busiestLink.getBusyTime(),
+				busiestLink.getTotalTransferredData(), peakTransfers);
 	}
 
 	/**
@@ -144,23 +190,23 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 		}
 
 		//creates and schedules the tasks for the shared applications
-		for(int i = 0; i < SimulationParameters.applicationList.size(); i++){
-			if(SimulationParameters.applicationList.get(i).getSharedContainer()){
-				for(User user : SimulationParameters.applicationList.get(i).getUsersList()){
+		for(int i = 0; i < applicationList.size(); i++){
+			if(applicationList.get(i).getSharedContainer()){
+				for(User user : applicationList.get(i).getUsersList()){
 					generateAndScheduleNewTasks(user.getComputingNode());
 				}
 			}
 		}
 
 		// Scheduling the end of the simulation.
-		schedule(this, SimulationParameters.simulationDuration, PRINT_LOG);
+		schedule(this, config.getSimulationDuration(), PRINT_LOG);
 
 		// Schedule the update of real-time charts.
 		if (SimulationParameters.displayRealTimeCharts && !SimulationParameters.parallelism_enabled)
-			scheduleNow(this, UPDATE_REAL_TIME_CHARTS);
+			updateChartsEvent = scheduleNow(this, UPDATE_REAL_TIME_CHARTS);
 
 		// Show simulation progress.
-		scheduleNow(this, SHOW_PROGRESS);
+		showProgressEvent = scheduleNow(this, SHOW_PROGRESS);
 
 		simLog.printSameLine("Simulation progress : [", "red");
 	}
@@ -182,7 +228,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 		switch (ev.getTag()) {
 		case NEXT_BATCH:
 			// Schedule this batch.
-			for (int i = 0; i < Math.min(taskList.size(), SimulationParameters.batchSize); i++) {
+			for (int i = 0; i < Math.min(taskList.size(), config.getBatchSize()); i++) {
 				schedule(this, taskList.first().getTime() - simulation.clock(), SEND_TO_EDGE_ORCH, taskList.first());
 				taskList.remove(taskList.first());
 			}
@@ -237,6 +283,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 			// Placemenet request received by the destination, place the container.
 			container = (Container) ev.getData();
 			container.getPlacementDestination().submitContainerPlacement(container);
+			getDataCentersManager().getPlacementIndex().place(container);
 			cloudOrchestrator.notifyOrchestratorOfContainerExecution(container);
 			break;
 
@@ -244,6 +291,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 			// Placemenet request received by the destination, place the container.
 			container = (Container) ev.getData();
 			container.getPlacementDestination().submitContainerUnPlacement(container);
+			getDataCentersManager().getPlacementIndex().unplace(container);
 			break;
 		case TRANSFER_RESULTS_TO_EDGE_ORCH:
 			// Task execution finished, transfer the results to the orchestrator.
@@ -277,6 +325,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 
 			edgeOrchestrator.resultsReturned(task);
 			tasksCount++;
+			checkAllTasksFinished();
 			break;
 
 		case PLACEMENT_RESULT_RETURN_FINISHED:
@@ -315,7 +364,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 				} else
 					simLog.printSameLine("#", "red");
 			}
-			schedule(this, SimulationParameters.simulationDuration / 100, SHOW_PROGRESS);
+			showProgressEvent = schedule(this, config.getSimulationDuration() / 100, SHOW_PROGRESS);
 			break;
 
 		case UPDATE_REAL_TIME_CHARTS:
@@ -323,7 +372,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 			simulationVisualizer.updateCharts();
 
 			// Schedule the next update.
-			schedule(this, SimulationParameters.chartsUpdateInterval, UPDATE_REAL_TIME_CHARTS);
+			updateChartsEvent = schedule(this, SimulationParameters.chartsUpdateInterval, UPDATE_REAL_TIME_CHARTS);
 			break;
 
 		case PRINT_LOG:
@@ -337,10 +386,15 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 				// especially when 1% doesn't affect the simulation results that much, change
 				// this value to lower ( 95% or 90%) in order to make simulation faster. however
 				// this may affect the results.
-				schedule(this, 10, PRINT_LOG);
+				// Instead of polling, PRINT_LOG is scheduled again once the last task ends.
+				waitingForTasks = true;
 				break;
 			}
 
+			// Stop the periodic events.
+			cancel(showProgressEvent);
+			cancel(updateChartsEvent);
+
 			simLog.printSameLine(" 100% ]", "red");
 
 			if (SimulationParameters.displayRealTimeCharts && !SimulationParameters.parallelism_enabled) {
@@ -369,6 +423,19 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 
 	}
 
+	/**
+	 * Ends the simulation once the last task is done, when the simulation time is
+	 * over and the simulation is waiting for the remaining tasks.
+	 * 
+	 * @see SimulationParameters#waitForAllTasksToFinish
+	 */
+	protected void checkAllTasksFinished() {
+		if (waitingForTasks && tasksCount >= simLog.getGeneratedTasks()) {
+			waitingForTasks = false;
+			scheduleNow(this, PRINT_LOG);
+		}
+	}
+
 	protected void generateAndScheduleNewTasks(ComputingNode cn){
 		//inizio a generare i task per l'edge device che ha ottenuto il placement
 		DefaultTaskGenerator tasksGenerator = new DefaultTaskGenerator(this);
@@ -442,6 +509,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 			simLog.incrementTasksFailedLackOfRessources(task);
 			tasksCount++;
 			failedTasksCount++;
+			checkAllTasksFinished();
 			return;
 		}
 
@@ -625,6 +693,7 @@ public class DefaultSimulationManager extends SimulationManager implements OnSim
 		// Keep record of the failed and returned tasks
 		failedTasksCount++;
 		tasksCount++;
+		checkAllTasksFinished();
 
 		task.getOffloadingDestination().incrementTasksFailed();									//aggiunto per visualizzare in tempo reale i task falliti dalle VM
 
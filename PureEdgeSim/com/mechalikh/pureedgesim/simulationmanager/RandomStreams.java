@@ -0,0 +1,215 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationmanager;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * The random generators of a simulation run. All the streams are derived from a
+ * single seeded generator, so a run is reproducible from its seed, and each
+ * module (task generator, mobility model of each device, ...) gets its own
+ * stream, regardless of the order in which the other modules draw their values.
+ * Unlike {@link java.security.SecureRandom}, the streams never block waiting
+ * for entropy.
+ * <p>
+ * The algorithm of the streams is selected using the "random_generator"
+ * parameter:
+ * <ul>
+ * <li>SPLITTABLE (default): each stream is split from a
+ * {@link SplittableRandom}, the streams are statistically independent.</li>
+ * <li>XOROSHIRO: each stream is a xoroshiro128++ generator seeded from the
+ * master generator, the fastest option.</li>
+ * <li>JDK_RANDOM: each stream is a {@link Random} seeded from the master
+ * generator, slower as it is thread-safe.</li>
+ * </ul>
+ * The streams are returned as {@link Random} instances so they can replace the
+ * existing generators, but they are not meant to be shared between threads.
+ *
+ * @see SimulationManager#getRandomStreams()
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationConfig#getSeed()
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#randomGenerator
+ * @since PureEdgeSim 5.3
+ */
+public class RandomStreams {
+
+	protected final long seed;
+
+	protected final String generator;
+
+	protected final SplittableRandom master;
+
+	/**
+	 * Creates the random streams of a run.
+	 *
+	 * @param seed      the seed of the run.
+	 * @param generator the algorithm of the streams: "SPLITTABLE" (default),
+	 *                  "XOROSHIRO" or "JDK_RANDOM".
+	 */
+	public RandomStreams(long seed, String generator) {
+		this.seed = seed;
+		this.generator = generator;
+		this.master = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Returns a new random stream. The streams depend on the order in which they
+	 * are created, so they should be created in a deterministic order (e.g., when
+	 * the modules are created).
+	 *
+	 * @return the new stream.
+	 */
+	public synchronized Random newStream() {
+		if ("XOROSHIRO".equals(generator))
+			return new XoroshiroStream(master.nextLong(), master.nextLong());
+		if ("JDK_RANDOM".equals(generator))
+			return new Random(master.nextLong());
+		return new SplitStream(master.split());
+	}
+
+	/**
+	 * @return the seed of the run.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return the algorithm of the streams.
+	 */
+	public String getGenerator() {
+		return generator;
+	}
+
+	/**
+	 * A {@link Random} that is seeded once, by the simulation, and draws all its
+	 * values from {@link #nextLong()}.
+	 */
+	protected abstract static class Stream extends Random {
+
+		private static final long serialVersionUID = 1L;
+
+		private boolean initialized;
+
+		protected Stream() {
+			super(0);
+			initialized = true;
+		}
+
+		@Override
+		public void setSeed(long seed) {
+			// Called by the constructor of Random, before the stream is initialized.
+			if (initialized)
+				throw new UnsupportedOperationException("The random streams are seeded by the simulation.");
+		}
+
+		@Override
+		public abstract long nextLong();
+
+		@Override
+		protected int next(int bits) {
+			return (int) (nextLong() >>> (64 - bits));
+		}
+
+		@Override
+		public int nextInt() {
+			return (int) (nextLong() >>> 32);
+		}
+
+		@Override
+		public double nextDouble() {
+			return (nextLong() >>> 11) * 0x1.0p-53;
+		}
+
+		@Override
+		public boolean nextBoolean() {
+			return nextLong() < 0;
+		}
+
+	}
+
+	/**
+	 * A stream that draws its values from a {@link SplittableRandom}.
+	 */
+	protected static class SplitStream extends Stream {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient SplittableRandom random;
+
+		protected SplitStream(SplittableRandom random) {
+			this.random = random;
+		}
+
+		@Override
+		public long nextLong() {
+			return random.nextLong();
+		}
+
+		@Override
+		public int nextInt() {
+			return random.nextInt();
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			return random.nextInt(bound);
+		}
+
+		@Override
+		public double nextDouble() {
+			return random.nextDouble();
+		}
+
+	}
+
+	/**
+	 * A xoroshiro128++ generator (Blackman and Vigna): 128 bits of state, and a
+	 * few shifts and rotations per value.
+	 */
+	protected static class XoroshiroStream extends Stream {
+
+		private static final long serialVersionUID = 1L;
+
+		private long s0;
+
+		private long s1;
+
+		protected XoroshiroStream(long s0, long s1) {
+			// The state must not be all zeros.
+			this.s0 = (s0 | s1) == 0 ? 0x9E3779B97F4A7C15L : s0;
+			this.s1 = s1;
+		}
+
+		@Override
+		public long nextLong() {
+			long x0 = s0;
+			long x1 = s1;
+			long result = Long.rotateLeft(x0 + x1, 17) + x0;
+			x1 ^= x0;
+			s0 = Long.rotateLeft(x0, 49) ^ x1 ^ (x1 << 21);
+			s1 = Long.rotateLeft(x1, 28);
+			return result;
+		}
+
+	}
+
+}
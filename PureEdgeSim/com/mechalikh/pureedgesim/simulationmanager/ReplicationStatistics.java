@@ -0,0 +1,236 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationmanager;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mechalikh.pureedgesim.scenariomanager.Scenario;
+
+/**
+ * Aggregates the results of the replications of each scenario as the runs
+ * finish. The mean and variance of every numeric results column are updated
+ * online (Welford's algorithm), so no run has to be kept in memory, and the 95%
+ * confidence interval of the mean is printed after each run.
+ * <p>
+ * Once a scenario has run at least
+ * {@link com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#minReplications
+ * minReplications} times and the half-width of the confidence interval of the
+ * stopping metric is below the requested fraction of its mean, the scenario
+ * has converged and its remaining replications are skipped.
+ *
+ * @see com.mechalikh.pureedgesim.scenariomanager.ReplicatedScenarios
+ * @see Simulation#isCompleted(Scenario)
+ * @since PureEdgeSim 5.3
+ */
+public class ReplicationStatistics {
+
+	/**
+	 * The name of the file, in the output folder of the simulation, where the
+	 * summary of the replications is saved.
+	 */
+	public static final String RESULTS_FILE = "replication_results.csv";
+
+	/**
+	 * The 0.975 quantiles of the Student's t-distribution, for 1 to 30 degrees of
+	 * freedom. The normal quantile is used above.
+	 */
+	private static final double[] T_QUANTILES = { 12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262,
+			2.228, 2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069, 2.064,
+			2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+
+	private static final double NORMAL_QUANTILE = 1.96;
+
+	protected final String[] columns;
+
+	protected final int metric;
+
+	protected final int minReplications;
+
+	protected final double precision;
+
+	protected final Map<String, Group> groups = new LinkedHashMap<>();
+
+	protected final Set<String> converged = ConcurrentHashMap.newKeySet();
+
+	protected final DecimalFormat decimalFormat;
+
+	/**
+	 * Creates the statistics of the replications.
+	 *
+	 * @param columns         the names of the results columns.
+	 * @param metric          the name of the column used to stop the
+	 *                        replications.
+	 * @param minReplications the number of runs before the confidence interval is
+	 *                        checked.
+	 * @param precision       the maximum half-width of the confidence interval,
+	 *                        relative to the mean, 0 to never stop early.
+	 */
+	public ReplicationStatistics(String[] columns, String metric, int minReplications, double precision) {
+		this.columns = columns;
+		this.metric = Arrays.asList(columns).indexOf(metric);
+		if (this.metric == -1)
+			throw new IllegalArgumentException(
+					getClass().getSimpleName() + " - Error, unknown results column \"" + metric + "\".");
+		this.minReplications = minReplications;
+		this.precision = precision;
+
+		DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.GERMAN);
+		symbols.setDecimalSeparator('.');
+		decimalFormat = new DecimalFormat("######.####", symbols);
+	}
+
+	/**
+	 * Adds the results of a finished replication.
+	 *
+	 * @param scenario the replication.
+	 * @param results  the results row written by the simulation logger.
+	 */
+	public synchronized void add(Scenario scenario, String results) {
+		String key = scenario.getBaseKey();
+		Group group = groups.computeIfAbsent(key, k -> new Group(columns.length));
+		String[] values = results.split(";", -1);
+		for (int i = 0; i < Math.min(values.length, columns.length); i++)
+			group.accumulators[i].add(values[i]);
+		group.runs++;
+
+		Accumulator accumulator = group.accumulators[metric];
+		SimLog.println("%s - %s: %s = %s +/- %s (95%% CI, %d runs)", getClass().getSimpleName(), key, columns[metric],
+				format(accumulator.mean), format(accumulator.getHalfWidth()), accumulator.count);
+
+		if (precision > 0 && accumulator.count >= minReplications
+				&& accumulator.getHalfWidth() <= precision * Math.abs(accumulator.mean) && converged.add(key))
+			SimLog.println("%s - %s converged after %d runs, its remaining replications are skipped",
+					getClass().getSimpleName(), key, group.runs);
+	}
+
+	/**
+	 * Returns whether the replications of the scenario can stop.
+	 *
+	 * @param scenario the scenario.
+	 * @return true if the confidence interval of the scenario is narrow enough.
+	 */
+	public boolean isConverged(Scenario scenario) {
+		return converged.contains(scenario.getBaseKey());
+	}
+
+	/**
+	 * Saves the mean and the half-width of the 95% confidence interval of each
+	 * numeric column, for each scenario.
+	 *
+	 * @param file the summary file.
+	 */
+	public synchronized void save(File file) {
+		boolean[] numeric = new boolean[columns.length];
+		for (Group group : groups.values())
+			for (int i = 0; i < columns.length; i++)
+				numeric[i] |= group.accumulators[i].count > 0;
+
+		file.getParentFile().mkdirs();
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+			StringBuilder header = new StringBuilder("Run;Replications");
+			for (int i = 0; i < columns.length; i++)
+				if (numeric[i])
+					header.append(';').append(columns[i]).append(" (mean);").append(columns[i]).append(" (95% CI)");
+			writer.append(header);
+			writer.newLine();
+			for (Map.Entry<String, Group> entry : groups.entrySet()) {
+				StringBuilder row = new StringBuilder(entry.getKey()).append(';').append(entry.getValue().runs);
+				for (int i = 0; i < columns.length; i++)
+					if (numeric[i]) {
+						Accumulator accumulator = entry.getValue().accumulators[i];
+						row.append(';').append(format(accumulator.mean)).append(';')
+								.append(format(accumulator.getHalfWidth()));
+					}
+				writer.append(row);
+				writer.newLine();
+			}
+		} catch (IOException e) {
+			SimLog.println("%s - Unable to save the replication results: %s", getClass().getSimpleName(),
+					e.getMessage());
+		}
+	}
+
+	protected String format(double value) {
+		return Double.isNaN(value) ? "" : decimalFormat.format(value);
+	}
+
+	/**
+	 * The statistics of the replications of one scenario.
+	 */
+	protected static class Group {
+		protected final Accumulator[] accumulators;
+		protected int runs;
+
+		protected Group(int columns) {
+			accumulators = new Accumulator[columns];
+			for (int i = 0; i < columns; i++)
+				accumulators[i] = new Accumulator();
+		}
+	}
+
+	/**
+	 * The running mean and variance of one results column, the values that are
+	 * not numbers are ignored.
+	 */
+	protected static class Accumulator {
+		protected long count;
+		protected double mean;
+		protected double m2;
+
+		protected void add(String value) {
+			double number;
+			try {
+				number = Double.parseDouble(value.trim());
+			} catch (NumberFormatException e) {
+				return;
+			}
+			if (Double.isNaN(number) || Double.isInfinite(number))
+				return;
+			count++;
+			double delta = number - mean;
+			mean += delta / count;
+			m2 += delta * (number - mean);
+		}
+
+		/**
+		 * @return the half-width of the 95% confidence interval of the mean, NaN
+		 *         with less than two values.
+		 */
+		protected double getHalfWidth() {
+			if (count < 2)
+				return Double.NaN;
+			double quantile = count - 1 <= T_QUANTILES.length ? T_QUANTILES[(int) count - 2] : NORMAL_QUANTILE;
+			return quantile * Math.sqrt(m2 / (count - 1) / count);
+		}
+	}
+
+}
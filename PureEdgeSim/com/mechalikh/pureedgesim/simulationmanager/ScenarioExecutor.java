@@ -0,0 +1,220 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationmanager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mechalikh.pureedgesim.scenariomanager.Scenario;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
+
+/**
+ * Runs the simulation scenarios in parallel on its own pool of worker threads.
+ * The scenarios are put in a shared queue from which each worker takes the next
+ * one as soon as it is free, so a slow scenario does not hold up the others.
+ * <p>
+ * The scenarios are queued from the longest to the shortest, according to the
+ * wall time they took in the previous runs (scenarios that have never been run
+ * come first). The wall time of each scenario is printed at the end and saved
+ * for the next runs.
+ *
+ * @see Simulation#launchParallelSimulations()
+ * @see SimulationParameters#parallelWorkers
+ * @since PureEdgeSim 5.3
+ */
+public class ScenarioExecutor {
+
+	/**
+	 * The name of the file, in the output folder of the simulation, where the wall
+	 * time of each scenario is saved.
+	 */
+	public static final String COSTS_FILE = "scenario_costs.properties";
+
+	protected final Simulation simulation;
+
+	protected final int workers;
+
+	protected final Queue<Integer> queue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The wall time of each scenario in nanoseconds, or -1 if it has not finished.
+	 */
+	protected final long[] wallTimes;
+
+	/**
+	 * The wall time of the scenarios in the previous runs, in milliseconds.
+	 */
+	protected final Properties costs = new Properties();
+
+	/**
+	 * Creates an executor for the scenarios of the given simulation.
+	 * 
+	 * @param simulation the simulation.
+	 * @param workers    the number of worker threads.
+	 */
+	public ScenarioExecutor(Simulation simulation, int workers) {
+		this.simulation = simulation;
+		this.workers = Math.max(1, workers);
+		wallTimes = new long[simulation.getScenarios().size()];
+		Arrays.fill(wallTimes, -1);
+	}
+
+	/**
+	 * Runs all the scenarios and waits until they are finished.
+	 */
+	public void execute() {
+		loadCosts();
+		List<Scenario> scenarios = simulation.getScenarios();
+		// Get the cost of each scenario once, rather than at each comparison.
+		long[] estimatedCosts = new long[scenarios.size()];
+		List<Integer> order = new ArrayList<>(scenarios.size());
+		for (int i = 0; i < scenarios.size(); i++) {
+			Scenario scenario = scenarios.get(i);
+			if (!simulation.isCompleted(scenario)) {
+				estimatedCosts[i] = getEstimatedCost(scenario);
+				order.add(i);
+			}
+		}
+		// Longest first, the sort is stable so the scenarios keep their order otherwise.
+		order.sort((first, second) -> Long.compare(estimatedCosts[second], estimatedCosts[first]));
+		queue.addAll(order);
+
+		SimLog.println("%s - Running %d scenarios on %d workers...", getClass().getSimpleName(), order.size(),
+				workers);
+
+		AtomicInteger threadsCount = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(workers,
+				runnable -> new Thread(runnable, "PureEdgeSim-worker-" + threadsCount.incrementAndGet()));
+		List<Callable<Object>> tasks = new ArrayList<>(workers);
+		for (int i = 0; i < workers; i++) {
+			SimulationThread thread = new SimulationThread(simulation, i, this);
+			tasks.add(Executors.callable(thread::startSimulation));
+		}
+		try {
+			pool.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			pool.shutdownNow();
+		}
+
+		printWallTimes();
+		saveCosts();
+	}
+
+	/**
+	 * Returns the next scenario to run.
+	 * 
+	 * @return the index of the scenario, or -1 if there is none left.
+	 */
+	public int nextScenario() {
+		Integer next = queue.poll();
+		// A queued scenario can be completed in the meantime, once its replications have converged.
+		while (next != null && simulation.isCompleted(simulation.getScenarios().get(next)))
+			next = queue.poll();
+		return next == null ? -1 : next;
+	}
+
+	/**
+	 * Records the wall time of a finished scenario.
+	 * 
+	 * @param scenario the index of the scenario.
+	 * @param nanos    its wall time in nanoseconds.
+	 */
+	public void scenarioFinished(int scenario, long nanos) {
+		wallTimes[scenario] = nanos;
+	}
+
+	/**
+	 * Returns the wall time of the scenario in the previous runs.
+	 * 
+	 * @param scenario the scenario.
+	 * @return the wall time in milliseconds, or Long.MAX_VALUE if unknown.
+	 */
+	protected long getEstimatedCost(Scenario scenario) {
+		String cost = costs.getProperty(getKey(scenario));
+		try {
+			return cost == null ? Long.MAX_VALUE : Long.parseLong(cost);
+		} catch (NumberFormatException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	protected String getKey(Scenario scenario) {
+		return scenario.getKey();
+	}
+
+	protected void printWallTimes() {
+		List<Scenario> scenarios = simulation.getScenarios();
+		for (int i = 0; i < scenarios.size(); i++) {
+			if (wallTimes[i] == -1 && simulation.isCompleted(scenarios.get(i)))
+				continue;
+			if (wallTimes[i] == -1)
+				SimLog.println("%s - %s: not finished", getClass().getSimpleName(), scenarios.get(i));
+			else
+				SimLog.println("%s - %s: %.3f s", getClass().getSimpleName(), scenarios.get(i), wallTimes[i] / 1e9);
+		}
+	}
+
+	protected File getCostsFile() {
+		return new File(SimulationParameters.settingspath + "/" + SimulationParameters.simName + "/Output", COSTS_FILE);
+	}
+
+	protected void loadCosts() {
+		File file = getCostsFile();
+		if (!file.exists())
+			return;
+		try (InputStream input = new FileInputStream(file)) {
+			costs.load(input);
+		} catch (IOException e) {
+			SimLog.println("%s - Unable to read the scenario costs: %s", getClass().getSimpleName(), e.getMessage());
+		}
+	}
+
+	protected void saveCosts() {
+		List<Scenario> scenarios = simulation.getScenarios();
+		for (int i = 0; i < scenarios.size(); i++)
+			if (wallTimes[i] != -1)
+				costs.setProperty(getKey(scenarios.get(i)), String.valueOf(wallTimes[i] / 1_000_000));
+		File file = getCostsFile();
+		file.getParentFile().mkdirs();
+		try (OutputStream output = new FileOutputStream(file)) {
+			costs.store(output, "Wall time of the simulation scenarios (ms)");
+		} catch (IOException e) {
+			SimLog.println("%s - Unable to save the scenario costs: %s", getClass().getSimpleName(), e.getMessage());
+		}
+	}
+
+}
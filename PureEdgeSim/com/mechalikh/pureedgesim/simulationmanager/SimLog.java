@@ -53,6 +53,27 @@ public class SimLog {
 	public static final int NO_TIME = 0;
 	public static final int SAME_LINE = 1;
 	public static final int DEFAULT = 2;
+	/**
+	 * The header of the results CSV file, without the applications names.
+	 */
+	public static final String RESULTS_HEADER = "Orchestration architecture;Container Orchestration algorithm;Tasks Orchestration Algorithm;Edge devices count;"
+			+ "Total tasks execution delay (s);Average execution delay (s);Total tasks waiting time (s);"
+			+ "Average waiting time (s);Number of generated tasks;Tasks successfully executed;Tasks Success Rate;"
+			+ "Task not executed (No resources available or long waiting time);Tasks failed (delay);Tasks failed (device dead);"
+			+ "Tasks failed (mobility);Tasks not generated due to the death of devices;Total tasks executed (Cloud);"
+			+ "Tasks successfully executed (Cloud);Total tasks executed (Edge);Tasks successfully executed (Edge);"
+			+ "Total tasks executed (Far Edge);Tasks successfully executed (Far Edge);Total tasks executed (Mist);Tasks successfully executed (Mist);"
+			+ "Network usage (s);Wan usage (s);Lan usage (s);Fiber usage (s);Total network traffic (MBytes); Containers wan usage (s); Containers lan usage (s); Containers Fiber usage (s);Average bandwidth per task (Mbps);Average CPU usage (%);"
+			+ "Average CPU usage (Cloud) (%);Average CPU usage (Edge) (%);Average CPU usage (Far Edge) (%);Average CPU usage (Mist) (%);"
+			+ "Energy consumption of computing nodes (Wh);Average energy consumption (Wh/Computing node);Cloud energy consumption (Wh);"
+			+ "Average Cloud energy consumption (Wh/Data center);Edge energy consumption (Wh);Average Edge energy consumption (Wh/Data center);"
+			+ "Far Edge energy consumption (Wh);Average Far Edge energy consumption (Wh/Device);"
+			+ "Mist energy consumption (Wh);Average Mist energy consumption (Wh/Device);"
+			+ "WAN energy consumption (Wh); MAN energy consumption (Wh); LAN energy consumption (Wh); Fiber energy consumption (Wh);"
+			+ "WiFi energy consumption (Wh); LTE energy consumption (Wh); Ethernet energy consumption (Wh);"
+			+ "Dead devices count;Average remaining power (Wh);Average remaining power (%);First edge device death time (s);"
+			+ "List of remaining power (%) (only battery powered devices / 0 = dead);List of the time when each device died (s)";
+
 	//aggiunta mia per tenere conto della latency effettiva per applicazione. Scrivo il nome dell'app nella stringa; nel vettore sommo in prima posizione le latency e nel secondo conto quanti task, per fare media
 	protected Map<String, Vector<Double>> applicationLatencyMap = new LinkedHashMap<>(); 			
 	protected ArrayList<String> resultsList = new ArrayList<String>();
@@ -64,6 +85,7 @@ public class SimLog {
 	protected String simStartTime;
 	protected SimulationManager simulationManager;
 	protected boolean isFirstIteration;
+	protected String lastResults;
 
 	// Tasks execution results
 	protected int generatedTasksCount = 0;
@@ -111,31 +133,14 @@ public class SimLog {
 
 		if (isFirstIteration) {
 			// Add the CSV file header
-			resultsList.add("Orchestration architecture;Container Orchestration algorithm;Tasks Orchestration Algorithm;Edge devices count;"
-					+ "Total tasks execution delay (s);Average execution delay (s);Total tasks waiting time (s);"
-					+ "Average waiting time (s);Number of generated tasks;Tasks successfully executed;Tasks Success Rate;"
-					+ "Task not executed (No resources available or long waiting time);Tasks failed (delay);Tasks failed (device dead);"
-					+ "Tasks failed (mobility);Tasks not generated due to the death of devices;Total tasks executed (Cloud);"
-					+ "Tasks successfully executed (Cloud);Total tasks executed (Edge);Tasks successfully executed (Edge);"
-					+ "Total tasks executed (Far Edge);Tasks successfully executed (Far Edge);Total tasks executed (Mist);Tasks successfully executed (Mist);"
-					+ "Network usage (s);Wan usage (s);Lan usage (s);Fiber usage (s);Total network traffic (MBytes); Containers wan usage (s); Containers lan usage (s); Containers Fiber usage (s);Average bandwidth per task (Mbps);Average CPU usage (%);"
-					+ "Average CPU usage (Cloud) (%);Average CPU usage (Edge) (%);Average CPU usage (Far Edge) (%);Average CPU usage (Mist) (%);"
-					+ "Energy consumption of computing nodes (Wh);Average energy consumption (Wh/Computing node);Cloud energy consumption (Wh);"
-					+ "Average Cloud energy consumption (Wh/Data center);Edge energy consumption (Wh);Average Edge energy consumption (Wh/Data center);"
-					+ "Far Edge energy consumption (Wh);Average Far Edge energy consumption (Wh/Device);"
-					+ "Mist energy consumption (Wh);Average Mist energy consumption (Wh/Device);"
-					+ "WAN energy consumption (Wh); MAN energy consumption (Wh); LAN energy consumption (Wh); Fiber energy consumption (Wh);"
-					+ "WiFi energy consumption (Wh); LTE energy consumption (Wh); Ethernet energy consumption (Wh);"
-					+ "Dead devices count;Average remaining power (Wh);Average remaining power (%);First edge device death time (s);"
-					+ "List of remaining power (%) (only battery powered devices / 0 = dead);List of the time when each device died (s)");
-			
-			//inizializzo la mappa delle latency
-			for(Application app : SimulationParameters.applicationList){
-				applicationLatencyMap.put(app.getName(), new Vector<>());
-				applicationLatencyMap.get(app.getName()).add(0.0);
-				applicationLatencyMap.get(app.getName()).add(0.0);
-			}
-			
+			resultsList.add(RESULTS_HEADER);
+		}
+
+		//inizializzo la mappa delle latency (ad ogni iterazione, non solo alla prima)
+		for(Application app : SimulationParameters.applicationList){
+			applicationLatencyMap.put(app.getName(), new Vector<>());
+			applicationLatencyMap.get(app.getName()).add(0.0);
+			applicationLatencyMap.get(app.getName()).add(0.0);
 		}
 	}
 
@@ -523,30 +528,55 @@ public class SimLog {
 
 	//funzione per scrivere nel CSV anche le latenze medie per APP
 	protected void writeAppsResults(){
-		//inizio mettendo una virgola
-		this.resultsList.set(0, this.resultsList.get(0) + ";");
-		//inserisco le APP nell'header CSV
-		for(Application app : SimulationParameters.applicationList){
-			if(app != SimulationParameters.applicationList.get(SimulationParameters.applicationList.size()-1))
-				resultsList.set(0, resultsList.get(0)+app.getName()+";");
-			else	
-				resultsList.set(0, resultsList.get(0)+app.getName());
+		// The header is only present in the first iteration, the results are always in the last row.
+		int row = resultsList.size() - 1;
+		if (row > 0) {
+			//inizio mettendo una virgola
+			this.resultsList.set(0, this.resultsList.get(0) + ";");
+			//inserisco le APP nell'header CSV
+			this.resultsList.set(0, this.resultsList.get(0) + getApplicationsHeader());
 		}
 		//inizio mettendo una virgola
-		this.resultsList.set(1, this.resultsList.get(1) + ";");
+		this.resultsList.set(row, this.resultsList.get(row) + ";");
 		//addesso inserisco i valori di latency
 		for(Application app : SimulationParameters.applicationList){
 			if(app != SimulationParameters.applicationList.get(SimulationParameters.applicationList.size()-1))
-				this.resultsList.set(1, this.resultsList.get(1) + String.valueOf(applicationLatencyMap.get(app.getName()).get(0)/applicationLatencyMap.get(app.getName()).get(1) + ";"));
+				this.resultsList.set(row, this.resultsList.get(row) + String.valueOf(applicationLatencyMap.get(app.getName()).get(0)/applicationLatencyMap.get(app.getName()).get(1) + ";"));
 			else
-				this.resultsList.set(1, this.resultsList.get(1) + String.valueOf(applicationLatencyMap.get(app.getName()).get(0)/applicationLatencyMap.get(app.getName()).get(1)));
+				this.resultsList.set(row, this.resultsList.get(row) + String.valueOf(applicationLatencyMap.get(app.getName()).get(0)/applicationLatencyMap.get(app.getName()).get(1)));
 			}
 	}
 
+	/**
+	 * Returns the names of the applications, i.e., the header of the average
+	 * latency columns of the results.
+	 * 
+	 * @return the names separated by semicolons.
+	 */
+	public static String getApplicationsHeader() {
+		StringBuilder header = new StringBuilder();
+		for (Application app : SimulationParameters.applicationList) {
+			if (header.length() > 0)
+				header.append(";");
+			header.append(app.getName());
+		}
+		return header.toString();
+	}
+
+	/**
+	 * Returns the results row of the last iteration, as written in the CSV file.
+	 * 
+	 * @return the results, or null if the iteration has not finished yet.
+	 */
+	public String getLastResults() {
+		return lastResults;
+	}
+
 	public void saveLog() {
 
 		//scrivo i risultati in termini di latenza delle APP
 		writeAppsResults();
+		lastResults = resultsList.get(resultsList.size() - 1);
 
 		// writing results in csv file
 		writeFile(getFileName(".csv"), getResultsList());
@@ -570,7 +600,7 @@ public class SimLog {
 		try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(fileName, true))) {
 			//modifica mia per compilare il file excel in automatico
 			if(existingFolder){	
-				String str = Lines.get(1);
+				String str = Lines.get(Lines.size() - 1);
 				str = str.replace('.', ',');				//per modificare i punti dei numeri decimali con virgole, in modo che excel capisca
 				bufferedWriter.append(str);
 				bufferedWriter.newLine();
@@ -20,13 +20,18 @@
  **/
 package com.mechalikh.pureedgesim.simulationmanager;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 
+import com.mechalikh.pureedgesim.scenariomanager.ParameterSweep;
 import com.mechalikh.pureedgesim.scenariomanager.ParametersParser;
+import com.mechalikh.pureedgesim.scenariomanager.ReplicatedScenarios;
 import com.mechalikh.pureedgesim.scenariomanager.Scenario;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationConfig;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters.TYPES;
 
@@ -36,6 +41,7 @@ import com.mechalikh.pureedgesim.scenariomanager.DatacentersParser;
 import com.mechalikh.pureedgesim.scenariomanager.EdgeDevicesParser;
 import com.mechalikh.pureedgesim.scenariomanager.ONTParser;
 import com.mechalikh.pureedgesim.scenariomanager.SDNParser;
+import com.mechalikh.pureedgesim.scenariomanager.SweepParser;
 
 import com.mechalikh.pureedgesim.taskgenerator.Application;
 
@@ -128,6 +134,20 @@ public class Simulation extends SimulationAbstract {
 	 */
 	protected List<SimulationThread> simulationList;
 
+	/**
+	 * The results of the parameter sweep, or null when there is no sweep.
+	 * 
+	 * @see #loadScenarios()
+	 */
+	protected SweepResults sweepResults;
+
+	/**
+	 * The statistics of the replications, or null when each scenario is run once.
+	 * 
+	 * @see #loadScenarios()
+	 */
+	protected ReplicationStatistics replicationStatistics;
+
 	/**
 	 * Creates a PureEdgeSim simulation with default predefined models.
 	 */
@@ -155,7 +175,11 @@ public class Simulation extends SimulationAbstract {
 		// Walk through all orchestration scenarios.
 		loadScenarios();
 
-		if (SimulationParameters.parallelism_enabled) {
+		if (SimulationParameters.parallelism_enabled && hasSharedModel()) {
+			SimLog.println("%s - The DQN model is shared by the runs, they will be run sequentially",
+					getClass().getSimpleName());
+			new SimulationThread(this, 0, 1).startSimulation();
+		} else if (SimulationParameters.parallelism_enabled) {
 			// Parallel simulation.
 			launchParallelSimulations();
 		} else {
@@ -163,6 +187,9 @@ public class Simulation extends SimulationAbstract {
 			new SimulationThread(this, 0, 1).startSimulation();
 		}
 
+		if (replicationStatistics != null)
+			replicationStatistics.save(new File(getOutputFolder(), ReplicationStatistics.RESULTS_FILE));
+
 		// At this point, the simulation has finished. So, save the finish time.
 		Date finishTime = Calendar.getInstance().getTime();
 
@@ -185,32 +212,26 @@ public class Simulation extends SimulationAbstract {
 				&& new ParametersParser(SimulationParameters.simulationParametersFile).parse()
 				//&& new ApplicationFileParser(SimulationParameters.applicationFile).parse());
 				&& new UsersFileParser(SimulationParameters.userFile).parse()
-				&& new NewApplicationFileParser(SimulationParameters.applicationFile).parse());
+				&& new NewApplicationFileParser(SimulationParameters.applicationFile).parse()
+				&& new SweepParser(SimulationParameters.sweepFile).parse());
 	}
 
 	/**
 	 * Allows to run parallel simulations to take advantage of available CPU cores,
-	 * when this option is enabled in the simulation settings.
+	 * when this option is enabled in the simulation settings. The scenarios are
+	 * distributed among the workers of a {@link ScenarioExecutor}.
 	 * 
 	 * @see com.mechalikh.pureedgesim.simulationmanager.SimulationAbstract
+	 * @see SimulationParameters#parallelWorkers
 	 */
 	protected void launchParallelSimulations() {
 
 		// Get the number of CPU cores
 		cpuCores = Runtime.getRuntime().availableProcessors();
 
-		// Initialize the list of parallel simulations
-		List<SimulationThread> simulationList = new ArrayList<>(cpuCores);
-
-		// Generate the parallel simulations.
-		for (int fromIteration = 0; fromIteration < Math.min(cpuCores, iterations.size()); fromIteration++) {
-			// The number of parallel simulations will be limited by the minimum value
-			// between CPU cores and number of scenarios.
-			simulationList.add(new SimulationThread(this, fromIteration, cpuCores));
-		}
-
-		// Finally, run them.
-		simulationList.parallelStream().forEach(SimulationThread::startSimulation);
+		// The number of workers will be limited by the number of scenarios.
+		int workers = SimulationParameters.parallelWorkers > 0 ? SimulationParameters.parallelWorkers : cpuCores;
+		new ScenarioExecutor(this, Math.min(workers, iterations.size())).execute();
 
 	}
 
@@ -222,12 +243,59 @@ public class Simulation extends SimulationAbstract {
 	 * @see #setCustomSettingsFolder(String)
 	 */
 	protected void loadScenarios() {
-		// Save the different simulation runs (i.e., scenarios) in the scenarios List
-		for (int algorithmID = 0; algorithmID < SimulationParameters.containerOrchestrationAlgorithms.length; algorithmID++) {
-			for (int architectureID = 0; architectureID < SimulationParameters.orchestrationArchitectures.length; architectureID++) {
-				iterations.add(new Scenario(getEdgeDeviceNumber(), algorithmID, architectureID));
+		if (!SimulationParameters.sweepParameters.isEmpty()) {
+			// The scenarios are created lazily from the sweep grid.
+			ParameterSweep sweep = new ParameterSweep(SimulationConfig.fromDefaults(), getEdgeDeviceNumber(),
+					SimulationParameters.sweepParameters);
+			iterations = sweep;
+			sweepResults = new SweepResults(new File(getOutputFolder(), SweepResults.RESULTS_FILE),
+					sweep.getParameters());
+			SimLog.println("%s - Parameter sweep of %d runs over %s, %d already in the results", getClass().getSimpleName(),
+					sweep.size(), sweep.getParameters(), sweepResults.size());
+		} else {
+			// Save the different simulation runs (i.e., scenarios) in the scenarios List
+			for (int algorithmID = 0; algorithmID < SimulationParameters.containerOrchestrationAlgorithms.length; algorithmID++) {
+				for (int architectureID = 0; architectureID < SimulationParameters.orchestrationArchitectures.length; architectureID++) {
+					iterations.add(new Scenario(getEdgeDeviceNumber(), algorithmID, architectureID));
+				}
 			}
 		}
+
+		if (SimulationParameters.replications > 1) {
+			// Each scenario is run with several seeds, until its results are precise enough.
+			iterations = new ReplicatedScenarios(iterations, SimulationParameters.replications);
+			List<String> columns = new ArrayList<>(Arrays.asList(SimLog.RESULTS_HEADER.split("\\s*;\\s*")));
+			columns.addAll(Arrays.asList(SimLog.getApplicationsHeader().split(";")));
+			replicationStatistics = new ReplicationStatistics(columns.toArray(new String[0]),
+					SimulationParameters.replicationMetric, SimulationParameters.minReplications,
+					SimulationParameters.replicationPrecision);
+			SimLog.println("%s - Up to %d replications of each scenario, seed %d", getClass().getSimpleName(),
+					SimulationParameters.replications, SimulationParameters.seed);
+		}
+	}
+
+	/**
+	 * Returns whether the runs share a model, which prevents running them in
+	 * parallel: each run of the DQN algorithm loads the model saved by the
+	 * previous one, from the settings folder.
+	 * 
+	 * @return true if the runs must be sequential.
+	 */
+	protected boolean hasSharedModel() {
+		for (String algorithm : SimulationParameters.containerOrchestrationAlgorithms)
+			if ("DQN".equals(algorithm.trim()))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the folder where the results of the parameter sweep and of the
+	 * replications are saved.
+	 * 
+	 * @return the output folder of this simulation.
+	 */
+	protected File getOutputFolder() {
+		return new File(SimulationParameters.settingspath + "/" + SimulationParameters.simName + "/Output");
 	}
 
 	/**
@@ -261,6 +329,33 @@ public class Simulation extends SimulationAbstract {
 		return duration;
 	}
 
+	/**
+	 * Returns whether the scenario does not need to be run, because its results
+	 * are already in the results of the parameter sweep, or because the previous
+	 * replications of the scenario are precise enough.
+	 * 
+	 * @param scenario the scenario.
+	 * @return true if the scenario must be skipped.
+	 */
+	public boolean isCompleted(Scenario scenario) {
+		return (sweepResults != null && SimulationParameters.skipCompletedRuns && sweepResults.contains(scenario))
+				|| (replicationStatistics != null && replicationStatistics.isConverged(scenario));
+	}
+
+	/**
+	 * Called when a scenario has been run, to save its results in the results of
+	 * the parameter sweep and in the statistics of the replications (if any).
+	 * 
+	 * @param scenario the scenario.
+	 * @param simLog   the simulation logger of the run.
+	 */
+	public void scenarioFinished(Scenario scenario, SimLog simLog) {
+		if (sweepResults != null && simLog.getLastResults() != null)
+			sweepResults.write(scenario, simLog.getLastResults());
+		if (replicationStatistics != null && simLog.getLastResults() != null)
+			replicationStatistics.add(scenario, simLog.getLastResults());
+	}
+
 	/**
 	 * Gets the list of simulation scenarios.
 	 * 
@@ -50,7 +50,7 @@ public abstract class SimulationAbstract {
 
 	//MODIFICA MIA, prima non era presente ONT_FILE, SDN_FILE
 	public enum Files {
-		SIMULATION_PARAMETERS, APPLICATIONS_FILE, EDGE_DATACENTERS_FILE, EDGE_DEVICES_FILE, CLOUD_FILE, ONT_FILE, SDN_FILE, USERS_FILE
+		SIMULATION_PARAMETERS, APPLICATIONS_FILE, EDGE_DATACENTERS_FILE, EDGE_DEVICES_FILE, CLOUD_FILE, ONT_FILE, SDN_FILE, USERS_FILE, SWEEP_FILE
 	}
 
 	/**
@@ -237,6 +237,7 @@ public abstract class SimulationAbstract {
 		setCustomFilePath(settingsFolder + "ONT.xml", Files.ONT_FILE);							//MODIFICA MIA, aggiunto 
 		setCustomFilePath(settingsFolder + "SDN.xml", Files.SDN_FILE);							//MODIFICA MIA, aggiunto 
 		setCustomFilePath(settingsFolder + "cloud.xml", Files.CLOUD_FILE);
+		setCustomFilePath(settingsFolder + "sweep.properties", Files.SWEEP_FILE);
 		SimulationParameters.settingspath = settingsFolder;
 	}
 	
@@ -303,6 +304,15 @@ public abstract class SimulationAbstract {
 		setCustomFilePath(settingsFolder + ONTsXML, Files.ONT_FILE);
 	}
 
+	/**
+	 * Allows to specifically set the parameter sweep file.
+	 * 
+	 * @param settingsFolder the new settings folder to use.
+	 */
+	public void setSweepProperties(String settingsFolder, String sweepProperties){
+		setCustomFilePath(settingsFolder + sweepProperties, Files.SWEEP_FILE);
+	}
+
 	/**
 	 * Allows to set a custom path of each configuration file individually.
 	 * 
@@ -335,6 +345,9 @@ public abstract class SimulationAbstract {
 		case USERS_FILE:																	//MODIFICA MIA
 			SimulationParameters.userFile = path;										//prima questo case non era presente
 			break;																		//
+		case SWEEP_FILE:
+			SimulationParameters.sweepFile = path;
+			break;
 		default:
 			throw new IllegalArgumentException(getClass().getSimpleName() + " - Unknown file type");
 		}
@@ -26,10 +26,13 @@ import java.util.List;
 import com.mechalikh.pureedgesim.datacentersmanager.DataCentersManager;
 import com.mechalikh.pureedgesim.network.NetworkModel;
 import com.mechalikh.pureedgesim.scenariomanager.Scenario;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationConfig;
+import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.FutureQueue;
 import com.mechalikh.pureedgesim.simulationengine.PureEdgeSim;
 import com.mechalikh.pureedgesim.simulationengine.SimEntity;
 import com.mechalikh.pureedgesim.simulationvisualizer.SimulationVisualizer;
+import com.mechalikh.pureedgesim.taskgenerator.Application;
 import com.mechalikh.pureedgesim.taskgenerator.Task;
 import com.mechalikh.pureedgesim.taskgenerator.Container;
 import com.mechalikh.pureedgesim.taskorchestrator.ContainerOrchestrator;
@@ -85,6 +88,10 @@ public abstract class SimulationManager extends SimEntity {
 	protected List<Task> finishedTasks = new ArrayList<>();
 	protected List<Container> placedContainers = new ArrayList<>();
 	protected Scenario scenario;
+	protected SimulationConfig config;
+	protected List<Application> applicationList;
+	protected RandomStreams randomStreams;
+	protected int lastTaskId;
 	protected FutureQueue<Task> taskList;
 	protected FutureQueue<Container> containerList;
 
@@ -107,6 +114,9 @@ public abstract class SimulationManager extends SimEntity {
 		this.simulation = pureEdgeSim;
 		this.simLog = simLog;
 		this.scenario = scenario;
+		this.config = scenario.getConfig();
+		this.applicationList = config.copyApplications();
+		this.randomStreams = new RandomStreams(config.getSeed(), SimulationParameters.randomGenerator);
 		this.simulationId = simulationId;
 		this.iteration = iteration;
 
@@ -273,6 +283,52 @@ public abstract class SimulationManager extends SimEntity {
 		return scenario;
 	}
 	
+	/**
+	 * Returns the parameters of this simulation run.
+	 * 
+	 * @see Scenario#getConfig()
+	 * 
+	 * @return The configuration of this run.
+	 */
+	public SimulationConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Returns the applications of this simulation run. They are a copy of the ones
+	 * of the configuration, so the users can be deployed without affecting the
+	 * other runs.
+	 * 
+	 * @see SimulationConfig#copyApplications()
+	 * 
+	 * @return The list of applications.
+	 */
+	public List<Application> getApplicationList() {
+		return applicationList;
+	}
+
+	/**
+	 * Returns the random generators of this simulation run, seeded by the seed of
+	 * its configuration.
+	 * 
+	 * @see SimulationConfig#getSeed()
+	 * 
+	 * @return The random streams.
+	 */
+	public RandomStreams getRandomStreams() {
+		return randomStreams;
+	}
+
+	/**
+	 * Returns a new task ID. The IDs are unique within this simulation run, each
+	 * task generator uses this counter.
+	 * 
+	 * @return The ID of the next task.
+	 */
+	public int nextTaskId() {
+		return ++lastTaskId;
+	}
+
 	/**
 	 * Used to get the task failure rate.
 	 * 
@@ -74,6 +74,12 @@ public class SimulationThread {
 	 */
 	protected Simulation simulation;
 
+	/**
+	 * The executor from which the scenarios are taken, or null when they are taken
+	 * using the iteration step.
+	 */
+	protected ScenarioExecutor executor;
+
 	/**
 	 * Used to run parallel simulations. When parallelism is enabled in the
 	 * simulation settings, the simulation runs are divided between the CPU cores.
@@ -91,6 +97,21 @@ public class SimulationThread {
 		this.step = step;
 	}
 
+	/**
+	 * Used to run parallel simulations, where the scenarios are taken one at a time
+	 * from the shared queue of the executor.
+	 * 
+	 * @see ScenarioExecutor
+	 * 
+	 * @param simulation PureEdgeSim simulation object.
+	 * @param worker     The index of the worker running this thread.
+	 * @param executor   The executor that provides the scenarios.
+	 */
+	public SimulationThread(Simulation simulation, int worker, ScenarioExecutor executor) {
+		this(simulation, worker, 1);
+		this.executor = executor;
+	}
+
 	/**
 	 * Loops through the different scenarios, and launches the simulation manager
 	 * and the other modules.
@@ -108,7 +129,9 @@ public class SimulationThread {
 
 		try {
 			// Repeat the operation for different numbers of devices.
-			for (int it = fromIteration; it < simulation.getScenarios().size(); it += step) {
+			for (int it = nextScenario(-1); it != -1; it = nextScenario(it)) {
+				long scenarioStartTime = System.nanoTime();
+				Scenario scenario = simulation.getScenarios().get(it);
 
 				// New SimLog for each simulation (when parallelism is enabled).
 				simLog = new SimLog(startTime, isFirstIteration);
@@ -126,21 +149,23 @@ public class SimulationThread {
 				Constructor<?> simulationManagerConstructor = simulation.simulationManager.getConstructor(SimLog.class,
 						PureEdgeSim.class, int.class, int.class, Scenario.class);
 				simulationManager = (SimulationManager) simulationManagerConstructor.newInstance(simLog, pureEdgeSim,
-						simulationId, iteration, simulation.getScenarios().get(it));
-				simLog.initialize(simulationManager, simulation.getScenarios().get(it).getDevicesCount(),
-						simulation.getScenarios().get(it).getOrchAlgorithm(),
-						simulation.getScenarios().get(it).getOrchArchitecture());
+						simulationId, iteration, scenario);
+				simLog.initialize(simulationManager, scenario.getDevicesCount(), scenario.getOrchAlgorithm(),
+						scenario.getOrchArchitecture());
 
 				// Load custom classes and models.
 				loadModels(simulationManager);
 
 				// Finally, launch the simulation.
 				simulationManager.startSimulation();
+				simulation.scenarioFinished(scenario, simLog);
 
 				// Take a few seconds pause to display results, if parallelism is disabled.
 				if (!SimulationParameters.parallelism_enabled) {
 					pause(simLog);
 				}
+				if (executor != null)
+					executor.scenarioFinished(it, System.nanoTime() - scenarioStartTime);
 				iteration++;
 				SimLog.println("");
 				SimLog.println(getClass().getSimpleName() + " - Iteration finished...");
@@ -161,6 +186,23 @@ public class SimulationThread {
 		}
 	}
 
+	/**
+	 * Returns the scenario to run after the given one.
+	 * 
+	 * @param previous The index of the previous scenario, or -1 to get the first
+	 *                 one.
+	 * @return the index of the next scenario, or -1 if there is none left.
+	 */
+	protected int nextScenario(int previous) {
+		if (executor != null)
+			return executor.nextScenario();
+		int next = previous == -1 ? fromIteration : previous + step;
+		// Skip the scenarios whose results are already saved.
+		while (next < simulation.getScenarios().size() && simulation.isCompleted(simulation.getScenarios().get(next)))
+			next += step;
+		return next < simulation.getScenarios().size() ? next : -1;
+	}
+
 	/**
 	 * A pause of a few seconds between iterations. The duration of the pause is
 	 * defined in the simulation parameters.
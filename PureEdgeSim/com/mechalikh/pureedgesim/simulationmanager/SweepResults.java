@@ -0,0 +1,138 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.simulationmanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mechalikh.pureedgesim.scenariomanager.Scenario;
+
+/**
+ * The results file of a parameter sweep. One row is appended as soon as a run
+ * finishes, so the results of a long sweep can be followed (and are kept) even
+ * if the sweep is interrupted. Each row starts with the key of the scenario and
+ * the values of the swept parameters, followed by the results written by the
+ * {@link SimLog}.
+ * <p>
+ * The keys of the rows already in the file are loaded when the sweep starts, so
+ * the completed runs can be skipped.
+ *
+ * @see com.mechalikh.pureedgesim.scenariomanager.ParameterSweep
+ * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#skipCompletedRuns
+ * @since PureEdgeSim 5.3
+ */
+public class SweepResults {
+
+	/**
+	 * The name of the file, in the output folder of the simulation, where the
+	 * results of the sweep are saved.
+	 */
+	public static final String RESULTS_FILE = "sweep_results.csv";
+
+	protected final File file;
+
+	protected final List<String> parameters;
+
+	protected final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Opens the results file of a sweep and loads the keys of the completed runs.
+	 *
+	 * @param file       the results file.
+	 * @param parameters the names of the swept parameters.
+	 */
+	public SweepResults(File file, List<String> parameters) {
+		this.file = file;
+		this.parameters = parameters;
+		load();
+	}
+
+	protected void load() {
+		if (!file.exists())
+			return;
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			// Skip the header.
+			String line = reader.readLine();
+			while ((line = reader.readLine()) != null) {
+				int end = line.indexOf(';');
+				if (end > 0)
+					completed.add(line.substring(0, end));
+			}
+		} catch (IOException e) {
+			SimLog.println("%s - Unable to read the sweep results: %s", getClass().getSimpleName(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns whether the results of the scenario are already in the file.
+	 *
+	 * @param scenario the scenario.
+	 * @return true if the scenario has been run.
+	 */
+	public boolean contains(Scenario scenario) {
+		return completed.contains(scenario.getKey());
+	}
+
+	/**
+	 * @return the number of runs in the file.
+	 */
+	public int size() {
+		return completed.size();
+	}
+
+	/**
+	 * Appends the results of a finished run.
+	 *
+	 * @param scenario the scenario.
+	 * @param results  the results row written by the simulation logger.
+	 */
+	public synchronized void write(Scenario scenario, String results) {
+		boolean newFile = !file.exists() || file.length() == 0;
+		file.getParentFile().mkdirs();
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
+			if (newFile) {
+				StringBuilder header = new StringBuilder("Run");
+				for (String parameter : parameters)
+					header.append(';').append(parameter);
+				writer.append(header).append(';').append(SimLog.RESULTS_HEADER).append(';')
+						.append(SimLog.getApplicationsHeader());
+				writer.newLine();
+			}
+			StringBuilder row = new StringBuilder(scenario.getKey());
+			for (String parameter : parameters)
+				row.append(';').append(scenario.getSweepPoint().get(parameter));
+			writer.append(row).append(';').append(results);
+			writer.newLine();
+			completed.add(scenario.getKey());
+		} catch (IOException e) {
+			SimLog.println("%s - Unable to save the results of %s: %s", getClass().getSimpleName(), scenario,
+					e.getMessage());
+		}
+	}
+
+}
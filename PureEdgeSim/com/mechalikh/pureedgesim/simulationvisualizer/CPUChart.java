@@ -30,7 +30,6 @@ import org.knowm.xchart.style.markers.SeriesMarkers;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.*;
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 
 /**
@@ -40,13 +39,13 @@ import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 public class CPUChart extends Chart {
 	// Lists to store CPU usage and time
 	protected List<Double> cloudUsage = new ArrayList<>(
-			(int) (SimulationParameters.simulationDuration / SimulationParameters.updateInterval));
+			(int) (simulationManager.getConfig().getSimulationDuration() / simulationManager.getConfig().getUpdateInterval()));
 	protected List<Double> farEdgeUsage = new ArrayList<>(
-			(int) (SimulationParameters.simulationDuration / SimulationParameters.updateInterval));
+			(int) (simulationManager.getConfig().getSimulationDuration() / simulationManager.getConfig().getUpdateInterval()));
 	protected List<Double> edgeUsage = new ArrayList<>(
-			(int) (SimulationParameters.simulationDuration / SimulationParameters.updateInterval));
+			(int) (simulationManager.getConfig().getSimulationDuration() / simulationManager.getConfig().getUpdateInterval()));
 	protected List<Double> currentTime = new ArrayList<>(
-			(int) (SimulationParameters.simulationDuration / SimulationParameters.updateInterval));
+			(int) (simulationManager.getConfig().getSimulationDuration() / simulationManager.getConfig().getUpdateInterval()));
 
 	/**
 	 * Constructs a CPUChart object.
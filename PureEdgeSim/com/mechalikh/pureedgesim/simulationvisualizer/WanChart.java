@@ -50,7 +50,7 @@ public class WanChart extends Chart {
         super(title, xAxisTitle, yAxisTitle, simulationManager);
         getChart().getStyler().setDefaultSeriesRenderStyle(XYSeriesRenderStyle.Line);
         // We can use the constant directly instead of computing it every time.
-        updateSize(0.0, 0.0, 0.0, SimulationParameters.wanBandwidthBitsPerSecond / 1000000.0);
+        updateSize(0.0, 0.0, 0.0, simulationManager.getConfig().getWanBandwidthBitsPerSecond() / 1000000.0);
     }
 
     /**
@@ -79,7 +79,7 @@ public class WanChart extends Chart {
         }
 
         // Update the chart with the new data.
-        updateSize(currentTime - 200, currentTime, 0.0, SimulationParameters.wanBandwidthBitsPerSecond / 1000000.0);
+        updateSize(currentTime - 200, currentTime, 0.0, simulationManager.getConfig().getWanBandwidthBitsPerSecond() / 1000000.0);
         updateSeries(getChart(), "WanUp", time, toArray(wanUpUsage), SeriesMarkers.NONE, Color.BLACK);
         updateSeries(getChart(), "WanDown", time, toArray(wanDownUsage), SeriesMarkers.NONE, Color.BLACK);
     }
@@ -94,6 +94,14 @@ public class Application {
 	 */
 	protected String type;
 
+	/**
+	 * The id of the name of this application. Applications having the same name
+	 * share the same id, which is used to index the per-application arrays.
+	 * 
+	 * @see com.mechalikh.pureedgesim.scenariomanager.SimulationParameters#applicationNames
+	 */
+	protected int nameId;
+
 	/**
 	 * The number of bits in one megabyte.
 	 */
@@ -130,6 +138,24 @@ public class Application {
 		setTaskLength(taskLength);
 	}
 
+	/**
+	 * Constructs a copy of the given application. The users are copied too, and
+	 * are not deployed, so that each simulation run can deploy them on its own
+	 * devices.
+	 *
+	 * @param application the application to copy
+	 * @see com.mechalikh.pureedgesim.scenariomanager.SimulationConfig#copyApplications()
+	 */
+	public Application(Application application) {
+		this(application.getName(), application.getType(), application.getLatency(),
+				application.getContainerSizeInBits(), application.getContainerRequestSize(),
+				application.getSharedContainer(), application.getContainerCopies(), application.getMinRequestSize(),
+				application.getMaxRequestSize(), application.getResultsSize(), application.getTaskLength());
+		setNameId(application.getNameId());
+		for (User user : application.getUsersList())
+			addUser(new User(user));
+	}
+
 	/**
 	 * Gets the name of this application.
 	 *
@@ -148,6 +174,24 @@ public class Application {
 		this.name = name;
 	}
 
+	/**
+	 * Gets the id of the name of this application.
+	 *
+	 * @return the index of the name in the applications names list
+	 */
+	public int getNameId() {
+		return nameId;
+	}
+
+	/**
+	 * Sets the id of the name of this application.
+	 *
+	 * @param nameId the index of the name in the applications names list
+	 */
+	public void setNameId(int nameId) {
+		this.nameId = nameId;
+	}
+
 	/**
 	 * Adds a User to this application
 	 *
@@ -1,14 +1,11 @@
 package com.mechalikh.pureedgesim.taskgenerator;
 
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Random;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.stream.IntStream;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.FutureQueue;
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 
@@ -26,11 +23,7 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 
 	public DefaultContainerGenerator(SimulationManager simulationManager) {
 		super(simulationManager);
-		try {
-			random = SecureRandom.getInstanceStrong();
-		} catch (NoSuchAlgorithmException e) {
-			e.printStackTrace();
-		}
+		random = getSimulationManager().getRandomStreams().newStream();
 	}
 
 	/**
@@ -44,11 +37,11 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 		devicesList.removeIf(dev -> !dev.isGeneratingTasks());
 
 		// Browse all applications
-		IntStream.range(0, SimulationParameters.applicationList.size()).forEach(app -> {
+		IntStream.range(0, getSimulationManager().getApplicationList().size()).forEach(app -> {
 
-			int numberOfDevices = (int) (SimulationParameters.applicationList.get(app).getUsersList().size());
+			int numberOfDevices = (int) (getSimulationManager().getApplicationList().get(app).getUsersList().size());
 
-			if(!SimulationParameters.applicationList.get(app).getSharedContainer()){
+			if(!getSimulationManager().getApplicationList().get(app).getSharedContainer()){
 				//caso nel quale i container non sono shared
 				IntStream.range(0, numberOfDevices).mapToObj(i -> devicesList.remove(random.nextInt(devicesList.size())))
 						.peek(dev -> dev.setApplicationType(app)).forEach(dev -> generateContainerForDevice(dev, app));    
@@ -78,12 +71,12 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 	 */
 	protected void generateContainerForDevice(ComputingNode dev, int app) {
 		//seleziono uno User dalla lista degli user non Deployati per l'app scelta   
-		for(int i = 0; i < SimulationParameters.applicationList.get(app).getUsersList().size(); i++){
-			if(!SimulationParameters.applicationList.get(app).getUsersList().get(i).isDeployed()){
+		for(int i = 0; i < getSimulationManager().getApplicationList().get(app).getUsersList().size(); i++){
+			if(!getSimulationManager().getApplicationList().get(app).getUsersList().get(i).isDeployed()){
 				//setto lo user come deployato
-				SimulationParameters.applicationList.get(app).getUsersList().get(i).setIsDeployed(true);
+				getSimulationManager().getApplicationList().get(app).getUsersList().get(i).setIsDeployed(true);
 				//associo il dispositivo allo user
-				SimulationParameters.applicationList.get(app).getUsersList().get(i).setComputingNode(dev);
+				getSimulationManager().getApplicationList().get(app).getUsersList().get(i).setComputingNode(dev);
 				//associo lo user al dispositivo
 				dev.setUser(i); 
 				//creo i container (piazzo quelli correnti ed eventualmente quelli futuri)
@@ -103,12 +96,12 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 	protected void generateContainerForDeviceList(List<ComputingNode> devList, int app) {
 		int devIterator = 0;
 		//seleziono uno alla volta gli User dalla lista degli user non Deployati per l'app scelta   
-		for(int i = 0; i < SimulationParameters.applicationList.get(app).getUsersList().size(); i++){
-			if(!SimulationParameters.applicationList.get(app).getUsersList().get(i).isDeployed()){
+		for(int i = 0; i < getSimulationManager().getApplicationList().get(app).getUsersList().size(); i++){
+			if(!getSimulationManager().getApplicationList().get(app).getUsersList().get(i).isDeployed()){
 				//setto lo user come deployato
-				SimulationParameters.applicationList.get(app).getUsersList().get(i).setIsDeployed(true);
+				getSimulationManager().getApplicationList().get(app).getUsersList().get(i).setIsDeployed(true);
 				//associo il dispositivo allo user
-				SimulationParameters.applicationList.get(app).getUsersList().get(i).setComputingNode(devList.get(devIterator));
+				getSimulationManager().getApplicationList().get(app).getUsersList().get(i).setComputingNode(devList.get(devIterator));
 				//associo lo user al dispositivo
 				devList.get(devIterator).setUser(i); 
 				//incremento l'iterator della devList
@@ -129,7 +122,7 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 	 * @param dev 	 the device that requests the container's placement
 	 */
 	protected void insert(int time, int app, int i, ComputingNode dev) {
-		Application appParams = SimulationParameters.applicationList.get(app);                  
+		Application appParams = getSimulationManager().getApplicationList().get(app);                  
 		long containerSize = appParams.getContainerSizeInBits();
 		long containerRequestSize = appParams.getContainerRequestSize();
 		String Name = appParams.getName();
@@ -140,7 +133,7 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 		int interval = 60*user.getInterval();				//user.getInterval è in minuti, noi lo vogliamo in secondi 
 		
 		time += start;
-		while(time < SimulationParameters.simulationDuration){
+		while(time < getSimulationManager().getConfig().getSimulationDuration()){
 			id++;
 			Container container = createContainer(id).setAssociatedAppName(Name).setContainerSizeInBits(containerSize)
 												   .setFileSizeInBits(containerRequestSize).setSharedContainer(false)
@@ -150,13 +143,13 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 			containerList.add(container);
 			getSimulationManager().getSimulationLogger().deepLog("BasicContainersGenerator, Container " + id + " with placement time " + time + " (s) generated.");
 
-			if(debugContainer) System.out.println("Ho generato la richiesta di placement per il dispositivo " + dev.getName() + " al tempo: " + time + ", associata all'utente " + i + " dell'applicazione " + SimulationParameters.applicationList.get(app).name);
+			if(debugContainer) System.out.println("Ho generato la richiesta di placement per il dispositivo " + dev.getName() + " al tempo: " + time + ", associata all'utente " + i + " dell'applicazione " + getSimulationManager().getApplicationList().get(app).name);
 
 			time += duration;
 
 			container.setDuration(time);
 
-			if(debugContainer) System.out.println("Ho generato la richiesta di Unplacement per il dispositivo " + dev.getName() + " al tempo: " + time + ", associata all'utente " + i + " dell'applicazione " + SimulationParameters.applicationList.get(app).name);
+			if(debugContainer) System.out.println("Ho generato la richiesta di Unplacement per il dispositivo " + dev.getName() + " al tempo: " + time + ", associata all'utente " + i + " dell'applicazione " + getSimulationManager().getApplicationList().get(app).name);
 
 			getSimulationManager().getSimulationLogger().deepLog("BasicContainersGenerator, Container " + id + " with unplacement time " + time + " (s) generated.");
 
@@ -173,11 +166,11 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 	 * @param devList the devices List that is associated to the container's placement
 	 */
 	protected void insertShared(int time, int app, List<ComputingNode> devList) {
-		Application appParams = SimulationParameters.applicationList.get(app);                  
+		Application appParams = getSimulationManager().getApplicationList().get(app);                  
 		long containerSize = appParams.getContainerSizeInBits();
 		long containerRequestSize = appParams.getContainerRequestSize();
 		String Name = appParams.getName();
-		int copies = SimulationParameters.applicationList.get(app).getContainerCopies();
+		int copies = getSimulationManager().getApplicationList().get(app).getContainerCopies();
 
 		for(int i = 0; i < copies; i++){
 			time = 0;
@@ -189,7 +182,7 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 			for(ComputingNode cn : container.getEdgeDevices())
 				cn.setApplicationType(app);
 			container.setTime(time);
-			time += SimulationParameters.simulationDuration/60;
+			time += getSimulationManager().getConfig().getSimulationDuration()/60;
 			container.setDuration(time);
 
 			//aggiungo tanti container quante sono le copie richieste
@@ -197,7 +190,7 @@ public class DefaultContainerGenerator extends ContainerGenerator {
 
 			getSimulationManager().getSimulationLogger().deepLog("BasicContainersGenerator, Container " + id + " with placement time " + time + " (s) generated.");
 
-			if(debugContainer) System.out.println("Ho generato la "+(i+1)+" richiesta di placement al tempo: " + container.getTime()  + " dell'applicazione " + SimulationParameters.applicationList.get(app).name);	
+			if(debugContainer) System.out.println("Ho generato la "+(i+1)+" richiesta di placement al tempo: " + container.getTime()  + " dell'applicazione " + getSimulationManager().getApplicationList().get(app).name);	
 		}
 		
 	}
@@ -20,13 +20,10 @@
  **/
 package com.mechalikh.pureedgesim.taskgenerator;
 
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Random;
 import java.util.stream.IntStream;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
-import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.FutureQueue;
 import com.mechalikh.pureedgesim.simulationmanager.SimulationManager;
 
@@ -38,17 +35,12 @@ public class DefaultTaskGenerator extends TaskGenerator {
 	 * @see #generateTasksForDevice(ComputingNode, int)
 	 */
 	protected Random random;
-	static protected int id = 0;
 	protected double simulationTime;
 	protected double currentTime;
 
 	public DefaultTaskGenerator(SimulationManager simulationManager) {
 		super(simulationManager);
-		try {
-			random = SecureRandom.getInstanceStrong();
-		} catch (NoSuchAlgorithmException e) {
-			e.printStackTrace();
-		}
+		random = getSimulationManager().getRandomStreams().newStream();
 	}
 
 	/**
@@ -58,12 +50,12 @@ public class DefaultTaskGenerator extends TaskGenerator {
 	 */
 	public FutureQueue<Task> generateNewTasks(ComputingNode computingNode) {
 		// Get simulation time in minutes (excluding the current simulation time)
-		simulationTime = SimulationParameters.simulationDuration / 60;
+		simulationTime = getSimulationManager().getConfig().getSimulationDuration() / 60;
 		// Get clock time in minutes
 		currentTime = simulationManager.getSimulation().clockInMinutes();
 
 		//se l'applicazione associata al dispositivo è shared uso questa funzione
-		if(!SimulationParameters.applicationList.get(computingNode.getApplicationType()).getSharedContainer()) generateTasksForDevice(computingNode, computingNode.getApplicationType());
+		if(!getSimulationManager().getApplicationList().get(computingNode.getApplicationType()).getSharedContainer()) generateTasksForDevice(computingNode, computingNode.getApplicationType());
 		//atrimenti li genero per la durata della simulazione
 		else generateTasksForDeviceForAllSimulation(computingNode, computingNode.getApplicationType());
 
@@ -78,16 +70,16 @@ public class DefaultTaskGenerator extends TaskGenerator {
 	 * @param app    the application type
 	 */
 	protected void generateTasksForDeviceForAllSimulation(ComputingNode dev, int app) {
-		currentTime += (int) SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getStart();
-		while((int) currentTime <= SimulationParameters.simulationDuration/60){
+		currentTime += (int) getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getStart();
+		while((int) currentTime <= getSimulationManager().getConfig().getSimulationDuration()/60){
 			int remainingTime = 0;
 			//calcolo il remaining time della simulazione, nel caso che debba iniziare ad offloadare tasks poco prima che questa finisca
-			if((int) SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getDuration() + (int) currentTime <= SimulationParameters.simulationDuration/60) 
-				remainingTime = (int) SimulationParameters.applicationList.get(app).Users.get(dev.getUser()).getDuration() + (int) currentTime;
+			if((int) getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getDuration() + (int) currentTime <= getSimulationManager().getConfig().getSimulationDuration()/60) 
+				remainingTime = (int) getSimulationManager().getApplicationList().get(app).Users.get(dev.getUser()).getDuration() + (int) currentTime;
 			else 
-				remainingTime = (int) SimulationParameters.simulationDuration/60;
+				remainingTime = (int) getSimulationManager().getConfig().getSimulationDuration()/60;
 			
-			if(SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getAccessPatter().equals("random"))
+			if(getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getAccessPatter().equals("random"))
 				IntStream.range((int) currentTime, remainingTime)
 				//First get time in seconds
 				.forEach(st -> insert((st * 60)
@@ -95,7 +87,7 @@ public class DefaultTaskGenerator extends TaskGenerator {
 						// value
 						+ random.nextInt(1,15), app, dev.getUser(), dev));
 			
-			currentTime += (int) SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getDuration() + (int) SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getInterval();
+			currentTime += (int) getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getDuration() + (int) getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getInterval();
 		}
 	}
 
@@ -109,12 +101,12 @@ public class DefaultTaskGenerator extends TaskGenerator {
 	protected void generateTasksForDevice(ComputingNode dev, int app) {
 		int remainingTime = 0;
 		//calcolo il remaining time della simulazione, nel caso che debba iniziare ad offloadare tasks poco prima che questa finisca
-		if((int) SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getDuration() + (int) currentTime <= SimulationParameters.simulationDuration/60) 
-			remainingTime = (int) SimulationParameters.applicationList.get(app).Users.get(dev.getUser()).getDuration() + (int) currentTime;
+		if((int) getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getDuration() + (int) currentTime <= getSimulationManager().getConfig().getSimulationDuration()/60) 
+			remainingTime = (int) getSimulationManager().getApplicationList().get(app).Users.get(dev.getUser()).getDuration() + (int) currentTime;
 		else 
-			remainingTime = (int) SimulationParameters.simulationDuration/60;
+			remainingTime = (int) getSimulationManager().getConfig().getSimulationDuration()/60;
 		
-		if(SimulationParameters.applicationList.get(app).getUsersList().get(dev.getUser()).getAccessPatter().equals("random"))
+		if(getSimulationManager().getApplicationList().get(app).getUsersList().get(dev.getUser()).getAccessPatter().equals("random"))
 			IntStream.range((int) currentTime, remainingTime)
 			//First get time in seconds
 			.forEach(st -> insert((st * 60)
@@ -131,7 +123,7 @@ public class DefaultTaskGenerator extends TaskGenerator {
 	 * @param device the device that generates the task
 	 */
 	protected void insert(double time, int app, int u, ComputingNode dev) {
-		Application appParams = SimulationParameters.applicationList.get(app);
+		Application appParams = getSimulationManager().getApplicationList().get(app);
 		//long requestSize = appParams.getRequestSize();
 		long outputSize = appParams.getResultsSize();
 		double maxLatency = appParams.getLatency();
@@ -146,7 +138,7 @@ public class DefaultTaskGenerator extends TaskGenerator {
 		for (int i = 0; i < rate; i++) {
 			long requestSize = random.nextLong(appParams.getMinRequestSize(), appParams.getMaxRequestSize()+1);
 			//System.out.println("task " + id + " dell'app " + Name + ", requestSize = " + requestSize/8000);
-			Task task = createTask(++id).setType(appParams.getType()).setFileSizeInBits(requestSize).setAssociatedAppName(Name)
+			Task task = createTask(getSimulationManager().nextTaskId()).setType(appParams.getType()).setFileSizeInBits(requestSize).setAssociatedAppName(Name)
 					.setOutputSizeInBits(outputSize).setApplicationID(app)
 					.setMaxLatency(maxLatency).setLength(length).setEdgeDevice(dev);
 
@@ -170,7 +162,7 @@ public class DefaultTaskGenerator extends TaskGenerator {
 			//System.out.println("Ho generato un task al tempo: " + task.getTime());
 
 			taskList.add(task);
-			getSimulationManager().getSimulationLogger().deepLog("BasicTasksGenerator, Task " + id + " with execution time " + time + " (s) generated.");
+			getSimulationManager().getSimulationLogger().deepLog("BasicTasksGenerator, Task " + task.getId() + " with execution time " + time + " (s) generated.");
 		}
 	}
 
@@ -2,6 +2,7 @@ package com.mechalikh.pureedgesim.taskorchestrator;
 import java.util.ArrayList;
 import java.util.List;
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+import com.mechalikh.pureedgesim.datacentersmanager.NodeStateStore;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.*;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.SimEntity;
@@ -11,13 +12,19 @@ import com.mechalikh.pureedgesim.taskgenerator.Container;
 import com.mechalikh.pureedgesim.taskgenerator.Task;
 
 public abstract class ContainerOrchestrator extends SimEntity {
-	static protected List<ComputingNode> nodeList = new ArrayList<>();					//modificato per visibilità degli agenti DQN, era protected
+	protected List<ComputingNode> nodeList = new ArrayList<>();
 	protected SimulationManager simulationManager;
 	protected SimLog simLog;
 	protected String algorithmName;
 	protected String architectureName;
 	protected String[] architectureLayers;
 
+	/**
+	 * The resource counters of the nodes of {@link #nodeList}, in the same order,
+	 * with their running aggregates.
+	 */
+	protected NodeStateStore.Group nodeStates;
+
 	protected ContainerOrchestrator(SimulationManager simulationManager) {
 		super(simulationManager.getSimulation());
 		this.simulationManager = simulationManager;
@@ -26,6 +33,7 @@ public abstract class ContainerOrchestrator extends SimEntity {
 		algorithmName = simulationManager.getScenario().getStringOrchAlgorithm();
 		architectureName = simulationManager.getScenario().getStringOrchArchitecture();
 		initialize();
+		nodeStates = simulationManager.getDataCentersManager().getNodeStateStore().createGroup(nodeList);
 	}
 
 	// Find an offloading location for this task
@@ -200,15 +208,10 @@ public abstract class ContainerOrchestrator extends SimEntity {
 	}
 
 	public void findVmAssociatedWithContainer(Container container){
-
-		//ciclo tra tutti i dispositivi di placement
-		for(ComputingNode cn : nodeList){	
-			//ciclo tra tutti i container del dispositivo i-mo
-			for(Container cont : cn.getContainerList()){
-				if(cont.getId() == container.getId())
-					container.setPlacementDestination(cn);
-			}
-		}
+		//recupero il nodo sul quale è piazzato il container dall'indice dei placement
+		ComputingNode cn = simulationManager.getDataCentersManager().getPlacementIndex().getPlacementNode(container);
+		if(cn != null)
+			container.setPlacementDestination(cn);
 	}
 
 	public abstract void removeContainerFromVM(Container container);
@@ -46,6 +46,7 @@ public class DQNAgent extends DQNAgentAbstract{
     private int targetUpdateCounter = 0;
     private String modelPath;
     private DQNhelper DQNhelper;
+    private Random random;
 
     //questi servono solo per printare debug
     private boolean printNodeDestination = true;
@@ -57,6 +58,7 @@ public class DQNAgent extends DQNAgentAbstract{
     public DQNAgent(DQNhelper dqNhelper) {
         replayBuffer = new ReplayBuffer(replayMemory);
         this.DQNhelper = dqNhelper;
+        random = dqNhelper.simulationManager.getRandomStreams().newStream();
         qNetwork = createNetwork();
         targetNetwork = createNetwork();
     }
@@ -65,6 +67,7 @@ public class DQNAgent extends DQNAgentAbstract{
     public DQNAgent(DQNhelper dqNhelper, String pathToNetwork) {
         replayBuffer = new ReplayBuffer(replayMemory);
         this.DQNhelper = dqNhelper;
+        random = dqNhelper.simulationManager.getRandomStreams().newStream();
         modelPath = pathToNetwork;
         loadModel(pathToNetwork);
     }
@@ -109,8 +112,7 @@ public class DQNAgent extends DQNAgentAbstract{
     }
 
     public int chooseAction(double[] state, String[] architecture, Container container) {
-        Random rand = new Random();
-        if (rand.nextDouble() < epsilon) {
+        if (random.nextDouble() < epsilon) {
             //esplorazione
             if(printNodeDestination) System.out.println("Scelta random, epsilon = " + epsilon);
             return randChoice(architecture, container);
@@ -132,11 +134,10 @@ public class DQNAgent extends DQNAgentAbstract{
     }
 
     private int randChoice(String[] architecture, Container container){
-        Random rand = new Random();
         while(true){
-            int random = rand.nextInt(getActionSize());
-            if(DQNhelper.simOrchestrator.placementIsPossible(container, DQNhelper.simOrchestrator.getNodeList().get(random), DQNhelper.simOrchestrator.getArchitectureLayers()))
-                return random;
+            int choice = random.nextInt(getActionSize());
+            if(DQNhelper.simOrchestrator.placementIsPossible(container, DQNhelper.simOrchestrator.getNodeList().get(choice), DQNhelper.simOrchestrator.getArchitectureLayers()))
+                return choice;
         }
     }
 
@@ -164,7 +165,7 @@ public class DQNAgent extends DQNAgentAbstract{
     }
 
     private void updateNetwork(int batchSize) {
-        List<Experience> batch = replayBuffer.sample(batchSize);  // Campionamento del buffer di replay
+        List<Experience> batch = replayBuffer.sample(batchSize, random);  // Campionamento del buffer di replay
     
         //facciamo sta prova:
         INDArray inputs = Nd4j.create(batchSize, getStateSize());  // Array per tutti gli input del batch
@@ -26,9 +26,9 @@ public class DQNhelper {
 
     //questi servono solo per printare debug
     private boolean printTaskNodes = true;
-    public static int totalreward;
-    public static double failureRate;
-    public static String algorithmName;
+    public int totalreward;
+    public double failureRate;
+    public String algorithmName;
 
     //moduli del simulatore
     protected DefaultContainerOrchestrator simOrchestrator = null;
@@ -69,7 +69,7 @@ public class DQNhelper {
         else 
             action = m_agent.getKthBestQAction(state, 0);
 
-        simOrchestrator.historyMap.put(action, simOrchestrator.historyMap.get(action) + 1);
+        simOrchestrator.historyMap.increment(action);
 
         //setto stato, l'azione corrisponde all'indice del nodo sul quale è stato posizionato il container.
         containerStateHistoryMap.put(container, state);
@@ -98,7 +98,7 @@ public class DQNhelper {
     
         // Aggiungi i valori globali
         double containerSize = container.getContainerSizeInBits();                                                                     // size del task in bytes
-        double maxLatency = SimulationParameters.applicationList.get(container.getApplicationID()).getLatency();                       //latency max del task
+        double maxLatency = simulationManager.getApplicationList().get(container.getApplicationID()).getLatency();                       //latency max del task
         int appID = container.getApplicationID();                                                                                      //id dell'applicazione
     
         int globalStartIndex = this.simOrchestrator.getNodeList().size() * stateSize;                     // Indice di partenza per i valori globali
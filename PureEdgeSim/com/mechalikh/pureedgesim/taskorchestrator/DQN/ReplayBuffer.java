@@ -39,9 +39,9 @@ public class ReplayBuffer implements Serializable{
     // }
 
     // Questa versione assicura di non campionare più volte gli stessi indici, d'altro canto  è caratterizzata da una complessità maggiore O(n)
-    public List<Experience> sample(int batchSize) {
+    public List<Experience> sample(int batchSize, Random random) {
         List<Experience> bufferList = new ArrayList<>(buffer);
-        Collections.shuffle(bufferList);
+        Collections.shuffle(bufferList, random);
         return bufferList.subList(0, Math.min(batchSize, bufferList.size()));
     }
 
@@ -20,15 +20,15 @@
  **/
 package com.mechalikh.pureedgesim.taskorchestrator;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.ArrayList;
 
 import org.bytedeco.mkl.global.mkl_rt.iBRngPtr;
 import org.jgrapht.GraphPath;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
+import com.mechalikh.pureedgesim.datacentersmanager.NodeStateStore;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.DataCenter;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.VM;
 import com.mechalikh.pureedgesim.network.NetworkLink;
@@ -42,9 +42,9 @@ import com.mechalikh.pureedgesim.taskorchestrator.DQN.DQNhelper;
 public class DefaultContainerOrchestrator extends ContainerOrchestrator implements OnSimulationEndListener{
 	//questa lista contiene solo i nodi "grossi", ossia i DataCenter (Edge o Cloud)
 	protected List<ComputingNode> bigNodeList = new ArrayList<>();
-	public Map<Integer, List<Container>> bigNodeSharedHistoryMap = new LinkedHashMap<>();			//usata per valutare quanti container shared sono istanziati su un DataCenter
-	public Map<Integer, List<Container>> bigNodeHistoryMap = new LinkedHashMap<>();  				//usata per valutare quanti container non shared sono istanziati su un DataCenter
-	public Map<Integer, Integer> historyMap = new LinkedHashMap<>();								//usata per valutare quanti container sono istanziati su un nodo di nodeList
+	public OrchestrationHistory<Container> bigNodeSharedHistoryMap;			//usata per valutare quanti container shared (per applicazione) sono istanziati su un DataCenter
+	public OrchestrationHistory<Container> bigNodeHistoryMap;  				//usata per valutare quanti container non shared sono istanziati su un DataCenter
+	public OrchestrationHistory<Container> historyMap;						//usata per valutare quanti container sono istanziati su un nodo di nodeList
 
 	//DQNHelper
 	DQNhelper DQNhelper = null;
@@ -67,14 +67,10 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 				bigNodeList.add(DC);
 		}
 		// Initialize the history map
-		for (int i = 0; i < nodeList.size(); i++) {
-			historyMap.put(i, 0);
-		}
+		historyMap = new OrchestrationHistory<>(nodeList.size());
 		// Initialize the bigNodeHistoryMaps
-		for (int i = 0; i < bigNodeList.size(); i++) {
-			bigNodeSharedHistoryMap.put(i, new ArrayList<Container>());
-			bigNodeHistoryMap.put(i, new ArrayList<Container>());
-		}
+		bigNodeSharedHistoryMap = new OrchestrationHistory<>(bigNodeList.size(), null, Container::getAssociatedAppName);
+		bigNodeHistoryMap = new OrchestrationHistory<>(bigNodeList.size());
 		// If DQN is the selected algorithm then initialize the DQNHelper
 		if(algorithmName.equals("DQN"))
 			DQNhelper = new DQNhelper(this, simulationManager);
@@ -84,13 +80,10 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 	public void removeContainerFromVM(Container container) {
 		for (int i = 0; i < nodeList.size(); i++) {
 			if (nodeList.get(i).equals(container.getPlacementDestination())) {
-				historyMap.put(i, historyMap.get(i) - 1);
+				historyMap.decrement(i);
 			}
 		}
-		for(int i = 0; i < bigNodeList.size(); i++){
-			if(bigNodeHistoryMap.get(i).contains(container))
-				bigNodeHistoryMap.get(i).remove(container);
-		}
+		bigNodeHistoryMap.remove(container);
 		//rimuovo il container dalla historyamap del DQN Helper
 		if(algorithmName.equals("DQN"))
 			DQNhelper.removeContainerFromHistoryMap(container);
@@ -148,8 +141,8 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 					// device, it results in an extremely low latency, but may // consume more
 					// energy.
 				}
-				double tasksLength = SimulationParameters.applicationList.get(container.getApplicationID()).getTaskLength();
-				newMin = (2*historyMap.get(i) + 1) * weight * tasksLength/node.getMipsPerCore();
+				double tasksLength = simulationManager.getApplicationList().get(container.getApplicationID()).getTaskLength();
+				newMin = (2*historyMap.getCount(i) + 1) * weight * tasksLength/node.getMipsPerCore();
 				if (min == -1 || min > newMin) { // if it is the first
 					// iteration, or if this computing node has more // cpu mips and // less waiting
 					// tasks
@@ -159,7 +152,7 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 			}
 		}
 		if (selected != -1) {
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 		}
 		// node
 		return selected;
@@ -170,8 +163,8 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		int minTasksCount = -1; // Computing node with minimum assigned tasks.
 		for (int i = 0; i < nodeList.size(); i++) {
 			if (placementIsPossible(container, nodeList.get(i), architecture)
-					&& (minTasksCount == -1 || minTasksCount > historyMap.get(i))) {
-				minTasksCount = historyMap.get(i);
+					&& (minTasksCount == -1 || minTasksCount > historyMap.getCount(i))) {
+				minTasksCount = historyMap.getCount(i);
 				// if this is the first time,
 				// or new min found, so we choose it as the best computing node.
 				selected = i;
@@ -179,7 +172,7 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		}
 		// Assign the tasks to the obtained computing node.
 		if (selected != -1) {
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 		}
 
 		return selected;
@@ -191,24 +184,24 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		double bestnumberofcores = 0;
 		for (int i = 0; i < nodeList.size(); i++) {
 			// viene scelto il nodo con il miglio rapporto TaskOffloaded/coresTotali
-			if ((historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores() < bestfit)
+			if ((historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores() < bestfit)
 					&& placementIsPossible(container, nodeList.get(i), architecture)) {
 				bestnumberofcores = nodeList.get(i).getNumberOfCPUCores();
-				bestfit = historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores();
+				bestfit = historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores();
 				selected = i;
 			}
 			// laddove si abbia un rapporto TaskOffloaded/coresTotali uguale prevale il nodo
 			// con il numero di cores maggiore
-			else if ((historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores() == bestfit)
+			else if ((historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores() == bestfit)
 					&& (bestnumberofcores < nodeList.get(i).getNumberOfCPUCores())
 					&& placementIsPossible(container, nodeList.get(i), architecture)) {
 				bestnumberofcores = nodeList.get(i).getNumberOfCPUCores();
-				bestfit = historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores();
+				bestfit = historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores();
 				selected = i;
 			}
 		}
 		if (selected != -1) {
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 		}
 
 		return selected;
@@ -219,6 +212,11 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 
 		double ramValue = 1.0, storageValue = 1.0, cpuValue = 1.3, mipsValue = 1.5, containerValue = 8, latencyValue = 1.8;
 		double maxValue = Double.MAX_VALUE * (-1);
+		// The averages are kept up to date by the node state store, read them once
+		double averageRam = nodeStates.getMean(NodeStateStore.AVAILABLE_RAM);
+		double averageStorage = nodeStates.getMean(NodeStateStore.AVAILABLE_STORAGE);
+		double averageCpuCores = nodeStates.getMean(NodeStateStore.CPU_CORES);
+		double averageMipsPerCore = nodeStates.getMean(NodeStateStore.MIPS_PER_CORE);
 		for(int i = 0; i < nodeList.size(); i++){
 
 			double latency = 0;
@@ -227,11 +225,11 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 			else if(nodeList.get(i).getType().equals(SimulationParameters.TYPES.VM_CLOUD)) latency = 2;
 
 			double currentValue = 0
-				+ ramValue*(nodeList.get(i).getAvailableRam()/averageNodeListRam())
-				+ storageValue*(nodeList.get(i).getAvailableStorage()/averageNodeListStorage())
-				+ cpuValue*(nodeList.get(i).getNumberOfCPUCores()/averageNodeListCpuCores()) 
-				+ mipsValue*(nodeList.get(i).getMipsPerCore()/averageNodeListMipsPerCore()) 
-				- containerValue*historyMap.get(i)
+				+ ramValue*(nodeStates.get(NodeStateStore.AVAILABLE_RAM, i)/averageRam)
+				+ storageValue*(nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, i)/averageStorage)
+				+ cpuValue*(nodeStates.get(NodeStateStore.CPU_CORES, i)/averageCpuCores) 
+				+ mipsValue*(nodeStates.get(NodeStateStore.MIPS_PER_CORE, i)/averageMipsPerCore) 
+				- containerValue*historyMap.getCount(i)
 				- latencyValue*latency;
 
 				//System.out.println("Nodo : " + nodeList.get(i).getName() + ", valore = " + currentValue);
@@ -242,7 +240,7 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 			}
 		}
 		if (selected != -1) {
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 		}
 		//System.out.println("Nodo scelto: " + nodeList.get(selected).getName() + ", valore = " + maxValue);
 		return selected;
@@ -254,51 +252,31 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		int selected = -1;
 
 		//devo determinare i primi "copies" dispositivi di placement con latency migliore in media per tutti i device. (Laddove il container non sia shared, copies = 1)
-		int copies = SimulationParameters.applicationList.get(container.getApplicationID()).getContainerCopies();
+		int copies = simulationManager.getApplicationList().get(container.getApplicationID()).getContainerCopies();
 		List<ComputingNode> copiesList = new ArrayList<ComputingNode>(copies);
-		//ciclo tra tutti i dispositivi di placement per determinare una lista
-		for (int j = 0; j < copies; j++) {
-			double minAverageLatency = Double.MAX_VALUE;
-			int closestNode = -1;				
-			//ciclo tra tutti i dispositivi di placement per determinare ogni volta il più vicino (se non presente in lista)
-			for (int i = 0; i < bigNodeList.size(); i++) {
-				double averageLatency = 0;
-				//valuto la distanza con tutti gli edgeDevice associati al container (Laddove il container non sia shared, c'è solo un edgeDevice)
-				for(ComputingNode cn : container.getEdgeDevices()){
-					//latenza dal nodo al SDN più vicino
-					ComputingNode from = cn;
-					ComputingNode to = cn.getEdgeOrchestrator();
-					GraphPath<ComputingNode, NetworkLink> path;
-					long id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getId(), to.getId());
-					if(simulationManager.getDataCentersManager().getTopology().getPathsMap().containsKey(id))
-						path = simulationManager.getDataCentersManager().getTopology().getPathsMap().get(id); 
-					else{ 
-						path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-						simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-					}
-					averageLatency += path.getWeight();
-					//latenza dall'SDN più vicino al nodo al Datacenter i-mo
-					from = cn.getEdgeOrchestrator();
-					to = bigNodeList.get(i);
-					id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getId(), to.getId());
-					if(simulationManager.getDataCentersManager().getTopology().getPathsMap().containsKey(id))
-						path = simulationManager.getDataCentersManager().getTopology().getPathsMap().get(id); 
-					else{ 
-						path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-						simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-					}
-					averageLatency += path.getWeight();
-				}
-				averageLatency = averageLatency / container.getEdgeDevices().size();
-
-				if(averageLatency < minAverageLatency && !copiesList.contains(bigNodeList.get(i))){
-					closestNode = i;
-					minAverageLatency = averageLatency;
-				}
+		//la latenza media di ogni dispositivo di placement viene calcolata una sola volta
+		double[] averageLatencies = new double[bigNodeList.size()];
+		for (int i = 0; i < bigNodeList.size(); i++) {
+			double averageLatency = 0;
+			//valuto la distanza con tutti gli edgeDevice associati al container (Laddove il container non sia shared, c'è solo un edgeDevice)
+			for(ComputingNode cn : container.getEdgeDevices()){
+				//latenza dal nodo al SDN più vicino
+				ComputingNode from = cn;
+				ComputingNode to = cn.getEdgeOrchestrator();
+				GraphPath<ComputingNode, NetworkLink> path;
+				path = simulationManager.getDataCentersManager().getTopology().getCachedPath(from, to);
+				averageLatency += path.getWeight();
+				//latenza dall'SDN più vicino al nodo al Datacenter i-mo
+				from = cn.getEdgeOrchestrator();
+				to = bigNodeList.get(i);
+				path = simulationManager.getDataCentersManager().getTopology().getCachedPath(from, to);
+				averageLatency += path.getWeight();
 			}
-			if(closestNode != -1)
-				copiesList.add(bigNodeList.get(closestNode));
+			averageLatencies[i] = averageLatency / container.getEdgeDevices().size();
 		}
+		//i primi "copies" dispositivi con la latenza più bassa, dal più vicino
+		for (int i : lowestK(averageLatencies, copies))
+			copiesList.add(bigNodeList.get(i));
 
 		//adesso devo scegliere in quale Nodo vado ad allocare questo Container sulla base delle copie già presenti sulla base di un RoundRobin
 		ComputingNode bestNode = null;
@@ -311,10 +289,10 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 
 					//se container è shared allora devo prendere il numero di container shared
 					if(container.getSharedContainer())
-						num = numOfSharedContainerInList(container, bigNodeSharedHistoryMap.get(i)); 
+						num = bigNodeSharedHistoryMap.getCount(i, container.getAssociatedAppName()); 
 					//altrimenti quelli non shared
 					else
-						num = bigNodeHistoryMap.get(i).size();
+						num = bigNodeHistoryMap.getCount(i);
 
 					//System.out.println("Nodo " + cn.getName() + ", numero di copie del container shared in lista = " + num);
 					if(num < minPlacement){
@@ -338,16 +316,16 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		if (selected != -1) {
 			//System.out.println("Ho scelto il dispositivo " + nodeList.get(selected).getName() + ", associato all'OLT: " + bestNode.getName()
 			//+ " come placement per il container " + container.getId() + " relativo all'app " + container.getAssociatedAppName());
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 
 			//adesso devo comportarmi diversamente a seconda che il Container sia Shared oppure no:
 			//caso shared
 			if(!container.getSharedContainer())
 				//aggiungo il container alla HistoryMap di quel DC
-				bigNodeHistoryMap.get(bigNodeSelected).add(container);
+				bigNodeHistoryMap.add(container, bigNodeSelected);
 			else								
 				//aggiungo il container alla sharedHistoryMap di quel DC
-				bigNodeSharedHistoryMap.get(bigNodeSelected).add(container);
+				bigNodeSharedHistoryMap.add(container, bigNodeSelected);
 		}
 
 		return selected;
@@ -384,7 +362,7 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		else{
 			//come prima cosa conservo nella matrice il numero di container shared (dello stesso tipo di quello da piazzare) piazzati su quel bigNode
 			for(int i = 0; i < bigNodeList.size(); i++){
-				bigNodeMatrix[i][1] = numOfSharedContainerInList(container, bigNodeSharedHistoryMap.get(i));
+				bigNodeMatrix[i][1] = bigNodeSharedHistoryMap.getCount(i, container.getAssociatedAppName());
 			}
 			double bestRate = Double.MAX_VALUE;
 			//determino quale bigNode abbia il miglior rapporto (numero più basso) copie piazzate/Devices associati
@@ -410,16 +388,16 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		if (selected != -1) {
 			//System.out.println("Ho scelto il dispositivo " + nodeList.get(selected).getName() + ", associato all'OLT: " + bestNode.getName()
 			//+ " come placement per il container " + container.getId() + " relativo all'app " + container.getAssociatedAppName());
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 
 			//adesso devo comportarmi diversamente a seconda che il Container sia Shared oppure no:
 			//caso shared
 			if(!container.getSharedContainer())
 				//aggiungo il container alla HistoryMap di quel DC
-				bigNodeHistoryMap.get(bigNodeSelected).add(container);
+				bigNodeHistoryMap.add(container, bigNodeSelected);
 			else								
 				//aggiungo il container alla sharedHistoryMap di quel DC
-				bigNodeSharedHistoryMap.get(bigNodeSelected).add(container);
+				bigNodeSharedHistoryMap.add(container, bigNodeSelected);
 		}
 
 		//System.out.println("Ho scelto il datacenter: " + bigNodeList.get(bigNodeSelected).getName() + " per il container " + container.getId() + " associato all'app " + container.getAssociatedAppName());
@@ -436,8 +414,8 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 			//se il nodo afferisce all'OLT scelto allora lo valuto
 			if(nodeList.get(i).getEdgeOrchestrator().equals(bestNode.getEdgeOrchestrator()) 
 			&& (placementIsPossible(container, nodeList.get(i), architecture) )
-			&& (minTasksCount == -1 || minTasksCount > historyMap.get(i))){
-				minTasksCount = historyMap.get(i);
+			&& (minTasksCount == -1 || minTasksCount > historyMap.getCount(i))){
+				minTasksCount = historyMap.getCount(i);
 				// if this is the first time,
 				// or new min found, so we choose it as the best computing node.
 				selected = i;
@@ -473,8 +451,8 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 					// energy.
 				}
 				if(weight != 0.0){
-					double tasksLength = SimulationParameters.applicationList.get(container.getApplicationID()).getTaskLength();
-					newMin = (2*historyMap.get(i) + 1) * weight * tasksLength/node.getMipsPerCore();
+					double tasksLength = simulationManager.getApplicationList().get(container.getApplicationID()).getTaskLength();
+					newMin = (2*historyMap.getCount(i) + 1) * weight * tasksLength/node.getMipsPerCore();
 					if (min == -1 || min > newMin) { // if it is the first
 						// iteration, or if this computing node has more // cpu mips and // less waiting
 						// tasks
@@ -495,26 +473,26 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 		//giro tra tutti i nodi controllando però che afferiscano allo stesso OLT specificato
 		for (int i = 0; i < nodeList.size(); i++) {
 			// viene scelto il nodo con il miglio rapporto TaskOffloaded/coresTotali
-			if ((historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores() < bestfit)
+			if ((historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores() < bestfit)
 					&& nodeList.get(i).getEdgeOrchestrator().equals(bestNode.getEdgeOrchestrator())
 					&& placementIsPossible(container, nodeList.get(i), architecture)) {
 				bestnumberofcores = nodeList.get(i).getNumberOfCPUCores();
-				bestfit = historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores();
+				bestfit = historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores();
 				selected = i;
 			}
 			// laddove si abbia un rapporto TaskOffloaded/coresTotali uguale prevale il nodo
 			// con il numero di cores maggiore
-			else if ((historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores() == bestfit)
+			else if ((historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores() == bestfit)
 					&& (bestnumberofcores < nodeList.get(i).getNumberOfCPUCores())
 					&& nodeList.get(i).getEdgeOrchestrator().equals(bestNode.getEdgeOrchestrator())
 					&& placementIsPossible(container, nodeList.get(i), architecture)) {
 				bestnumberofcores = nodeList.get(i).getNumberOfCPUCores();
-				bestfit = historyMap.get(i) / nodeList.get(i).getNumberOfCPUCores();
+				bestfit = historyMap.getCount(i) / nodeList.get(i).getNumberOfCPUCores();
 				selected = i;
 			}
 		}
 		if (selected != -1) {
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 		}
 
 		return selected;
@@ -525,6 +503,10 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 
 		double ramValue = 1.0, storageValue = 1.0, cpuValue = 1.3, mipsValue = 1.5, containerValue = 8, latencyValue = 1.8;
 		double maxValue = Double.MAX_VALUE * (-1);
+		double averageRam = nodeStates.getMean(NodeStateStore.AVAILABLE_RAM);
+		double averageStorage = nodeStates.getMean(NodeStateStore.AVAILABLE_STORAGE);
+		double averageCpuCores = nodeStates.getMean(NodeStateStore.CPU_CORES);
+		double averageMipsPerCore = nodeStates.getMean(NodeStateStore.MIPS_PER_CORE);
 		for(int i = 0; i < nodeList.size(); i++){
 
 			double latency = 0;
@@ -533,11 +515,11 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 			else if(nodeList.get(i).getType().equals(SimulationParameters.TYPES.VM_CLOUD)) latency = 2.4;
 
 			double currentValue = 0
-				+ ramValue*(nodeList.get(i).getAvailableRam()/averageNodeListRam())
-				+ storageValue*(nodeList.get(i).getAvailableStorage()/averageNodeListStorage())
-				+ cpuValue*(nodeList.get(i).getNumberOfCPUCores()/averageNodeListCpuCores()) 
-				+ mipsValue*(nodeList.get(i).getMipsPerCore()/averageNodeListMipsPerCore()) 
-				- containerValue*historyMap.get(i)
+				+ ramValue*(nodeStates.get(NodeStateStore.AVAILABLE_RAM, i)/averageRam)
+				+ storageValue*(nodeStates.get(NodeStateStore.AVAILABLE_STORAGE, i)/averageStorage)
+				+ cpuValue*(nodeStates.get(NodeStateStore.CPU_CORES, i)/averageCpuCores) 
+				+ mipsValue*(nodeStates.get(NodeStateStore.MIPS_PER_CORE, i)/averageMipsPerCore) 
+				- containerValue*historyMap.getCount(i)
 				- latencyValue*latency;
 
 				//System.out.println("EdgeDC: " + bestNode.getName() + ", nodo : " + nodeList.get(i).getName() + ", valore = " + currentValue);
@@ -550,39 +532,34 @@ public class DefaultContainerOrchestrator extends ContainerOrchestrator implemen
 			}
 		}
 		if (selected != -1) {
-			historyMap.put(selected, historyMap.get(selected) + 1); // assign the tasks to the selected computing
+			historyMap.increment(selected); // assign the tasks to the selected computing
 		}
 		return selected;
 	}
 
-	//returns the average ram of the nodeList
-	private double averageNodeListRam(){ 
-		return nodeList.stream().mapToDouble(ComputingNode::getAvailableRam).average().orElse(0.0);
-	}
-
-	//returns the average Storage of the nodeList
-	private double averageNodeListStorage(){ 
-		return nodeList.stream().mapToDouble(ComputingNode::getAvailableStorage).average().orElse(0.0);
-	}
-	
-	//returns the average Cpu Cores of the nodeList
-	private double averageNodeListCpuCores(){ 
-		return nodeList.stream().mapToDouble(ComputingNode::getNumberOfCPUCores).average().orElse(0.0);
-	}
-
-	//returns the average Mips per Core of the nodeList
-	private double averageNodeListMipsPerCore(){ 
-		return nodeList.stream().mapToDouble(ComputingNode::getMipsPerCore).average().orElse(0.0);
-	}
-
-	//returns the number of copies of the shared container in the given container list
-	protected int numOfSharedContainerInList(Container container, List<Container> ContainerList){
-		int num = 0;
-		for(Container cont : ContainerList){
-			if(cont.getAssociatedAppName().equals(container.getAssociatedAppName()))
-				num++;
+	/**
+	 * Returns the indexes of the k lowest values, from the lowest, using a bounded
+	 * heap. Equal values are sorted by index. Values that are not lower than
+	 * Double.MAX_VALUE are ignored.
+	 */
+	protected static int[] lowestK(double[] values, int k) {
+		// Max heap, its head is the worst of the k selected values.
+		PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, k),
+				(a, b) -> values[a] != values[b] ? Double.compare(values[b], values[a]) : Integer.compare(b, a));
+		for (int i = 0; i < values.length && k > 0; i++) {
+			if (!(values[i] < Double.MAX_VALUE))
+				continue;
+			if (heap.size() < k)
+				heap.add(i);
+			else if (values[i] < values[heap.peek()]) {
+				heap.poll();
+				heap.add(i);
+			}
 		}
-		return num;
+		int[] lowest = new int[heap.size()];
+		for (int i = lowest.length - 1; i >= 0; i--)
+			lowest[i] = heap.poll();
+		return lowest;
 	}
 
 	//returns the closest Big Node (OLT) 
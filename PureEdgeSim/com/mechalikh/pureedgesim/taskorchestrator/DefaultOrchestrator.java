@@ -20,12 +20,8 @@
  **/
 package com.mechalikh.pureedgesim.taskorchestrator;
 
-import java.util.ArrayList;
-
-import org.jgrapht.GraphPath;
-
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
-import com.mechalikh.pureedgesim.network.NetworkLink;
+import com.mechalikh.pureedgesim.network.PathMetrics;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.Event;
 import com.mechalikh.pureedgesim.simulationengine.OnSimulationEndListener;
@@ -37,32 +33,20 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 
 	public DefaultOrchestrator(SimulationManager simulationManager) {
 		super(simulationManager);
-		// Initialize the tasks history map
-		for (int i = 0; i < nodeList.size(); i++){
-			tasksHistoryMap.put(i, new ArrayList<Task>());
-		}
 	}
 
 	//Questa funzione associa il task alla VM che contiene il container associato al task. (che al mercato mio padre comprò)
 	public int findVmAssociatedWithTask(Task task){
 		//se l'applicazione non è shared
-		if(!SimulationParameters.applicationList.get(task.getApplicationID()).getSharedContainer()){
-			//Ciclo tra tutti i container
-			for(Container container : containerList){
-				//se il nome dell'app associata al task ==  a quello associato al container
-				if(task.getAssociatedAppName().equals(container.getAssociatedAppName())){
-					//ciclo tra tutti gli edge device di quel container
-					for(ComputingNode edgeDevice : container.getEdgeDevices()){
-						//se il dispositivo che ha generato il container == dispositivo che ha generato il task
-						if(task.getEdgeDevice().equals(edgeDevice))
-							//prelevo la VM associata a quel container
-							for(int i = 0; i < nodeList.size(); i++)
-								if(nodeList.get(i).equals(container.getPlacementDestination())){
-									//aggiungo il taks alla historyMap dei task associati a quel nodo
-									tasksHistoryMap.get(i).add(task);
-									return i;	
-								}
-					}
+		if(!simulationManager.getApplicationList().get(task.getApplicationID()).getSharedContainer()){
+			//prelevo i container di quell'applicazione generati dal dispositivo che ha generato il task
+			for(Container container : containerIndex.getContainers(task.getAssociatedAppName(), task.getEdgeDevice())){
+				//prelevo la VM associata a quel container
+				int i = getNodeIndex(container.getPlacementDestination());
+				if(i != -1){
+					//aggiungo il taks alla historyMap dei task associati a quel nodo
+					tasksHistoryMap.add(task, i);
+					return i;
 				}
 			}
 		}
@@ -86,22 +70,22 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 		for (int i = 0; i < containerList.size(); i++) {
 			if(containerList.get(i).getAssociatedAppName().equals(task.getAssociatedAppName())
 											&& 
-				(minTasksCount == -1 || minTasksCount > sharedHistoryMap.get(i))
+				(minTasksCount == -1 || minTasksCount > sharedHistoryMap.getCount(i))
 			  ) 
 			{
-				minTasksCount = sharedHistoryMap.get(i);
+				minTasksCount = sharedHistoryMap.getCount(i);
 				// if this is the first time,
 				// or new min found, so we choose it as the best computing node.
 				selected = i;
 			}
 		}
 		// Assign the tasks to the obtained computing node.
-		sharedHistoryMap.put(selected, minTasksCount + 1);
+		sharedHistoryMap.setCount(selected, minTasksCount + 1);
 
 		//determino il nodo associato a quel container
 		int returnValue = findNodeAssociatedWithContainer(selected);
 		//aggiungo il task alla historyMap dei task assegnati a quel nodo
-		tasksHistoryMap.get(returnValue).add(task);
+		tasksHistoryMap.add(task, returnValue);
 
 		return returnValue;
 	}
@@ -119,7 +103,7 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 				double thisLatency = getPathLatencyFromDeviceToOffloadingDestination(task, from, to);
 				//caso nel quale la latency è inferiore, quindi prendo a prescindere il nodo migliore. 
 				if((minLatency > thisLatency)) {
-					minTasksCount = sharedHistoryMap.get(i);
+					minTasksCount = sharedHistoryMap.getCount(i);
 					// if this is the first time,
 					// or new min found, so we choose it as the best computing node.
 					selected = i;
@@ -127,8 +111,8 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 				}
 				//caso nel quale la latency è uguale e quindi vedo se questo nodo ha meno container assegnati. Nel caso scelgo questo
 				else if((minLatency == thisLatency)
-				&& (minTasksCount == -1 || minTasksCount > sharedHistoryMap.get(i))){
-					minTasksCount = sharedHistoryMap.get(i);
+				&& (minTasksCount == -1 || minTasksCount > sharedHistoryMap.getCount(i))){
+					minTasksCount = sharedHistoryMap.getCount(i);
 					// if this is the first time,
 					// or new min found, so we choose it as the best computing node.
 					selected = i;
@@ -137,12 +121,12 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 			}
 		}
 		// Assign the tasks to the obtained computing node.
-		sharedHistoryMap.put(selected, minTasksCount + 1);
+		sharedHistoryMap.setCount(selected, minTasksCount + 1);
 
 		//determino il nodo associato a quel container
 		int returnValue = findNodeAssociatedWithContainer(selected);
 		//aggiungo il task alla historyMap dei task assegnati a quel nodo
-		tasksHistoryMap.get(returnValue).add(task);
+		tasksHistoryMap.add(task, returnValue);
 
 		return returnValue;
 	}
@@ -162,10 +146,8 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 				ComputingNode to = containerList.get(i).getPlacementDestination();
 				double pathLatency = getPathLatencyFromDeviceToOffloadingDestination(task, from, to);
 				//determino la latency approssimativa associata alle esecuzioni dei task presenti sul nodo
-				double tasksLatency = 0;
-				for(Task containerTask : tasksHistoryMap.get(findNodeAssociatedWithContainer(i))){
-					tasksLatency += containerTask.getLength()/to.getMipsPerCore();
-				}
+				//(la somma delle lunghezze dei task assegnati al nodo è aggiornata dalla historyMap)
+				double tasksLatency = tasksHistoryMap.getWeight(findNodeAssociatedWithContainer(i))/to.getMipsPerCore();
 				//aggiungo anche la latency associata all'esecuzione di questo task
 				tasksLatency += task.getLength()/to.getMipsPerCore();
 				//divido per il numero di core della destinazione
@@ -174,18 +156,18 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 				//prendo il dispositivo con la latency migliore
 				if(bestLatency > (pathLatency + tasksLatency)){
 					selected = i;
-					minTasksCount = sharedHistoryMap.get(i);
+					minTasksCount = sharedHistoryMap.getCount(i);
 					bestLatency = pathLatency + tasksLatency;
 				}
 			}
 		}
 		// Assign the tasks to the obtained computing node.
-		sharedHistoryMap.put(selected, minTasksCount + 1);
+		sharedHistoryMap.setCount(selected, minTasksCount + 1);
 
 		//determino il nodo associato a quel container
 		int associatedNode = findNodeAssociatedWithContainer(selected);
 		//aggiungo il task alla historyMap dei task assegnati a quel nodo
-		tasksHistoryMap.get(associatedNode).add(task);
+		tasksHistoryMap.add(task, associatedNode);
 
 		return associatedNode;
 	}
@@ -193,81 +175,33 @@ public class DefaultOrchestrator extends Orchestrator implements OnSimulationEnd
 	//recupera la latency del path associato ad un percorso ED-ONT-SDN-DESTINAZIONE-SDN-ONT-ED
 	public double getPathLatencyFromDeviceToOffloadingDestination(Task task, ComputingNode node1, ComputingNode node2){
 
-		//costruisco il path dall'Edge Device all'SDN 
-		ComputingNode from = node1;
-		ComputingNode to = node1.getEdgeOrchestrator();
-		long id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getId(), to.getId());
-		GraphPath<ComputingNode, NetworkLink> path;
-		if(simulationManager.getDataCentersManager().getTopology().getPathsMap().containsKey(id))
-			path = simulationManager.getDataCentersManager().getTopology().getPathsMap().get(id); 
-		else{ 
-			path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-			simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-		}
+		//metriche del path dall'Edge Device all'SDN (calcolate una volta e salvate insieme al path)
+		PathMetrics metrics = simulationManager.getDataCentersManager().getTopology().getPathMetrics(node1, node1.getEdgeOrchestrator());
 		//determino la latency approssimativa associata al percorso del task.
-		double pathLatency = (path.getWeight() + task.getFileSizeInBits()/getAverageBandwidthFromDeviceToDestination(path) + (getPathDistanceFromDeviceToDestination(path)/1000)/200000);
+		double pathLatency = getPathLatency(task, metrics);
 		
-		//ora costruisco il path dall'SDN al nodo destinazione
-		from = to;
-		to = node2;
-		id = simulationManager.getDataCentersManager().getTopology().getUniqueId(from.getId(), to.getId());
-		if(simulationManager.getDataCentersManager().getTopology().getPathsMap().containsKey(id))
-			path = simulationManager.getDataCentersManager().getTopology().getPathsMap().get(id); 
-		else{ 
-			path = simulationManager.getDataCentersManager().getTopology().getPath(from, to);
-			simulationManager.getDataCentersManager().getTopology().getPathsMap().put(id, path);
-		}
-		//determino la latency approssimativa associata al percorso del task.
-		pathLatency += (path.getWeight() + task.getFileSizeInBits()/getAverageBandwidthFromDeviceToDestination(path) + (getPathDistanceFromDeviceToDestination(path)/1000)/200000);
+		//ora il path dall'SDN al nodo destinazione
+		metrics = simulationManager.getDataCentersManager().getTopology().getPathMetrics(node1.getEdgeOrchestrator(), node2);
+		pathLatency += getPathLatency(task, metrics);
 
 		return pathLatency*2;
 	}
 
-	//returns the distance in meters of a given path
-	private double getPathDistanceFromDeviceToDestination(GraphPath<ComputingNode, NetworkLink> path){
-		double distance = 0.0;
-		for(int i = 0; i < path.getVertexList().size()-1; i++){
-			double x1 = path.getVertexList().get(i).getMobilityModel().getCurrentLocation().getXPos();
-			double y1 = path.getVertexList().get(i).getMobilityModel().getCurrentLocation().getYPos();
-			double x2 = path.getVertexList().get(i+1).getMobilityModel().getCurrentLocation().getXPos();
-			double y2 = path.getVertexList().get(i+1).getMobilityModel().getCurrentLocation().getYPos();
-			distance += Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
-		}
-		return distance;
-	}
-
-	//stima la banda media per il percorso da una sorgente ad una destinazione
-	private double getAverageBandwidthFromDeviceToDestination(GraphPath<ComputingNode, NetworkLink> path){
-		double bandwidth = 0.0;
-		for(NetworkLink nl : path.getEdgeList()){
-			if(nl.getType().equals(NetworkLink.NetworkLinkTypes.FIBER))
-				bandwidth += SimulationParameters.FiberBandwidthBitsPerSecond;
-			else if(nl.getType().equals(NetworkLink.NetworkLinkTypes.WAN))
-				bandwidth += SimulationParameters.wanBandwidthBitsPerSecond;
-			else if(nl.getType().equals(NetworkLink.NetworkLinkTypes.LAN)){
-				if(path.getVertexList().get(path.getEdgeList().indexOf(nl)).getEnergyModel().getConnectivityType().equals("cellular"))
-					bandwidth += SimulationParameters.cellularBandwidthBitsPerSecond;
-				else if(path.getVertexList().get(path.getEdgeList().indexOf(nl)).getEnergyModel().getConnectivityType().equals("wifi"))
-					bandwidth += SimulationParameters.wifiBandwidthBitsPerSecond;
-				else if(path.getVertexList().get(path.getEdgeList().indexOf(nl)).getEnergyModel().getConnectivityType().equals("ethernet"))
-					bandwidth += SimulationParameters.ethernetBandwidthBitsPerSecond;
-			}
-		}
-		return bandwidth/path.getEdgeList().size();
+	//latency del path + tempo di trasmissione con la banda media + propagazione (distanza in km / 200000 km/s)
+	private double getPathLatency(Task task, PathMetrics metrics){
+		return metrics.getWeight() + task.getFileSizeInBits()/metrics.getMeanBandwidth() + (metrics.getDistance()/1000)/200000;
 	}
 
 	//fornita la posizione di un container shared nella ContainerList (lista di container Shared) 
 	//ne estrapolo la posizione del relativo nodo nella NodeList (Nodo sul quale è piazzato il container shared)
 	private int findNodeAssociatedWithContainer(int containerPos){
-		return nodeList.indexOf(containerList.get(containerPos).getPlacementDestination());
+		return getNodeIndex(containerList.get(containerPos).getPlacementDestination());
 	}
 
 	@Override
 	public void resultsReturned(Task task) {
 		// rimuovo il task dalla historyMap
-		for(int i = 0; i < nodeList.size(); i++)
-			if(nodeList.get(i).equals(task.getOffloadingDestination()))
-				if(!tasksHistoryMap.get(i).remove(task))System.out.println("ho sbagliato qualcosa");
+		if(tasksHistoryMap.remove(task) == -1)System.out.println("ho sbagliato qualcosa");
 	}
  
 	@Override
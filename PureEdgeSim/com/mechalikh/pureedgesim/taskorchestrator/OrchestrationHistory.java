@@ -0,0 +1,191 @@
+/**
+ *     PureEdgeSim:  A Simulation Framework for Performance Evaluation of Cloud, Edge and Mist Computing Environments
+ *
+ *     This file is part of PureEdgeSim Project.
+ *
+ *     PureEdgeSim is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     PureEdgeSim is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with PureEdgeSim. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *     @author Charafeddine Mechalikh
+ **/
+package com.mechalikh.pureedgesim.taskorchestrator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the orchestration history of the entries of a list (e.g., the node list
+ * or the container list of an orchestrator), using their index in that list:
+ * <ul>
+ * <li>A counter for each entry, that can be updated directly (e.g., the number
+ * of containers placed on a node).</li>
+ * <li>The elements (tasks or containers) that are assigned to each entry. An
+ * element is assigned to one entry at a time, and it can be removed in O(1)
+ * without knowing its entry. Assigning or removing an element updates the
+ * counter of its entry, the sum of the weights of the elements of the entry
+ * (e.g., the length of the tasks assigned to a node), and the number of
+ * elements of the entry that have the same key (e.g., the same
+ * application).</li>
+ * </ul>
+ * The elements are identified by reference, not using equals(): distinct tasks
+ * or containers created at the same time are equal, as their serial is not set.
+ * The arrays grow when an index beyond the current size is used.
+ *
+ * @param <T> the type of the assigned elements.
+ * @see Orchestrator
+ * @see DefaultContainerOrchestrator
+ * @since PureEdgeSim 5.3
+ */
+public class OrchestrationHistory<T> {
+
+	protected int[] counts;
+
+	protected double[] weights;
+
+	/**
+	 * The index of the entry to which each element is assigned.
+	 */
+	protected final Map<T, Integer> assignments = new IdentityHashMap<>();
+
+	/**
+	 * The number of elements of each entry, by key.
+	 */
+	protected final Map<String, int[]> keyCounts = new HashMap<>();
+
+	protected final ToDoubleFunction<T> weightFunction;
+
+	protected final Function<T, String> keyFunction;
+
+	/**
+	 * Creates a history with only counters and unweighted elements.
+	 * 
+	 * @param size the initial number of entries.
+	 */
+	public OrchestrationHistory(int size) {
+		this(size, null, null);
+	}
+
+	/**
+	 * Creates a history.
+	 * 
+	 * @param size           the initial number of entries.
+	 * @param weightFunction the weight of the elements, or null.
+	 * @param keyFunction    the key of the elements, or null.
+	 */
+	public OrchestrationHistory(int size, ToDoubleFunction<T> weightFunction, Function<T, String> keyFunction) {
+		counts = new int[Math.max(size, 1)];
+		weights = new double[counts.length];
+		this.weightFunction = weightFunction;
+		this.keyFunction = keyFunction;
+	}
+
+	public int getCount(int index) {
+		return index < counts.length ? counts[index] : 0;
+	}
+
+	public void setCount(int index, int count) {
+		ensureCapacity(index);
+		counts[index] = count;
+	}
+
+	public void increment(int index) {
+		ensureCapacity(index);
+		counts[index]++;
+	}
+
+	public void decrement(int index) {
+		ensureCapacity(index);
+		counts[index]--;
+	}
+
+	/**
+	 * Returns the sum of the weights of the elements assigned to the given entry.
+	 * 
+	 * @param index the entry.
+	 * @return the sum of the weights.
+	 */
+	public double getWeight(int index) {
+		return index < weights.length ? weights[index] : 0;
+	}
+
+	/**
+	 * Returns the number of elements assigned to the given entry that have the
+	 * given key.
+	 * 
+	 * @param index the entry.
+	 * @param key   the key.
+	 * @return the number of elements.
+	 */
+	public int getCount(int index, String key) {
+		int[] countsOfKey = keyCounts.get(key);
+		return countsOfKey == null || index >= countsOfKey.length ? 0 : countsOfKey[index];
+	}
+
+	/**
+	 * Assigns the element to the given entry.
+	 * 
+	 * @param element the element.
+	 * @param index   the entry.
+	 */
+	public void add(T element, int index) {
+		ensureCapacity(index);
+		remove(element);
+		assignments.put(element, index);
+		update(element, index, 1);
+	}
+
+	/**
+	 * Removes the element from the entry it is assigned to.
+	 * 
+	 * @param element the element.
+	 * @return the entry of the element, or -1 if it is not assigned.
+	 */
+	public int remove(T element) {
+		Integer index = assignments.remove(element);
+		if (index == null)
+			return -1;
+		update(element, index, -1);
+		return index;
+	}
+
+	public boolean contains(T element) {
+		return assignments.containsKey(element);
+	}
+
+	protected void update(T element, int index, int sign) {
+		counts[index] += sign;
+		if (weightFunction != null)
+			weights[index] += sign * weightFunction.applyAsDouble(element);
+		if (keyFunction != null) {
+			int[] countsOfKey = keyCounts.computeIfAbsent(keyFunction.apply(element), k -> new int[counts.length]);
+			if (index >= countsOfKey.length) {
+				countsOfKey = Arrays.copyOf(countsOfKey, counts.length);
+				keyCounts.put(keyFunction.apply(element), countsOfKey);
+			}
+			countsOfKey[index] += sign;
+		}
+	}
+
+	protected void ensureCapacity(int index) {
+		if (index < counts.length)
+			return;
+		int capacity = Math.max(index + 1, counts.length * 2);
+		counts = Arrays.copyOf(counts, capacity);
+		weights = Arrays.copyOf(weights, capacity);
+	}
+
+}
@@ -20,12 +20,14 @@
  **/
 package com.mechalikh.pureedgesim.taskorchestrator;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode;
 import com.mechalikh.pureedgesim.datacentersmanager.ComputingNode.LinkOrientation;
+import com.mechalikh.pureedgesim.datacentersmanager.PlacementIndex;
 import com.mechalikh.pureedgesim.datacentersmanager.NuovaCartellaVM.*;
 import com.mechalikh.pureedgesim.scenariomanager.SimulationParameters;
 import com.mechalikh.pureedgesim.simulationengine.SimEntity;
@@ -39,12 +41,16 @@ public abstract class Orchestrator extends SimEntity {
 	protected List<ComputingNode> nodeList = new ArrayList<>();	
 	//lista dei container che sono attualmente allocati nel sistema				
 	protected List<Container> containerList = new ArrayList<>();					
-	//mappa che associa i task offloadati agli specifici container shared (gli indici sono quelli della containerList)
-	protected Map<Integer, Integer> sharedHistoryMap = new LinkedHashMap<>();
-	//mappa che permette di tenere traccia per ciascun nodo di NodeList i task associati (gli indici sono quelli della nodeList)
-	protected Map<Integer, List<Task>> tasksHistoryMap = new LinkedHashMap<>();
+	//numero di task offloadati agli specifici container shared (gli indici sono quelli della containerList)
+	protected OrchestrationHistory<Container> sharedHistoryMap = new OrchestrationHistory<>(0);
+	//task associati a ciascun nodo di NodeList, con la somma delle loro lunghezze (gli indici sono quelli della nodeList)
+	protected OrchestrationHistory<Task> tasksHistoryMap;
 	//mappa che nella modalità statica associa nodi di destinazione a nodi generanti (gli "indici" sono i nodi che generano il task, il "get" sono i nodi destinazione di offloading)
 	protected Map<ComputingNode, ComputingNode> pairingNodesHistoryMap = new LinkedHashMap<>();
+	//indice dei container della containerList per (applicazione, edge device)
+	protected PlacementIndex containerIndex = new PlacementIndex();
+	//posizione di ciascun nodo nella nodeList
+	protected Map<ComputingNode, Integer> nodeIndexMap = new HashMap<>();
 	
 	protected SimulationManager simulationManager;
 	protected SimLog simLog;
@@ -66,8 +72,10 @@ public abstract class Orchestrator extends SimEntity {
 			pairingNodesHistoryMap.put(cn, null);
 		}
 		// the shared historyMap is initialized in the setContainerToVM function
-		// the tasks historyMap is initialized in the defaultOrchestrator constructor
 		initialize();
+		for (int i = nodeList.size() - 1; i >= 0; i--)
+			nodeIndexMap.put(nodeList.get(i), i);
+		tasksHistoryMap = new OrchestrationHistory<>(nodeList.size(), Task::getLength, null);
 	}
 
 	// Find an offloading location for this task
@@ -181,7 +189,7 @@ public abstract class Orchestrator extends SimEntity {
 		
 		//se l'algoritmo scelto è statico ed è già stato associata una destinazione di offloading al nodo
 		if(SimulationParameters.taskOrchestrationMode.equals("static") && pairingNodesHistoryMap.get(task.getEdgeDevice()) != null)
-			nodeIndex = nodeList.indexOf(pairingNodesHistoryMap.get(task.getEdgeDevice()));
+			nodeIndex = getNodeIndex(pairingNodesHistoryMap.get(task.getEdgeDevice()));
 		//altrimenti recupero la destinazione di offloading con il metodo dinamico
 		else
 			nodeIndex = findVmAssociatedWithTask(task);
@@ -192,7 +200,7 @@ public abstract class Orchestrator extends SimEntity {
 			//se la modalità è statica associo il dispositivo di offloading nella pairingList
 			if(SimulationParameters.taskOrchestrationMode.equals("static")){
 				if(pairingNodesHistoryMap.get(task.getEdgeDevice()) != null) 
-					tasksHistoryMap.get(nodeIndex).add(task);
+					tasksHistoryMap.add(task, nodeIndex);
 				else{
 					if(printDebug) System.out.println("Nodo " + task.getEdgeDevice().getName() + " associato a " + node.getName());
 					pairingNodesHistoryMap.put(task.getEdgeDevice(), nodeList.get(nodeIndex));
@@ -246,13 +254,13 @@ public abstract class Orchestrator extends SimEntity {
 		//se la lista non contiene il container allora lo aggiungo 
 		//(per prevenire l'aggiunta di container shared uguali, dal momento che il Cloud avvisa tanti SDN quanti sono gli EdgeDC
 		//e quindi questa funzione viene chiamata tante volte quanti sono gli SDN per ogni copia di un container shared)
-		if(!containerList.contains(container)) {
+		if(containerIndex.add(container)) {
 			containerList.add(container);
 
 			//se il container è shared lo aggiungo alla historyMap
 			if(container.getSharedContainer()){
 				if(printDebug) System.out.println("Ho inserito il container " + container.getId() + " shared in posizione " + (containerList.size()-1));
-				sharedHistoryMap.put(containerList.size()-1, 0);
+				sharedHistoryMap.setCount(containerList.size()-1, 0);
 			}
 			return;
 		}
@@ -263,6 +271,7 @@ public abstract class Orchestrator extends SimEntity {
 	public void removeContainerFromVM(Container container){
 		//rimuovo il container unplacato dalla lista (il container è necessariamente non shared)
 		containerList.remove(container);
+		containerIndex.remove(container);
 		//rimuovo il riferimento al container anche dalla paringList, impostando il valore null. 
 		//Posso prendere l'indice 0 poichè faccio sicuramente riferimento ad un container non shared
 		pairingNodesHistoryMap.put(container.getEdgeDevice(0), null);
@@ -280,6 +289,16 @@ public abstract class Orchestrator extends SimEntity {
 		return nodeList;
 	}
 
+	/**
+	 * Returns the position of the given computing node in the node list.
+	 * 
+	 * @param node the computing node.
+	 * @return the index of the node, or -1 if it is not in the node list.
+	 */
+	public int getNodeIndex(ComputingNode node){
+		return nodeIndexMap.getOrDefault(node, -1);
+	}
+
 	public abstract void notifyOrchestratorOfTaskExecution(Task task);
 	
 }
@@ -0,0 +1,132 @@
+package examples.Benchmarks;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.mechalikh.pureedgesim.simulationengine.CalendarQueue;
+import com.mechalikh.pureedgesim.simulationengine.Event;
+import com.mechalikh.pureedgesim.simulationengine.FutureQueue;
+import com.mechalikh.pureedgesim.simulationengine.LadderQueue;
+import com.mechalikh.pureedgesim.simulationengine.Queue;
+
+/**
+ * Compares the events queues that can be selected using the "event_queue"
+ * parameter of the simulation_parameters.properties file.
+ * <p>
+ * Two workloads are used:
+ * <ul>
+ * <li>The classic "hold" model: the first event is removed and a new one is
+ * scheduled after an exponentially distributed delay.</li>
+ * <li>A periodic workload that mimics the simulator: every entity re-schedules
+ * its update event after a fixed interval, and some of them schedule an event
+ * "now" (i.e., using addFirst()).</li>
+ * </ul>
+ * Before measuring, the order in which the events are removed from each queue is
+ * compared to the one of the TreeSet based {@link FutureQueue}.
+ * <p>
+ * Usage: EventQueueBenchmark [pending events] [operations]
+ */
+public class EventQueueBenchmark {
+
+	private static final long SEED = 42;
+
+	public static void main(String[] args) {
+		int pendingEvents = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int operations = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+		checkOrder("CALENDAR_QUEUE", CalendarQueue::new);
+		checkOrder("LADDER_QUEUE", LadderQueue::new);
+
+		System.out.println("Pending events: " + pendingEvents + ", operations: " + operations);
+		for (int run = 0; run < 2; run++) {
+			// The first run is used to warm up the JVM.
+			boolean print = run == 1;
+			hold("TREE_SET", FutureQueue::new, pendingEvents, operations, print);
+			hold("CALENDAR_QUEUE", CalendarQueue::new, pendingEvents, operations, print);
+			hold("LADDER_QUEUE", LadderQueue::new, pendingEvents, operations, print);
+			periodic("TREE_SET", FutureQueue::new, pendingEvents, operations, print);
+			periodic("CALENDAR_QUEUE", CalendarQueue::new, pendingEvents, operations, print);
+			periodic("LADDER_QUEUE", LadderQueue::new, pendingEvents, operations, print);
+		}
+	}
+
+	private static void hold(String name, Supplier<Queue<Event>> supplier, int pendingEvents, int operations,
+			boolean print) {
+		Random random = new Random(SEED);
+		Queue<Event> queue = supplier.get();
+		for (int i = 0; i < pendingEvents; i++)
+			queue.add(new Event(null, exponential(random), 0));
+
+		long start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			Event first = queue.pollFirst();
+			queue.add(new Event(null, first.getTime() + exponential(random), 0));
+		}
+		print(print, "hold", name, operations, System.nanoTime() - start);
+	}
+
+	private static void periodic(String name, Supplier<Queue<Event>> supplier, int pendingEvents, int operations,
+			boolean print) {
+		Random random = new Random(SEED);
+		Queue<Event> queue = supplier.get();
+		for (int i = 0; i < pendingEvents; i++)
+			queue.add(new Event(null, (double) random.nextInt(10), 1));
+
+		long start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			Event first = queue.pollFirst();
+			if (first.getTag() == 1) {
+				queue.add(new Event(null, first.getTime() + 1, 1));
+				if (random.nextInt(10) == 0)
+					queue.addFirst(new Event(null, first.getTime(), 2));
+			}
+		}
+		print(print, "periodic", name, operations, System.nanoTime() - start);
+	}
+
+	private static void checkOrder(String name, Supplier<Queue<Event>> supplier) {
+		Random random = new Random(SEED);
+		Queue<Event> reference = new FutureQueue<>();
+		Queue<Event> queue = supplier.get();
+
+		for (int i = 0; i < 10_000; i++) {
+			// Coarse times to have many events happening at the same time.
+			double time = Math.floor(exponential(random) * 10);
+			reference.add(new Event(null, time, i));
+			queue.add(new Event(null, time, i));
+		}
+
+		for (int i = 0; i < 200_000; i++) {
+			Event expected = reference.first();
+			reference.remove(expected);
+			Event actual = queue.first();
+			queue.remove(actual);
+			if (expected.getTime() != actual.getTime() || expected.getSerial() != actual.getSerial()
+					|| expected.getTag() != actual.getTag())
+				throw new IllegalStateException(name + " - Wrong order at event " + i + ": expected ("
+						+ expected.getTime() + ", " + expected.getSerial() + "), found (" + actual.getTime() + ", "
+						+ actual.getSerial() + ")");
+
+			double delay = Math.floor(exponential(random) * 10);
+			if (delay == 0) {
+				reference.addFirst(new Event(null, expected.getTime(), i));
+				queue.addFirst(new Event(null, expected.getTime(), i));
+			} else {
+				reference.add(new Event(null, expected.getTime() + delay, i));
+				queue.add(new Event(null, expected.getTime() + delay, i));
+			}
+		}
+		System.out.println(name + " - Same events order as TREE_SET");
+	}
+
+	private static double exponential(Random random) {
+		return -Math.log(1 - random.nextDouble());
+	}
+
+	private static void print(boolean print, String workload, String name, int operations, long nanos) {
+		if (print)
+			System.out.println(String.format("%-8s %-14s %8.1f ns/operation %12.0f operations/s", workload, name,
+					(double) nanos / operations, operations / (nanos / 1e9)));
+	}
+
+}
@@ -0,0 +1,71 @@
+package examples.Benchmarks;
+
+import com.mechalikh.pureedgesim.taskgenerator.Container;
+import com.mechalikh.pureedgesim.taskgenerator.DefaultContainer;
+import com.mechalikh.pureedgesim.taskgenerator.DefaultTask;
+import com.mechalikh.pureedgesim.taskgenerator.Task;
+import com.mechalikh.pureedgesim.taskorchestrator.OrchestrationHistory;
+
+/**
+ * Checks that the {@link OrchestrationHistory} keeps apart the tasks and the
+ * containers that are equal, i.e., that have been created at the same time
+ * (e.g., the shared containers, which are all created at time 0).
+ * <p>
+ * Usage: OrchestrationHistoryCheck
+ */
+public class OrchestrationHistoryCheck {
+
+	public static void main(String[] args) {
+		checkTasks();
+		checkContainers();
+		System.out.println("OrchestrationHistory - Equal elements are kept apart");
+	}
+
+	private static void checkTasks() {
+		OrchestrationHistory<Task> history = new OrchestrationHistory<>(2, Task::getLength, null);
+		Task first = task(1, 100);
+		Task second = task(2, 200);
+		history.add(first, 0);
+		history.add(second, 1);
+		check("count of the first node", history.getCount(0), 1);
+		check("weight of the first node", history.getWeight(0), 100);
+		check("weight of the second node", history.getWeight(1), 200);
+		check("node of the second task", history.remove(second), 1);
+		check("node of the first task", history.remove(first), 0);
+		check("weight of the first node once empty", history.getWeight(0), 0);
+		check("weight of the second node once empty", history.getWeight(1), 0);
+	}
+
+	private static void checkContainers() {
+		OrchestrationHistory<Container> history = new OrchestrationHistory<>(1, null, Container::getAssociatedAppName);
+		Container first = container(1, "App1");
+		Container second = container(2, "App2");
+		history.add(first, 0);
+		history.add(second, 0);
+		check("containers of App1", history.getCount(0, "App1"), 1);
+		check("containers of App2", history.getCount(0, "App2"), 1);
+		history.remove(first);
+		check("containers of App1 once removed", history.getCount(0, "App1"), 0);
+		check("containers of App2 once App1 is removed", history.getCount(0, "App2"), 1);
+	}
+
+	private static Task task(int id, double length) {
+		DefaultTask task = new DefaultTask(id);
+		task.setTime(10);
+		task.setLength(length);
+		return task;
+	}
+
+	private static Container container(int id, String application) {
+		DefaultContainer container = new DefaultContainer(id);
+		container.setTime(0);
+		container.setAssociatedAppName(application);
+		return container;
+	}
+
+	private static void check(String name, double actual, double expected) {
+		if (actual != expected)
+			throw new IllegalStateException("OrchestrationHistory - Wrong " + name + ": " + actual + " instead of " + expected);
+	}
+
+}
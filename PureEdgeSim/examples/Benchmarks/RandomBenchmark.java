@@ -0,0 +1,108 @@
+package examples.Benchmarks;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.mechalikh.pureedgesim.simulationmanager.RandomStreams;
+
+/**
+ * Compares the random generators used by the simulation modules before and
+ * after the {@link RandomStreams}: the strong {@link SecureRandom} that the
+ * task generator, the container generator and the mobility model used to
+ * create, and the streams that can be selected using the "random_generator"
+ * parameter of the simulation_parameters.properties file.
+ * <p>
+ * Two costs are measured:
+ * <ul>
+ * <li>Creating a generator, as each placed container gets its own task
+ * generator and each device its own mobility model.</li>
+ * <li>Drawing values, using the calls of the generators (nextInt with a bound,
+ * nextInt between two values, and nextDouble).</li>
+ * </ul>
+ * Before measuring, each stream algorithm is checked to give the same values for
+ * the same seed.
+ * <p>
+ * Usage: RandomBenchmark [generators] [draws]
+ */
+public class RandomBenchmark {
+
+	private static final long SEED = 42;
+
+	public static void main(String[] args) {
+		int generators = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int draws = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+
+		checkReproducible("SPLITTABLE");
+		checkReproducible("XOROSHIRO");
+		checkReproducible("JDK_RANDOM");
+
+		System.out.println("Generators: " + generators + ", draws: " + draws);
+		for (int run = 0; run < 2; run++) {
+			// The first run is used to warm up the JVM.
+			boolean print = run == 1;
+			create("SECURE_STRONG", RandomBenchmark::strongSecureRandom, generators, print);
+			create("SPLITTABLE", streams("SPLITTABLE"), generators, print);
+			create("XOROSHIRO", streams("XOROSHIRO"), generators, print);
+			create("JDK_RANDOM", streams("JDK_RANDOM"), generators, print);
+			// The strong generator is slow, use less draws so the benchmark ends.
+			draw("SECURE_STRONG", strongSecureRandom(), Math.max(1, draws / 100), print);
+			draw("SPLITTABLE", streams("SPLITTABLE").get(), draws, print);
+			draw("XOROSHIRO", streams("XOROSHIRO").get(), draws, print);
+			draw("JDK_RANDOM", streams("JDK_RANDOM").get(), draws, print);
+		}
+	}
+
+	private static Supplier<Random> streams(String generator) {
+		RandomStreams streams = new RandomStreams(SEED, generator);
+		return streams::newStream;
+	}
+
+	private static Random strongSecureRandom() {
+		try {
+			return SecureRandom.getInstanceStrong();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void create(String name, Supplier<Random> supplier, int generators, boolean print) {
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < generators; i++)
+			// Draw one value, as the mobility model does when it is created.
+			sum += supplier.get().nextInt(359);
+		print(print, "create", name, generators, System.nanoTime() - start, sum);
+	}
+
+	private static void draw(String name, Random random, int draws, boolean print) {
+		double sum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < draws; i++) {
+			sum += random.nextInt(180);
+			sum += random.nextInt(1, 15);
+			sum += random.nextDouble();
+		}
+		print(print, "draw", name, draws, System.nanoTime() - start, sum);
+	}
+
+	private static void checkReproducible(String generator) {
+		Random first = new RandomStreams(SEED, generator).newStream();
+		Random second = new RandomStreams(SEED, generator).newStream();
+		for (int i = 0; i < 100_000; i++)
+			if (first.nextLong() != second.nextLong() || first.nextInt(359) != second.nextInt(359)
+					|| first.nextDouble() != second.nextDouble())
+				throw new IllegalStateException(generator + " - Different values for the same seed at draw " + i);
+		System.out.println(generator + " - Same values for the same seed");
+	}
+
+	private static void print(boolean print, String workload, String name, int operations, long nanos,
+			double checksum) {
+		// The checksum is only printed to keep the JIT from removing the draws.
+		if (print)
+			System.out.println(String.format("%-6s %-13s %10.1f ns/operation %14.0f operations/s (checksum %.0f)",
+					workload, name, (double) nanos / operations, operations / (nanos / 1e9), checksum));
+	}
+
+}